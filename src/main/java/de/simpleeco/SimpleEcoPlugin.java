@@ -2,17 +2,32 @@ package de.simpleeco;
 
 import de.simpleeco.commands.EcoCommand;
 import de.simpleeco.config.ConfigManager;
+import de.simpleeco.currency.BalanceChangeBus;
 import de.simpleeco.currency.BasicCurrency;
+import de.simpleeco.currency.MoneyFormatter;
 import de.simpleeco.database.DatabaseManager;
+import de.simpleeco.database.TransactionLedger;
+import de.simpleeco.eventlog.EventLogManager;
 import de.simpleeco.listeners.PlayerJoinListener;
+import de.simpleeco.locale.ItemNameLocalizer;
+import de.simpleeco.placeholder.PlaceholderCache;
+import de.simpleeco.placeholder.SimpleEcoExpansion;
+import de.simpleeco.listeners.PlayerChunkListener;
 import de.simpleeco.listeners.PlayerDeathListener;
 import de.simpleeco.listeners.VillagerInteractListener;
 import de.simpleeco.pricing.PriceManager;
+import de.simpleeco.scheduler.BukkitPluginScheduler;
+import de.simpleeco.scheduler.MainThreadDispatcher;
+import de.simpleeco.scheduler.PluginScheduler;
 import de.simpleeco.scoreboard.ScoreboardManager;
 import de.simpleeco.tasks.PriceRegressionTask;
 import de.simpleeco.tasks.VillagerLookTask;
 import de.simpleeco.trading.CustomVillagerTrader;
 import de.simpleeco.villager.ShopVillagerManager;
+import de.simpleeco.villager.SpecialVillagerRegistry;
+import de.simpleeco.villager.VillagerInterestMap;
+import de.simpleeco.vault.VaultEconomy;
+import de.simpleeco.bank.BalanceLeaderboard;
 import de.simpleeco.bank.BankManager;
 import de.simpleeco.bank.AtmVillagerManager;
 import de.simpleeco.bank.AtmTrader;
@@ -33,17 +48,28 @@ public class SimpleEcoPlugin extends JavaPlugin {
     
     // Core-Komponenten
     private ConfigManager configManager;
+    private MoneyFormatter moneyFormatter;
+    private ItemNameLocalizer itemNameLocalizer;
+    private PluginScheduler pluginScheduler;
+    private BalanceChangeBus balanceChangeBus;
     private DatabaseManager databaseManager;
+    private TransactionLedger transactionLedger;
+    private EventLogManager eventLogManager;
     private BasicCurrency currency;
     private BankManager bankManager;
+    private BalanceLeaderboard leaderboard;
     private PriceManager priceManager;
+    private PlaceholderCache placeholderCache;
+    private SimpleEcoExpansion placeholderExpansion;
     private CustomVillagerTrader villagerTrader;
     private ShopVillagerManager shopVillagerManager;
     private AtmVillagerManager atmVillagerManager;
+    private SpecialVillagerRegistry villagerRegistry;
     private AtmTrader atmTrader;
     private ScoreboardManager scoreboardManager;
     private PriceRegressionTask regressionTask;
     private VillagerLookTask villagerLookTask;
+    private VillagerInterestMap villagerInterestMap;
     
     @Override
     public void onEnable() {
@@ -56,6 +82,19 @@ public class SimpleEcoPlugin extends JavaPlugin {
             this.configManager = new ConfigManager(this);
             getLogger().info("Konfiguration geladen");
             
+            // Geldbetrags-Formatierung für alle Anzeigen
+            this.moneyFormatter = new MoneyFormatter(configManager);
+            
+            // Sprachdateien für Item-Namen laden
+            this.itemNameLocalizer = new ItemNameLocalizer(this);
+            
+            // Scheduler starten (Haupt-Thread-Dispatcher bzw. Folia-Regionen)
+            this.pluginScheduler = PluginScheduler.create(this);
+            getLogger().info("Scheduler gestartet (" + (pluginScheduler.isFolia() ? "Folia" : "Bukkit") + ")");
+            
+            // Verteilung der Kontostandsänderungen (vor der Datenbank, die sie meldet)
+            this.balanceChangeBus = new BalanceChangeBus(this);
+            
             // 2. Datenbank initialisieren
             this.databaseManager = new DatabaseManager(this);
             if (!databaseManager.initialize()) {
@@ -65,6 +104,15 @@ public class SimpleEcoPlugin extends JavaPlugin {
             }
             getLogger().info("Datenbank initialisiert");
             
+            // Optionales Ereignis-Log: Zustand aus Snapshot und Log wiederherstellen
+            if (configManager.getConfig().getBoolean("eventLog.enabled", false)) {
+                this.eventLogManager = new EventLogManager(this);
+                eventLogManager.start(databaseManager);
+            }
+            
+            // Transaktions-Journal (gepuffert, schreibt in Batches)
+            this.transactionLedger = new TransactionLedger(this, databaseManager);
+            
             // 3. Währungssystem initialisieren
             this.currency = new BasicCurrency(this, databaseManager);
             getLogger().info("Währungssystem initialisiert");
@@ -75,10 +123,29 @@ public class SimpleEcoPlugin extends JavaPlugin {
             currency.setBankManager(bankManager);
             getLogger().info("Bank-System initialisiert");
             
+            // Vault-Schnittstelle für andere Plugins (falls Vault installiert ist)
+            if (configManager.getConfig().getBoolean("vault.enabled", true)
+                    && getServer().getPluginManager().getPlugin("Vault") != null) {
+                VaultEconomy.register(this, bankManager);
+            }
+            
+            // Bestenliste im Hintergrund aus der Datenbank aufbauen
+            this.leaderboard = new BalanceLeaderboard(this, balanceChangeBus);
+            leaderboard.load(databaseManager);
+            
             // 5. Preismanager initialisieren
             this.priceManager = new PriceManager(this, databaseManager, configManager);
             getLogger().info("Preismanager initialisiert");
             
+            // PlaceholderAPI-Erweiterung mit vorformatierten Werten (falls PlaceholderAPI installiert ist)
+            if (getServer().getPluginManager().getPlugin("PlaceholderAPI") != null) {
+                this.placeholderCache = new PlaceholderCache(this, bankManager, balanceChangeBus, leaderboard, priceManager);
+                getServer().getPluginManager().registerEvents(placeholderCache, this);
+                this.placeholderExpansion = new SimpleEcoExpansion(this, placeholderCache);
+                placeholderExpansion.register();
+                getLogger().info("PlaceholderAPI-Erweiterung registriert");
+            }
+            
             // 6. Shop-Villager-Manager initialisieren
             this.shopVillagerManager = new ShopVillagerManager(this, configManager);
             getLogger().info("Shop-Villager-Manager initialisiert");
@@ -87,6 +154,10 @@ public class SimpleEcoPlugin extends JavaPlugin {
             this.atmVillagerManager = new AtmVillagerManager(this, configManager);
             getLogger().info("ATM-Villager-Manager initialisiert");
             
+            // Register der Shop- und ATM-Villager aus der Datenbank aufbauen
+            this.villagerRegistry = new SpecialVillagerRegistry(this, shopVillagerManager, atmVillagerManager);
+            villagerRegistry.initialize();
+            
             // 8. ATM-Trader initialisieren
             this.atmTrader = new AtmTrader(this, bankManager, configManager);
             getLogger().info("ATM-Trading-System initialisiert");
@@ -116,8 +187,13 @@ public class SimpleEcoPlugin extends JavaPlugin {
                 double lookDistance = configManager.getConfig().getDouble("villagerBehavior.lookDistance", 8.0);
                 long updateInterval = configManager.getConfig().getLong("villagerBehavior.lookUpdateInterval", 20);
                 
-                this.villagerLookTask = VillagerLookTask.start(this, shopVillagerManager, atmVillagerManager, 
-                                                              lookDistance, updateInterval);
+                // Chunks mit Spielern in Blickweite verfolgen (bereits online befindliche Spieler übernehmen)
+                this.villagerInterestMap = new VillagerInterestMap(lookDistance);
+                getServer().getOnlinePlayers().forEach(player -> villagerInterestMap.updatePlayer(player, player.getLocation()));
+                getServer().getPluginManager().registerEvents(new PlayerChunkListener(villagerInterestMap), this);
+                
+                this.villagerLookTask = VillagerLookTask.start(this, villagerRegistry, villagerInterestMap,
+                                                               lookDistance, updateInterval);
                 getLogger().info("Villager-Look-Task gestartet");
             }
                         
@@ -150,12 +226,44 @@ public class SimpleEcoPlugin extends JavaPlugin {
                 getLogger().info("Scoreboard-Manager heruntergefahren");
             }
             
+            // Bestenliste abmelden
+            if (leaderboard != null) {
+                leaderboard.shutdown();
+            }
+            
+            // PlaceholderAPI-Erweiterung abmelden
+            if (placeholderExpansion != null) {
+                placeholderExpansion.shutdown();
+            }
+            
+            // Ausstehende Haupt-Thread-Aufgaben abarbeiten
+            if (pluginScheduler != null) {
+                pluginScheduler.shutdown();
+                getLogger().info("Scheduler gestoppt");
+            }
+            
+            // Restliche Journal-Einträge an die Datenbank übergeben
+            if (transactionLedger != null) {
+                transactionLedger.shutdown();
+            }
+            
             // Datenbank-Verbindungen schließen
             if (databaseManager != null) {
                 databaseManager.shutdown();
                 getLogger().info("Datenbank-Verbindungen geschlossen");
             }
             
+            // Letzte Kontostandsänderungen noch zustellen
+            if (balanceChangeBus != null) {
+                balanceChangeBus.shutdown();
+            }
+            
+            // Ereignis-Log nach dem letzten Datenbank-Schreibvorgang schließen
+            if (eventLogManager != null) {
+                eventLogManager.shutdown();
+                getLogger().info("Ereignis-Log geschlossen");
+            }
+            
             getLogger().info("SimpleEco Plugin erfolgreich deaktiviert!");
         } catch (Exception e) {
             getLogger().log(Level.SEVERE, "Fehler beim Herunterfahren:", e);
@@ -177,11 +285,12 @@ public class SimpleEcoPlugin extends JavaPlugin {
      */
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(
-            new PlayerJoinListener(currency, configManager, scoreboardManager), this);
+            new PlayerJoinListener(currency, configManager, scoreboardManager, transactionLedger), this);
         getServer().getPluginManager().registerEvents(
-            new PlayerDeathListener(this, configManager, bankManager, scoreboardManager), this);
+            new PlayerDeathListener(this, configManager, bankManager), this);
         getServer().getPluginManager().registerEvents(
-            new VillagerInteractListener(villagerTrader, shopVillagerManager, atmTrader, atmVillagerManager, scoreboardManager), this);
+            new VillagerInteractListener(villagerTrader, shopVillagerManager, atmTrader, atmVillagerManager, 
+                                         villagerRegistry, scoreboardManager), this);
     }
     
     // Getter-Methoden für andere Klassen
@@ -194,6 +303,10 @@ public class SimpleEcoPlugin extends JavaPlugin {
         return configManager;
     }
     
+    public MoneyFormatter getMoneyFormatter() {
+        return moneyFormatter;
+    }
+    
     public DatabaseManager getDatabaseManager() {
         return databaseManager;
     }
@@ -206,6 +319,23 @@ public class SimpleEcoPlugin extends JavaPlugin {
         return priceManager;
     }
     
+    public PluginScheduler getPluginScheduler() {
+        return pluginScheduler;
+    }
+    
+    /**
+     * Gibt den Haupt-Thread-Dispatcher zurück
+     * 
+     * @return Der Dispatcher oder null unter Folia
+     */
+    public MainThreadDispatcher getMainThreadDispatcher() {
+        return pluginScheduler instanceof BukkitPluginScheduler bukkitScheduler ? bukkitScheduler.getDispatcher() : null;
+    }
+    
+    public ItemNameLocalizer getItemNameLocalizer() {
+        return itemNameLocalizer;
+    }
+    
     public CustomVillagerTrader getVillagerTrader() {
         return villagerTrader;
     }
@@ -218,10 +348,57 @@ public class SimpleEcoPlugin extends JavaPlugin {
         return scoreboardManager;
     }
     
+    /**
+     * Gibt den Bus für Kontostandsänderungen zurück (z.B. für Integrationen)
+     * 
+     * @return Der BalanceChangeBus
+     */
+    public BalanceChangeBus getBalanceChangeBus() {
+        return balanceChangeBus;
+    }
+    
+    public TransactionLedger getTransactionLedger() {
+        return transactionLedger;
+    }
+    
+    /**
+     * Gibt das Ereignis-Log zurück
+     * 
+     * @return Der EventLogManager oder null wenn das Ereignis-Log deaktiviert ist
+     */
+    public EventLogManager getEventLogManager() {
+        return eventLogManager;
+    }
+    
     public BankManager getBankManager() {
         return bankManager;
     }
     
+    public BalanceLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+    
+    /**
+     * Gibt den Cache der Platzhalter-Werte zurück
+     * 
+     * @return Der PlaceholderCache oder null wenn PlaceholderAPI nicht installiert ist
+     */
+    public PlaceholderCache getPlaceholderCache() {
+        return placeholderCache;
+    }
+    
+    public SpecialVillagerRegistry getVillagerRegistry() {
+        return villagerRegistry;
+    }
+    
+    public VillagerLookTask getVillagerLookTask() {
+        return villagerLookTask;
+    }
+    
+    public VillagerInterestMap getVillagerInterestMap() {
+        return villagerInterestMap;
+    }
+    
     public AtmVillagerManager getAtmVillagerManager() {
         return atmVillagerManager;
     }
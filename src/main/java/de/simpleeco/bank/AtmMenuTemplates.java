@@ -0,0 +1,170 @@
+package de.simpleeco.bank;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.List;
+
+/**
+ * Vorgefertigte Layouts der ATM-Menüs
+ *
+ * Rahmen, Buttons und feste Betrags-Buttons werden einmalig beim Laden gebaut und
+ * als unveränderliche Vorlagen gehalten. Beim Öffnen eines Menüs wird nur die
+ * Vorlage in ein neues Inventory kopiert ({@code setContents} kopiert die Items)
+ * und anschließend die spielerabhängigen Slots gesetzt: die beiden Kontostände
+ * im Hauptmenü bzw. der "Alles"-Button in den Untermenüs.
+ */
+class AtmMenuTemplates {
+
+    static final String MAIN_TITLE = "§6§lBank-Automat";
+    static final String DEPOSIT_TITLE = "§2§lGeld einzahlen";
+    static final String WITHDRAW_TITLE = "§c§lGeld abheben";
+
+    static final int MENU_SIZE = 27;
+
+    // Dynamische Slots
+    static final int CASH_SLOT = 10;
+    static final int BANK_SLOT = 12;
+    static final int ALL_AMOUNT_SLOT = 13;
+
+    private final BankManager bankManager;
+
+    private volatile ItemStack[] mainTemplate;
+    private volatile ItemStack[] depositTemplate;
+    private volatile ItemStack[] withdrawTemplate;
+
+    AtmMenuTemplates(BankManager bankManager) {
+        this.bankManager = bankManager;
+        rebuild();
+    }
+
+    /**
+     * Baut alle Vorlagen neu (z.B. nach einer Änderung des Währungsnamens)
+     */
+    void rebuild() {
+        ItemStack glass = createGlassPane();
+
+        ItemStack[] main = createFrame(glass);
+        main[14] = createButton(Material.CHEST, "§2§lGeld einzahlen",
+            "§7Zahlen Sie Bargeld auf", "§7Ihr Bank-Konto ein.", "", "§eKlicken Sie zum Öffnen!");
+        main[16] = createButton(Material.DISPENSER, "§c§lGeld abheben",
+            "§7Heben Sie Geld von", "§7Ihrem Bank-Konto ab.", "", "§eKlicken Sie zum Öffnen!");
+        main[22] = createButton(Material.BARRIER, "§c§lSchließen", "§7ATM-Menü schließen");
+
+        ItemStack back = createButton(Material.ARROW, "§7§lZurück", "§7Zurück zum Hauptmenü");
+
+        ItemStack[] deposit = createFrame(glass);
+        deposit[10] = createAmountButton(10.0, "§a10 einzahlen");
+        deposit[11] = createAmountButton(100.0, "§a100 einzahlen");
+        deposit[12] = createAmountButton(1000.0, "§a1000 einzahlen");
+        deposit[18] = back;
+
+        ItemStack[] withdraw = createFrame(glass);
+        withdraw[10] = createAmountButton(10.0, "§c10 abheben");
+        withdraw[11] = createAmountButton(100.0, "§c100 abheben");
+        withdraw[12] = createAmountButton(1000.0, "§c1000 abheben");
+        withdraw[18] = back;
+
+        this.mainTemplate = main;
+        this.depositTemplate = deposit;
+        this.withdrawTemplate = withdraw;
+    }
+
+    /**
+     * Erstellt das Hauptmenü mit den Kontoständen des Spielers
+     *
+     * @param cashBalance Bargeld-Betrag
+     * @param bankBalance Bank-Guthaben
+     * @return Das gefüllte Inventory
+     */
+    Inventory createMainMenu(double cashBalance, double bankBalance) {
+        Inventory inventory = Bukkit.createInventory(null, MENU_SIZE, MAIN_TITLE);
+        inventory.setContents(mainTemplate);
+        inventory.setItem(CASH_SLOT, createButton(Material.EMERALD, "§a§lBargeld",
+            "§7Ihr aktuelles Bargeld:", "§e" + bankManager.formatAmount(cashBalance), "",
+            "§7Das Bargeld wird für den", "§7Handel mit Villagern verwendet."));
+        inventory.setItem(BANK_SLOT, createButton(Material.GOLD_INGOT, "§6§lBank-Guthaben",
+            "§7Ihr Bank-Guthaben:", "§e" + bankManager.formatAmount(bankBalance), "",
+            "§7Sicherer Aufbewahrungsort", "§7für Ihr Geld."));
+        return inventory;
+    }
+
+    /**
+     * Erstellt das Einzahl-Menü
+     *
+     * @param cashBalance Verfügbares Bargeld (für "Alles einzahlen")
+     * @return Das gefüllte Inventory
+     */
+    Inventory createDepositMenu(double cashBalance) {
+        Inventory inventory = Bukkit.createInventory(null, MENU_SIZE, DEPOSIT_TITLE);
+        inventory.setContents(depositTemplate);
+        inventory.setItem(ALL_AMOUNT_SLOT, createAmountButton(cashBalance, "§aAlles einzahlen"));
+        return inventory;
+    }
+
+    /**
+     * Erstellt das Abheb-Menü
+     *
+     * @param bankBalance Verfügbares Bank-Guthaben (für "Alles abheben")
+     * @return Das gefüllte Inventory
+     */
+    Inventory createWithdrawMenu(double bankBalance) {
+        Inventory inventory = Bukkit.createInventory(null, MENU_SIZE, WITHDRAW_TITLE);
+        inventory.setContents(withdrawTemplate);
+        inventory.setItem(ALL_AMOUNT_SLOT, createAmountButton(bankBalance, "§cAlles abheben"));
+        return inventory;
+    }
+
+    /**
+     * Erstellt ein Layout mit Glasscheiben-Rahmen
+     */
+    private static ItemStack[] createFrame(ItemStack glass) {
+        ItemStack[] contents = new ItemStack[MENU_SIZE];
+        for (int i = 0; i < MENU_SIZE; i++) {
+            if (i < 9 || i >= 18 || i % 9 == 0 || i % 9 == 8) {
+                contents[i] = glass;
+            }
+        }
+        return contents;
+    }
+
+    /**
+     * Erstellt einen Betrags-Button
+     *
+     * @param amount Der Betrag
+     * @param displayName Der Anzeigename
+     * @return ItemStack für den Button
+     */
+    private ItemStack createAmountButton(double amount, String displayName) {
+        if (amount > 0) {
+            return createButton(Material.GOLD_NUGGET, displayName,
+                "§7Betrag: §e" + bankManager.formatAmount(amount), "", "§eLinksklick: Ausführen");
+        }
+        return createButton(Material.GRAY_STAINED_GLASS_PANE,
+            "§8" + displayName.replace("§a", "").replace("§c", "") + " §7(Nicht verfügbar)",
+            "§7Nicht genügend Guthaben", "§7für diese Aktion verfügbar.");
+    }
+
+    /**
+     * Erstellt eine Glasscheibe für die Dekoration
+     */
+    private static ItemStack createGlassPane() {
+        ItemStack item = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(" ");
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static ItemStack createButton(Material material, String displayName, String... lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(displayName);
+        meta.setLore(List.of(lore));
+        item.setItemMeta(meta);
+        return item;
+    }
+}
@@ -2,16 +2,12 @@ package de.simpleeco.bank;
 
 import de.simpleeco.SimpleEcoPlugin;
 import de.simpleeco.config.ConfigManager;
-import org.bukkit.Bukkit;
-import org.bukkit.Material;
+import de.simpleeco.database.DatabaseManager;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -28,6 +24,7 @@ public class AtmTrader {
     private final SimpleEcoPlugin plugin;
     private final BankManager bankManager;
     private final ConfigManager configManager;
+    private final AtmMenuTemplates menuTemplates;
     
     // Cache für geöffnete ATM-Menüs
     private final ConcurrentHashMap<Player, AtmSession> activeSessions = new ConcurrentHashMap<>();
@@ -36,6 +33,14 @@ public class AtmTrader {
         this.plugin = plugin;
         this.bankManager = bankManager;
         this.configManager = configManager;
+        this.menuTemplates = new AtmMenuTemplates(bankManager);
+    }
+    
+    /**
+     * Baut die Menü-Vorlagen neu auf (z.B. nach einem Reload der Währung)
+     */
+    public void reloadMenuTemplates() {
+        menuTemplates.rebuild();
     }
     
     /**
@@ -59,8 +64,6 @@ public class AtmTrader {
      * @param session Die ATM-Session
      */
     private void createMainAtmMenu(Player player, AtmSession session) {
-        Inventory atmInventory = Bukkit.createInventory(null, 27, "§6§lBank-Automat");
-        
         // Balances laden und Menü erstellen
         CompletableFuture<Double> cashFuture = bankManager.getCashBalance(player);
         CompletableFuture<Double> bankFuture = bankManager.getBankBalance(player);
@@ -73,18 +76,16 @@ public class AtmTrader {
                 session.cashBalance = cashBalance;
                 session.bankBalance = bankBalance;
                 
-                // Menü aufbauen
-                buildMainMenu(atmInventory, cashBalance, bankBalance);
-                
-                // Menü öffnen (auf Main Thread)
-                Bukkit.getScheduler().runTask(plugin, () -> {
+                // Menü aufbauen und öffnen (im Thread des Spielers)
+                plugin.getPluginScheduler().entityExecutor(player).execute(() -> {
+                    Inventory atmInventory = menuTemplates.createMainMenu(cashBalance, bankBalance);
                     player.openInventory(atmInventory);
                     session.currentInventory = atmInventory;
                 });
                 
             } catch (Exception e) {
                 plugin.getLogger().severe("Fehler beim Laden der Kontostände: " + e.getMessage());
-                Bukkit.getScheduler().runTask(plugin, () -> {
+                plugin.getPluginScheduler().runForEntity(player, () -> {
                     player.sendMessage(configManager.getMessage("prefix") + 
                                      "§cFehler beim Laden Ihrer Kontodaten!");
                 });
@@ -92,157 +93,6 @@ public class AtmTrader {
         });
     }
     
-    /**
-     * Baut das Haupt-ATM-Menü auf
-     * 
-     * @param inventory Das Inventory
-     * @param cashBalance Bargeld-Betrag
-     * @param bankBalance Bank-Guthaben
-     */
-    private void buildMainMenu(Inventory inventory, double cashBalance, double bankBalance) {
-        // Rahmen mit Glasscheiben
-        ItemStack glass = createGlassPane();
-        for (int i = 0; i < 27; i++) {
-            if (i < 9 || i >= 18 || i % 9 == 0 || i % 9 == 8) {
-                inventory.setItem(i, glass);
-            }
-        }
-        
-        // Bargeld-Anzeige
-        inventory.setItem(10, createCashDisplay(cashBalance));
-        
-        // Bank-Guthaben-Anzeige
-        inventory.setItem(12, createBankDisplay(bankBalance));
-        
-        // Einzahlen-Button
-        inventory.setItem(14, createDepositButton());
-        
-        // Abheben-Button
-        inventory.setItem(16, createWithdrawButton());
-        
-        // Schließen-Button
-        inventory.setItem(22, createCloseButton());
-    }
-    
-    /**
-     * Erstellt die Bargeld-Anzeige
-     * 
-     * @param cashBalance Der Bargeld-Betrag
-     * @return ItemStack für die Anzeige
-     */
-    private ItemStack createCashDisplay(double cashBalance) {
-        ItemStack item = new ItemStack(Material.EMERALD);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName("§a§lBargeld");
-        
-        List<String> lore = new ArrayList<>();
-        lore.add("§7Ihr aktuelles Bargeld:");
-        lore.add("§e" + bankManager.formatAmount(cashBalance));
-        lore.add("");
-        lore.add("§7Das Bargeld wird für den");
-        lore.add("§7Handel mit Villagern verwendet.");
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-        
-        return item;
-    }
-    
-    /**
-     * Erstellt die Bank-Guthaben-Anzeige
-     * 
-     * @param bankBalance Das Bank-Guthaben
-     * @return ItemStack für die Anzeige
-     */
-    private ItemStack createBankDisplay(double bankBalance) {
-        ItemStack item = new ItemStack(Material.GOLD_INGOT);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName("§6§lBank-Guthaben");
-        
-        List<String> lore = new ArrayList<>();
-        lore.add("§7Ihr Bank-Guthaben:");
-        lore.add("§e" + bankManager.formatAmount(bankBalance));
-        lore.add("");
-        lore.add("§7Sicherer Aufbewahrungsort");
-        lore.add("§7für Ihr Geld.");
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-        
-        return item;
-    }
-    
-    /**
-     * Erstellt den Einzahlen-Button
-     * 
-     * @return ItemStack für den Button
-     */
-    private ItemStack createDepositButton() {
-        ItemStack item = new ItemStack(Material.CHEST);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName("§2§lGeld einzahlen");
-        
-        List<String> lore = new ArrayList<>();
-        lore.add("§7Zahlen Sie Bargeld auf");
-        lore.add("§7Ihr Bank-Konto ein.");
-        lore.add("");
-        lore.add("§eKlicken Sie zum Öffnen!");
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-        
-        return item;
-    }
-    
-    /**
-     * Erstellt den Abheben-Button
-     * 
-     * @return ItemStack für den Button
-     */
-    private ItemStack createWithdrawButton() {
-        ItemStack item = new ItemStack(Material.DISPENSER);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName("§c§lGeld abheben");
-        
-        List<String> lore = new ArrayList<>();
-        lore.add("§7Heben Sie Geld von");
-        lore.add("§7Ihrem Bank-Konto ab.");
-        lore.add("");
-        lore.add("§eKlicken Sie zum Öffnen!");
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-        
-        return item;
-    }
-    
-    /**
-     * Erstellt den Schließen-Button
-     * 
-     * @return ItemStack für den Button
-     */
-    private ItemStack createCloseButton() {
-        ItemStack item = new ItemStack(Material.BARRIER);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName("§c§lSchließen");
-        
-        List<String> lore = new ArrayList<>();
-        lore.add("§7ATM-Menü schließen");
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-        
-        return item;
-    }
-    
-    /**
-     * Erstellt eine Glasscheibe für die Dekoration
-     * 
-     * @return ItemStack der Glasscheibe
-     */
-    private ItemStack createGlassPane() {
-        ItemStack item = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName(" ");
-        item.setItemMeta(meta);
-        return item;
-    }
-    
     /**
      * Öffnet das Einzahl-Menü
      * 
@@ -256,24 +106,8 @@ public class AtmTrader {
             return;
         }
         
-        Inventory depositInventory = Bukkit.createInventory(null, 27, "§2§lGeld einzahlen");
-        
-        // Glasscheiben als Rahmen
-        ItemStack glass = createGlassPane();
-        for (int i = 0; i < 27; i++) {
-            if (i < 9 || i >= 18 || i % 9 == 0 || i % 9 == 8) {
-                depositInventory.setItem(i, glass);
-            }
-        }
-        
-        // Verschiedene Einzahl-Beträge
-        depositInventory.setItem(10, createAmountButton(10.0, "§a10 einzahlen"));
-        depositInventory.setItem(11, createAmountButton(100.0, "§a100 einzahlen"));
-        depositInventory.setItem(12, createAmountButton(1000.0, "§a1000 einzahlen"));
-        depositInventory.setItem(13, createAmountButton(session.cashBalance, "§aAlles einzahlen"));
-        
-        // Zurück-Button
-        depositInventory.setItem(18, createBackButton());
+        // Vorlage kopieren, nur der "Alles"-Button hängt vom Spieler ab
+        Inventory depositInventory = menuTemplates.createDepositMenu(session.cashBalance);
         
         // Session-Update BEFORE opening inventory
         session.currentInventory = depositInventory;
@@ -300,24 +134,8 @@ public class AtmTrader {
             return;
         }
         
-        Inventory withdrawInventory = Bukkit.createInventory(null, 27, "§c§lGeld abheben");
-        
-        // Glasscheiben als Rahmen
-        ItemStack glass = createGlassPane();
-        for (int i = 0; i < 27; i++) {
-            if (i < 9 || i >= 18 || i % 9 == 0 || i % 9 == 8) {
-                withdrawInventory.setItem(i, glass);
-            }
-        }
-        
-        // Verschiedene Abheb-Beträge
-        withdrawInventory.setItem(10, createAmountButton(10.0, "§c10 abheben"));
-        withdrawInventory.setItem(11, createAmountButton(100.0, "§c100 abheben"));
-        withdrawInventory.setItem(12, createAmountButton(1000.0, "§c1000 abheben"));
-        withdrawInventory.setItem(13, createAmountButton(session.bankBalance, "§cAlles abheben"));
-        
-        // Zurück-Button
-        withdrawInventory.setItem(18, createBackButton());
+        // Vorlage kopieren, nur der "Alles"-Button hängt vom Spieler ab
+        Inventory withdrawInventory = menuTemplates.createWithdrawMenu(session.bankBalance);
         
         // Session-Update BEFORE opening inventory
         session.currentInventory = withdrawInventory;
@@ -331,55 +149,6 @@ public class AtmTrader {
         plugin.getLogger().info("Abheb-Menü für " + player.getName() + " geöffnet. Session-Typ: " + session.menuType);
     }
     
-    /**
-     * Erstellt einen Betrags-Button
-     * 
-     * @param amount Der Betrag
-     * @param displayName Der Anzeigename
-     * @return ItemStack für den Button
-     */
-    private ItemStack createAmountButton(double amount, String displayName) {
-        Material material = amount > 0 ? Material.GOLD_NUGGET : Material.GRAY_STAINED_GLASS_PANE;
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-        
-        if (amount > 0) {
-            meta.setDisplayName(displayName);
-            List<String> lore = new ArrayList<>();
-            lore.add("§7Betrag: §e" + bankManager.formatAmount(amount));
-            lore.add("");
-            lore.add("§eLinksklick: Ausführen");
-            meta.setLore(lore);
-        } else {
-            meta.setDisplayName("§8" + displayName.replace("§a", "").replace("§c", "") + " §7(Nicht verfügbar)");
-            List<String> lore = new ArrayList<>();
-            lore.add("§7Nicht genügend Guthaben");
-            lore.add("§7für diese Aktion verfügbar.");
-            meta.setLore(lore);
-        }
-        
-        item.setItemMeta(meta);
-        return item;
-    }
-    
-    /**
-     * Erstellt den Zurück-Button
-     * 
-     * @return ItemStack für den Button
-     */
-    private ItemStack createBackButton() {
-        ItemStack item = new ItemStack(Material.ARROW);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName("§7§lZurück");
-        
-        List<String> lore = new ArrayList<>();
-        lore.add("§7Zurück zum Hauptmenü");
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-        
-        return item;
-    }
-    
     /**
      * Behandelt Inventory-Klicks
      * 
@@ -511,23 +280,26 @@ public class AtmTrader {
             return;
         }
 
-        bankManager.depositToBank(player, amount).thenAccept(success -> {
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                if (success) {
+        // Abbuchung und Gutschrift in einer Transaktion
+        bankManager.transfer(player, amount, DatabaseManager.TransferDirection.CASH_TO_BANK).thenAccept(result -> {
+            plugin.getPluginScheduler().runForEntity(player, () -> {
+                // Session mit den gespeicherten Kontoständen abgleichen
+                session.cashBalance = result.cashBalance();
+                session.bankBalance = result.bankBalance();
+                
+                if (result.success()) {
                     player.sendMessage(configManager.getMessage("prefix") + 
                                      "§a" + bankManager.formatAmount(amount) + " erfolgreich eingezahlt!");
-                    // Session aktualisieren
-                    session.cashBalance -= amount;
-                    session.bankBalance += amount;
                     openAtmMenu(player); // Menü aktualisieren
                 } else {
                     player.sendMessage(configManager.getMessage("prefix") + 
-                                     "§cFehler bei der Einzahlung! Bitte versuchen Sie es erneut.");
+                                     "§cNicht genügend Bargeld verfügbar! Sie haben nur " + 
+                                     bankManager.formatAmount(result.cashBalance()));
                 }
             });
         }).exceptionally(throwable -> {
             plugin.getLogger().severe("Unerwarteter Fehler bei ATM-Einzahlung: " + throwable.getMessage());
-            Bukkit.getScheduler().runTask(plugin, () -> {
+            plugin.getPluginScheduler().runForEntity(player, () -> {
                 player.sendMessage(configManager.getMessage("prefix") + 
                                  "§cEin unerwarteter Fehler ist aufgetreten. Bitte wenden Sie sich an einen Administrator.");
             });
@@ -560,23 +332,26 @@ public class AtmTrader {
             return;
         }
 
-        bankManager.withdrawFromBank(player, amount).thenAccept(success -> {
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                if (success) {
+        // Abbuchung und Gutschrift in einer Transaktion
+        bankManager.transfer(player, amount, DatabaseManager.TransferDirection.BANK_TO_CASH).thenAccept(result -> {
+            plugin.getPluginScheduler().runForEntity(player, () -> {
+                // Session mit den gespeicherten Kontoständen abgleichen
+                session.cashBalance = result.cashBalance();
+                session.bankBalance = result.bankBalance();
+                
+                if (result.success()) {
                     player.sendMessage(configManager.getMessage("prefix") + 
                                      "§a" + bankManager.formatAmount(amount) + " erfolgreich abgehoben!");
-                    // Session aktualisieren
-                    session.bankBalance -= amount;
-                    session.cashBalance += amount;
                     openAtmMenu(player); // Menü aktualisieren
                 } else {
                     player.sendMessage(configManager.getMessage("prefix") + 
-                                     "§cFehler bei der Abhebung! Bitte versuchen Sie es erneut.");
+                                     "§cNicht genügend Bank-Guthaben verfügbar! Sie haben nur " + 
+                                     bankManager.formatAmount(result.bankBalance()));
                 }
             });
         }).exceptionally(throwable -> {
             plugin.getLogger().severe("Unerwarteter Fehler bei ATM-Abhebung: " + throwable.getMessage());
-            Bukkit.getScheduler().runTask(plugin, () -> {
+            plugin.getPluginScheduler().runForEntity(player, () -> {
                 player.sendMessage(configManager.getMessage("prefix") + 
                                  "§cEin unerwarteter Fehler ist aufgetreten. Bitte wenden Sie sich an einen Administrator.");
             });
@@ -2,6 +2,7 @@ package de.simpleeco.bank;
 
 import de.simpleeco.SimpleEcoPlugin;
 import de.simpleeco.config.ConfigManager;
+import de.simpleeco.villager.VillagerRole;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Villager;
@@ -12,6 +13,7 @@ import org.bukkit.NamespacedKey;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manager für ATM-Villager
@@ -32,7 +34,7 @@ public class AtmVillagerManager {
         this.plugin = plugin;
         this.configManager = configManager;
         this.atmVillagerKey = new NamespacedKey(plugin, "atm_villager");
-        this.atmVillagers = new HashSet<>();
+        this.atmVillagers = ConcurrentHashMap.newKeySet();
     }
     
     /**
@@ -55,6 +57,9 @@ public class AtmVillagerManager {
             
             // Zur Tracking-Liste hinzufügen
             atmVillagers.add(villager.getUniqueId());
+            if (plugin.getVillagerRegistry() != null) {
+                plugin.getVillagerRegistry().register(villager, VillagerRole.ATM);
+            }
             
             plugin.getLogger().info("ATM-Villager " + villager.getUniqueId() + 
                                   " gespawnt von " + spawner.getName() + 
@@ -80,16 +85,11 @@ public class AtmVillagerManager {
         villager.setCustomName("§6§l" + villagerName);
         villager.setCustomNameVisible(true);
         
-        // Bewegung konfigurieren - AI nur teilweise deaktivieren für Look-Funktionalität
-        boolean lookAtPlayers = configManager.getConfig().getBoolean("villagerBehavior.lookAtPlayers", true);
-        if (lookAtPlayers) {
-            // AI aktiviert lassen, aber Bewegung einschränken
-            villager.setAI(true);
-            villager.setCollidable(false); // Keine Kollision mit anderen Entities
-        } else {
-            // Vollständig deaktivieren
-            villager.setAI(false);
-        }
+        // Statischer NPC: keine KI, keine Schwerkraft, keine Kollision
+        // (die Blickrichtung steuert die VillagerLookTask)
+        villager.setAI(false);
+        villager.setGravity(false);
+        villager.setCollidable(false);
         
         villager.setSilent(true);
         villager.setInvulnerable(true);
@@ -137,16 +137,36 @@ public class AtmVillagerManager {
     /**
      * Prüft ob ein Villager ein ATM-Villager ist
      * 
+     * Die Rolle kommt aus dem Villager-Register (einmalige Klassifizierung pro Entity).
+     * 
      * @param villager Der zu prüfende Villager
      * @return true wenn es ein ATM-Villager ist, false sonst
      */
     public boolean isAtmVillager(Villager villager) {
+        if (plugin.getVillagerRegistry() != null) {
+            return plugin.getVillagerRegistry().getRole(villager) == VillagerRole.ATM;
+        }
+        return hasAtmMarker(villager);
+    }
+    
+    /**
+     * Prüft die ATM-Markierungen eines Villagers direkt (UUID-Set, Persistent Data, Metadata)
+     * 
+     * Wird vom Villager-Register zur einmaligen Klassifizierung verwendet.
+     * 
+     * @param villager Der zu prüfende Villager
+     * @return true wenn der Villager als ATM-Villager markiert ist
+     */
+    public boolean hasAtmMarker(Villager villager) {
+        // Prüfe UUID in Set (günstigste Quelle)
+        if (atmVillagers.contains(villager.getUniqueId())) {
+            return true;
+        }
+        
         // Prüfe Persistent Data
-        if (villager.getPersistentDataContainer().has(atmVillagerKey, PersistentDataType.BOOLEAN)) {
-            Boolean isAtm = villager.getPersistentDataContainer().get(atmVillagerKey, PersistentDataType.BOOLEAN);
-            if (isAtm != null && isAtm) {
-                return true;
-            }
+        Boolean isAtm = villager.getPersistentDataContainer().get(atmVillagerKey, PersistentDataType.BOOLEAN);
+        if (isAtm != null && isAtm) {
+            return true;
         }
         
         // Fallback: Prüfe Metadata
@@ -154,8 +174,7 @@ public class AtmVillagerManager {
             return villager.getMetadata("atm_villager").get(0).asBoolean();
         }
         
-        // Fallback: Prüfe UUID in Set
-        return atmVillagers.contains(villager.getUniqueId());
+        return false;
     }
     
     /**
@@ -167,7 +186,6 @@ public class AtmVillagerManager {
     public void registerExistingAtmVillager(Villager villager) {
         if (isAtmVillager(villager)) {
             atmVillagers.add(villager.getUniqueId());
-            plugin.getLogger().info("Existierender ATM-Villager registriert: " + villager.getUniqueId());
         }
     }
     
@@ -0,0 +1,200 @@
+package de.simpleeco.bank;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.currency.BalanceChangeBus;
+import de.simpleeco.currency.BalanceChangeEvent;
+import de.simpleeco.currency.BalanceChangeSubscriber;
+import de.simpleeco.database.DatabaseManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Rangliste der reichsten Spieler (Bargeld + Bank-Guthaben)
+ *
+ * Wird beim Start einmalig im Hintergrund aus der Datenbank befüllt und danach
+ * über die Ereignisse des {@link BalanceChangeBus} (asynchron zugestellt)
+ * inkrementell gepflegt. Seiten-Abfragen und Platz-Suche laufen über eine
+ * indizierte Skip-List in O(log n) statt über ein {@code ORDER BY} auf der Datenbank.
+ *
+ * Alle Zugriffe sind über die Instanz synchronisiert.
+ */
+public class BalanceLeaderboard implements BalanceChangeSubscriber {
+
+    private final SimpleEcoPlugin plugin;
+    private final BalanceChangeBus balanceBus;
+
+    private final RankedSkipList ranking = new RankedSkipList();
+    private final Map<UUID, Account> accounts = new HashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public BalanceLeaderboard(SimpleEcoPlugin plugin, BalanceChangeBus balanceBus) {
+        this.plugin = plugin;
+        this.balanceBus = balanceBus;
+        balanceBus.subscribe(this, BalanceChangeBus.Delivery.ASYNC);
+    }
+
+    /**
+     * Befüllt die Rangliste im Hintergrund aus der Datenbank
+     *
+     * Änderungen, die während des Ladens bereits gemeldet wurden, haben Vorrang
+     * vor den geladenen Werten.
+     *
+     * @param databaseManager Der DatabaseManager
+     */
+    public void load(DatabaseManager databaseManager) {
+        long start = System.nanoTime();
+        databaseManager.loadAllBalances().thenAccept(balances -> {
+            synchronized (this) {
+                for (DatabaseManager.AccountBalance balance : balances) {
+                    Account account = accounts.get(balance.playerId());
+                    if (account == null) {
+                        account = new Account(balance.cashBalance(), balance.bankBalance());
+                        accounts.put(balance.playerId(), account);
+                        ranking.insert(balance.playerId(), account.total);
+                        continue;
+                    }
+
+                    double cash = account.cashKnown ? account.cash : balance.cashBalance();
+                    double bank = account.bankKnown ? account.bank : balance.bankBalance();
+                    update(balance.playerId(), account, cash, bank);
+                }
+                loaded = true;
+            }
+            plugin.getLogger().info("Bestenliste geladen: " + balances.size() + " Spieler in " +
+                                  (System.nanoTime() - start) / 1_000_000 + "ms");
+        }).exceptionally(throwable -> {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Bestenliste:", throwable);
+            return null;
+        });
+    }
+
+    /**
+     * Meldet die Rangliste vom Balance-Bus ab
+     */
+    public void shutdown() {
+        balanceBus.unsubscribe(this);
+    }
+
+    @Override
+    public synchronized void onBalanceChange(BalanceChangeEvent event) {
+        if (event.account() == BalanceChangeEvent.Account.CASH) {
+            onCashChanged(event.playerId(), event.newBalance());
+        } else {
+            onBankChanged(event.playerId(), event.newBalance());
+        }
+    }
+
+    private void onCashChanged(UUID playerId, double newBalance) {
+        Account account = accounts.get(playerId);
+        if (account == null) {
+            account = new Account(newBalance, 0.0);
+            account.cashKnown = true;
+            accounts.put(playerId, account);
+            ranking.insert(playerId, account.total);
+            return;
+        }
+        account.cashKnown = true;
+        update(playerId, account, newBalance, account.bank);
+    }
+
+    private void onBankChanged(UUID playerId, double newBalance) {
+        Account account = accounts.get(playerId);
+        if (account == null) {
+            account = new Account(0.0, newBalance);
+            account.bankKnown = true;
+            accounts.put(playerId, account);
+            ranking.insert(playerId, account.total);
+            return;
+        }
+        account.bankKnown = true;
+        update(playerId, account, account.cash, newBalance);
+    }
+
+    /**
+     * Gibt eine Seite der Rangliste zurück
+     *
+     * @param page Seite ab 1
+     * @param pageSize Einträge pro Seite
+     * @return Einträge der Seite (leer wenn die Seite nicht existiert)
+     */
+    public synchronized List<Entry> getPage(int page, int pageSize) {
+        List<Entry> entries = new ArrayList<>(pageSize);
+        int fromRank = (page - 1) * pageSize + 1;
+        int[] rank = {fromRank};
+        ranking.forEachFrom(fromRank, pageSize, (playerId, total) ->
+            entries.add(new Entry(rank[0]++, playerId, total)));
+        return entries;
+    }
+
+    /**
+     * Gibt den Eintrag eines Spielers zurück
+     *
+     * @param playerId UUID des Spielers
+     * @return Eintrag mit Platz, oder null wenn der Spieler nicht geführt wird
+     */
+    public synchronized Entry getEntry(UUID playerId) {
+        Account account = accounts.get(playerId);
+        if (account == null) {
+            return null;
+        }
+        return new Entry(ranking.rankOf(playerId, account.total), playerId, account.total);
+    }
+
+    /**
+     * Gibt die Anzahl der geführten Spieler zurück
+     *
+     * @return Anzahl Spieler
+     */
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    /**
+     * Prüft ob die Rangliste bereits aus der Datenbank geladen wurde
+     *
+     * @return true wenn geladen
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private void update(UUID playerId, Account account, double cash, double bank) {
+        double total = cash + bank;
+        if (Double.compare(total, account.total) != 0) {
+            ranking.remove(playerId, account.total);
+            ranking.insert(playerId, total);
+        }
+        account.cash = cash;
+        account.bank = bank;
+        account.total = total;
+    }
+
+    /**
+     * Ein Platz in der Rangliste
+     */
+    public record Entry(int rank, UUID playerId, double total) {
+    }
+
+    /**
+     * Guthaben eines Spielers; die Flags markieren Werte aus Live-Benachrichtigungen
+     */
+    private static final class Account {
+        double cash;
+        double bank;
+        double total;
+        boolean cashKnown;
+        boolean bankKnown;
+
+        Account(double cash, double bank) {
+            this.cash = cash;
+            this.bank = bank;
+            this.total = cash + bank;
+        }
+    }
+}
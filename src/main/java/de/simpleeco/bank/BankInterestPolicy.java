@@ -0,0 +1,169 @@
+package de.simpleeco.bank;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Zins-Regeln für Bank-Guthaben
+ *
+ * Zinsen werden nicht periodisch für alle Konten gebucht, sondern beim Lesen oder
+ * Ändern eines Guthabens aus der seit der letzten Gutschrift vergangenen Zeit
+ * berechnet. Das Guthaben wächst dabei stetig mit dem Zinssatz seiner aktuellen
+ * Stufe: {@code guthaben * (1 + satz)^perioden}, auch für Bruchteile von Perioden.
+ *
+ * Erreicht das Guthaben während des Zeitraums eine höhere Stufe, gilt ab dann deren
+ * Satz. Eine Stufe mit Satz 0 beendet das Wachstum: Wer sie erreicht, erhält keine
+ * weiteren Zinsen. Guthaben oberhalb von {@code maxInterestBearingBalance} wird nicht verzinst;
+ * ab dieser Grenze wächst das Guthaben nur noch linear um die Zinsen auf den
+ * verzinsten Anteil. Da die Berechnung die Stufen- und Grenzübergänge exakt
+ * nachbildet, ergibt eine Gutschrift in mehreren Schritten denselben Betrag wie
+ * eine einzige - unabhängig davon, wie oft ein Konto gelesen wird.
+ */
+public class BankInterestPolicy {
+
+    private final boolean enabled;
+    private final double periodSeconds;
+    private final double maxInterestBearingBalance;
+
+    // Stufen aufsteigend nach Mindest-Guthaben
+    private final double[] tierMinimums;
+    private final double[] tierLogRates;
+
+    private BankInterestPolicy(boolean enabled, double periodSeconds, double maxInterestBearingBalance,
+                               double[] tierMinimums, double[] tierLogRates) {
+        this.enabled = enabled;
+        this.periodSeconds = periodSeconds;
+        this.maxInterestBearingBalance = maxInterestBearingBalance;
+        this.tierMinimums = tierMinimums;
+        this.tierLogRates = tierLogRates;
+    }
+
+    /**
+     * Liest die Zins-Regeln aus der Konfiguration (Abschnitt "bankInterest")
+     *
+     * @param config Die Plugin-Konfiguration
+     * @param logger Logger für Warnungen zu ungültigen Stufen
+     * @return Die Zins-Regeln
+     */
+    public static BankInterestPolicy fromConfig(FileConfiguration config, Logger logger) {
+        boolean enabled = config.getBoolean("bankInterest.enabled", false);
+        double periodHours = Math.max(1.0 / 60.0, config.getDouble("bankInterest.periodHours", 24.0));
+        double maxBalance = config.getDouble("bankInterest.maxInterestBearingBalance", 0.0);
+
+        List<double[]> tiers = new ArrayList<>();
+        boolean anyPositiveRate = false;
+        for (Map<?, ?> tier : config.getMapList("bankInterest.tiers")) {
+            double minBalance = toDouble(tier.get("minBalance"));
+            double rate = toDouble(tier.get("rate"));
+            if (rate < 0) {
+                logger.warning("Zinsstufe ab " + minBalance + " ignoriert: negativer Zinssatz " + rate);
+                continue;
+            }
+            // Stufen mit Satz 0 bleiben erhalten, damit der niedrigere Satz darüber nicht weiter gilt
+            tiers.add(new double[] {minBalance, rate});
+            anyPositiveRate |= rate > 0;
+        }
+        tiers.sort(Comparator.comparingDouble(tier -> tier[0]));
+
+        double[] minimums = new double[tiers.size()];
+        double[] logRates = new double[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            minimums[i] = tiers.get(i)[0];
+            logRates[i] = Math.log1p(tiers.get(i)[1]);
+        }
+
+        return new BankInterestPolicy(enabled && anyPositiveRate, periodHours * 3600.0,
+                                      maxBalance > 0 ? maxBalance : Double.MAX_VALUE, minimums, logRates);
+    }
+
+    /**
+     * Berechnet die seit der letzten Gutschrift aufgelaufenen Zinsen
+     *
+     * Der Zeitraum wird an jedem Stufen- und Grenzübergang geteilt; innerhalb
+     * eines Abschnitts wächst das Guthaben exponentiell (unter der Grenze) bzw.
+     * linear (darüber).
+     *
+     * @param balance Guthaben zum Zeitpunkt der letzten Gutschrift
+     * @param elapsedSeconds Seit der letzten Gutschrift vergangene Sekunden
+     * @return Die Zinsen (0 wenn deaktiviert oder nichts aufgelaufen ist)
+     */
+    public double interestFor(double balance, long elapsedSeconds) {
+        if (!enabled || balance <= 0 || elapsedSeconds <= 0) {
+            return 0.0;
+        }
+
+        double current = balance;
+        double remaining = elapsedSeconds / periodSeconds;
+        int tier = tierFor(current);
+
+        while (remaining > 0 && tier >= 0) {
+            double logRate = tierLogRates[tier];
+            if (logRate == 0.0) {
+                // Zinsfreie Stufe - das Guthaben wächst nicht mehr und bleibt in dieser Stufe
+                break;
+            }
+            double nextTier = tier + 1 < tierMinimums.length ? tierMinimums[tier + 1] : Double.POSITIVE_INFINITY;
+
+            if (current < maxInterestBearingBalance) {
+                // Exponentielles Wachstum bis zur nächsten Stufe oder zur Grenze
+                double limit = Math.min(nextTier, maxInterestBearingBalance);
+                double needed = Math.log(limit / current) / logRate;
+                if (needed >= remaining) {
+                    current *= Math.exp(remaining * logRate);
+                    break;
+                }
+                current = limit;
+                remaining -= needed;
+            } else {
+                // Oberhalb der Grenze: lineares Wachstum um die Zinsen auf den verzinsten Anteil
+                double growth = maxInterestBearingBalance * logRate;
+                double needed = (nextTier - current) / growth;
+                if (needed >= remaining) {
+                    current += remaining * growth;
+                    break;
+                }
+                current = nextTier;
+                remaining -= needed;
+            }
+
+            if (current >= nextTier) {
+                tier++;
+            }
+        }
+        return current - balance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sucht die höchste Stufe, deren Mindest-Guthaben erreicht ist
+     */
+    private int tierFor(double balance) {
+        int tier = -1;
+        for (int i = 0; i < tierMinimums.length && tierMinimums[i] <= balance; i++) {
+            tier = i;
+        }
+        return tier;
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.toString());
+            } catch (NumberFormatException ignored) {
+                // Ungültiger Wert wird wie 0 behandelt
+            }
+        }
+        return 0.0;
+    }
+}
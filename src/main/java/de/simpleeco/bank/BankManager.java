@@ -1,6 +1,7 @@
 package de.simpleeco.bank;
 
 import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.currency.BalanceChangeCause;
 import de.simpleeco.database.DatabaseManager;
 import org.bukkit.entity.Player;
 
@@ -12,6 +13,10 @@ import java.util.concurrent.CompletableFuture;
  * 
  * Verwaltet getrennte Cash- und Bank-Guthaben für Spieler.
  * Cash wird primär für Trading verwendet, Bank-Guthaben für Langzeitspeicherung.
+ * 
+ * Änderungen eines Guthabens meldet der DatabaseManager an den
+ * {@link de.simpleeco.currency.BalanceChangeBus}; Aufrufer können dafür eine
+ * {@link BalanceChangeCause} angeben.
  */
 public class BankManager {
     
@@ -21,6 +26,18 @@ public class BankManager {
     public BankManager(SimpleEcoPlugin plugin, DatabaseManager databaseManager) {
         this.plugin = plugin;
         this.databaseManager = databaseManager;
+        reloadInterestPolicy();
+    }
+    
+    /**
+     * Lädt die Zins-Regeln für Bank-Guthaben aus der Konfiguration neu
+     */
+    public void reloadInterestPolicy() {
+        BankInterestPolicy policy = BankInterestPolicy.fromConfig(plugin.getConfigManager().getConfig(), plugin.getLogger());
+        databaseManager.setBankInterestPolicy(policy);
+        if (policy.isEnabled()) {
+            plugin.getLogger().info("Bank-Zinsen aktiviert");
+        }
     }
     
     // ====== CASH BALANCE METHODEN ======
@@ -53,10 +70,22 @@ public class BankManager {
      * @return CompletableFuture das abgeschlossen wird wenn die Operation fertig ist
      */
     public CompletableFuture<Void> setCashBalance(UUID playerId, double amount) {
+        return setCashBalance(playerId, amount, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Setzt das Bargeld eines Spielers mit Angabe der Ursache
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Neuer Bargeld-Betrag
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture das abgeschlossen wird wenn die Operation fertig ist
+     */
+    public CompletableFuture<Void> setCashBalance(UUID playerId, double amount, BalanceChangeCause cause) {
         if (amount < 0) {
             throw new IllegalArgumentException("Bargeld kann nicht negativ sein");
         }
-        return databaseManager.setBalance(playerId, amount);
+        return databaseManager.setBalance(playerId, amount, cause);
     }
     
     /**
@@ -67,12 +96,7 @@ public class BankManager {
      * @return CompletableFuture das abgeschlossen wird wenn die Operation fertig ist
      */
     public CompletableFuture<Void> setCashBalance(Player player, double amount) {
-        return setCashBalance(player.getUniqueId(), amount).thenRun(() -> {
-            // Scoreboard benachrichtigen
-            if (plugin.getScoreboardManager() != null) {
-                plugin.getScoreboardManager().onBalanceChanged(player);
-            }
-        });
+        return setCashBalance(player.getUniqueId(), amount);
     }
     
     /**
@@ -83,7 +107,19 @@ public class BankManager {
      * @return CompletableFuture mit dem neuen Bargeld-Betrag
      */
     public CompletableFuture<Double> addCashBalance(UUID playerId, double amount) {
-        return databaseManager.addBalance(playerId, amount);
+        return addCashBalance(playerId, amount, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Addiert Bargeld zu einem Spieler mit Angabe der Ursache
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Betrag zum Addieren
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Bargeld-Betrag
+     */
+    public CompletableFuture<Double> addCashBalance(UUID playerId, double amount, BalanceChangeCause cause) {
+        return databaseManager.addBalance(playerId, amount, cause);
     }
     
     /**
@@ -94,13 +130,7 @@ public class BankManager {
      * @return CompletableFuture mit dem neuen Bargeld-Betrag
      */
     public CompletableFuture<Double> addCashBalance(Player player, double amount) {
-        return addCashBalance(player.getUniqueId(), amount).thenApply(newBalance -> {
-            // Scoreboard benachrichtigen
-            if (plugin.getScoreboardManager() != null) {
-                plugin.getScoreboardManager().onBalanceChanged(player);
-            }
-            return newBalance;
-        });
+        return addCashBalance(player.getUniqueId(), amount);
     }
     
     /**
@@ -111,10 +141,22 @@ public class BankManager {
      * @return CompletableFuture mit dem neuen Bargeld-Betrag
      */
     public CompletableFuture<Double> removeCashBalance(UUID playerId, double amount) {
+        return removeCashBalance(playerId, amount, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Entfernt Bargeld von einem Spieler mit Angabe der Ursache
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Betrag zum Entfernen (positiver Wert)
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Bargeld-Betrag
+     */
+    public CompletableFuture<Double> removeCashBalance(UUID playerId, double amount, BalanceChangeCause cause) {
         if (amount < 0) {
             throw new IllegalArgumentException("Betrag zum Entfernen muss positiv sein");
         }
-        return addCashBalance(playerId, -amount);
+        return addCashBalance(playerId, -amount, cause);
     }
     
     /**
@@ -128,6 +170,18 @@ public class BankManager {
         return removeCashBalance(player.getUniqueId(), amount);
     }
     
+    /**
+     * Entfernt Bargeld von einem Spieler mit Angabe der Ursache (Convenience-Methode)
+     * 
+     * @param player Spieler-Objekt
+     * @param amount Betrag zum Entfernen
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Bargeld-Betrag
+     */
+    public CompletableFuture<Double> removeCashBalance(Player player, double amount, BalanceChangeCause cause) {
+        return removeCashBalance(player.getUniqueId(), amount, cause);
+    }
+    
     /**
      * Prüft ob ein Spieler genügend Bargeld hat
      * 
@@ -150,6 +204,31 @@ public class BankManager {
         return hasCashBalance(player.getUniqueId(), amount);
     }
     
+    /**
+     * Gibt das Bargeld aus dem Cache zurück, ohne auf die Datenbank zu warten
+     * 
+     * @param playerId UUID des Spielers
+     * @return Bargeld oder null wenn das Konto nicht bekannt ist
+     */
+    public Double getCachedCashBalance(UUID playerId) {
+        return databaseManager.getCachedBalance(playerId);
+    }
+    
+    /**
+     * Ändert das Bargeld sofort und speichert es asynchron (blockiert nie)
+     * 
+     * Für Aufrufer im Haupt-Thread, die nicht auf ein CompletableFuture warten
+     * können (z.B. die Vault-Schnittstelle).
+     * 
+     * @param playerId UUID des Spielers
+     * @param delta Änderung (negativ = Abbuchung)
+     * @param cause Ursache der Änderung
+     * @return Neuer Bargeld-Betrag oder NaN wenn das Bargeld für die Abbuchung nicht reicht
+     */
+    public double adjustCashBalanceNow(UUID playerId, double delta, BalanceChangeCause cause) {
+        return databaseManager.adjustCachedBalance(playerId, delta, cause);
+    }
+    
     // ====== BANK BALANCE METHODEN ======
     
     /**
@@ -172,6 +251,16 @@ public class BankManager {
         return getBankBalance(player.getUniqueId());
     }
     
+    /**
+     * Gibt das Bank-Guthaben aus dem Cache zurück, ohne auf die Datenbank zu warten
+     * 
+     * @param playerId UUID des Spielers
+     * @return Bank-Guthaben inklusive aufgelaufener Zinsen oder null wenn das Konto nicht bekannt ist
+     */
+    public Double getCachedBankBalance(UUID playerId) {
+        return databaseManager.getCachedBankBalance(playerId);
+    }
+    
     /**
      * Setzt das Bank-Guthaben eines Spielers
      * 
@@ -194,12 +283,7 @@ public class BankManager {
      * @return CompletableFuture das abgeschlossen wird wenn die Operation fertig ist
      */
     public CompletableFuture<Void> setBankBalance(Player player, double amount) {
-        return setBankBalance(player.getUniqueId(), amount).thenRun(() -> {
-            // Scoreboard benachrichtigen
-            if (plugin.getScoreboardManager() != null) {
-                plugin.getScoreboardManager().onBankBalanceChanged(player);
-            }
-        });
+        return setBankBalance(player.getUniqueId(), amount);
     }
     
     /**
@@ -221,13 +305,7 @@ public class BankManager {
      * @return CompletableFuture mit dem neuen Bank-Guthaben
      */
     public CompletableFuture<Double> addBankBalance(Player player, double amount) {
-        return addBankBalance(player.getUniqueId(), amount).thenApply(newBalance -> {
-            // Scoreboard benachrichtigen
-            if (plugin.getScoreboardManager() != null) {
-                plugin.getScoreboardManager().onBankBalanceChanged(player);
-            }
-            return newBalance;
-        });
+        return addBankBalance(player.getUniqueId(), amount);
     }
     
     /**
@@ -279,6 +357,34 @@ public class BankManager {
     
     // ====== TRANSFER METHODEN ======
     
+    /**
+     * Verschiebt Geld zwischen Bargeld und Bank in einer einzigen Datenbank-Transaktion
+     * 
+     * Die Abbuchung erfolgt nur, wenn genügend Guthaben vorhanden ist.
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Zu verschiebender Betrag
+     * @param direction Richtung der Überweisung
+     * @return CompletableFuture mit dem Ergebnis und den neuen Kontoständen
+     */
+    public CompletableFuture<DatabaseManager.TransferResult> transfer(UUID playerId, double amount,
+                                                                      DatabaseManager.TransferDirection direction) {
+        return databaseManager.transferCashBank(playerId, amount, direction);
+    }
+    
+    /**
+     * Verschiebt Geld zwischen Bargeld und Bank (Convenience-Methode)
+     * 
+     * @param player Spieler-Objekt
+     * @param amount Zu verschiebender Betrag
+     * @param direction Richtung der Überweisung
+     * @return CompletableFuture mit dem Ergebnis und den neuen Kontoständen
+     */
+    public CompletableFuture<DatabaseManager.TransferResult> transfer(Player player, double amount,
+                                                                      DatabaseManager.TransferDirection direction) {
+        return transfer(player.getUniqueId(), amount, direction);
+    }
+    
     /**
      * Überweist Geld von Bargeld zu Bank
      * 
@@ -291,22 +397,12 @@ public class BankManager {
             throw new IllegalArgumentException("Einzahlungsbetrag muss positiv sein");
         }
         
-        return hasCashBalance(playerId, amount).thenCompose(hasSufficientCash -> {
-            if (!hasSufficientCash) {
-                return CompletableFuture.completedFuture(false);
-            }
-            
-            // Gleichzeitige Ausführung beider Operationen
-            CompletableFuture<Double> removeCash = removeCashBalance(playerId, amount);
-            CompletableFuture<Double> addToBank = addBankBalance(playerId, amount);
-            
-            return CompletableFuture.allOf(removeCash, addToBank)
-                .thenApply(v -> true)
-                .exceptionally(throwable -> {
-                    plugin.getLogger().severe("Fehler bei Bank-Einzahlung: " + throwable.getMessage());
-                    return false;
-                });
-        });
+        return transfer(playerId, amount, DatabaseManager.TransferDirection.CASH_TO_BANK)
+            .thenApply(DatabaseManager.TransferResult::success)
+            .exceptionally(throwable -> {
+                plugin.getLogger().severe("Fehler bei Bank-Einzahlung: " + throwable.getMessage());
+                return false;
+            });
     }
     
     /**
@@ -332,22 +428,12 @@ public class BankManager {
             throw new IllegalArgumentException("Abhebungsbetrag muss positiv sein");
         }
         
-        return hasBankBalance(playerId, amount).thenCompose(hasSufficientBank -> {
-            if (!hasSufficientBank) {
-                return CompletableFuture.completedFuture(false);
-            }
-            
-            // Gleichzeitige Ausführung beider Operationen
-            CompletableFuture<Double> removeFromBank = removeBankBalance(playerId, amount);
-            CompletableFuture<Double> addCash = addCashBalance(playerId, amount);
-            
-            return CompletableFuture.allOf(removeFromBank, addCash)
-                .thenApply(v -> true)
-                .exceptionally(throwable -> {
-                    plugin.getLogger().severe("Fehler bei Bank-Abhebung: " + throwable.getMessage());
-                    return false;
-                });
-        });
+        return transfer(playerId, amount, DatabaseManager.TransferDirection.BANK_TO_CASH)
+            .thenApply(DatabaseManager.TransferResult::success)
+            .exceptionally(throwable -> {
+                plugin.getLogger().severe("Fehler bei Bank-Abhebung: " + throwable.getMessage());
+                return false;
+            });
     }
     
     /**
@@ -391,8 +477,7 @@ public class BankManager {
      * @return Formatierter String
      */
     public String formatAmount(double amount) {
-        String currencyName = plugin.getConfigManager().getCurrencyName();
-        return String.format("%.2f %s", amount, currencyName);
+        return plugin.getMoneyFormatter().formatWithName(amount);
     }
     
     /**
@@ -402,7 +487,6 @@ public class BankManager {
      * @return Formatierter String mit Symbol
      */
     public String formatAmountWithSymbol(double amount) {
-        String currencySymbol = plugin.getConfigManager().getCurrencySymbol();
-        return String.format("%.2f %s", amount, currencySymbol);
+        return plugin.getMoneyFormatter().formatWithSymbol(amount);
     }
 } 
\ No newline at end of file
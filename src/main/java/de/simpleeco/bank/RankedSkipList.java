@@ -0,0 +1,213 @@
+package de.simpleeco.bank;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * Indizierte Skip-List für Ranglisten
+ *
+ * Sortiert absteigend nach Betrag, bei Gleichstand nach UUID. Jeder Vorwärts-Zeiger
+ * speichert zusätzlich, wie viele Elemente er überspringt ("Span"). Damit laufen
+ * Einfügen, Entfernen, Platz-Abfrage und Zugriff über den Platz in O(log n).
+ *
+ * Nicht thread-sicher: der Aufrufer muss synchronisieren.
+ */
+class RankedSkipList {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(null, 0.0, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    /**
+     * Fügt einen Eintrag ein (der Eintrag darf noch nicht vorhanden sein)
+     *
+     * @param playerId UUID des Spielers
+     * @param score Der Betrag
+     */
+    void insert(UUID playerId, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && ranksBefore(node.next[i], score, playerId)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+
+        Node inserted = new Node(playerId, score, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+
+        // Höhere Ebenen überspringen jetzt ein Element mehr
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * Entfernt einen Eintrag
+     *
+     * @param playerId UUID des Spielers
+     * @param score Der beim Einfügen verwendete Betrag
+     * @return true wenn der Eintrag gefunden wurde
+     */
+    boolean remove(UUID playerId, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && ranksBefore(node.next[i], score, playerId)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        Node target = node.next[0];
+        if (target == null || !target.matches(score, playerId)) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Ermittelt den Platz eines Eintrags
+     *
+     * @param playerId UUID des Spielers
+     * @param score Der beim Einfügen verwendete Betrag
+     * @return Platz ab 1, oder 0 wenn der Eintrag nicht vorhanden ist
+     */
+    int rankOf(UUID playerId, double score) {
+        int rank = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null
+                    && (ranksBefore(node.next[i], score, playerId) || node.next[i].matches(score, playerId))) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node != head && node.matches(score, playerId)) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Übergibt die Einträge ab einem Platz in Reihenfolge an den Consumer
+     *
+     * @param fromRank Erster Platz (ab 1)
+     * @param count Maximale Anzahl Einträge
+     * @param consumer Empfänger für UUID und Betrag
+     */
+    void forEachFrom(int fromRank, int count, BiConsumer<UUID, Double> consumer) {
+        if (fromRank < 1 || fromRank > size) {
+            return;
+        }
+
+        // Über die Spans direkt zum Start-Platz springen
+        int traversed = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= fromRank) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+            if (traversed == fromRank) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < count && node != null; i++) {
+            consumer.accept(node.playerId, node.score);
+            node = node.next[0];
+        }
+    }
+
+    /**
+     * Entfernt alle Einträge
+     */
+    void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Prüft ob ein Knoten vor dem Eintrag (score, playerId) steht
+     */
+    private static boolean ranksBefore(Node node, double score, UUID playerId) {
+        int compare = Double.compare(node.score, score);
+        return compare > 0 || (compare == 0 && node.playerId.compareTo(playerId) < 0);
+    }
+
+    private static int randomLevel() {
+        int newLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (newLevel < MAX_LEVEL && random.nextInt(4) == 0) {
+            newLevel++;
+        }
+        return newLevel;
+    }
+
+    private static final class Node {
+        final UUID playerId;
+        final double score;
+        final Node[] next;
+        final int[] span;
+
+        Node(UUID playerId, double score, int level) {
+            this.playerId = playerId;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        boolean matches(double score, UUID playerId) {
+            return Double.compare(this.score, score) == 0 && this.playerId.equals(playerId);
+        }
+    }
+}
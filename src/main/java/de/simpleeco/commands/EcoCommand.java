@@ -2,23 +2,39 @@ package de.simpleeco.commands;
 
 import de.simpleeco.SimpleEcoPlugin;
 import de.simpleeco.config.ConfigManager;
+import de.simpleeco.currency.BalanceChangeCause;
 import de.simpleeco.currency.BasicCurrency;
+import de.simpleeco.currency.MoneyFormatter;
+import de.simpleeco.database.DatabaseManager;
+import de.simpleeco.database.TransactionLedger;
+import de.simpleeco.database.TransactionType;
+import de.simpleeco.eventlog.ReplayBenchmark;
+import de.simpleeco.scheduler.MainThreadDispatcher;
+import de.simpleeco.tasks.VillagerLookTask;
 import de.simpleeco.scoreboard.ScoreboardManager;
 import de.simpleeco.villager.ShopVillagerManager;
 import de.simpleeco.bank.AtmVillagerManager;
+import de.simpleeco.bank.BalanceLeaderboard;
 import de.simpleeco.bank.BankManager;
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Haupt-Command-Handler für alle SimpleEco-Commands
@@ -27,9 +43,19 @@ import java.util.concurrent.CompletableFuture;
  * - /eco balance [Spieler] - Zeigt Kontostand an (Bargeld und Bank)
  * - /eco pay <Spieler> <Betrag> - Überweist Geld
  * - /eco spawn <shop|atm> - Spawnt Entities
+ * - /eco sellall - Verkauft alle verkaufbaren Items aus dem Inventar
+ * - /eco top [Seite] - Zeigt die reichsten Spieler an
+ * - /eco history [Spieler] [Seite] - Zeigt das Transaktions-Journal an
+ * - /eco stats - Zeigt Laufzeit-Metriken an (Admin)
  */
 public class EcoCommand implements CommandExecutor, TabCompleter {
     
+    // Betrachter-ID der Konsole für die gemerkten Historien-Seiten
+    private static final UUID CONSOLE_ID = new UUID(0L, 0L);
+    
+    private static final DateTimeFormatter HISTORY_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("dd.MM.yy HH:mm").withZone(ZoneId.systemDefault());
+    
     private final SimpleEcoPlugin plugin;
     private final BasicCurrency currency;
     private final BankManager bankManager;
@@ -72,7 +98,12 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
                 String[] spawnArgs = Arrays.copyOfRange(args, 1, args.length);
                 return spawnCommand.handleSpawnCommand(sender, spawnArgs);
             }
+            case "sellall" -> handleSellAll(sender);
+            case "top" -> handleTop(sender, args);
+            case "history" -> handleHistory(sender, args);
             case "reload" -> handleReload(sender);
+            case "stats" -> handleStats(sender);
+            case "benchmark" -> handleBenchmark(sender, args);
             case "help", "?" -> sendUsage(sender);
             default -> sendUsage(sender);
         }
@@ -188,7 +219,29 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         try {
             // Konfiguration neu laden
             configManager.reload();
+            plugin.getMoneyFormatter().reload();
+            bankManager.reloadInterestPolicy();
+            
+            // Sprachdateien neu laden
+            if (plugin.getItemNameLocalizer() != null) {
+                plugin.getItemNameLocalizer().reload();
+            }
             
+            // Handelskatalog (Kategorien und Such-Index) neu aufbauen
+            if (plugin.getVillagerTrader() != null) {
+                plugin.getVillagerTrader().rebuildCatalog();
+            }
+
+            // ATM-Menü-Vorlagen mit neuer Währung neu aufbauen
+            if (plugin.getAtmTrader() != null) {
+                plugin.getAtmTrader().reloadMenuTemplates();
+            }
+
+            // Platzhalter-Werte mit neuer Formatierung neu aufbauen
+            if (plugin.getPlaceholderCache() != null) {
+                plugin.getPlaceholderCache().reload();
+            }
+
             // Scoreboard-Manager neu laden
             if (scoreboardManager != null) {
                 scoreboardManager.reload();
@@ -206,6 +259,212 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    /**
+     * Behandelt den Stats-Command (Laufzeit-Metriken für Admins)
+     * 
+     * @param sender Der Command-Sender
+     */
+    private void handleStats(CommandSender sender) {
+        if (!sender.hasPermission("simpleeco.admin")) {
+            sender.sendMessage(configManager.getMessage("prefix") + 
+                             configManager.getMessage("noPermission"));
+            return;
+        }
+        
+        MainThreadDispatcher dispatcher = plugin.getMainThreadDispatcher();
+        
+        sender.sendMessage("§8§m          §r §6§lSimpleEco Stats §8§m          ");
+        if (dispatcher == null) {
+            sender.sendMessage("§e§lScheduler: §7Folia (Regionen, kein zentraler Dispatcher)");
+        } else {
+            sender.sendMessage("§e§lHaupt-Thread-Dispatcher");
+            sender.sendMessage("§7Warteschlange: §e" + dispatcher.getQueueLength() + 
+                             " §7(verzögert: §e" + dispatcher.getDelayedCount() + "§7)");
+            sender.sendMessage("§7Abarbeitung: §eØ " + formatMicros(dispatcher.getAverageDrainNanos()) + 
+                             " §7/ letzte §e" + formatMicros(dispatcher.getLastDrainNanos()) + 
+                             " §7/ max §e" + formatMicros(dispatcher.getMaxDrainNanos()));
+            sender.sendMessage("§7Budget pro Tick: §e" + formatMicros(dispatcher.getTickBudgetNanos()) + 
+                             " §7(überschritten: §e" + dispatcher.getBudgetExceededTicks() + "x§7)");
+            sender.sendMessage("§7Ausgeführt: §e" + dispatcher.getExecutedTasks() + 
+                             " §7(Fehler: §e" + dispatcher.getFailedTasks() + "§7)");
+        }
+        
+        VillagerLookTask lookTask = plugin.getVillagerLookTask();
+        if (lookTask != null) {
+            sender.sendMessage("§e§lVillager-Look-Task");
+            sender.sendMessage("§7Kosten pro Tick: §eØ " + formatMicros(lookTask.getAverageTickNanos()) + 
+                             " §7/ letzte §e" + formatMicros(lookTask.getLastTickNanos()) + 
+                             " §7/ max §e" + formatMicros(lookTask.getMaxTickNanos()));
+            sender.sendMessage("§7Budget pro Tick: §e" + formatMicros(lookTask.getTickBudgetNanos()) + 
+                             " §7(Rückstand: §e" + lookTask.getBacklog() + " Villager§7)");
+            sender.sendMessage("§7Durchläufe: §e" + lookTask.getCompletedCycles() + 
+                             " §7(Intervall überschritten: §e" + lookTask.getOverrunCycles() + "x§7)");
+        }
+        sender.sendMessage("§8§m                                        ");
+    }
+    
+    /**
+     * Behandelt den Benchmark-Command (Mikro-Benchmarks für Admins)
+     * 
+     * @param sender Der Command-Sender
+     * @param args Command-Argumente (/eco benchmark <format|replay> [Iterationen])
+     */
+    private void handleBenchmark(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("simpleeco.admin")) {
+            sender.sendMessage(configManager.getMessage("prefix") + 
+                             configManager.getMessage("noPermission"));
+            return;
+        }
+        
+        if (args.length < 2) {
+            sender.sendMessage(configManager.getMessage("prefix") + "§7Verwendung: §e/eco benchmark <format|replay> [Iterationen]");
+            return;
+        }
+        
+        // Der Replay-Benchmark schreibt echte Dateien und braucht viele Ereignisse für aussagekräftige Werte
+        boolean replay = args[1].equalsIgnoreCase("replay");
+        int iterations = replay ? 2_000_000 : 200_000;
+        if (args.length >= 3) {
+            try {
+                int requested = Integer.parseInt(args[2]);
+                iterations = replay
+                    ? Math.max(10_000, Math.min(20_000_000, requested))
+                    : Math.max(1_000, Math.min(5_000_000, requested));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(configManager.getMessage("prefix") + configManager.getMessage("invalidAmount"));
+                return;
+            }
+        }
+        
+        switch (args[1].toLowerCase()) {
+            case "format" -> runFormatBenchmark(sender, iterations);
+            case "replay" -> runReplayBenchmark(sender, iterations);
+            default -> sender.sendMessage(configManager.getMessage("prefix") + "§7Verwendung: §e/eco benchmark <format|replay> [Iterationen]");
+        }
+    }
+    
+    /**
+     * Vergleicht die Geldbetrags-Formatierung per String.format mit dem MoneyFormatter
+     * 
+     * Läuft außerhalb des Haupt-Threads, damit der Server nicht blockiert.
+     * 
+     * @param sender Der Command-Sender
+     * @param iterations Anzahl der Formatierungen pro Variante
+     */
+    private void runFormatBenchmark(CommandSender sender, int iterations) {
+        sender.sendMessage(configManager.getMessage("prefix") + "§7Starte Format-Benchmark mit §e" + iterations + " §7Iterationen...");
+        MoneyFormatter formatter = plugin.getMoneyFormatter();
+        
+        CompletableFuture.supplyAsync(() -> {
+            // Feste, reproduzierbare Beträge über mehrere Größenordnungen
+            double[] amounts = new double[1024];
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = (i * 7919L % 2_000_000) * 1.37 + i / 100.0;
+            }
+            
+            StringBuilder reused = new StringBuilder(32);
+            long[] nanos = new long[3];
+            long sink = 0;
+            
+            // Aufwärmen, dann messen
+            for (int round = 0; round < 2; round++) {
+                int count = round == 0 ? Math.max(1_000, iterations / 10) : iterations;
+                
+                long start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    sink += String.format("%.2f %s", amounts[i & 1023], configManager.getCurrencySymbol()).length();
+                }
+                nanos[0] = System.nanoTime() - start;
+                
+                start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    sink += formatter.formatWithSymbol(amounts[i & 1023]).length();
+                }
+                nanos[1] = System.nanoTime() - start;
+                
+                start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    reused.setLength(0);
+                    sink += formatter.appendAmount(reused, amounts[i & 1023]).length();
+                }
+                nanos[2] = System.nanoTime() - start;
+            }
+            
+            // Ergebnis verwenden, damit die Schleifen nicht wegoptimiert werden
+            if (sink == 42) {
+                plugin.getLogger().fine("Benchmark-Prüfsumme: " + sink);
+            }
+            return nanos;
+        }).thenAccept(nanos -> {
+            sender.sendMessage("§8§m          §r §6§lFormat-Benchmark §8§m          ");
+            sender.sendMessage("§7String.format: §f" + formatNanosPerOp(nanos[0], iterations));
+            sender.sendMessage("§7MoneyFormatter (String): §f" + formatNanosPerOp(nanos[1], iterations) +
+                             " §8(§a" + formatSpeedup(nanos[0], nanos[1]) + "§8)");
+            sender.sendMessage("§7MoneyFormatter (Append): §f" + formatNanosPerOp(nanos[2], iterations) +
+                             " §8(§a" + formatSpeedup(nanos[0], nanos[2]) + "§8)");
+        }).exceptionally(throwable -> {
+            plugin.getLogger().warning("Fehler im Format-Benchmark: " + throwable.getMessage());
+            return null;
+        });
+    }
+    
+    /**
+     * Misst Schreiben und Wiederherstellen des Ereignis-Logs mit synthetischen Ereignissen
+     * 
+     * Läuft außerhalb des Haupt-Threads in einem temporären Verzeichnis im Plugin-Ordner,
+     * unabhängig davon ob das Ereignis-Log aktiviert ist.
+     * 
+     * @param sender Der Command-Sender
+     * @param events Anzahl der Ereignisse
+     */
+    private void runReplayBenchmark(CommandSender sender, int events) {
+        sender.sendMessage(configManager.getMessage("prefix") + "§7Starte Replay-Benchmark mit §e" + events + " §7Ereignissen...");
+        
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                // Ereignisse auf 10.000 Spieler verteilt
+                return ReplayBenchmark.run(plugin.getLogger(), plugin.getDataFolder().toPath(), events, 10_000);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }).thenAccept(result -> {
+            sender.sendMessage("§8§m          §r §6§lReplay-Benchmark §8§m          ");
+            sender.sendMessage("§7Schreiben: §f" + Math.round(result.writeEventsPerSecond()) + " Ereignisse/s");
+            sender.sendMessage("§7Log-Größe: §f" + (result.bytes() / (1024 * 1024)) + " MB");
+            sender.sendMessage("§7Wiederherstellung aus dem Log: §f" + (result.replayNanos() / 1_000_000) + " ms §8(§a" +
+                             Math.round(result.replayEventsPerSecond()) + " Ereignisse/s§8)");
+            sender.sendMessage("§7Snapshot erstellen: §f" + (result.snapshotNanos() / 1_000_000) + " ms §8(" +
+                             result.accounts() + " Konten)");
+            sender.sendMessage("§7Wiederherstellung aus Snapshot: §f" + (result.snapshotRecoveryNanos() / 1_000_000) + " ms");
+            sender.sendMessage("§7Geschätzt ohne Snapshot: §f" +
+                             Math.round(result.estimateReplaySeconds(10_000_000)) + " s §7bei 10 Mio., §f" +
+                             Math.round(result.estimateReplaySeconds(50_000_000)) + " s §7bei 50 Mio. Ereignissen");
+        }).exceptionally(throwable -> {
+            plugin.getLogger().warning("Fehler im Replay-Benchmark: " + throwable.getMessage());
+            return null;
+        });
+    }
+    
+    private String formatNanosPerOp(long totalNanos, int iterations) {
+        return (totalNanos / iterations) + " ns/Op";
+    }
+    
+    private String formatSpeedup(long baselineNanos, long nanos) {
+        StringBuilder out = new StringBuilder();
+        MoneyFormatter.appendAmount(out, (double) baselineNanos / Math.max(1L, nanos), false);
+        return out.append("x schneller").toString();
+    }
+    
+    /**
+     * Formatiert eine Dauer in Nanosekunden als Mikrosekunden
+     * 
+     * @param nanos Dauer in Nanosekunden
+     * @return Formatierter String (z.B. "125 µs")
+     */
+    private String formatMicros(double nanos) {
+        return String.format("%.0f µs", nanos / 1000.0);
+    }
+    
     /**
      * Zeigt die Balance eines Spielers an (Bargeld und Bank)
      * 
@@ -264,7 +523,7 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
      * @return Formatierter String
      */
     private String formatAmount(double amount) {
-        return String.format("%.2f", amount);
+        return plugin.getMoneyFormatter().format(amount);
     }
     
     /**
@@ -324,6 +583,11 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         // Überweisung durchführen
         currency.transferBalance(player, targetPlayer, amount).thenAccept(success -> {
             if (success) {
+                // Im Journal für beide Seiten buchen
+                TransactionLedger ledger = plugin.getTransactionLedger();
+                ledger.record(player.getUniqueId(), targetPlayer.getUniqueId(), TransactionType.PAYMENT_SENT, -amount, null);
+                ledger.record(targetPlayer.getUniqueId(), player.getUniqueId(), TransactionType.PAYMENT_RECEIVED, amount, null);
+                
                 // Erfolgsnachrichten senden
                 String senderMessage = configManager.getMessage("paymentSent",
                     "amount", currency.formatAmount(amount),
@@ -337,14 +601,6 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
                     "player", player.getName());
                 targetPlayer.sendMessage(configManager.getMessage("prefix") + receiverMessage);
                 
-                // Scoreboards beider Spieler aktualisieren
-                if (scoreboardManager != null) {
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                        scoreboardManager.updatePlayerScoreboard(player);
-                        scoreboardManager.updatePlayerScoreboard(targetPlayer);
-                    }, 2L); // 0.1 Sekunden Verzögerung
-                }
-                
             } else {
                 player.sendMessage(configManager.getMessage("prefix") + 
                                  configManager.getMessage("insufficientFunds"));
@@ -365,7 +621,10 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
      * @param amount Der hinzuzufügende Betrag
      */
     private void handleBalanceAdd(CommandSender sender, Player targetPlayer, double amount) {
-        currency.addBalance(targetPlayer, amount).thenAccept(newBalance -> {
+        currency.addBalance(targetPlayer, amount, BalanceChangeCause.ADMIN).thenAccept(newBalance -> {
+            plugin.getTransactionLedger().record(targetPlayer.getUniqueId(), getSenderId(sender),
+                TransactionType.ADMIN_ADD, amount, sender.getName());
+            
             // Erfolgsnachrichten senden
             String currencySymbol = configManager.getConfig().getString("currency.symbol", "G");
             
@@ -382,13 +641,6 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
                                    "§a§l✓ §7Dir wurden §a" + formatAmount(amount) + " " + currencySymbol + 
                                    " §7zu deinem Bargeld hinzugefügt!");
             
-            // Scoreboard des Ziel-Spielers aktualisieren
-            if (scoreboardManager != null) {
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    scoreboardManager.updatePlayerScoreboard(targetPlayer);
-                }, 2L); // 0.1 Sekunden Verzögerung
-            }
-            
         }).exceptionally(throwable -> {
             sender.sendMessage(configManager.getMessage("prefix") + 
                              "§cFehler beim Hinzufügen des Betrags!");
@@ -418,7 +670,10 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             }
             
             // Betrag entfernen
-            currency.removeBalance(targetPlayer, amount).thenAccept(newBalance -> {
+            currency.removeBalance(targetPlayer, amount, BalanceChangeCause.ADMIN).thenAccept(newBalance -> {
+                plugin.getTransactionLedger().record(targetPlayer.getUniqueId(), getSenderId(sender),
+                    TransactionType.ADMIN_REMOVE, -amount, sender.getName());
+                
                 // Erfolgsnachrichten senden
                 String currencySymbol = configManager.getConfig().getString("currency.symbol", "G");
                 
@@ -435,13 +690,6 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
                                        "§c§l✗ §7Dir wurden §c" + formatAmount(amount) + " " + currencySymbol + 
                                        " §7von deinem Bargeld entfernt!");
                 
-                // Scoreboard des Ziel-Spielers aktualisieren
-                if (scoreboardManager != null) {
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                        scoreboardManager.updatePlayerScoreboard(targetPlayer);
-                    }, 2L); // 0.1 Sekunden Verzögerung
-                }
-                
             }).exceptionally(throwable -> {
                 sender.sendMessage(configManager.getMessage("prefix") + 
                                  "§cFehler beim Entfernen des Betrags!");
@@ -455,6 +703,202 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         });
     }
     
+    /**
+     * Behandelt den SellAll-Command
+     * 
+     * @param sender Der Command-Sender
+     */
+    private void handleSellAll(CommandSender sender) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(configManager.getMessage("prefix") + 
+                             "§cDieser Befehl kann nur von Spielern ausgeführt werden!");
+            return;
+        }
+        
+        if (!sender.hasPermission("simpleeco.sellall")) {
+            sender.sendMessage(configManager.getMessage("prefix") + 
+                             configManager.getMessage("noPermission"));
+            return;
+        }
+        
+        plugin.getVillagerTrader().sellAll(player);
+    }
+    
+    /**
+     * Behandelt den Top-Command (Bestenliste der reichsten Spieler)
+     * 
+     * @param sender Der Command-Sender
+     * @param args Command-Argumente
+     */
+    private void handleTop(CommandSender sender, String[] args) {
+        BalanceLeaderboard leaderboard = plugin.getLeaderboard();
+        if (leaderboard == null || !leaderboard.isLoaded()) {
+            sender.sendMessage(configManager.getMessage("prefix") + 
+                             "§cDie Bestenliste wird noch geladen. Bitte versuchen Sie es gleich erneut.");
+            return;
+        }
+        
+        int page = 1;
+        if (args.length >= 2) {
+            try {
+                page = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(configManager.getMessage("prefix") + 
+                                 "§cVerwendung: /eco top [Seite]");
+                return;
+            }
+        }
+        
+        int pageSize = Math.max(1, configManager.getConfig().getInt("leaderboard.pageSize", 10));
+        int pageCount = Math.max(1, (leaderboard.size() + pageSize - 1) / pageSize);
+        page = Math.max(1, Math.min(page, pageCount));
+        
+        String currencySymbol = configManager.getConfig().getString("currency.symbol", "G");
+        
+        sender.sendMessage("§8§m          §r §6§lBestenliste §7(" + page + "/" + pageCount + ") §8§m          ");
+        for (BalanceLeaderboard.Entry entry : leaderboard.getPage(page, pageSize)) {
+            sender.sendMessage("§e#" + entry.rank() + " §f" + getPlayerName(entry.playerId()) + 
+                             " §8- §6" + formatAmount(entry.total()) + " " + currencySymbol);
+        }
+        
+        // Eigenen Platz anzeigen
+        if (sender instanceof Player player) {
+            BalanceLeaderboard.Entry own = leaderboard.getEntry(player.getUniqueId());
+            if (own != null) {
+                sender.sendMessage("§7Ihr Platz: §e#" + own.rank() + " §7von §e" + leaderboard.size() + 
+                                 " §8- §6" + formatAmount(own.total()) + " " + currencySymbol);
+            }
+        }
+        sender.sendMessage("§8§m                                        ");
+    }
+    
+    /**
+     * Behandelt den History-Command (Transaktions-Journal)
+     * 
+     * Verwendung: /eco history [Spieler] [Seite]
+     * 
+     * @param sender Der Command-Sender
+     * @param args Command-Argumente
+     */
+    private void handleHistory(CommandSender sender, String[] args) {
+        if (args.length > 3) {
+            sender.sendMessage(configManager.getMessage("prefix") + 
+                             "§cVerwendung: /eco history [Spieler] [Seite]");
+            return;
+        }
+        
+        // "/eco history 3" ist eine Seite, "/eco history Name" ein Spieler
+        String targetName = null;
+        String pageArgument = null;
+        if (args.length == 2 && args[1].chars().allMatch(Character::isDigit)) {
+            pageArgument = args[1];
+        } else if (args.length >= 2) {
+            targetName = args[1];
+            pageArgument = args.length == 3 ? args[2] : null;
+        }
+        
+        int page = 1;
+        if (pageArgument != null) {
+            try {
+                page = Math.max(1, Integer.parseInt(pageArgument));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(configManager.getMessage("prefix") + 
+                                 "§cVerwendung: /eco history [Spieler] [Seite]");
+                return;
+            }
+        }
+        
+        UUID targetId;
+        String displayName;
+        if (targetName == null) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage(configManager.getMessage("prefix") + 
+                                 "§cDieser Befehl kann nur von Spielern ausgeführt werden!");
+                return;
+            }
+            targetId = player.getUniqueId();
+            displayName = player.getName();
+        } else {
+            boolean ownHistory = sender instanceof Player player && player.getName().equalsIgnoreCase(targetName);
+            if (!ownHistory && !sender.hasPermission("simpleeco.history.other")) {
+                sender.sendMessage(configManager.getMessage("prefix") + 
+                                 configManager.getMessage("noPermission"));
+                return;
+            }
+            
+            OfflinePlayer target = Bukkit.getOfflinePlayerIfCached(targetName);
+            if (target == null) {
+                sender.sendMessage(configManager.getMessage("prefix") + 
+                                 configManager.getMessage("playerNotFound"));
+                return;
+            }
+            targetId = target.getUniqueId();
+            displayName = target.getName() != null ? target.getName() : targetName;
+        }
+        
+        int pageSize = Math.max(1, configManager.getConfig().getInt("ledger.historyPageSize", 10));
+        String currencySymbol = configManager.getConfig().getString("currency.symbol", "G");
+        String nextPageCommand = "/eco history " + (targetName != null ? targetName + " " : "");
+        
+        plugin.getTransactionLedger().loadHistoryPage(getSenderId(sender), targetId, page, pageSize).thenAccept(result -> {
+            sender.sendMessage("§8§m          §r §6§lTransaktionen §7(" + displayName + ", Seite " + result.page() + ") §8§m          ");
+            
+            if (result.entries().isEmpty()) {
+                sender.sendMessage(result.page() == 1 ? "§7Keine Transaktionen vorhanden." : "§7Diese Seite existiert nicht.");
+            }
+            
+            for (DatabaseManager.TransactionRecord record : result.entries()) {
+                StringBuilder line = new StringBuilder("§8")
+                    .append(HISTORY_TIME_FORMAT.format(Instant.ofEpochSecond(record.createdAt())))
+                    .append(" §7").append(record.type().getDisplayName());
+                
+                if (record.type() == TransactionType.PAYMENT_SENT || record.type() == TransactionType.PAYMENT_RECEIVED) {
+                    line.append(" §e").append(record.counterpartyId() != null ? getPlayerName(record.counterpartyId()) : "?");
+                }
+                
+                line.append(record.amount() < 0 ? " §c-" : " §a+")
+                    .append(formatAmount(Math.abs(record.amount()))).append(' ').append(currencySymbol);
+                
+                if (record.details() != null) {
+                    line.append(" §8(").append(record.details()).append(')');
+                }
+                sender.sendMessage(line.toString());
+            }
+            
+            if (result.hasNext()) {
+                sender.sendMessage("§7Nächste Seite: §e" + nextPageCommand + (result.page() + 1));
+            }
+            sender.sendMessage("§8§m                                        ");
+            
+        }).exceptionally(throwable -> {
+            sender.sendMessage(configManager.getMessage("prefix") + 
+                             "§cFehler beim Laden der Transaktionen!");
+            plugin.getLogger().severe("Fehler beim Laden der Transaktionen: " + throwable.getMessage());
+            return null;
+        });
+    }
+    
+    /**
+     * Gibt die UUID des Senders zurück (Konsole: feste UUID)
+     * 
+     * @param sender Der Command-Sender
+     * @return UUID des Spielers bzw. der Konsole
+     */
+    private UUID getSenderId(CommandSender sender) {
+        return sender instanceof Player player ? player.getUniqueId() : CONSOLE_ID;
+    }
+    
+    /**
+     * Ermittelt den zuletzt bekannten Namen eines Spielers
+     * 
+     * @param playerId UUID des Spielers
+     * @return Spielername oder gekürzte UUID wenn kein Name bekannt ist
+     */
+    private String getPlayerName(UUID playerId) {
+        String name = Bukkit.getOfflinePlayer(playerId).getName();
+        return name != null ? name : playerId.toString().substring(0, 8);
+    }
+    
     /**
      * Sendet die Verwendungshinweise
      * 
@@ -465,6 +909,17 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§e/eco balance [Spieler] §8- §7Zeigt Kontostand an");
         sender.sendMessage("§e/eco pay <Spieler> <Betrag> §8- §7Überweist Geld");
         
+        if (sender.hasPermission("simpleeco.sellall")) {
+            sender.sendMessage("§e/eco sellall §8- §7Verkauft alle verkaufbaren Items");
+        }
+        
+        sender.sendMessage("§e/eco top [Seite] §8- §7Zeigt die reichsten Spieler an");
+        sender.sendMessage("§e/eco history [Seite] §8- §7Zeigt Ihre Transaktionen an");
+        
+        if (sender.hasPermission("simpleeco.history.other")) {
+            sender.sendMessage("§e/eco history <Spieler> [Seite] §8- §7Zeigt die Transaktionen eines Spielers an");
+        }
+        
         // Admin-Commands nur anzeigen wenn Permission vorhanden
         if (sender.hasPermission("simpleeco.balance.admin")) {
             sender.sendMessage("§c/eco balance <Spieler> add <Betrag> §8- §7Fügt Geld hinzu");
@@ -479,6 +934,9 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         // Reload-Command nur anzeigen wenn Permission vorhanden
         if (sender.hasPermission("simpleeco.admin")) {
             sender.sendMessage("§e/eco reload §8- §7Lädt die Konfiguration neu");
+            sender.sendMessage("§e/eco stats §8- §7Zeigt Laufzeit-Metriken an");
+            sender.sendMessage("§e/eco benchmark format §8- §7Misst die Geldbetrags-Formatierung");
+            sender.sendMessage("§e/eco benchmark replay §8- §7Misst die Wiederherstellung aus dem Ereignis-Log");
         }
         
         sender.sendMessage("§e/eco help §8- §7Zeigt diese Hilfe an");
@@ -495,7 +953,12 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         
         if (args.length == 1) {
             // Erste Ebene: Subcommands
-            List<String> subCommands = new ArrayList<>(Arrays.asList("balance", "pay", "help"));
+            List<String> subCommands = new ArrayList<>(Arrays.asList("balance", "pay", "top", "history", "help"));
+            
+            // SellAll hinzufügen wenn Permission vorhanden
+            if (sender.hasPermission("simpleeco.sellall")) {
+                subCommands.add("sellall");
+            }
             
             // Spawn hinzufügen wenn Permission vorhanden
             if (sender.hasPermission("simpleeco.spawn")) {
@@ -505,6 +968,8 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             // Reload hinzufügen wenn Permission vorhanden
             if (sender.hasPermission("simpleeco.admin")) {
                 subCommands.add("reload");
+                subCommands.add("stats");
+                subCommands.add("benchmark");
             }
             
             String input = args[0].toLowerCase();
@@ -527,6 +992,17 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
                     completions.remove(player.getName());
                 }
                 
+            } else if (subCommand.equals("history") && sender.hasPermission("simpleeco.history.other")) {
+                // Spielernamen für History-Command
+                completions = getOnlinePlayerNames(args[1]);
+                
+            } else if (subCommand.equals("benchmark") && sender.hasPermission("simpleeco.admin")) {
+                // Benchmark-Arten
+                String input = args[1].toLowerCase();
+                completions = Arrays.asList("format", "replay").stream()
+                    .filter(type -> type.startsWith(input))
+                    .collect(Collectors.toList());
+                
             } else if (subCommand.equals("spawn") && sender.hasPermission("simpleeco.spawn")) {
                 // Spawn-Subcommands
                 String[] spawnArgs = {args[1]};
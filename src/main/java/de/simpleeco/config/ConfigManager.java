@@ -92,6 +92,7 @@ public class ConfigManager {
                 double maxPrice = config.getDouble(basePath + ".maxPrice", 100.0);
                 boolean buyable = config.getBoolean(basePath + ".buyable", true);
                 boolean sellable = config.getBoolean(basePath + ".sellable", true);
+                String category = config.getString(basePath + ".category", ItemPriceConfig.DEFAULT_CATEGORY);
                 
                 // Item-spezifische Parameter (optional, falls nicht gesetzt werden globale Werte verwendet)
                 Double itemPriceFactor = null;
@@ -106,7 +107,7 @@ public class ConfigManager {
                 
                 ItemPriceConfig priceConfig = new ItemPriceConfig(
                     basePrice, minPrice, maxPrice, buyable, sellable, 
-                    itemPriceFactor, itemReferenceAmount
+                    itemPriceFactor, itemReferenceAmount, category
                 );
                 itemPrices.put(material, priceConfig);
                 
@@ -217,6 +218,16 @@ public class ConfigManager {
         return config.getString("trading.infoButtonName", "§e§lInformation");
     }
     
+    /**
+     * Zeitfenster in Ticks, in dem schnelle Folgeklicks auf dasselbe Item
+     * zu einem Handelsauftrag zusammengefasst werden
+     * 
+     * @return Zusammenfassungs-Fenster in Ticks
+     */
+    public long getTradeCoalesceWindowTicks() {
+        return config.getLong("trading.coalesceWindowTicks", 3L);
+    }
+    
     /**
      * Lädt die Konfiguration neu
      */
@@ -228,6 +239,9 @@ public class ConfigManager {
      * Datenklasse für Item-Preiskonfiguration
      */
     public static class ItemPriceConfig {
+        /** Kategorie für Items ohne eigene Kategorie-Angabe */
+        public static final String DEFAULT_CATEGORY = "Sonstiges";
+        
         private final double basePrice;
         private final double minPrice;
         private final double maxPrice;
@@ -235,10 +249,11 @@ public class ConfigManager {
         private final boolean sellable;
         private final Double priceFactor;        // Null = globaler Wert verwenden
         private final Long referenceAmount;      // Null = globaler Wert verwenden
+        private final String category;
         
         public ItemPriceConfig(double basePrice, double minPrice, double maxPrice, 
                               boolean buyable, boolean sellable, 
-                              Double priceFactor, Long referenceAmount) {
+                              Double priceFactor, Long referenceAmount, String category) {
             this.basePrice = basePrice;
             this.minPrice = minPrice;
             this.maxPrice = maxPrice;
@@ -246,6 +261,7 @@ public class ConfigManager {
             this.sellable = sellable;
             this.priceFactor = priceFactor;
             this.referenceAmount = referenceAmount;
+            this.category = category != null ? category : DEFAULT_CATEGORY;
         }
         
         public double getBasePrice() {
@@ -268,6 +284,13 @@ public class ConfigManager {
             return sellable;
         }
         
+        /**
+         * Gibt die Kategorie des Items im Handelsmenü zurück
+         */
+        public String getCategory() {
+            return category;
+        }
+        
         /**
          * Gibt den item-spezifischen Preisfaktor zurück, oder null wenn globaler Wert verwendet werden soll
          */
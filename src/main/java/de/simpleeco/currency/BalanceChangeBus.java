@@ -0,0 +1,267 @@
+package de.simpleeco.currency;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.scheduler.TaskHandle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Verteilt Kontostandsänderungen an Scoreboard, Bestenliste und andere Empfänger
+ *
+ * Der DatabaseManager meldet jede Änderung von Bargeld und Bank-Guthaben direkt
+ * bei der Cache-Änderung. Das Melden blockiert nie: die Änderung wird nur pro
+ * Konto in eine Map eingetragen, wobei mehrere Änderungen desselben Kontos bis
+ * zum nächsten Tick zu einem Ereignis zusammengefasst werden (erster alter Wert,
+ * letzter neuer Wert). Einmal pro Tick werden die gesammelten Ereignisse in die
+ * Warteschlangen der Empfänger verteilt.
+ *
+ * Jeder Empfänger hat eine eigene, begrenzte Warteschlange. Synchrone Empfänger
+ * werden im Tick mit einer Obergrenze pro Tick bedient, asynchrone in einem
+ * Hintergrund-Thread. Ist eine Warteschlange voll (Empfänger kommt nicht
+ * hinterher), werden neue Ereignisse für diesen Empfänger verworfen und gezählt,
+ * statt den Handel oder andere Empfänger aufzuhalten.
+ */
+public class BalanceChangeBus {
+
+    /**
+     * Art der Zustellung an einen Empfänger
+     */
+    public enum Delivery {
+        /** Im Haupt-Thread (unter Folia in der globalen Region) */
+        SYNC,
+        /** In einem Hintergrund-Thread */
+        ASYNC
+    }
+
+    private final SimpleEcoPlugin plugin;
+    private final int queueSize;
+    private final int syncBatchSize;
+
+    // Noch nicht verteilte Änderungen des laufenden Ticks pro Konto
+    private final Map<AccountKey, PendingChange> pending = new ConcurrentHashMap<>();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Threads für asynchrone Empfänger (höchstens einer pro Empfänger gleichzeitig)
+    private final ExecutorService asyncExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "SimpleEco-BalanceEvents");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TaskHandle flushTask;
+
+    public BalanceChangeBus(SimpleEcoPlugin plugin) {
+        this.plugin = plugin;
+        this.queueSize = Math.max(16, plugin.getConfigManager().getConfig().getInt("balanceEvents.queueSize", 4096));
+        this.syncBatchSize = Math.max(1, plugin.getConfigManager().getConfig().getInt("balanceEvents.syncBatchSize", 1000));
+
+        this.flushTask = plugin.getPluginScheduler().runGlobalTimer(this::flush, 1L, 1L);
+    }
+
+    /**
+     * Registriert einen Empfänger
+     *
+     * @param subscriber Der Empfänger
+     * @param delivery Art der Zustellung
+     */
+    public void subscribe(BalanceChangeSubscriber subscriber, Delivery delivery) {
+        subscriptions.add(new Subscription(subscriber, delivery, queueSize));
+    }
+
+    /**
+     * Entfernt einen Empfänger; noch nicht zugestellte Ereignisse werden verworfen
+     *
+     * @param subscriber Der Empfänger
+     */
+    public void unsubscribe(BalanceChangeSubscriber subscriber) {
+        subscriptions.removeIf(subscription -> subscription.subscriber == subscriber);
+    }
+
+    /**
+     * Meldet eine Kontostandsänderung (nicht blockierend, aus jedem Thread)
+     *
+     * Beim Zusammenfassen gewinnt der zuletzt gemeldete neue Wert. Änderungen
+     * desselben Kontos müssen daher in ihrer tatsächlichen Reihenfolge gemeldet
+     * werden, z.B. innerhalb der atomaren Cache-Änderung, die sie erzeugt.
+     *
+     * @param playerId UUID des Spielers
+     * @param account Betroffenes Konto
+     * @param oldBalance Kontostand vor der Änderung
+     * @param newBalance Kontostand nach der Änderung
+     * @param cause Ursache der Änderung
+     */
+    public void publish(UUID playerId, BalanceChangeEvent.Account account,
+                        double oldBalance, double newBalance, BalanceChangeCause cause) {
+        if (Double.compare(oldBalance, newBalance) == 0 || subscriptions.isEmpty()) {
+            return;
+        }
+        pending.compute(new AccountKey(playerId, account), (key, change) -> {
+            if (change == null) {
+                return new PendingChange(oldBalance, newBalance, cause);
+            }
+            change.newBalance = newBalance;
+            change.cause = cause;
+            change.changes++;
+            return change;
+        });
+    }
+
+    /**
+     * Stoppt die Verteilung und stellt die restlichen Ereignisse noch zu
+     */
+    public void shutdown() {
+        flushTask.cancel();
+        distribute(Integer.MAX_VALUE);
+
+        asyncExecutor.shutdown();
+        try {
+            if (!asyncExecutor.awaitTermination(2, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Balance-Ereignisse: asynchrone Empfänger wurden nicht rechtzeitig fertig");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        subscriptions.clear();
+    }
+
+    private void flush() {
+        distribute(syncBatchSize);
+    }
+
+    /**
+     * Verteilt die gesammelten Änderungen und bedient die synchronen Empfänger
+     *
+     * @param syncLimit Höchstzahl Ereignisse pro synchronem Empfänger in diesem Durchlauf
+     */
+    private void distribute(int syncLimit) {
+        if (!pending.isEmpty()) {
+            List<BalanceChangeEvent> events = new ArrayList<>(pending.size());
+            for (AccountKey key : pending.keySet()) {
+                // Entfernen und Lesen in einem Schritt: spätere Änderungen landen im nächsten Tick
+                PendingChange change = pending.remove(key);
+                if (change != null && Double.compare(change.oldBalance, change.newBalance) != 0) {
+                    events.add(new BalanceChangeEvent(key.playerId(), key.account(), change.oldBalance,
+                                                      change.newBalance, change.cause, change.changes));
+                }
+            }
+            if (!events.isEmpty()) {
+                for (Subscription subscription : subscriptions) {
+                    subscription.offer(events);
+                }
+            }
+        }
+
+        for (Subscription subscription : subscriptions) {
+            if (subscription.delivery == Delivery.SYNC) {
+                subscription.drain(syncLimit);
+            }
+
+            long dropped = subscription.dropped.getAndSet(0);
+            if (dropped > 0) {
+                plugin.getLogger().warning("Balance-Ereignisse: " + dropped + " Ereignisse für " +
+                                         subscription.subscriber.getClass().getSimpleName() +
+                                         " verworfen (Warteschlange voll)");
+            }
+        }
+    }
+
+    /**
+     * Konto eines Spielers als Schlüssel für die Zusammenfassung
+     */
+    private record AccountKey(UUID playerId, BalanceChangeEvent.Account account) {
+    }
+
+    /**
+     * Zusammengefasste Änderungen eines Kontos (nur innerhalb von {@code compute} verändert)
+     */
+    private static final class PendingChange {
+        final double oldBalance;
+        double newBalance;
+        BalanceChangeCause cause;
+        int changes = 1;
+
+        PendingChange(double oldBalance, double newBalance, BalanceChangeCause cause) {
+            this.oldBalance = oldBalance;
+            this.newBalance = newBalance;
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Ein Empfänger mit eigener Warteschlange
+     */
+    private final class Subscription {
+        final BalanceChangeSubscriber subscriber;
+        final Delivery delivery;
+        final BlockingQueue<BalanceChangeEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean(false);
+        final AtomicLong dropped = new AtomicLong();
+
+        Subscription(BalanceChangeSubscriber subscriber, Delivery delivery, int queueSize) {
+            this.subscriber = subscriber;
+            this.delivery = delivery;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void offer(List<BalanceChangeEvent> events) {
+            for (BalanceChangeEvent event : events) {
+                if (!queue.offer(event)) {
+                    dropped.incrementAndGet();
+                }
+            }
+            if (delivery == Delivery.ASYNC) {
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * Startet das Abarbeiten im Hintergrund, falls nicht bereits eines läuft
+         */
+        void scheduleDrain() {
+            if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                asyncExecutor.execute(this::drainAsync);
+            } catch (RejectedExecutionException e) {
+                draining.set(false); // Bus wird heruntergefahren
+            }
+        }
+
+        void drainAsync() {
+            try {
+                drain(Integer.MAX_VALUE);
+            } finally {
+                draining.set(false);
+            }
+            // Ereignisse, die nach dem letzten poll() eingetroffen sind
+            scheduleDrain();
+        }
+
+        void drain(int limit) {
+            BalanceChangeEvent event;
+            for (int i = 0; i < limit && (event = queue.poll()) != null; i++) {
+                try {
+                    subscriber.onBalanceChange(event);
+                } catch (Exception e) {
+                    plugin.getLogger().log(Level.WARNING, "Fehler in einem Balance-Empfänger:", e);
+                }
+            }
+        }
+    }
+}
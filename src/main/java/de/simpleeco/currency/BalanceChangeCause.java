@@ -0,0 +1,30 @@
+package de.simpleeco.currency;
+
+/**
+ * Ursache einer Kontostandsänderung
+ *
+ * Werden mehrere Änderungen eines Kontos innerhalb eines Ticks zusammengefasst,
+ * trägt das Ereignis die Ursache der letzten Änderung.
+ */
+public enum BalanceChangeCause {
+    /** Konto wurde mit dem Startguthaben angelegt */
+    ACCOUNT_CREATED,
+    /** Überweisung zwischen Spielern (/eco pay) */
+    PAYMENT,
+    /** Kauf oder Verkauf bei einem Shop-Villager */
+    TRADE,
+    /** Geldverlust beim Tod */
+    DEATH_PENALTY,
+    /** Änderung durch einen Admin-Befehl */
+    ADMIN,
+    /** Überweisung zwischen Bargeld und Bank */
+    BANK_TRANSFER,
+    /** Gutschrift von Bank-Zinsen */
+    INTEREST,
+    /** Änderung durch ein anderes Plugin (z.B. über Vault) */
+    EXTERNAL,
+    /** Wiederherstellung aus dem Ereignis-Log */
+    RESTORE,
+    /** Sonstige Änderung ohne nähere Angabe */
+    OTHER
+}
@@ -0,0 +1,32 @@
+package de.simpleeco.currency;
+
+import java.util.UUID;
+
+/**
+ * Zusammengefasste Änderung eines Kontos innerhalb eines Ticks
+ *
+ * @param playerId UUID des Spielers
+ * @param account Betroffenes Konto
+ * @param oldBalance Kontostand vor der ersten Änderung im Tick
+ * @param newBalance Kontostand nach der letzten Änderung im Tick
+ * @param cause Ursache der letzten Änderung
+ * @param changes Anzahl zusammengefasster Änderungen
+ */
+public record BalanceChangeEvent(UUID playerId, Account account, double oldBalance, double newBalance,
+                                 BalanceChangeCause cause, int changes) {
+
+    /**
+     * Art des Kontos
+     */
+    public enum Account {
+        CASH,
+        BANK
+    }
+
+    /**
+     * @return Differenz zwischen neuem und altem Kontostand
+     */
+    public double getDelta() {
+        return newBalance - oldBalance;
+    }
+}
@@ -0,0 +1,19 @@
+package de.simpleeco.currency;
+
+/**
+ * Empfänger für Kontostandsänderungen aus dem {@link BalanceChangeBus}
+ *
+ * Synchrone Empfänger werden im Haupt-Thread (unter Folia in der globalen Region)
+ * aufgerufen, asynchrone in einem Hintergrund-Thread. Ein Empfänger erhält seine
+ * Ereignisse nie gleichzeitig aus mehreren Threads.
+ */
+@FunctionalInterface
+public interface BalanceChangeSubscriber {
+
+    /**
+     * Ein Konto hat sich geändert
+     *
+     * @param event Die zusammengefasste Änderung
+     */
+    void onBalanceChange(BalanceChangeEvent event);
+}
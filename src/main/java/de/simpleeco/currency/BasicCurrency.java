@@ -69,15 +69,27 @@ public class BasicCurrency {
      * @return CompletableFuture das abgeschlossen wird wenn die Operation fertig ist
      */
     public CompletableFuture<Void> setBalance(UUID playerId, double balance) {
+        return setBalance(playerId, balance, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Setzt den Kontostand eines Spielers (Bargeld) mit Angabe der Ursache
+     * 
+     * @param playerId UUID des Spielers
+     * @param balance Neuer Bargeld-Kontostand
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture das abgeschlossen wird wenn die Operation fertig ist
+     */
+    public CompletableFuture<Void> setBalance(UUID playerId, double balance, BalanceChangeCause cause) {
         if (balance < 0) {
             throw new IllegalArgumentException("Kontostand kann nicht negativ sein");
         }
         
         // Verwende Bargeld (Cash) als Standard für Trading-Kompatibilität
         if (bankManager != null) {
-            return bankManager.setCashBalance(playerId, balance);
+            return bankManager.setCashBalance(playerId, balance, cause);
         }
-        return databaseManager.setBalance(playerId, balance);
+        return databaseManager.setBalance(playerId, balance, cause);
     }
     
     /**
@@ -99,11 +111,23 @@ public class BasicCurrency {
      * @return CompletableFuture mit dem neuen Bargeld-Kontostand
      */
     public CompletableFuture<Double> addBalance(UUID playerId, double amount) {
+        return addBalance(playerId, amount, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Addiert einen Betrag zum Kontostand (Bargeld) mit Angabe der Ursache
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Betrag zum Addieren (kann negativ sein für Abzug)
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Bargeld-Kontostand
+     */
+    public CompletableFuture<Double> addBalance(UUID playerId, double amount, BalanceChangeCause cause) {
         // Verwende Bargeld (Cash) als Standard für Trading-Kompatibilität
         if (bankManager != null) {
-            return bankManager.addCashBalance(playerId, amount);
+            return bankManager.addCashBalance(playerId, amount, cause);
         }
-        return databaseManager.addBalance(playerId, amount);
+        return databaseManager.addBalance(playerId, amount, cause);
     }
     
     /**
@@ -117,6 +141,18 @@ public class BasicCurrency {
         return addBalance(player.getUniqueId(), amount);
     }
     
+    /**
+     * Addiert einen Betrag zum Kontostand mit Angabe der Ursache (Convenience-Methode)
+     * 
+     * @param player Spieler-Objekt
+     * @param amount Betrag zum Addieren
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Kontostand
+     */
+    public CompletableFuture<Double> addBalance(Player player, double amount, BalanceChangeCause cause) {
+        return addBalance(player.getUniqueId(), amount, cause);
+    }
+    
     /**
      * Entfernt einen Betrag vom Kontostand
      * 
@@ -125,11 +161,23 @@ public class BasicCurrency {
      * @return CompletableFuture mit dem neuen Kontostand
      */
     public CompletableFuture<Double> removeBalance(UUID playerId, double amount) {
+        return removeBalance(playerId, amount, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Entfernt einen Betrag vom Kontostand mit Angabe der Ursache
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Betrag zum Entfernen (positiver Wert)
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Kontostand
+     */
+    public CompletableFuture<Double> removeBalance(UUID playerId, double amount, BalanceChangeCause cause) {
         if (amount < 0) {
             throw new IllegalArgumentException("Betrag zum Entfernen muss positiv sein");
         }
         
-        return addBalance(playerId, -amount);
+        return addBalance(playerId, -amount, cause);
     }
     
     /**
@@ -143,6 +191,34 @@ public class BasicCurrency {
         return removeBalance(player.getUniqueId(), amount);
     }
     
+    /**
+     * Entfernt einen Betrag vom Kontostand mit Angabe der Ursache (Convenience-Methode)
+     * 
+     * @param player Spieler-Objekt
+     * @param amount Betrag zum Entfernen
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Kontostand
+     */
+    public CompletableFuture<Double> removeBalance(Player player, double amount, BalanceChangeCause cause) {
+        return removeBalance(player.getUniqueId(), amount, cause);
+    }
+    
+    /**
+     * Bucht Bargeld nur ab, wenn es reicht (Prüfung und Abbuchung in einem atomaren Schritt)
+     * 
+     * @param player Spieler-Objekt
+     * @param amount Betrag zum Entfernen (positiver Wert)
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Kontostand oder NaN wenn das Bargeld nicht reicht
+     */
+    public CompletableFuture<Double> withdrawBalance(Player player, double amount, BalanceChangeCause cause) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Betrag zum Entfernen muss positiv sein");
+        }
+        
+        return databaseManager.withdrawBalance(player.getUniqueId(), amount, cause);
+    }
+    
     /**
      * Prüft ob ein Spieler genügend Guthaben hat (Bargeld)
      * 
@@ -188,8 +264,8 @@ public class BasicCurrency {
             }
             
             // Gleichzeitige Ausführung beider Operationen
-            CompletableFuture<Double> removeFromSender = removeBalance(fromId, amount);
-            CompletableFuture<Double> addToReceiver = addBalance(toId, amount);
+            CompletableFuture<Double> removeFromSender = removeBalance(fromId, amount, BalanceChangeCause.PAYMENT);
+            CompletableFuture<Double> addToReceiver = addBalance(toId, amount, BalanceChangeCause.PAYMENT);
             
             return CompletableFuture.allOf(removeFromSender, addToReceiver)
                 .thenApply(v -> true)
@@ -220,7 +296,7 @@ public class BasicCurrency {
      */
     public CompletableFuture<Void> createAccount(UUID playerId) {
         double startBalance = plugin.getConfigManager().getStartBalance();
-        return setBalance(playerId, startBalance);
+        return setBalance(playerId, startBalance, BalanceChangeCause.ACCOUNT_CREATED);
     }
     
     /**
@@ -265,14 +341,11 @@ public class BasicCurrency {
                 return createAccount(player).thenApply(v -> {
                     // Willkommensnachricht senden
                     double startBalance = plugin.getConfigManager().getStartBalance();
-                    String welcomeMessage = String.format(
-                        "§a§lWillkommen! §7Du hast §e%s §7als Startguthaben erhalten!",
-                        formatAmount(startBalance)
-                    );
+                    String welcomeMessage = "§a§lWillkommen! §7Du hast §e" + formatAmount(startBalance) +
+                                            " §7als Startguthaben erhalten!";
                     
                     // Nachricht verzögert senden
-                    plugin.getServer().getScheduler().runTaskLater(
-                        plugin, 
+                    plugin.getPluginScheduler().runForEntityLater(player,
                         () -> {
                             if (player.isOnline()) {
                                 player.sendMessage(plugin.getConfigManager().getMessage("prefix") + welcomeMessage);
@@ -296,8 +369,7 @@ public class BasicCurrency {
      * @return Formatierter String
      */
     public String formatAmount(double amount) {
-        String currencyName = plugin.getConfigManager().getCurrencyName();
-        return String.format("%.2f %s", amount, currencyName);
+        return plugin.getMoneyFormatter().formatWithName(amount);
     }
     
     /**
@@ -307,7 +379,6 @@ public class BasicCurrency {
      * @return Formatierter String mit Symbol
      */
     public String formatAmountWithSymbol(double amount) {
-        String currencySymbol = plugin.getConfigManager().getCurrencySymbol();
-        return String.format("%.2f %s", amount, currencySymbol);
+        return plugin.getMoneyFormatter().formatWithSymbol(amount);
     }
 } 
\ No newline at end of file
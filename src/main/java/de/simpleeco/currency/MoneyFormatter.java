@@ -0,0 +1,213 @@
+package de.simpleeco.currency;
+
+import de.simpleeco.config.ConfigManager;
+
+/**
+ * Zentrale Formatierung von Geldbeträgen für alle Anzeigen
+ *
+ * Ersetzt die verstreuten {@code String.format("%.2f %s")}-Aufrufe. Währungsname
+ * und -symbol werden beim Laden der Konfiguration einmalig übernommen, die Ziffern
+ * werden direkt in einen StringBuilder geschrieben - ohne Format-String-Parsing
+ * und ohne Zwischen-Objekte. Die String-Varianten nutzen einen wiederverwendeten
+ * Puffer pro Thread.
+ *
+ * Modi:
+ * - Standard: zwei Nachkommastellen ("1234.56", mit Gruppierung "1,234.56")
+ * - Kompakt: für knappe Anzeigen wie das Scoreboard ("950", "12.3K", "4.5M", "1.2B")
+ */
+public class MoneyFormatter {
+
+    // Oberhalb dieser Grenze passt der Betrag in Hundertsteln nicht sicher in einen long
+    private static final double MAX_FAST_AMOUNT = 1e15;
+
+    // Einheiten der Kompaktform (Tausend, Million, Milliarde)
+    private static final double[] COMPACT_DIVISORS = {1_000, 1_000_000, 1_000_000_000};
+    private static final char[] COMPACT_SUFFIXES = {'K', 'M', 'B'};
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private final ConfigManager configManager;
+
+    private volatile String currencyName;
+    private volatile String currencySymbol;
+    private volatile boolean grouping;
+
+    public MoneyFormatter(ConfigManager configManager) {
+        this.configManager = configManager;
+        reload();
+    }
+
+    /**
+     * Übernimmt Währungsname, -symbol und Gruppierung aus der Konfiguration
+     */
+    public void reload() {
+        this.currencyName = configManager.getCurrencyName();
+        this.currencySymbol = configManager.getCurrencySymbol();
+        this.grouping = configManager.getConfig().getBoolean("currency.grouping", false);
+    }
+
+    // ====== STRING-VARIANTEN ======
+
+    /**
+     * Formatiert einen Betrag ohne Währung ("1234.56")
+     *
+     * @param amount Der Betrag
+     * @return Formatierter Betrag
+     */
+    public String format(double amount) {
+        StringBuilder out = buffer();
+        appendAmount(out, amount, grouping);
+        return out.toString();
+    }
+
+    /**
+     * Formatiert einen Betrag mit Währungsname ("1234.56 Gold")
+     *
+     * @param amount Der Betrag
+     * @return Formatierter Betrag
+     */
+    public String formatWithName(double amount) {
+        StringBuilder out = buffer();
+        appendAmount(out, amount, grouping);
+        out.append(' ').append(currencyName);
+        return out.toString();
+    }
+
+    /**
+     * Formatiert einen Betrag mit Währungssymbol ("1234.56 G")
+     *
+     * @param amount Der Betrag
+     * @return Formatierter Betrag
+     */
+    public String formatWithSymbol(double amount) {
+        StringBuilder out = buffer();
+        appendAmount(out, amount, grouping);
+        out.append(' ').append(currencySymbol);
+        return out.toString();
+    }
+
+    /**
+     * Formatiert einen Betrag kompakt ("950", "12.3K", "4.5M", "1.2B")
+     *
+     * @param amount Der Betrag
+     * @return Formatierter Betrag
+     */
+    public String formatCompact(double amount) {
+        StringBuilder out = buffer();
+        appendCompact(out, amount);
+        return out.toString();
+    }
+
+    // ====== APPEND-VARIANTEN ======
+
+    /**
+     * Schreibt einen Betrag mit zwei Nachkommastellen in den Builder
+     *
+     * @param out Ziel
+     * @param amount Der Betrag
+     * @return Der übergebene Builder
+     */
+    public StringBuilder appendAmount(StringBuilder out, double amount) {
+        return appendAmount(out, amount, grouping);
+    }
+
+    /**
+     * Schreibt einen Betrag mit zwei Nachkommastellen in den Builder
+     *
+     * @param out Ziel
+     * @param amount Der Betrag
+     * @param grouped Tausender-Trennzeichen verwenden
+     * @return Der übergebene Builder
+     */
+    public static StringBuilder appendAmount(StringBuilder out, double amount, boolean grouped) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount) || Math.abs(amount) >= MAX_FAST_AMOUNT) {
+            return out.append(amount);
+        }
+
+        long cents = Math.round(Math.abs(amount) * 100.0);
+        if (amount < 0 && cents != 0) {
+            out.append('-');
+        }
+        appendInteger(out, cents / 100, grouped);
+        out.append('.');
+        appendTwoDigits(out, (int) (cents % 100));
+        return out;
+    }
+
+    /**
+     * Schreibt einen Betrag kompakt in den Builder
+     *
+     * Unter 1000 ohne Nachkommastellen, darüber mit einer Nachkommastelle
+     * und Suffix K (Tausend), M (Million) oder B (Milliarde).
+     *
+     * @param out Ziel
+     * @param amount Der Betrag
+     * @return Der übergebene Builder
+     */
+    public static StringBuilder appendCompact(StringBuilder out, double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount) || Math.abs(amount) >= MAX_FAST_AMOUNT) {
+            return out.append(amount);
+        }
+
+        double magnitude = Math.abs(amount);
+        long whole = Math.round(magnitude);
+        if (whole < 1_000) {
+            if (amount < 0 && whole != 0) {
+                out.append('-');
+            }
+            return out.append(whole);
+        }
+
+        // Einheit nach dem gerundeten Wert wählen: 999.96K wird zu 1.0M statt 1000.0K
+        int unit = 0;
+        long tenths = Math.round(magnitude / COMPACT_DIVISORS[0] * 10.0);
+        while (tenths >= 10_000 && unit + 1 < COMPACT_DIVISORS.length) {
+            unit++;
+            tenths = Math.round(magnitude / COMPACT_DIVISORS[unit] * 10.0);
+        }
+
+        if (amount < 0) {
+            out.append('-');
+        }
+        out.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+        return out.append(COMPACT_SUFFIXES[unit]);
+    }
+
+    /**
+     * Schreibt eine nicht-negative Ganzzahl, optional mit Komma als Tausender-Trennzeichen
+     */
+    private static void appendInteger(StringBuilder out, long value, boolean grouped) {
+        if (!grouped || value < 1000) {
+            out.append(value);
+            return;
+        }
+        appendInteger(out, value / 1000, true);
+        out.append(',');
+        int group = (int) (value % 1000);
+        if (group < 100) {
+            out.append('0');
+        }
+        if (group < 10) {
+            out.append('0');
+        }
+        out.append(group);
+    }
+
+    private static void appendTwoDigits(StringBuilder out, int value) {
+        out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        return out;
+    }
+
+    public String getCurrencyName() {
+        return currencyName;
+    }
+
+    public String getCurrencySymbol() {
+        return currencySymbol;
+    }
+}
@@ -1,14 +1,29 @@
 package de.simpleeco.database;
 
 import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.bank.BankInterestPolicy;
+import de.simpleeco.currency.BalanceChangeBus;
+import de.simpleeco.currency.BalanceChangeCause;
+import de.simpleeco.currency.BalanceChangeEvent;
+import de.simpleeco.eventlog.BalanceEventLog;
 import org.bukkit.Material;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
+import java.io.IOException;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
@@ -17,8 +32,16 @@ import java.util.logging.Level;
  * Implementiert SQLite-Persistierung mit asynchronen Operationen für:
  * - Spieler-Kontostände (player_balance)
  * - Item-Handelsstatistiken (item_stats)
+ * - Positionen der Shop- und ATM-Villager (special_villagers)
+ * - Transaktions-Journal (transactions, nur anhängend)
  * 
  * Alle Datenbankzugriffe erfolgen asynchron, um den Haupt-Thread nicht zu blockieren.
+ * Sie laufen über einen eigenen Datenbank-Thread, da sich alle Operationen eine
+ * einzige SQLite-Verbindung teilen (notwendig für Transaktionen über mehrere Statements).
+ * 
+ * Jede Änderung der Kontostand-Caches wird mit altem und neuem Wert an den
+ * {@link BalanceChangeBus} gemeldet, und zwar innerhalb des atomaren
+ * {@code compute}, das den neuen Wert erzeugt.
  */
 public class DatabaseManager {
     
@@ -31,9 +54,31 @@ public class DatabaseManager {
     private final ConcurrentHashMap<UUID, Double> bankBalanceCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, ItemStats> itemStatsCache = new ConcurrentHashMap<>();
     
+    // Zeitpunkt der letzten Zinsgutschrift pro Bank-Konto (Unix-Sekunden, entspricht last_updated)
+    private final ConcurrentHashMap<UUID, Long> bankAccrualTimes = new ConcurrentHashMap<>();
+    
+    // Zinsen unter diesem Betrag werden nur angezeigt, aber noch nicht gespeichert
+    private static final double MIN_MATERIALIZED_INTEREST = 0.01;
+    
+    private volatile BankInterestPolicy interestPolicy;
+    
+    // Optionales Ereignis-Log, nur im Datenbank-Thread beschrieben
+    private volatile BalanceEventLog eventLog;
+    
+    // Empfänger aller Kontostandsänderungen
+    private final BalanceChangeBus balanceBus;
+    
+    // Einzelner Thread für alle Datenbankzugriffe
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SimpleEco-Database");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
     public DatabaseManager(SimpleEcoPlugin plugin) {
         this.plugin = plugin;
         this.databasePath = plugin.getConfigManager().getDatabasePath();
+        this.balanceBus = plugin.getBalanceChangeBus();
     }
     
     /**
@@ -111,10 +156,40 @@ public class DatabaseManager {
                 )
             """);
             
+            // Shop- und ATM-Villager (für die Registrierung ohne Entity-Scan)
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS special_villagers (
+                    uuid TEXT PRIMARY KEY,
+                    world TEXT NOT NULL,
+                    chunk_x INTEGER NOT NULL,
+                    chunk_z INTEGER NOT NULL,
+                    x REAL NOT NULL,
+                    y REAL NOT NULL,
+                    z REAL NOT NULL,
+                    role TEXT NOT NULL,
+                    last_updated INTEGER NOT NULL DEFAULT (strftime('%s', 'now'))
+                )
+            """);
+            
+            // Transaktions-Journal (nur anhängend, eine Zeile pro betroffenem Spieler)
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS transactions (
+                    id INTEGER PRIMARY KEY,
+                    player_uuid TEXT NOT NULL,
+                    counterparty_uuid TEXT,
+                    type TEXT NOT NULL,
+                    amount REAL NOT NULL,
+                    details TEXT,
+                    created_at INTEGER NOT NULL
+                )
+            """);
+            
             // Indices für bessere Performance
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_balance_updated ON player_balance(last_updated)");
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_bank_balance_updated ON player_bank_balance(last_updated)");
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_stats_updated ON item_stats(last_updated)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_special_villagers_chunk ON special_villagers(world, chunk_x, chunk_z)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_player ON transactions(player_uuid, id)");
         }
     }
     
@@ -138,12 +213,13 @@ public class DatabaseManager {
         
         // Bank-Balance-Cache laden
         try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT uuid, bank_balance FROM player_bank_balance")) {
+             ResultSet rs = stmt.executeQuery("SELECT uuid, bank_balance, last_updated FROM player_bank_balance")) {
             
             while (rs.next()) {
                 UUID uuid = UUID.fromString(rs.getString("uuid"));
                 double bankBalance = rs.getDouble("bank_balance");
                 bankBalanceCache.put(uuid, bankBalance);
+                bankAccrualTimes.put(uuid, rs.getLong("last_updated"));
             }
             
         } catch (SQLException e) {
@@ -190,50 +266,180 @@ public class DatabaseManager {
                 ResultSet rs = stmt.executeQuery();
                 
                 if (rs.next()) {
+                    // Ein inzwischen im Cache angelegter Wert ist neuer als die Datenbank
                     double balance = rs.getDouble("balance");
-                    balanceCache.put(playerId, balance);
-                    return balance;
+                    Double existing = balanceCache.putIfAbsent(playerId, balance);
+                    return existing != null ? existing : balance;
                 } else {
-                    // Spieler existiert nicht, Startguthaben setzen
+                    // Spieler existiert nicht, Startguthaben setzen (außer es wurde gerade angelegt)
                     double startBalance = plugin.getConfigManager().getStartBalance();
-                    setBalance(playerId, startBalance);
-                    return startBalance;
+                    boolean[] created = {false};
+                    double balance = balanceCache.computeIfAbsent(playerId, id -> {
+                        created[0] = true;
+                        publishChange(id, BalanceChangeEvent.Account.CASH, null, startBalance,
+                                      BalanceChangeCause.ACCOUNT_CREATED);
+                        return startBalance;
+                    });
+                    if (created[0]) {
+                        writeBalance(playerId, startBalance);
+                    }
+                    return balance;
                 }
                 
             } catch (SQLException e) {
                 plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden des Kontostands:", e);
                 return 0.0;
             }
-        });
+        }, dbExecutor);
     }
     
     /**
      * Setzt den Kontostand eines Spielers (asynchron)
      */
     public CompletableFuture<Void> setBalance(UUID playerId, double balance) {
-        balanceCache.put(playerId, balance);
+        return setBalance(playerId, balance, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Setzt den Kontostand eines Spielers mit Angabe der Ursache (asynchron)
+     */
+    public CompletableFuture<Void> setBalance(UUID playerId, double balance, BalanceChangeCause cause) {
+        balanceCache.compute(playerId, (id, current) -> {
+            publishChange(id, BalanceChangeEvent.Account.CASH, current, balance, cause);
+            return balance;
+        });
         
-        return CompletableFuture.runAsync(() -> {
-            try (PreparedStatement stmt = connection.prepareStatement(
-                    "INSERT OR REPLACE INTO player_balance (uuid, balance, last_updated) VALUES (?, ?, strftime('%s', 'now'))")) {
-                
-                stmt.setString(1, playerId.toString());
-                stmt.setDouble(2, balance);
-                stmt.executeUpdate();
-                
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Fehler beim Speichern des Kontostands:", e);
+        return persistBalance(playerId);
+    }
+    
+    /**
+     * Gibt das Bargeld direkt aus dem Cache zurück (blockiert nie)
+     * 
+     * @param playerId UUID des Spielers
+     * @return Kontostand oder null wenn das Konto nicht im Cache ist
+     */
+    public Double getCachedBalance(UUID playerId) {
+        return balanceCache.get(playerId);
+    }
+    
+    /**
+     * Ändert das Bargeld sofort im Cache und speichert es asynchron
+     * 
+     * Die Änderung ist pro Spieler atomar (siehe {@link #applyCashDelta}). Fehlt
+     * das Konto, wird es mit dem Startguthaben angelegt.
+     * 
+     * @param playerId UUID des Spielers
+     * @param delta Änderung (negativ = Abbuchung)
+     * @param cause Ursache der Änderung
+     * @return Neuer Kontostand oder NaN wenn das Bargeld für die Abbuchung nicht reicht
+     */
+    public double adjustCachedBalance(UUID playerId, double delta, BalanceChangeCause cause) {
+        double newBalance = applyCashDelta(playerId, delta, true, cause);
+        if (!Double.isNaN(newBalance)) {
+            persistBalance(playerId);
+        }
+        return newBalance;
+    }
+    
+    /**
+     * Ändert das Bargeld atomar im Cache (ohne zu speichern)
+     * 
+     * Alle relativen Änderungen des Bargelds laufen hierüber, sodass sich
+     * gleichzeitige Änderungen aus verschiedenen Threads (Handel, Vault, /eco pay)
+     * nie gegenseitig überschreiben.
+     * 
+     * @param playerId UUID des Spielers
+     * @param delta Änderung (negativ = Abbuchung)
+     * @param requireFunds Abbuchung ablehnen, wenn das Bargeld nicht reicht
+     * @param cause Ursache der Änderung
+     * @return Neuer Kontostand oder NaN wenn die Abbuchung abgelehnt wurde
+     */
+    private double applyCashDelta(UUID playerId, double delta, boolean requireFunds, BalanceChangeCause cause) {
+        double startBalance = plugin.getConfigManager().getStartBalance();
+        double[] result = {Double.NaN};
+        
+        balanceCache.compute(playerId, (id, current) -> {
+            double newBalance = (current != null ? current : startBalance) + delta;
+            if (requireFunds && newBalance < 0) {
+                return current;
             }
+            result[0] = newBalance;
+            publishChange(id, BalanceChangeEvent.Account.CASH, current, newBalance, cause);
+            return newBalance;
         });
+        return result[0];
+    }
+    
+    /**
+     * Speichert das Bargeld eines Spielers im Datenbank-Thread
+     * 
+     * Geschrieben wird der beim Ausführen aktuelle Cache-Wert, sodass ein älterer
+     * Wert nie einen neueren überschreibt, egal in welcher Reihenfolge die
+     * Änderungen den Datenbank-Thread erreichen.
+     */
+    private CompletableFuture<Void> persistBalance(UUID playerId) {
+        return CompletableFuture.runAsync(() -> {
+            Double latest = balanceCache.get(playerId);
+            if (latest != null) {
+                writeBalance(playerId, latest);
+            }
+        }, dbExecutor);
+    }
+    
+    /**
+     * Speichert das Bargeld eines Spielers (nur im Datenbank-Thread aufrufen)
+     */
+    private void writeBalance(UUID playerId, double balance) {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT OR REPLACE INTO player_balance (uuid, balance, last_updated) VALUES (?, ?, strftime('%s', 'now'))")) {
+            
+            logBalanceEvent(playerId, BalanceEventLog.Account.CASH, balance);
+            stmt.setString(1, playerId.toString());
+            stmt.setDouble(2, balance);
+            stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Speichern des Kontostands:", e);
+        }
     }
     
     /**
      * Addiert einen Betrag zum Kontostand (asynchron)
      */
     public CompletableFuture<Double> addBalance(UUID playerId, double amount) {
-        return getBalance(playerId).thenCompose(currentBalance -> {
-            double newBalance = currentBalance + amount;
-            return setBalance(playerId, newBalance).thenApply(v -> newBalance);
+        return addBalance(playerId, amount, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Addiert einen Betrag zum Kontostand mit Angabe der Ursache (asynchron)
+     */
+    public CompletableFuture<Double> addBalance(UUID playerId, double amount, BalanceChangeCause cause) {
+        // Konto zuerst laden, danach atomar im Cache ändern
+        return getBalance(playerId).thenCompose(loaded -> {
+            double newBalance = applyCashDelta(playerId, amount, false, cause);
+            return persistBalance(playerId).thenApply(v -> newBalance);
+        });
+    }
+    
+    /**
+     * Bucht Bargeld nur ab, wenn es reicht (asynchron)
+     * 
+     * Prüfung und Abbuchung sind ein atomarer Schritt im Cache, sodass
+     * gleichzeitige Abbuchungen (Vault, ATM, /eco pay) das Bargeld nie ins
+     * Minus treiben.
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Abzubuchender Betrag (positiver Wert)
+     * @param cause Ursache der Änderung
+     * @return CompletableFuture mit dem neuen Kontostand oder NaN wenn das Bargeld nicht reicht
+     */
+    public CompletableFuture<Double> withdrawBalance(UUID playerId, double amount, BalanceChangeCause cause) {
+        return getBalance(playerId).thenCompose(loaded -> {
+            double newBalance = applyCashDelta(playerId, -amount, true, cause);
+            if (Double.isNaN(newBalance)) {
+                return CompletableFuture.completedFuture(newBalance);
+            }
+            return persistBalance(playerId).thenApply(v -> newBalance);
         });
     }
     
@@ -273,7 +479,7 @@ public class DatabaseManager {
                 long currentTime = System.currentTimeMillis() / 1000;
                 return new ItemStats(0, 0, currentTime);
             }
-        });
+        }, dbExecutor);
     }
     
     /**
@@ -310,13 +516,145 @@ public class DatabaseManager {
             } catch (SQLException e) {
                 plugin.getLogger().log(Level.SEVERE, "Fehler beim Aktualisieren der Item-Statistiken:", e);
             }
-        });
+        }, dbExecutor);
+    }
+    
+    /**
+     * Holt die Item-Statistiken mehrerer Materialien auf einmal (asynchron)
+     * 
+     * Bereits gecachte Statistiken werden direkt übernommen, alle fehlenden
+     * werden in einem einzigen Datenbank-Durchlauf nachgeladen.
+     */
+    public CompletableFuture<Map<Material, ItemStats>> getItemStatsBatch(Collection<Material> materials) {
+        Map<Material, ItemStats> result = new EnumMap<>(Material.class);
+        List<Material> missing = new ArrayList<>();
+        
+        for (Material material : materials) {
+            ItemStats cachedStats = itemStatsCache.get(material.name());
+            if (cachedStats != null) {
+                result.put(material, cachedStats);
+            } else {
+                missing.add(material);
+            }
+        }
+        
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        
+        return CompletableFuture.supplyAsync(() -> {
+            long currentTime = System.currentTimeMillis() / 1000;
+            
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT sold, bought, last_trade_time FROM item_stats WHERE item = ?")) {
+                
+                for (Material material : missing) {
+                    stmt.setString(1, material.name());
+                    
+                    ItemStats stats;
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            stats = new ItemStats(rs.getLong("sold"), rs.getLong("bought"), rs.getLong("last_trade_time"));
+                        } else {
+                            stats = new ItemStats(0, 0, currentTime);
+                        }
+                    }
+                    
+                    itemStatsCache.put(material.name(), stats);
+                    result.put(material, stats);
+                }
+                
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Item-Statistiken:", e);
+                for (Material material : missing) {
+                    result.putIfAbsent(material, new ItemStats(0, 0, currentTime));
+                }
+            }
+            
+            return result;
+        }, dbExecutor);
+    }
+    
+    /**
+     * Verbucht Verkäufe mehrerer Materialien in einer einzigen Transaktion (asynchron)
+     * 
+     * @param soldChanges Verkaufte Menge pro Material
+     */
+    public CompletableFuture<Void> updateItemStatsBatch(Map<Material, Long> soldChanges) {
+        if (soldChanges.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.runAsync(() -> {
+            long currentTime = System.currentTimeMillis() / 1000;
+            
+            try {
+                connection.setAutoCommit(false);
+                
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "INSERT OR REPLACE INTO item_stats (item, sold, bought, last_trade_time, last_updated) " +
+                        "VALUES (?, COALESCE((SELECT sold FROM item_stats WHERE item = ?), 0) + ?, " +
+                        "COALESCE((SELECT bought FROM item_stats WHERE item = ?), 0), ?, strftime('%s', 'now'))")) {
+                    
+                    for (Map.Entry<Material, Long> entry : soldChanges.entrySet()) {
+                        String materialName = entry.getKey().name();
+                        stmt.setString(1, materialName);
+                        stmt.setString(2, materialName);
+                        stmt.setLong(3, entry.getValue());
+                        stmt.setString(4, materialName);
+                        stmt.setLong(5, currentTime);
+                        stmt.addBatch();
+                    }
+                    
+                    stmt.executeBatch();
+                }
+                
+                connection.commit();
+                
+                // Cache erst nach erfolgreichem Commit aktualisieren
+                for (Map.Entry<Material, Long> entry : soldChanges.entrySet()) {
+                    String materialName = entry.getKey().name();
+                    ItemStats currentStats = itemStatsCache.getOrDefault(materialName, new ItemStats(0, 0, currentTime));
+                    itemStatsCache.put(materialName, new ItemStats(
+                        currentStats.sold() + entry.getValue(),
+                        currentStats.bought(),
+                        currentTime
+                    ));
+                }
+                
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Aktualisieren der Item-Statistiken (Sammelverkauf):", e);
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    plugin.getLogger().log(Level.WARNING, "Fehler beim Rollback:", rollbackError);
+                }
+                throw new CompletionException(e);
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    plugin.getLogger().log(Level.WARNING, "Fehler beim Zurücksetzen von Auto-Commit:", e);
+                }
+            }
+        }, dbExecutor);
     }
     
     /**
      * Schließt die Datenbankverbindung
+     * 
+     * Ausstehende Schreibvorgänge werden vorher noch abgearbeitet.
      */
     public void shutdown() {
+        dbExecutor.shutdown();
+        try {
+            if (!dbExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Nicht alle Datenbank-Schreibvorgänge konnten abgeschlossen werden");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
@@ -328,70 +666,542 @@ public class DatabaseManager {
     }
     
     /**
-     * Holt das Bank-Guthaben eines Spielers (asynchron)
+     * Setzt die Zins-Regeln für Bank-Guthaben
+     * 
+     * @param interestPolicy Die Zins-Regeln (null = keine Zinsen)
+     */
+    public void setBankInterestPolicy(BankInterestPolicy interestPolicy) {
+        this.interestPolicy = interestPolicy;
+    }
+    
+    /**
+     * Holt das Bank-Guthaben eines Spielers inklusive aufgelaufener Zinsen (asynchron)
+     * 
+     * Zinsen unter einem Cent werden nur auf den Rückgabewert aufgeschlagen. Erst
+     * größere Beträge werden im Datenbank-Thread gutgeschrieben und gespeichert.
      */
     public CompletableFuture<Double> getBankBalance(UUID playerId) {
         // Zuerst im Cache suchen
         Double cachedBalance = bankBalanceCache.get(playerId);
         if (cachedBalance != null) {
-            return CompletableFuture.completedFuture(cachedBalance);
+            double pending = pendingInterest(playerId, cachedBalance, currentSeconds());
+            if (pending < MIN_MATERIALIZED_INTEREST) {
+                return CompletableFuture.completedFuture(cachedBalance + pending);
+            }
+            return CompletableFuture.supplyAsync(() -> materializeInterest(playerId), dbExecutor);
         }
         
         // Wenn nicht im Cache, aus Datenbank laden
         return CompletableFuture.supplyAsync(() -> {
             try (PreparedStatement stmt = connection.prepareStatement(
-                    "SELECT bank_balance FROM player_bank_balance WHERE uuid = ?")) {
+                    "SELECT bank_balance, last_updated FROM player_bank_balance WHERE uuid = ?")) {
                 
                 stmt.setString(1, playerId.toString());
                 ResultSet rs = stmt.executeQuery();
                 
                 if (rs.next()) {
-                    double bankBalance = rs.getDouble("bank_balance");
-                    bankBalanceCache.put(playerId, bankBalance);
-                    return bankBalance;
+                    // Ein inzwischen im Cache angelegter Wert ist neuer als die Datenbank
+                    double balance = rs.getDouble("bank_balance");
+                    long accruedAt = rs.getLong("last_updated");
+                    bankBalanceCache.computeIfAbsent(playerId, id -> {
+                        bankAccrualTimes.put(id, accruedAt);
+                        return balance;
+                    });
+                    return materializeInterest(playerId);
                 } else {
-                    // Spieler Bank-Konto existiert nicht, mit 0.0 starten
-                    setBankBalance(playerId, 0.0);
-                    return 0.0;
+                    // Spieler Bank-Konto existiert nicht, mit 0.0 starten (außer es wurde gerade angelegt)
+                    boolean[] created = {false};
+                    bankBalanceCache.computeIfAbsent(playerId, id -> {
+                        bankAccrualTimes.put(id, currentSeconds());
+                        created[0] = true;
+                        return 0.0;
+                    });
+                    if (created[0]) {
+                        writeBankBalance(playerId);
+                    }
+                    return materializeInterest(playerId);
                 }
                 
             } catch (SQLException e) {
                 plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden des Bank-Guthabens:", e);
                 return 0.0;
             }
-        });
+        }, dbExecutor);
+    }
+    
+    /**
+     * Gibt das Bank-Guthaben inklusive noch nicht gutgeschriebener Zinsen direkt
+     * aus dem Cache zurück (blockiert nie)
+     * 
+     * @param playerId UUID des Spielers
+     * @return Bank-Guthaben oder null wenn das Konto nicht im Cache ist
+     */
+    public Double getCachedBankBalance(UUID playerId) {
+        Double balance = bankBalanceCache.get(playerId);
+        if (balance == null) {
+            return null;
+        }
+        return balance + pendingInterest(playerId, balance, currentSeconds());
     }
     
     /**
      * Setzt das Bank-Guthaben eines Spielers (asynchron)
      */
     public CompletableFuture<Void> setBankBalance(UUID playerId, double balance) {
-        bankBalanceCache.put(playerId, balance);
+        return setBankBalance(playerId, balance, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Setzt das Bank-Guthaben eines Spielers mit Angabe der Ursache (asynchron)
+     * 
+     * Bis dahin aufgelaufene, noch nicht gutgeschriebene Zinsen verfallen.
+     */
+    public CompletableFuture<Void> setBankBalance(UUID playerId, double balance, BalanceChangeCause cause) {
+        long now = currentSeconds();
+        bankBalanceCache.compute(playerId, (id, current) -> {
+            bankAccrualTimes.put(id, now);
+            publishChange(id, BalanceChangeEvent.Account.BANK, current, balance, cause);
+            return balance;
+        });
         
+        return persistBankBalance(playerId);
+    }
+    
+    /**
+     * Ändert das Bank-Guthaben atomar im Cache (ohne zu speichern)
+     * 
+     * Aufgelaufene Zinsen werden im selben Schritt gutgeschrieben, damit die
+     * Änderung nie auf einem veralteten Guthaben aufsetzt.
+     * 
+     * @return Neues Bank-Guthaben
+     */
+    private double applyBankDelta(UUID playerId, double delta, BalanceChangeCause cause) {
+        long now = currentSeconds();
+        double[] result = {0.0};
+        
+        bankBalanceCache.compute(playerId, (id, current) -> {
+            double balance = current != null ? current : 0.0;
+            double withInterest = balance + (current != null ? Math.max(0.0, pendingInterest(id, current, now)) : 0.0);
+            bankAccrualTimes.put(id, now);
+            result[0] = withInterest + delta;
+            publishChange(id, BalanceChangeEvent.Account.BANK, balance, withInterest, BalanceChangeCause.INTEREST);
+            publishChange(id, BalanceChangeEvent.Account.BANK, withInterest, result[0], cause);
+            return result[0];
+        });
+        return result[0];
+    }
+    
+    /**
+     * Speichert das Bank-Guthaben eines Spielers im Datenbank-Thread
+     * (mit dem beim Ausführen aktuellen Cache-Wert, siehe {@link #persistBalance})
+     */
+    private CompletableFuture<Void> persistBankBalance(UUID playerId) {
+        return CompletableFuture.runAsync(() -> writeBankBalance(playerId), dbExecutor);
+    }
+    
+    /**
+     * Speichert Bank-Guthaben und Zeitpunkt der letzten Zinsgutschrift aus dem
+     * Cache (nur im Datenbank-Thread aufrufen)
+     */
+    private void writeBankBalance(UUID playerId) {
+        BankSnapshot snapshot = snapshotBankBalance(playerId);
+        if (snapshot == null) {
+            return;
+        }
+        
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT OR REPLACE INTO player_bank_balance (uuid, bank_balance, last_updated) VALUES (?, ?, ?)")) {
+            
+            logBalanceEvent(playerId, BalanceEventLog.Account.BANK, snapshot.balance());
+            stmt.setString(1, playerId.toString());
+            stmt.setDouble(2, snapshot.balance());
+            stmt.setLong(3, snapshot.accruedAt());
+            stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Speichern des Bank-Guthabens:", e);
+        }
+    }
+    
+    /**
+     * Liest Bank-Guthaben und Zinszeitpunkt als zusammengehöriges Paar
+     * (beide werden nur innerhalb von {@code compute} auf dem Bank-Cache geändert)
+     */
+    private BankSnapshot snapshotBankBalance(UUID playerId) {
+        BankSnapshot[] snapshot = {null};
+        bankBalanceCache.computeIfPresent(playerId, (id, balance) -> {
+            Long accruedAt = bankAccrualTimes.get(id);
+            snapshot[0] = new BankSnapshot(balance, accruedAt != null ? accruedAt : currentSeconds());
+            return balance;
+        });
+        return snapshot[0];
+    }
+    
+    /**
+     * Berechnet die seit der letzten Gutschrift aufgelaufenen, noch nicht gespeicherten Zinsen
+     */
+    private double pendingInterest(UUID playerId, double balance, long now) {
+        BankInterestPolicy policy = interestPolicy;
+        Long since = bankAccrualTimes.get(playerId);
+        if (policy == null || since == null) {
+            return 0.0;
+        }
+        return policy.interestFor(balance, now - since);
+    }
+    
+    /**
+     * Schreibt aufgelaufene Zinsen gut (nur im Datenbank-Thread aufrufen)
+     * 
+     * Die Gutschrift erfolgt atomar im Cache und wird danach gespeichert, sodass
+     * gleichzeitige Änderungen aus anderen Threads nicht verloren gehen.
+     * 
+     * @param playerId UUID des Spielers
+     * @return Das Bank-Guthaben inklusive Zinsen
+     */
+    private double materializeInterest(UUID playerId) {
+        long now = currentSeconds();
+        double[] result = {0.0};
+        boolean[] credited = {false};
+        
+        bankBalanceCache.computeIfPresent(playerId, (id, balance) -> {
+            double pending = pendingInterest(id, balance, now);
+            if (pending < MIN_MATERIALIZED_INTEREST) {
+                result[0] = balance + Math.max(0.0, pending);
+                return balance;
+            }
+            bankAccrualTimes.put(id, now);
+            result[0] = balance + pending;
+            credited[0] = true;
+            publishChange(id, BalanceChangeEvent.Account.BANK, balance, result[0], BalanceChangeCause.INTEREST);
+            return result[0];
+        });
+        
+        if (credited[0]) {
+            writeBankBalance(playerId);
+        }
+        return result[0];
+    }
+    
+    /**
+     * Schreibt eine Kontostandsänderung in das Ereignis-Log (nur im Datenbank-Thread aufrufen)
+     * 
+     * Das Ereignis wird vor dem Datenbank-Zugriff an das Betriebssystem übergeben,
+     * damit das Log nach einem Absturz nie hinter der Datenbank zurückliegt.
+     */
+    private void logBalanceEvent(UUID playerId, BalanceEventLog.Account account, double balance) {
+        BalanceEventLog log = eventLog;
+        if (log == null) {
+            return;
+        }
+        try {
+            log.append(playerId, account, balance);
+            log.flush();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Schreiben des Ereignis-Logs:", e);
+        }
+    }
+    
+    /**
+     * Verbindet das Ereignis-Log mit der Datenbank (asynchron)
+     * 
+     * Das Log gilt als maßgeblich: abweichende Kontostände werden in einer
+     * Transaktion in Datenbank und Caches übernommen. Konten, die nur in der
+     * Datenbank existieren (z.B. alle beim ersten Aktivieren), werden als
+     * Ausgangszustand in das Log geschrieben.
+     * 
+     * @param log Das bereits geöffnete Ereignis-Log
+     */
+    public CompletableFuture<Void> attachEventLog(BalanceEventLog log) {
         return CompletableFuture.runAsync(() -> {
-            try (PreparedStatement stmt = connection.prepareStatement(
+            // Abweichende Kontostände aus dem Log wiederherstellen
+            Map<UUID, Double> cashUpdates = new HashMap<>();
+            Map<UUID, Double> bankUpdates = new HashMap<>();
+            log.forEachAccount((playerId, cash, bank) -> {
+                if (!Double.isNaN(cash) && !Double.valueOf(cash).equals(balanceCache.get(playerId))) {
+                    cashUpdates.put(playerId, cash);
+                }
+                if (!Double.isNaN(bank) && !Double.valueOf(bank).equals(bankBalanceCache.get(playerId))) {
+                    bankUpdates.put(playerId, bank);
+                }
+            });
+            if (!cashUpdates.isEmpty() || !bankUpdates.isEmpty()) {
+                restoreBalances(cashUpdates, bankUpdates);
+            }
+            
+            // Nur in der Datenbank vorhandene Konten in das Log übernehmen
+            int adopted = 0;
+            try {
+                for (Map.Entry<UUID, Double> entry : balanceCache.entrySet()) {
+                    if (Double.isNaN(log.getBalance(entry.getKey(), BalanceEventLog.Account.CASH))) {
+                        log.append(entry.getKey(), BalanceEventLog.Account.CASH, entry.getValue());
+                        adopted++;
+                    }
+                }
+                for (Map.Entry<UUID, Double> entry : bankBalanceCache.entrySet()) {
+                    if (Double.isNaN(log.getBalance(entry.getKey(), BalanceEventLog.Account.BANK))) {
+                        log.append(entry.getKey(), BalanceEventLog.Account.BANK, entry.getValue());
+                        adopted++;
+                    }
+                }
+                log.flush();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Übernehmen der Kontostände in das Ereignis-Log:", e);
+            }
+            
+            this.eventLog = log;
+            plugin.getLogger().info("Ereignis-Log verbunden: " + (cashUpdates.size() + bankUpdates.size()) +
+                                   " Kontostände aus dem Log wiederhergestellt, " + adopted + " aus der Datenbank übernommen");
+        }, dbExecutor);
+    }
+    
+    /**
+     * Schreibt Kontostände aus dem Ereignis-Log in einer Transaktion in Datenbank
+     * und Caches (nur im Datenbank-Thread aufrufen)
+     */
+    private void restoreBalances(Map<UUID, Double> cashBalances, Map<UUID, Double> bankBalances) {
+        try {
+            connection.setAutoCommit(false);
+            
+            try (PreparedStatement cash = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO player_balance (uuid, balance, last_updated) VALUES (?, ?, strftime('%s', 'now'))");
+                 PreparedStatement bank = connection.prepareStatement(
                     "INSERT OR REPLACE INTO player_bank_balance (uuid, bank_balance, last_updated) VALUES (?, ?, strftime('%s', 'now'))")) {
                 
-                stmt.setString(1, playerId.toString());
-                stmt.setDouble(2, balance);
-                stmt.executeUpdate();
+                for (Map.Entry<UUID, Double> entry : cashBalances.entrySet()) {
+                    cash.setString(1, entry.getKey().toString());
+                    cash.setDouble(2, entry.getValue());
+                    cash.addBatch();
+                }
+                for (Map.Entry<UUID, Double> entry : bankBalances.entrySet()) {
+                    bank.setString(1, entry.getKey().toString());
+                    bank.setDouble(2, entry.getValue());
+                    bank.addBatch();
+                }
                 
+                cash.executeBatch();
+                bank.executeBatch();
+            }
+            
+            connection.commit();
+            
+            // Caches erst nach erfolgreichem Commit aktualisieren
+            long now = currentSeconds();
+            for (Map.Entry<UUID, Double> entry : cashBalances.entrySet()) {
+                double balance = entry.getValue();
+                balanceCache.compute(entry.getKey(), (id, current) -> {
+                    publishChange(id, BalanceChangeEvent.Account.CASH, current, balance, BalanceChangeCause.RESTORE);
+                    return balance;
+                });
+            }
+            for (Map.Entry<UUID, Double> entry : bankBalances.entrySet()) {
+                double balance = entry.getValue();
+                bankBalanceCache.compute(entry.getKey(), (id, current) -> {
+                    bankAccrualTimes.put(id, now);
+                    publishChange(id, BalanceChangeEvent.Account.BANK, current, balance, BalanceChangeCause.RESTORE);
+                    return balance;
+                });
+            }
+            
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Wiederherstellen der Kontostände aus dem Ereignis-Log:", e);
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                plugin.getLogger().log(Level.WARNING, "Fehler beim Rollback:", rollbackError);
+            }
+        } finally {
+            try {
+                connection.setAutoCommit(true);
             } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Fehler beim Speichern des Bank-Guthabens:", e);
+                plugin.getLogger().log(Level.WARNING, "Fehler beim Zurücksetzen von Auto-Commit:", e);
             }
-        });
+        }
+    }
+    
+    /**
+     * Meldet eine Cache-Änderung an den Balance-Bus (ein fehlender alter Wert zählt als 0)
+     * 
+     * Nur innerhalb des {@code compute} aufrufen, das den neuen Wert erzeugt: die
+     * Sperre des Cache-Eintrags sorgt dann dafür, dass Meldungen eines Kontos den
+     * Bus in derselben Reihenfolge erreichen, in der die Änderungen passiert sind.
+     */
+    private void publishChange(UUID playerId, BalanceChangeEvent.Account account, Double oldBalance,
+                               double newBalance, BalanceChangeCause cause) {
+        if (balanceBus != null) {
+            balanceBus.publish(playerId, account, oldBalance != null ? oldBalance : 0.0, newBalance, cause);
+        }
+    }
+    
+    private static long currentSeconds() {
+        return System.currentTimeMillis() / 1000;
     }
     
     /**
      * Addiert einen Betrag zum Bank-Guthaben (asynchron)
      */
     public CompletableFuture<Double> addBankBalance(UUID playerId, double amount) {
-        return getBankBalance(playerId).thenCompose(currentBalance -> {
-            double newBalance = currentBalance + amount;
-            return setBankBalance(playerId, newBalance).thenApply(v -> newBalance);
+        return addBankBalance(playerId, amount, BalanceChangeCause.OTHER);
+    }
+    
+    /**
+     * Addiert einen Betrag zum Bank-Guthaben mit Angabe der Ursache (asynchron)
+     */
+    public CompletableFuture<Double> addBankBalance(UUID playerId, double amount, BalanceChangeCause cause) {
+        // Konto zuerst laden, danach atomar im Cache ändern
+        return getBankBalance(playerId).thenCompose(loaded -> {
+            double newBalance = applyBankDelta(playerId, amount, cause);
+            return persistBankBalance(playerId).thenApply(v -> newBalance);
         });
     }
 
+    /**
+     * Verschiebt Geld zwischen Bargeld und Bank-Guthaben (asynchron)
+     * 
+     * Wie alle anderen Änderungen läuft die Überweisung zuerst gegen die Caches:
+     * Deckungsprüfung, Zinsgutschrift, Abbuchung und Gutschrift geschehen atomar
+     * (siehe {@link #applyTransfer}), sodass gleichzeitige Zahlungen, Käufe oder
+     * Vault-Buchungen weder verloren gehen noch die Überweisung überschreiben.
+     * Danach werden beide Kontostände in einer SQLite-Transaktion gespeichert.
+     * Schlägt das Speichern fehl, wird die Überweisung im Cache zurückgebucht.
+     * 
+     * @param playerId UUID des Spielers
+     * @param amount Zu verschiebender Betrag (positiv)
+     * @param direction Richtung der Überweisung
+     * @return CompletableFuture mit dem Ergebnis und den neuen Kontoständen
+     *         (schlägt bei einem Datenbankfehler nach dem Zurückbuchen fehl)
+     */
+    public CompletableFuture<TransferResult> transferCashBank(UUID playerId, double amount, TransferDirection direction) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Überweisungsbetrag muss positiv sein");
+        }
+        
+        // Beide Konten zuerst laden bzw. mit den Startwerten anlegen
+        return getBalance(playerId).thenCombine(getBankBalance(playerId), (cash, bank) -> playerId)
+            .thenApplyAsync(id -> {
+                TransferResult result = applyTransfer(playerId, amount, direction, false);
+                if (!result.success()) {
+                    return result;
+                }
+                
+                try {
+                    writeAccount(playerId);
+                } catch (SQLException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Fehler bei der Überweisung zwischen Bargeld und Bank:", e);
+                    // Im Cache zurückbuchen und den Stand (mindestens ins Ereignis-Log) erneut schreiben
+                    applyTransfer(playerId, amount, direction, true);
+                    Double cash = balanceCache.get(playerId);
+                    if (cash != null) {
+                        writeBalance(playerId, cash);
+                    }
+                    writeBankBalance(playerId);
+                    throw new CompletionException(e);
+                }
+                return result;
+            }, dbExecutor);
+    }
+    
+    /**
+     * Führt eine Überweisung atomar in beiden Caches aus
+     * 
+     * Der Bank-Eintrag wird innerhalb der Sperre des Bargeld-Eintrags geändert
+     * (immer in dieser Reihenfolge, daher ohne Verklemmung). Aufgelaufene Zinsen
+     * werden im selben Schritt gutgeschrieben.
+     * 
+     * @param revert true um eine bereits ausgeführte Überweisung ohne Deckungsprüfung zurückzubuchen
+     * @return Ergebnis mit den Kontoständen danach (bei fehlender Deckung unverändert)
+     */
+    private TransferResult applyTransfer(UUID playerId, double amount, TransferDirection direction, boolean revert) {
+        boolean toBank = (direction == TransferDirection.CASH_TO_BANK) != revert;
+        double startBalance = plugin.getConfigManager().getStartBalance();
+        long now = currentSeconds();
+        boolean[] success = {false};
+        double[] balances = {0.0, 0.0}; // Bargeld und Bank-Guthaben danach
+        
+        balanceCache.compute(playerId, (id, cash) -> {
+            double oldCash = cash != null ? cash : startBalance;
+            balances[0] = oldCash;
+            
+            bankBalanceCache.compute(id, (bankId, bank) -> {
+                double oldBank = bank != null ? bank : 0.0;
+                double withInterest = oldBank + (bank != null ? Math.max(0.0, pendingInterest(bankId, bank, now)) : 0.0);
+                balances[1] = withInterest;
+                
+                double available = toBank ? oldCash : withInterest;
+                if (!revert && available < amount) {
+                    return bank;
+                }
+                
+                success[0] = true;
+                bankAccrualTimes.put(bankId, now);
+                balances[0] = toBank ? oldCash - amount : oldCash + amount;
+                balances[1] = toBank ? withInterest + amount : withInterest - amount;
+                publishChange(bankId, BalanceChangeEvent.Account.BANK, oldBank, withInterest, BalanceChangeCause.INTEREST);
+                publishChange(bankId, BalanceChangeEvent.Account.BANK, withInterest, balances[1], BalanceChangeCause.BANK_TRANSFER);
+                return balances[1];
+            });
+            
+            if (!success[0]) {
+                return cash;
+            }
+            publishChange(id, BalanceChangeEvent.Account.CASH, oldCash, balances[0], BalanceChangeCause.BANK_TRANSFER);
+            return balances[0];
+        });
+        
+        return new TransferResult(success[0], balances[0], balances[1]);
+    }
+    
+    /**
+     * Speichert Bargeld und Bank-Guthaben eines Spielers aus dem Cache in einer
+     * Transaktion (nur im Datenbank-Thread aufrufen)
+     * 
+     * @throws SQLException wenn die Transaktion nicht gespeichert werden konnte (nach dem Rollback)
+     */
+    private void writeAccount(UUID playerId) throws SQLException {
+        Double cash = balanceCache.get(playerId);
+        BankSnapshot bank = snapshotBankBalance(playerId);
+        
+        try {
+            connection.setAutoCommit(false);
+            
+            try (PreparedStatement cashStmt = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO player_balance (uuid, balance, last_updated) VALUES (?, ?, strftime('%s', 'now'))");
+                 PreparedStatement bankStmt = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO player_bank_balance (uuid, bank_balance, last_updated) VALUES (?, ?, ?)")) {
+                
+                // Neue Kontostände vor dem Commit ins Ereignis-Log schreiben
+                if (cash != null) {
+                    logBalanceEvent(playerId, BalanceEventLog.Account.CASH, cash);
+                    cashStmt.setString(1, playerId.toString());
+                    cashStmt.setDouble(2, cash);
+                    cashStmt.executeUpdate();
+                }
+                if (bank != null) {
+                    logBalanceEvent(playerId, BalanceEventLog.Account.BANK, bank.balance());
+                    bankStmt.setString(1, playerId.toString());
+                    bankStmt.setDouble(2, bank.balance());
+                    bankStmt.setLong(3, bank.accruedAt());
+                    bankStmt.executeUpdate();
+                }
+            }
+            
+            connection.commit();
+            
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                plugin.getLogger().log(Level.WARNING, "Fehler beim Rollback:", rollbackError);
+            }
+            throw e;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Fehler beim Zurücksetzen von Auto-Commit:", e);
+            }
+        }
+    }
+    
     /**
      * Prüft ob ein Spieler existiert
      */
@@ -408,7 +1218,271 @@ public class DatabaseManager {
                 plugin.getLogger().log(Level.SEVERE, "Fehler beim Prüfen der Spielerexistenz:", e);
                 return false;
             }
-        });
+        }, dbExecutor);
+    }
+    
+    /**
+     * Schreibt mehrere Journal-Einträge in einer Transaktion (asynchron)
+     */
+    public CompletableFuture<Void> insertTransactions(List<TransactionRecord> records) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.runAsync(() -> {
+            try {
+                connection.setAutoCommit(false);
+                
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "INSERT INTO transactions (player_uuid, counterparty_uuid, type, amount, details, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)")) {
+                    
+                    for (TransactionRecord record : records) {
+                        stmt.setString(1, record.playerId().toString());
+                        stmt.setString(2, record.counterpartyId() != null ? record.counterpartyId().toString() : null);
+                        stmt.setString(3, record.type().name());
+                        stmt.setDouble(4, record.amount());
+                        stmt.setString(5, record.details());
+                        stmt.setLong(6, record.createdAt());
+                        stmt.addBatch();
+                    }
+                    
+                    stmt.executeBatch();
+                }
+                
+                connection.commit();
+                
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Schreiben von " + records.size() + " Journal-Einträgen:", e);
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    plugin.getLogger().log(Level.WARNING, "Fehler beim Rollback:", rollbackError);
+                }
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    plugin.getLogger().log(Level.WARNING, "Fehler beim Zurücksetzen von Auto-Commit:", e);
+                }
+            }
+        }, dbExecutor);
+    }
+    
+    /**
+     * Lädt die Journal-Einträge eines Spielers, die älter als die angegebene ID sind (asynchron)
+     * 
+     * Keyset-Paginierung über den Index (player_uuid, id): jede Seite ist ein
+     * Index-Sprung, unabhängig davon wie weit hinten sie liegt.
+     * 
+     * @param playerId UUID des Spielers
+     * @param beforeId Nur Einträge mit kleinerer ID (Long.MAX_VALUE für die neuesten)
+     * @param limit Maximale Anzahl Einträge
+     * @return Einträge, neueste zuerst
+     */
+    public CompletableFuture<List<TransactionRecord>> loadTransactions(UUID playerId, long beforeId, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<TransactionRecord> records = new ArrayList<>(limit);
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT id, counterparty_uuid, type, amount, details, created_at FROM transactions " +
+                    "WHERE player_uuid = ? AND id < ? ORDER BY id DESC LIMIT ?")) {
+                
+                stmt.setString(1, playerId.toString());
+                stmt.setLong(2, beforeId);
+                stmt.setInt(3, limit);
+                ResultSet rs = stmt.executeQuery();
+                
+                while (rs.next()) {
+                    String counterparty = rs.getString("counterparty_uuid");
+                    records.add(new TransactionRecord(
+                        rs.getLong("id"),
+                        playerId,
+                        counterparty != null ? UUID.fromString(counterparty) : null,
+                        TransactionType.valueOf(rs.getString("type")),
+                        rs.getDouble("amount"),
+                        rs.getString("details"),
+                        rs.getLong("created_at")
+                    ));
+                }
+                
+            } catch (SQLException | IllegalArgumentException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden des Transaktions-Journals:", e);
+            }
+            return records;
+        }, dbExecutor);
+    }
+    
+    /**
+     * Ermittelt die ID des Eintrags, der {@code skip} Einträge nach der angegebenen ID folgt (asynchron)
+     * 
+     * Wird für Seitensprünge ohne bekannten Cursor verwendet; liest nur den Index.
+     * 
+     * @param playerId UUID des Spielers
+     * @param beforeId Start-Cursor
+     * @param skip Anzahl zu überspringender Einträge
+     * @return ID des Eintrags oder -1 wenn es nicht genügend Einträge gibt
+     */
+    public CompletableFuture<Long> findTransactionCursor(UUID playerId, long beforeId, int skip) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT id FROM transactions WHERE player_uuid = ? AND id < ? ORDER BY id DESC LIMIT 1 OFFSET ?")) {
+                
+                stmt.setString(1, playerId.toString());
+                stmt.setLong(2, beforeId);
+                stmt.setInt(3, skip);
+                ResultSet rs = stmt.executeQuery();
+                return rs.next() ? rs.getLong("id") : -1L;
+                
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Suchen im Transaktions-Journal:", e);
+                return -1L;
+            }
+        }, dbExecutor);
+    }
+    
+    /**
+     * Lädt Bargeld und Bank-Guthaben aller Spieler in einer Abfrage (asynchron)
+     */
+    public CompletableFuture<List<AccountBalance>> loadAllBalances() {
+        return CompletableFuture.supplyAsync(() -> {
+            List<AccountBalance> balances = new ArrayList<>();
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("""
+                     SELECT uuid, SUM(cash) AS cash, SUM(bank) AS bank FROM (
+                         SELECT uuid, balance AS cash, 0.0 AS bank FROM player_balance
+                         UNION ALL
+                         SELECT uuid, 0.0 AS cash, bank_balance AS bank FROM player_bank_balance
+                     ) GROUP BY uuid
+                 """)) {
+
+                while (rs.next()) {
+                    balances.add(new AccountBalance(
+                        UUID.fromString(rs.getString("uuid")),
+                        rs.getDouble("cash"),
+                        rs.getDouble("bank")
+                    ));
+                }
+
+            } catch (SQLException | IllegalArgumentException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden aller Kontostände:", e);
+            }
+            return balances;
+        }, dbExecutor);
+    }
+
+    /**
+     * Lädt alle gespeicherten Shop- und ATM-Villager (asynchron)
+     */
+    public CompletableFuture<List<VillagerLocation>> loadSpecialVillagers() {
+        return CompletableFuture.supplyAsync(() -> {
+            List<VillagerLocation> villagers = new ArrayList<>();
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                         "SELECT uuid, world, chunk_x, chunk_z, x, y, z, role FROM special_villagers")) {
+                
+                while (rs.next()) {
+                    villagers.add(new VillagerLocation(
+                        UUID.fromString(rs.getString("uuid")),
+                        UUID.fromString(rs.getString("world")),
+                        rs.getInt("chunk_x"),
+                        rs.getInt("chunk_z"),
+                        rs.getDouble("x"),
+                        rs.getDouble("y"),
+                        rs.getDouble("z"),
+                        rs.getString("role")
+                    ));
+                }
+                
+            } catch (SQLException | IllegalArgumentException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Villager-Positionen:", e);
+            }
+            return villagers;
+        }, dbExecutor);
+    }
+    
+    /**
+     * Speichert oder aktualisiert die Position eines Shop- oder ATM-Villagers (asynchron)
+     */
+    public CompletableFuture<Void> saveSpecialVillager(VillagerLocation villager) {
+        return CompletableFuture.runAsync(() -> {
+            try (PreparedStatement stmt = connection.prepareStatement("""
+                    INSERT OR REPLACE INTO special_villagers (uuid, world, chunk_x, chunk_z, x, y, z, role, last_updated)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, strftime('%s', 'now'))
+                    """)) {
+                
+                stmt.setString(1, villager.villagerId().toString());
+                stmt.setString(2, villager.worldId().toString());
+                stmt.setInt(3, villager.chunkX());
+                stmt.setInt(4, villager.chunkZ());
+                stmt.setDouble(5, villager.x());
+                stmt.setDouble(6, villager.y());
+                stmt.setDouble(7, villager.z());
+                stmt.setString(8, villager.role());
+                stmt.executeUpdate();
+                
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Speichern der Villager-Position:", e);
+            }
+        }, dbExecutor);
+    }
+    
+    /**
+     * Löscht einen Shop- oder ATM-Villager aus der Tabelle (asynchron)
+     */
+    public CompletableFuture<Void> deleteSpecialVillager(UUID villagerId) {
+        return CompletableFuture.runAsync(() -> {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "DELETE FROM special_villagers WHERE uuid = ?")) {
+                
+                stmt.setString(1, villagerId.toString());
+                stmt.executeUpdate();
+                
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Löschen der Villager-Position:", e);
+            }
+        }, dbExecutor);
+    }
+    
+    /**
+     * Richtung einer Überweisung zwischen Bargeld und Bank
+     */
+    public enum TransferDirection {
+        CASH_TO_BANK,
+        BANK_TO_CASH
+    }
+    
+    /**
+     * Bank-Guthaben mit Zeitpunkt der letzten Zinsgutschrift (Unix-Sekunden)
+     */
+    private record BankSnapshot(double balance, long accruedAt) {
+    }
+    
+    /**
+     * Record für das Ergebnis einer Überweisung zwischen Bargeld und Bank
+     * (Kontostände nach der Transaktion bzw. unverändert bei Fehlschlag)
+     */
+    public record TransferResult(boolean success, double cashBalance, double bankBalance) {
+    }
+
+    /**
+     * Record für einen Eintrag im Transaktions-Journal
+     * (Betrag aus Sicht des Spielers: positiv = Eingang, negativ = Ausgang)
+     */
+    public record TransactionRecord(long id, UUID playerId, UUID counterpartyId, TransactionType type,
+                                    double amount, String details, long createdAt) {
+    }
+    
+    /**
+     * Record für die gespeicherten Guthaben eines Spielers
+     */
+    public record AccountBalance(UUID playerId, double cashBalance, double bankBalance) {
+    }
+
+    /**
+     * Record für die gespeicherte Position eines Shop- oder ATM-Villagers
+     */
+    public record VillagerLocation(UUID villagerId, UUID worldId, int chunkX, int chunkZ,
+                                   double x, double y, double z, String role) {
     }
     
     /**
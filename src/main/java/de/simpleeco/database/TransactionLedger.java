@@ -0,0 +1,188 @@
+package de.simpleeco.database;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.scheduler.TaskHandle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transaktions-Journal: wer hat wem gezahlt, was wurde gekauft oder verkauft
+ *
+ * Buchungen landen zuerst in einem begrenzten Puffer und werden gesammelt in
+ * Batches über den Datenbank-Thread geschrieben - periodisch sowie sobald ein
+ * Batch voll ist. Ist der Puffer voll (Datenbank kommt nicht hinterher), werden
+ * neue Buchungen verworfen und gezählt, statt den aufrufenden Thread zu blockieren.
+ *
+ * Die Historie wird mit Keyset-Paginierung gelesen. Pro Betrachter merkt sich das
+ * Journal die Start-Cursor der bereits besuchten Seiten, sodass auch weit hinten
+ * liegende Seiten ein einzelner Index-Zugriff bleiben.
+ */
+public class TransactionLedger {
+
+    private final SimpleEcoPlugin plugin;
+    private final DatabaseManager databaseManager;
+
+    private final BlockingQueue<DatabaseManager.TransactionRecord> buffer;
+    private final int batchSize;
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final TaskHandle flushTask;
+
+    // Betrachter -> besuchte Seiten der zuletzt angesehenen Historie
+    private final Map<UUID, HistoryCursor> historyCursors = new ConcurrentHashMap<>();
+
+    public TransactionLedger(SimpleEcoPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+
+        int bufferSize = Math.max(100, plugin.getConfigManager().getConfig().getInt("ledger.bufferSize", 10000));
+        long flushInterval = Math.max(1, plugin.getConfigManager().getConfig().getLong("ledger.flushInterval", 100));
+        this.batchSize = Math.max(1, plugin.getConfigManager().getConfig().getInt("ledger.batchSize", 500));
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        this.flushTask = plugin.getPluginScheduler().runAsyncTimer(this::flush, flushInterval, flushInterval);
+    }
+
+    /**
+     * Bucht eine Transaktion (nicht blockierend)
+     *
+     * @param playerId Betroffener Spieler
+     * @param counterpartyId Gegenpartei (anderer Spieler oder Admin), kann null sein
+     * @param type Art der Buchung
+     * @param amount Betrag aus Sicht des Spielers (positiv = Eingang, negativ = Ausgang)
+     * @param details Zusätzliche Angaben (z.B. Item und Menge), kann null sein
+     */
+    public void record(UUID playerId, UUID counterpartyId, TransactionType type, double amount, String details) {
+        DatabaseManager.TransactionRecord record = new DatabaseManager.TransactionRecord(
+            0L, playerId, counterpartyId, type, amount, details, System.currentTimeMillis() / 1000);
+
+        if (!buffer.offer(record)) {
+            // Puffer voll: sofort an die Datenbank übergeben und einmal erneut versuchen
+            flush();
+            if (!buffer.offer(record)) {
+                droppedRecords.incrementAndGet();
+            }
+            return;
+        }
+
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Übergibt alle gepufferten Buchungen in Batches an den Datenbank-Thread
+     */
+    public void flush() {
+        List<DatabaseManager.TransactionRecord> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            databaseManager.insertTransactions(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+
+        long dropped = droppedRecords.getAndSet(0);
+        if (dropped > 0) {
+            plugin.getLogger().warning("Transaktions-Journal: " + dropped +
+                                     " Buchungen verworfen (Puffer voll)");
+        }
+    }
+
+    /**
+     * Lädt eine Seite der Historie eines Spielers
+     *
+     * Seite 1 setzt die gemerkten Cursor des Betrachters zurück. Für bekannte
+     * Seiten wird direkt ab dem gemerkten Cursor gelesen; bei Sprüngen wird der
+     * Cursor vom nächstgelegenen bekannten aus über den Index ermittelt.
+     *
+     * @param viewerId Betrachter (für die gemerkten Cursor)
+     * @param playerId Spieler, dessen Historie gelesen wird
+     * @param page Seite ab 1
+     * @param pageSize Einträge pro Seite
+     * @return CompletableFuture mit der Seite
+     */
+    public CompletableFuture<HistoryPage> loadHistoryPage(UUID viewerId, UUID playerId, int page, int pageSize) {
+        // Gepufferte Buchungen zuerst schreiben - der Datenbank-Thread hält die Reihenfolge ein
+        flush();
+
+        HistoryCursor cursor = historyCursors.get(viewerId);
+        if (page == 1 || cursor == null || !cursor.matches(playerId, pageSize)) {
+            cursor = new HistoryCursor(playerId, pageSize);
+            historyCursors.put(viewerId, cursor);
+        }
+        HistoryCursor activeCursor = cursor;
+
+        Map.Entry<Integer, Long> known = activeCursor.pageStarts.floorEntry(page);
+        CompletableFuture<Long> startFuture = known.getKey() == page
+            ? CompletableFuture.completedFuture(known.getValue())
+            : databaseManager.findTransactionCursor(playerId, known.getValue(), (page - known.getKey()) * pageSize - 1);
+
+        return startFuture.thenCompose(beforeId -> {
+            if (beforeId < 0) {
+                return CompletableFuture.completedFuture(new HistoryPage(page, List.of(), false));
+            }
+            activeCursor.pageStarts.put(page, beforeId);
+
+            // Ein Eintrag mehr laden, um zu erkennen ob es eine weitere Seite gibt
+            return databaseManager.loadTransactions(playerId, beforeId, pageSize + 1).thenApply(records -> {
+                boolean hasNext = records.size() > pageSize;
+                List<DatabaseManager.TransactionRecord> entries = hasNext ? records.subList(0, pageSize) : records;
+                if (hasNext) {
+                    activeCursor.pageStarts.put(page + 1, entries.get(pageSize - 1).id());
+                }
+                return new HistoryPage(page, entries, hasNext);
+            });
+        });
+    }
+
+    /**
+     * Vergisst die gemerkten Cursor eines Betrachters (z.B. beim Verlassen des Servers)
+     *
+     * @param viewerId Der Betrachter
+     */
+    public void forgetViewer(UUID viewerId) {
+        historyCursors.remove(viewerId);
+    }
+
+    /**
+     * Stoppt das periodische Schreiben und übergibt den restlichen Puffer an die Datenbank
+     * (vor dem Herunterfahren des DatabaseManagers aufrufen)
+     */
+    public void shutdown() {
+        flushTask.cancel();
+        flush();
+    }
+
+    /**
+     * Eine Seite der Historie (neueste Buchungen zuerst)
+     */
+    public record HistoryPage(int page, List<DatabaseManager.TransactionRecord> entries, boolean hasNext) {
+    }
+
+    /**
+     * Start-Cursor der besuchten Seiten: Seite -> "ID kleiner als"
+     */
+    private static final class HistoryCursor {
+        final UUID playerId;
+        final int pageSize;
+        final NavigableMap<Integer, Long> pageStarts = new ConcurrentSkipListMap<>();
+
+        HistoryCursor(UUID playerId, int pageSize) {
+            this.playerId = playerId;
+            this.pageSize = pageSize;
+            pageStarts.put(1, Long.MAX_VALUE);
+        }
+
+        boolean matches(UUID playerId, int pageSize) {
+            return this.playerId.equals(playerId) && this.pageSize == pageSize;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package de.simpleeco.database;
+
+/**
+ * Arten von Buchungen im Transaktions-Journal
+ */
+public enum TransactionType {
+    PAYMENT_SENT("Überweisung an"),
+    PAYMENT_RECEIVED("Überweisung von"),
+    BUY("Kauf"),
+    SELL("Verkauf"),
+    DEATH_PENALTY("Todesstrafe"),
+    ADMIN_ADD("Gutschrift (Admin)"),
+    ADMIN_REMOVE("Abzug (Admin)");
+
+    private final String displayName;
+
+    TransactionType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,442 @@
+package de.simpleeco.eventlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Ereignis-Log für Kontostände (Event-Sourcing)
+ *
+ * Jede Änderung eines Kontostands wird als Ereignis mit dem neuen absoluten Wert
+ * in ein binäres, nur anhängendes Log geschrieben. Das Log ist in Segmente fester
+ * Maximalgröße aufgeteilt. Der Zustand lässt sich jederzeit aus dem neuesten
+ * Snapshot und den danach geschriebenen Ereignissen wiederherstellen.
+ *
+ * Snapshots werden im Hintergrund erstellt: Unter der Sperre wird nur der Puffer
+ * geschrieben und ein neues Segment begonnen, der eigentliche Snapshot wird danach
+ * ohne Sperre aus dem Live-Zustand geschrieben. Neue Ereignisse werden währenddessen
+ * ungehindert angehängt.
+ *
+ * Die Klasse ist unabhängig von Bukkit, damit sie auch im Benchmark ohne Server
+ * genutzt werden kann.
+ */
+public class BalanceEventLog {
+
+    /**
+     * Betroffenes Konto eines Ereignisses
+     */
+    public enum Account {
+        CASH,
+        BANK
+    }
+
+    /**
+     * Einstellungen des Ereignis-Logs
+     *
+     * @param segmentSizeBytes Maximale Größe eines Segments, danach wird ein neues begonnen
+     * @param fsync Nach jedem Schreiben des Puffers auf den Datenträger synchronisieren
+     * @param snapshotIntervalMillis Maximaler Abstand zwischen zwei Snapshots
+     * @param snapshotEveryEvents Snapshot spätestens nach so vielen neuen Ereignissen
+     * @param keepSnapshots Anzahl aufbewahrter Snapshots (samt der zugehörigen Segmente)
+     */
+    public record Settings(long segmentSizeBytes, boolean fsync, long snapshotIntervalMillis,
+                           long snapshotEveryEvents, int keepSnapshots) {
+    }
+
+    /**
+     * Ergebnis einer Wiederherstellung beim Öffnen
+     *
+     * @param snapshotSeq Sequenznummer des verwendeten Snapshots (0 = keiner)
+     * @param snapshotAccounts Anzahl Konten aus dem Snapshot
+     * @param replayedEvents Anzahl abgespielter Ereignisse nach dem Snapshot
+     * @param lastSeq Letzte bekannte Sequenznummer
+     * @param nanos Dauer der Wiederherstellung
+     * @param damaged true wenn ein beschädigtes Log-Ende abgeschnitten wurde
+     */
+    public record RecoveryResult(long snapshotSeq, int snapshotAccounts, long replayedEvents,
+                                 long lastSeq, long nanos, boolean damaged) {
+    }
+
+    /**
+     * Empfänger für die Kontostände beim Durchlaufen des Zustands
+     */
+    public interface AccountVisitor {
+        /**
+         * @param cash Bargeld oder NaN wenn nie geschrieben
+         * @param bank Bank-Guthaben oder NaN wenn nie geschrieben
+         */
+        void visit(UUID playerId, double cash, double bank);
+    }
+
+    /**
+     * Aktueller Zustand eines Kontos (NaN = noch kein Ereignis)
+     */
+    static final class AccountState {
+        volatile double cash = Double.NaN;
+        volatile double bank = Double.NaN;
+    }
+
+    private final Logger logger;
+    private final Path directory;
+    private final Settings settings;
+
+    private final Map<UUID, AccountState> accounts = new ConcurrentHashMap<>();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean(false);
+
+    // Schreibpuffer für ca. 64 KB Ereignisse, wird gesammelt in das Segment geschrieben
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(EventCodec.RECORD_SIZE * 1456);
+    private final CRC32 crc = new CRC32();
+
+    // Zugriff nur unter der Sperre dieses Objekts
+    private FileChannel segment;
+    private long segmentBytes;
+    private long lastSeq;
+    private long lastSnapshotSeq;
+    private long lastSnapshotMillis;
+    private boolean open;
+
+    public BalanceEventLog(Logger logger, Path directory, Settings settings) {
+        this.logger = logger;
+        this.directory = directory;
+        this.settings = settings;
+    }
+
+    /**
+     * Öffnet das Log und stellt den Zustand aus Snapshot und Log-Rest wieder her
+     *
+     * Beschädigte Snapshots werden übersprungen (dann wird ein älterer verwendet).
+     * Ein beschädigtes Segment wird auf den gültigen Anfang gekürzt; alle späteren
+     * Segmente werden als ".damaged" beiseitegelegt, da ihnen Ereignisse fehlen würden.
+     *
+     * @return Angaben zur Wiederherstellung
+     * @throws IOException bei Fehlern im Dateisystem
+     */
+    public synchronized RecoveryResult open() throws IOException {
+        if (open) {
+            throw new IllegalStateException("Ereignis-Log ist bereits geöffnet");
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        accounts.clear();
+
+        // Reste eines abgebrochenen Snapshots entfernen
+        for (Path temp : listFiles(EventCodec.SNAPSHOT_PREFIX, EventCodec.SNAPSHOT_SUFFIX + ".tmp")) {
+            Files.deleteIfExists(temp);
+        }
+
+        // Neuesten lesbaren Snapshot laden
+        long snapshotSeq = 0;
+        int snapshotAccounts = 0;
+        List<Path> snapshots = listFiles(EventCodec.SNAPSHOT_PREFIX, EventCodec.SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Map<UUID, AccountState> loaded = new HashMap<>();
+            try {
+                snapshotSeq = EventCodec.readSnapshot(snapshots.get(i), loaded);
+                accounts.putAll(loaded);
+                snapshotAccounts = loaded.size();
+                break;
+            } catch (IOException e) {
+                logger.warning("Snapshot " + snapshots.get(i).getFileName() +
+                               " ist nicht lesbar und wird übersprungen: " + e.getMessage());
+            }
+        }
+
+        // Ereignisse nach dem Snapshot abspielen
+        EventCodec.EventVisitor visitor = (seq, mostSigBits, leastSigBits, account, balance) -> {
+            AccountState state = accounts.computeIfAbsent(new UUID(mostSigBits, leastSigBits), id -> new AccountState());
+            if (account == Account.CASH.ordinal()) {
+                state.cash = balance;
+            } else {
+                state.bank = balance;
+            }
+        };
+
+        long recoveredSeq = snapshotSeq;
+        long replayedEvents = 0;
+        boolean damaged = false;
+        List<Path> segments = listFiles(EventCodec.SEGMENT_PREFIX, EventCodec.SEGMENT_SUFFIX);
+        for (int i = 0; i < segments.size(); i++) {
+            Path file = segments.get(i);
+
+            // Segmente, die vollständig vor dem Snapshot liegen, überspringen
+            if (i + 1 < segments.size() && firstSeqOf(segments.get(i + 1)) - 1 <= snapshotSeq) {
+                continue;
+            }
+
+            EventCodec.SegmentScan scan = EventCodec.scanSegment(file, snapshotSeq, visitor);
+            replayedEvents += scan.events();
+            recoveredSeq = Math.max(recoveredSeq, scan.lastSeq());
+
+            if (scan.damaged()) {
+                damaged = true;
+                logger.warning("Ereignis-Log " + file.getFileName() + " ist ab Byte " + scan.validBytes() +
+                               " beschädigt und wird gekürzt");
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(scan.validBytes());
+                }
+                for (Path later : segments.subList(i + 1, segments.size())) {
+                    Files.move(later, later.resolveSibling(later.getFileName() + ".damaged"),
+                               StandardCopyOption.REPLACE_EXISTING);
+                }
+                break;
+            }
+        }
+
+        lastSeq = recoveredSeq;
+        lastSnapshotSeq = snapshotSeq;
+        lastSnapshotMillis = System.currentTimeMillis();
+        openSegment();
+        open = true;
+
+        return new RecoveryResult(snapshotSeq, snapshotAccounts, replayedEvents, lastSeq,
+                                  System.nanoTime() - start, damaged);
+    }
+
+    /**
+     * Hängt ein Ereignis an (gepuffert)
+     *
+     * @param playerId Betroffener Spieler
+     * @param account Betroffenes Konto
+     * @param balance Neuer Kontostand
+     * @throws IOException wenn der volle Puffer nicht geschrieben werden konnte
+     */
+    public synchronized void append(UUID playerId, Account account, double balance) throws IOException {
+        if (!open) {
+            return;
+        }
+        if (writeBuffer.remaining() < EventCodec.RECORD_SIZE) {
+            writeOut();
+        }
+
+        long seq = ++lastSeq;
+        EventCodec.encode(writeBuffer, crc, seq, System.currentTimeMillis(), playerId, account.ordinal(), balance);
+
+        AccountState state = accounts.computeIfAbsent(playerId, id -> new AccountState());
+        if (account == Account.CASH) {
+            state.cash = balance;
+        } else {
+            state.bank = balance;
+        }
+    }
+
+    /**
+     * Schreibt alle gepufferten Ereignisse in das aktuelle Segment
+     */
+    public synchronized void flush() throws IOException {
+        if (open) {
+            writeOut();
+        }
+    }
+
+    /**
+     * Periodische Wartung: Puffer schreiben und bei Bedarf einen Snapshot erstellen
+     *
+     * Für einen asynchronen Timer gedacht; Fehler werden geloggt.
+     */
+    public void maintain() {
+        try {
+            flush();
+
+            boolean due;
+            synchronized (this) {
+                long newEvents = lastSeq - lastSnapshotSeq;
+                due = open && newEvents > 0
+                    && (newEvents >= settings.snapshotEveryEvents()
+                        || System.currentTimeMillis() - lastSnapshotMillis >= settings.snapshotIntervalMillis());
+            }
+            if (due) {
+                snapshot();
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Fehler bei der Wartung des Ereignis-Logs:", e);
+        }
+    }
+
+    /**
+     * Erstellt einen Snapshot des aktuellen Zustands, ohne neue Ereignisse aufzuhalten
+     *
+     * Der Snapshot wird mit der Sequenznummer zum Zeitpunkt des Segmentwechsels
+     * markiert. Konten, die sich während des Schreibens ändern, können bereits
+     * neuere Werte enthalten - beim Abspielen werden sie durch die Ereignisse nach
+     * dieser Sequenznummer ohnehin auf denselben Stand gebracht.
+     */
+    public void snapshot() throws IOException {
+        if (!snapshotRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long seq;
+            synchronized (this) {
+                if (!open || lastSeq == lastSnapshotSeq) {
+                    return;
+                }
+                writeOut();
+                seq = lastSeq;
+                rollSegment();
+            }
+
+            EventCodec.writeSnapshot(directory.resolve(EventCodec.snapshotName(seq)), seq, accounts);
+
+            synchronized (this) {
+                lastSnapshotSeq = seq;
+                lastSnapshotMillis = System.currentTimeMillis();
+            }
+            deleteObsoleteFiles();
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    /**
+     * Schreibt den Puffer und schließt das Log
+     *
+     * Für einen schnellen nächsten Start vorher {@link #snapshot()} aufrufen.
+     */
+    public synchronized void close() throws IOException {
+        if (!open) {
+            return;
+        }
+        open = false;
+        writeOut();
+        segment.force(false);
+        segment.close();
+    }
+
+    /**
+     * Durchläuft den aktuellen Zustand aller Konten
+     */
+    public void forEachAccount(AccountVisitor visitor) {
+        accounts.forEach((playerId, state) -> visitor.visit(playerId, state.cash, state.bank));
+    }
+
+    /**
+     * Gibt den zuletzt protokollierten Kontostand zurück
+     *
+     * @return Kontostand oder NaN wenn für dieses Konto noch kein Ereignis existiert
+     */
+    public double getBalance(UUID playerId, Account account) {
+        AccountState state = accounts.get(playerId);
+        if (state == null) {
+            return Double.NaN;
+        }
+        return account == Account.CASH ? state.cash : state.bank;
+    }
+
+    /**
+     * @return Anzahl bekannter Konten
+     */
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * @return Letzte vergebene Sequenznummer
+     */
+    public synchronized long getLastSequence() {
+        return lastSeq;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Schreibt den Puffer in das Segment und beginnt bei Bedarf ein neues (unter der Sperre)
+     */
+    private void writeOut() throws IOException {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                segmentBytes += segment.write(writeBuffer);
+            }
+        } finally {
+            // Bei einem Fehler bleibt der ungeschriebene Rest für den nächsten Versuch erhalten
+            writeBuffer.compact();
+        }
+        if (settings.fsync()) {
+            segment.force(false);
+        }
+        if (segmentBytes >= settings.segmentSizeBytes()) {
+            rollSegment();
+        }
+    }
+
+    /**
+     * Schließt das aktuelle Segment und beginnt ein neues (unter der Sperre)
+     */
+    private void rollSegment() throws IOException {
+        segment.force(false);
+        segment.close();
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        Path file = directory.resolve(EventCodec.segmentName(lastSeq + 1));
+        segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentBytes = segment.size();
+    }
+
+    /**
+     * Löscht überzählige Snapshots und alle Segmente, die vor dem ältesten
+     * aufbewahrten Snapshot liegen
+     */
+    private void deleteObsoleteFiles() throws IOException {
+        List<Path> snapshots = listFiles(EventCodec.SNAPSHOT_PREFIX, EventCodec.SNAPSHOT_SUFFIX);
+        int keep = Math.max(1, settings.keepSnapshots());
+        if (snapshots.size() < keep) {
+            return;
+        }
+        for (Path old : snapshots.subList(0, snapshots.size() - keep)) {
+            Files.deleteIfExists(old);
+        }
+        long oldestKeptSeq = EventCodec.sequenceOf(snapshots.get(snapshots.size() - keep),
+                                                   EventCodec.SNAPSHOT_PREFIX, EventCodec.SNAPSHOT_SUFFIX);
+
+        // Das jeweils letzte Segment wird nie gelöscht (es ist das aktuelle)
+        List<Path> segments = listFiles(EventCodec.SEGMENT_PREFIX, EventCodec.SEGMENT_SUFFIX);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSeqOf(segments.get(i + 1)) - 1 <= oldestKeptSeq) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    private static long firstSeqOf(Path segmentFile) {
+        return EventCodec.sequenceOf(segmentFile, EventCodec.SEGMENT_PREFIX, EventCodec.SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Listet Dateien mit Präfix und Endung, aufsteigend nach Sequenznummer
+     * (die Namen sind mit Nullen aufgefüllt, daher genügt die Sortierung nach Namen)
+     */
+    private List<Path> listFiles(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(prefix) && name.endsWith(suffix);
+                })
+                .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package de.simpleeco.eventlog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binärformat der Log-Segmente und Snapshots
+ *
+ * Ein Ereignis hat eine feste Länge von 45 Bytes:
+ * Sequenznummer (8), Zeitstempel in ms (8), Spieler-UUID (16), Konto (1),
+ * neuer Kontostand (8) und CRC32 über die vorherigen 41 Bytes (4).
+ * Da jedes Ereignis den absoluten neuen Kontostand enthält, ist das Abspielen
+ * idempotent - ein Ereignis doppelt anzuwenden ändert das Ergebnis nicht.
+ *
+ * Ein Snapshot enthält Magic, Sequenznummer, Zeitstempel, danach pro Konto
+ * ein Marker-Byte, UUID, Bargeld und Bank-Guthaben, ein End-Marker und
+ * abschließend die CRC32 über alle vorherigen Bytes.
+ */
+final class EventCodec {
+
+    static final int RECORD_SIZE = 45;
+    private static final int PAYLOAD_SIZE = 41;
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private static final int SNAPSHOT_MAGIC = 0x53454531; // "SEE1"
+
+    private EventCodec() {
+    }
+
+    /**
+     * Empfänger für abgespielte Ereignisse
+     */
+    interface EventVisitor {
+        void visit(long seq, long mostSigBits, long leastSigBits, int account, double balance);
+    }
+
+    /**
+     * Ergebnis des Einlesens eines Segments
+     *
+     * @param lastSeq Letzte gültige Sequenznummer (-1 wenn keine)
+     * @param events Anzahl übergebener Ereignisse (nach dem Start-Punkt)
+     * @param validBytes Länge des gültigen Anfangs des Segments
+     * @param damaged true wenn ein unvollständiges oder beschädigtes Ereignis gefunden wurde
+     */
+    record SegmentScan(long lastSeq, long events, long validBytes, boolean damaged) {
+    }
+
+    /**
+     * Schreibt ein Ereignis in einen Heap-Puffer
+     */
+    static void encode(ByteBuffer buffer, CRC32 crc, long seq, long timestamp,
+                       UUID playerId, int account, double balance) {
+        int start = buffer.position();
+        buffer.putLong(seq)
+              .putLong(timestamp)
+              .putLong(playerId.getMostSignificantBits())
+              .putLong(playerId.getLeastSignificantBits())
+              .put((byte) account)
+              .putDouble(balance);
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, PAYLOAD_SIZE);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Liest ein Segment und übergibt alle Ereignisse nach {@code afterSeq}
+     *
+     * Gelesen wird in großen Blöcken in einen wiederverwendeten Puffer; pro
+     * Ereignis wird nur die CRC geprüft und der Visitor aufgerufen.
+     */
+    static SegmentScan scanSegment(Path file, long afterSeq, EventVisitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 23_000); // ca. 1 MB
+        CRC32 crc = new CRC32();
+        long lastSeq = -1;
+        long events = 0;
+        long validBytes = 0;
+        boolean damaged = false;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            reading:
+            while (true) {
+                int read = channel.read(buffer);
+                buffer.flip();
+
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int start = buffer.position();
+                    crc.reset();
+                    crc.update(buffer.array(), buffer.arrayOffset() + start, PAYLOAD_SIZE);
+
+                    long seq = buffer.getLong();
+                    buffer.getLong(); // Zeitstempel wird beim Abspielen nicht benötigt
+                    long mostSigBits = buffer.getLong();
+                    long leastSigBits = buffer.getLong();
+                    int account = buffer.get();
+                    double balance = buffer.getDouble();
+                    int checksum = buffer.getInt();
+
+                    if (checksum != (int) crc.getValue()) {
+                        damaged = true;
+                        break reading;
+                    }
+
+                    validBytes += RECORD_SIZE;
+                    lastSeq = seq;
+                    if (seq > afterSeq) {
+                        visitor.visit(seq, mostSigBits, leastSigBits, account, balance);
+                        events++;
+                    }
+                }
+
+                if (read < 0) {
+                    // Unvollständiges letztes Ereignis (z.B. Absturz während des Schreibens)
+                    damaged = buffer.hasRemaining();
+                    break;
+                }
+                buffer.compact();
+            }
+        }
+        return new SegmentScan(lastSeq, events, validBytes, damaged);
+    }
+
+    /**
+     * Schreibt einen Snapshot atomar (temporäre Datei, dann Umbenennen)
+     *
+     * Die Konten werden während des Schreibens weiter verändert; die Sequenznummer
+     * muss daher vor dem Durchlauf festgehalten werden. Neuere Werte im Snapshot
+     * werden beim Abspielen des Log-Rests ohnehin mit denselben Werten überschrieben.
+     */
+    static void writeSnapshot(Path file, long seq, Map<UUID, BalanceEventLog.AccountState> accounts) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+            DataOutputStream out = new DataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(fileOut, 1 << 16), crc));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(seq);
+            out.writeLong(System.currentTimeMillis());
+
+            for (Map.Entry<UUID, BalanceEventLog.AccountState> entry : accounts.entrySet()) {
+                out.writeBoolean(true);
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeDouble(entry.getValue().cash);
+                out.writeDouble(entry.getValue().bank);
+            }
+            out.writeBoolean(false);
+
+            long checksum = crc.getValue();
+            out.writeLong(checksum);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Liest einen Snapshot in die übergebene Map
+     *
+     * @return Sequenznummer des Snapshots
+     * @throws IOException wenn die Datei unvollständig oder beschädigt ist
+     */
+    static long readSnapshot(Path file, Map<UUID, BalanceEventLog.AccountState> accounts) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(
+                new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16), crc))) {
+
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Unbekanntes Snapshot-Format: " + file.getFileName());
+            }
+            long seq = in.readLong();
+            in.readLong(); // Erstellungszeitpunkt
+
+            while (in.readBoolean()) {
+                UUID playerId = new UUID(in.readLong(), in.readLong());
+                BalanceEventLog.AccountState state = new BalanceEventLog.AccountState();
+                state.cash = in.readDouble();
+                state.bank = in.readDouble();
+                accounts.put(playerId, state);
+            }
+
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Prüfsumme des Snapshots stimmt nicht: " + file.getFileName());
+            }
+            return seq;
+        }
+    }
+
+    static String segmentName(long firstSeq) {
+        return SEGMENT_PREFIX + String.format("%020d", firstSeq) + SEGMENT_SUFFIX;
+    }
+
+    static String snapshotName(long seq) {
+        return SNAPSHOT_PREFIX + String.format("%020d", seq) + SNAPSHOT_SUFFIX;
+    }
+
+    /**
+     * Liest die Sequenznummer aus einem Segment- oder Snapshot-Dateinamen
+     */
+    static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+}
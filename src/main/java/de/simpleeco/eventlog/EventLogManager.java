@@ -0,0 +1,82 @@
+package de.simpleeco.eventlog;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.database.DatabaseManager;
+import de.simpleeco.scheduler.TaskHandle;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
+/**
+ * Bindet das Ereignis-Log an das Plugin an
+ *
+ * Liest die Einstellungen aus der Konfiguration, stellt beim Start den Zustand
+ * wieder her, gleicht ihn mit der Datenbank ab und erstellt per Timer im
+ * Hintergrund Snapshots.
+ */
+public class EventLogManager {
+
+    private final SimpleEcoPlugin plugin;
+    private final BalanceEventLog eventLog;
+    private final long maintenanceInterval;
+    private TaskHandle maintenanceTask;
+
+    public EventLogManager(SimpleEcoPlugin plugin) {
+        this.plugin = plugin;
+
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        Path directory = plugin.getDataFolder().toPath().resolve(config.getString("eventLog.directory", "eventlog"));
+        BalanceEventLog.Settings settings = new BalanceEventLog.Settings(
+            Math.max(1, config.getLong("eventLog.segmentSizeMb", 64)) * 1024 * 1024,
+            config.getBoolean("eventLog.fsync", false),
+            Math.max(1, config.getLong("eventLog.snapshotIntervalMinutes", 30)) * 60_000,
+            Math.max(1, config.getLong("eventLog.snapshotEveryEvents", 1_000_000)),
+            Math.max(1, config.getInt("eventLog.keepSnapshots", 2))
+        );
+        this.maintenanceInterval = Math.max(20, config.getLong("eventLog.maintenanceInterval", 200));
+        this.eventLog = new BalanceEventLog(plugin.getLogger(), directory, settings);
+    }
+
+    /**
+     * Stellt den Zustand wieder her, gleicht die Datenbank ab und startet die Wartung
+     * (blockiert bis der Abgleich im Datenbank-Thread abgeschlossen ist)
+     *
+     * @param databaseManager Der DatabaseManager, dessen Kontostände protokolliert werden
+     * @throws IOException wenn das Log nicht geöffnet werden kann
+     */
+    public void start(DatabaseManager databaseManager) throws IOException {
+        BalanceEventLog.RecoveryResult recovery = eventLog.open();
+        plugin.getLogger().info(String.format(
+            "Ereignis-Log wiederhergestellt: %d Konten aus Snapshot #%d, %d Ereignisse abgespielt (%.1f ms)",
+            recovery.snapshotAccounts(), recovery.snapshotSeq(), recovery.replayedEvents(),
+            recovery.nanos() / 1_000_000.0));
+        if (recovery.damaged()) {
+            plugin.getLogger().warning("Das Ende des Ereignis-Logs war beschädigt und wurde abgeschnitten");
+        }
+
+        databaseManager.attachEventLog(eventLog).join();
+        maintenanceTask = plugin.getPluginScheduler().runAsyncTimer(eventLog::maintain, maintenanceInterval, maintenanceInterval);
+    }
+
+    /**
+     * Stoppt die Wartung, erstellt einen abschließenden Snapshot und schließt das Log
+     * (nach dem Herunterfahren des DatabaseManagers aufrufen)
+     */
+    public void shutdown() {
+        if (maintenanceTask != null) {
+            maintenanceTask.cancel();
+        }
+        try {
+            eventLog.snapshot();
+            eventLog.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Schließen des Ereignis-Logs:", e);
+        }
+    }
+
+    public BalanceEventLog getEventLog() {
+        return eventLog;
+    }
+}
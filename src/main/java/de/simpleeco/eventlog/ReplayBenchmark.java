@@ -0,0 +1,139 @@
+package de.simpleeco.eventlog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Misst Schreib- und Wiederherstellungsgeschwindigkeit des Ereignis-Logs
+ *
+ * Schreibt synthetische Ereignisse in ein temporäres Verzeichnis, stellt den
+ * Zustand einmal komplett aus dem Log und einmal aus einem Snapshot wieder her
+ * und löscht das Verzeichnis danach wieder.
+ */
+public final class ReplayBenchmark {
+
+    private ReplayBenchmark() {
+    }
+
+    /**
+     * Ergebnis eines Benchmark-Laufs
+     *
+     * @param events Anzahl geschriebener Ereignisse
+     * @param accounts Anzahl Konten nach der Wiederherstellung
+     * @param bytes Größe des Logs auf dem Datenträger
+     * @param writeNanos Dauer für das Schreiben aller Ereignisse
+     * @param replayNanos Dauer der Wiederherstellung nur aus dem Log
+     * @param snapshotNanos Dauer für das Erstellen eines Snapshots
+     * @param snapshotRecoveryNanos Dauer der Wiederherstellung aus dem Snapshot
+     */
+    public record Result(long events, int accounts, long bytes, long writeNanos, long replayNanos,
+                         long snapshotNanos, long snapshotRecoveryNanos) {
+
+        /**
+         * @return Abgespielte Ereignisse pro Sekunde bei der Wiederherstellung aus dem Log
+         */
+        public double replayEventsPerSecond() {
+            return events * 1_000_000_000.0 / Math.max(1, replayNanos);
+        }
+
+        /**
+         * @return Geschriebene Ereignisse pro Sekunde
+         */
+        public double writeEventsPerSecond() {
+            return events * 1_000_000_000.0 / Math.max(1, writeNanos);
+        }
+
+        /**
+         * Schätzt die Dauer einer Wiederherstellung nur aus dem Log
+         *
+         * @param eventCount Anzahl Ereignisse
+         * @return Geschätzte Dauer in Sekunden
+         */
+        public double estimateReplaySeconds(long eventCount) {
+            return eventCount / replayEventsPerSecond();
+        }
+    }
+
+    /**
+     * Führt den Benchmark aus (blockierend, nicht im Haupt-Thread aufrufen)
+     *
+     * @param logger Logger für Warnungen des Logs
+     * @param parentDirectory Verzeichnis, in dem das temporäre Log angelegt wird
+     * @param events Anzahl Ereignisse
+     * @param players Anzahl verschiedener Spieler
+     * @return Messergebnis
+     * @throws IOException bei Fehlern im Dateisystem
+     */
+    public static Result run(Logger logger, Path parentDirectory, long events, int players) throws IOException {
+        Files.createDirectories(parentDirectory);
+        Path directory = Files.createTempDirectory(parentDirectory, "replay-benchmark-");
+        BalanceEventLog.Settings settings = new BalanceEventLog.Settings(
+            64L * 1024 * 1024, false, Long.MAX_VALUE, Long.MAX_VALUE, 1);
+
+        try {
+            UUID[] playerIds = new UUID[Math.max(1, players)];
+            for (int i = 0; i < playerIds.length; i++) {
+                playerIds[i] = UUID.randomUUID();
+            }
+            SplittableRandom random = new SplittableRandom(42);
+
+            // Schreiben
+            BalanceEventLog writer = new BalanceEventLog(logger, directory, settings);
+            writer.open();
+            long start = System.nanoTime();
+            for (long i = 0; i < events; i++) {
+                UUID playerId = playerIds[random.nextInt(playerIds.length)];
+                BalanceEventLog.Account account = (i & 1) == 0 ? BalanceEventLog.Account.CASH : BalanceEventLog.Account.BANK;
+                writer.append(playerId, account, Math.floor(random.nextDouble() * 10_000_000) / 100.0);
+            }
+            writer.close();
+            long writeNanos = System.nanoTime() - start;
+            long bytes = directorySize(directory);
+
+            // Wiederherstellung nur aus dem Log
+            BalanceEventLog replay = new BalanceEventLog(logger, directory, settings);
+            BalanceEventLog.RecoveryResult fullReplay = replay.open();
+
+            // Snapshot erstellen
+            start = System.nanoTime();
+            replay.snapshot();
+            long snapshotNanos = System.nanoTime() - start;
+            int accounts = replay.getAccountCount();
+            replay.close();
+
+            // Wiederherstellung aus dem Snapshot
+            BalanceEventLog restored = new BalanceEventLog(logger, directory, settings);
+            BalanceEventLog.RecoveryResult snapshotReplay = restored.open();
+            restored.close();
+
+            return new Result(events, accounts, bytes, writeNanos, fullReplay.nanos(),
+                              snapshotNanos, snapshotReplay.nanos());
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            long size = 0;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
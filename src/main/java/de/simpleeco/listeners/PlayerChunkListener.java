@@ -0,0 +1,76 @@
+package de.simpleeco.listeners;
+
+import de.simpleeco.villager.VillagerInterestMap;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+/**
+ * Event-Listener für Chunk-Wechsel von Spielern
+ * 
+ * Hält die {@link VillagerInterestMap} aktuell. Bewegungen innerhalb eines
+ * Chunks werden mit einem einfachen Koordinatenvergleich verworfen.
+ */
+public class PlayerChunkListener implements Listener {
+    
+    private final VillagerInterestMap interestMap;
+    
+    public PlayerChunkListener(VillagerInterestMap interestMap) {
+        this.interestMap = interestMap;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        interestMap.updatePlayer(player, player.getLocation());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        interestMap.removePlayer(event.getPlayer());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        handleMove(event.getPlayer(), event.getFrom(), event.getTo());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        handleMove(event.getPlayer(), event.getFrom(), event.getTo());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        interestMap.updatePlayer(event.getPlayer(), event.getRespawnLocation());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        Player player = event.getPlayer();
+        interestMap.updatePlayer(player, player.getLocation());
+    }
+    
+    /**
+     * Aktualisiert die Interessen-Karte nur bei Chunk- oder Weltwechsel
+     */
+    private void handleMove(Player player, Location from, Location to) {
+        if (to == null) {
+            return;
+        }
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4)
+                && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4)
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        interestMap.updatePlayer(player, to);
+    }
+}
@@ -3,8 +3,8 @@ package de.simpleeco.listeners;
 import de.simpleeco.SimpleEcoPlugin;
 import de.simpleeco.config.ConfigManager;
 import de.simpleeco.bank.BankManager;
-import de.simpleeco.scoreboard.ScoreboardManager;
-import org.bukkit.Bukkit;
+import de.simpleeco.currency.BalanceChangeCause;
+import de.simpleeco.database.TransactionType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -22,14 +22,11 @@ public class PlayerDeathListener implements Listener {
     private final SimpleEcoPlugin plugin;
     private final ConfigManager configManager;
     private final BankManager bankManager;
-    private final ScoreboardManager scoreboardManager;
     
-    public PlayerDeathListener(SimpleEcoPlugin plugin, ConfigManager configManager, 
-                              BankManager bankManager, ScoreboardManager scoreboardManager) {
+    public PlayerDeathListener(SimpleEcoPlugin plugin, ConfigManager configManager, BankManager bankManager) {
         this.plugin = plugin;
         this.configManager = configManager;
         this.bankManager = bankManager;
-        this.scoreboardManager = scoreboardManager;
     }
     
     @EventHandler(priority = EventPriority.NORMAL)
@@ -89,21 +86,19 @@ public class PlayerDeathListener implements Listener {
             
             // Verlust anwenden
             if (lossAmount > 0) {
-                bankManager.removeCashBalance(player, lossAmount).thenAccept(newBalance -> {
+                bankManager.removeCashBalance(player, lossAmount, BalanceChangeCause.DEATH_PENALTY).thenAccept(newBalance -> {
+                    plugin.getTransactionLedger().record(player.getUniqueId(), null,
+                        TransactionType.DEATH_PENALTY, -lossAmount, null);
+                    
                     // Nachricht an Spieler senden
                     String currencySymbol = configManager.getConfig().getString("currency.symbol", "G");
                     String message = configManager.getMessage("deathPenaltyCash",
-                        "amount", String.format("%.2f", lossAmount),
+                        "amount", plugin.getMoneyFormatter().format(lossAmount),
                         "currency", currencySymbol);
                     
                     // Nachricht mit Verzögerung senden (nach Respawn)
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    plugin.getPluginScheduler().runForEntityLater(player, () -> {
                         player.sendMessage(configManager.getMessage("prefix") + message);
-                        
-                        // Scoreboard aktualisieren
-                        if (scoreboardManager != null) {
-                            scoreboardManager.updatePlayerScoreboard(player);
-                        }
                     }, 20L); // 1 Sekunde Verzögerung
                 }).exceptionally(throwable -> {
                     plugin.getLogger().severe("Fehler beim Anwenden der Strafe für " + 
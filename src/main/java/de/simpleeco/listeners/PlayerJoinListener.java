@@ -2,6 +2,7 @@ package de.simpleeco.listeners;
 
 import de.simpleeco.config.ConfigManager;
 import de.simpleeco.currency.BasicCurrency;
+import de.simpleeco.database.TransactionLedger;
 import de.simpleeco.scoreboard.ScoreboardManager;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -23,11 +24,14 @@ public class PlayerJoinListener implements Listener {
     private final BasicCurrency currency;
     private final ConfigManager configManager;
     private final ScoreboardManager scoreboardManager;
+    private final TransactionLedger transactionLedger;
     
-    public PlayerJoinListener(BasicCurrency currency, ConfigManager configManager, ScoreboardManager scoreboardManager) {
+    public PlayerJoinListener(BasicCurrency currency, ConfigManager configManager, ScoreboardManager scoreboardManager,
+                              TransactionLedger transactionLedger) {
         this.currency = currency;
         this.configManager = configManager;
         this.scoreboardManager = scoreboardManager;
+        this.transactionLedger = transactionLedger;
     }
     
     /**
@@ -43,16 +47,14 @@ public class PlayerJoinListener implements Listener {
         currency.initializeAccount(player).thenAccept(success -> {
             if (success) {
                 // Scoreboard erstellen (verzögert um sicherzustellen dass der Spieler vollständig geladen ist)
-                org.bukkit.Bukkit.getScheduler().runTaskLater(
-                    scoreboardManager.getPlugin(), 
+                scoreboardManager.getPlugin().getPluginScheduler().runForEntityLater(player,
                     () -> scoreboardManager.createScoreboard(player), 
                     10L // 0.5 Sekunden Verzögerung
                 );
             }
         }).exceptionally(throwable -> {
             // Fehler beim Account-Setup - trotzdem Scoreboard erstellen
-            org.bukkit.Bukkit.getScheduler().runTaskLater(
-                scoreboardManager.getPlugin(), 
+            scoreboardManager.getPlugin().getPluginScheduler().runForEntityLater(player,
                 () -> scoreboardManager.createScoreboard(player), 
                 10L
             );
@@ -71,5 +73,8 @@ public class PlayerJoinListener implements Listener {
         
         // Scoreboard entfernen beim Quit
         scoreboardManager.removeScoreboard(player);
+        
+        // Gemerkte Historien-Seiten verwerfen
+        transactionLedger.forgetViewer(player.getUniqueId());
     }
 } 
\ No newline at end of file
@@ -2,9 +2,13 @@ package de.simpleeco.listeners;
 
 import de.simpleeco.trading.CustomVillagerTrader;
 import de.simpleeco.villager.ShopVillagerManager;
+import de.simpleeco.villager.SpecialVillagerRegistry;
+import de.simpleeco.villager.VillagerRole;
 import de.simpleeco.bank.AtmTrader;
 import de.simpleeco.bank.AtmVillagerManager;
 import de.simpleeco.scoreboard.ScoreboardManager;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Villager;
@@ -16,7 +20,9 @@ import org.bukkit.event.entity.EntityRemoveEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
-import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 import org.bukkit.inventory.ItemStack;
 
 /**
@@ -28,7 +34,8 @@ import org.bukkit.inventory.ItemStack;
  * - Klicks im Trading-Menü → Verarbeitet Käufe/Verkäufe
  * - Klicks im ATM-Menü → Verarbeitet Bank-Operationen
  * - Schließen der Menüs → Cleanup
- * - Entfernung von Villagern → Tracking-Update
+ * - Chat-Eingabe für die Suche im Trading-Menü
+ * - Laden, Entladen und Entfernung von Villagern → Tracking-Update (Villager-Register)
  */
 public class VillagerInteractListener implements Listener {
     
@@ -36,14 +43,17 @@ public class VillagerInteractListener implements Listener {
     private final ShopVillagerManager shopVillagerManager;
     private final AtmTrader atmTrader;
     private final AtmVillagerManager atmVillagerManager;
+    private final SpecialVillagerRegistry villagerRegistry;
     private final ScoreboardManager scoreboardManager;
     
     public VillagerInteractListener(CustomVillagerTrader villagerTrader, ShopVillagerManager shopVillagerManager,
-                                  AtmTrader atmTrader, AtmVillagerManager atmVillagerManager, ScoreboardManager scoreboardManager) {
+                                  AtmTrader atmTrader, AtmVillagerManager atmVillagerManager,
+                                  SpecialVillagerRegistry villagerRegistry, ScoreboardManager scoreboardManager) {
         this.villagerTrader = villagerTrader;
         this.shopVillagerManager = shopVillagerManager;
         this.atmTrader = atmTrader;
         this.atmVillagerManager = atmVillagerManager;
+        this.villagerRegistry = villagerRegistry;
         this.scoreboardManager = scoreboardManager;
     }
     
@@ -62,8 +72,11 @@ public class VillagerInteractListener implements Listener {
         Player player = event.getPlayer();
         Villager villager = (Villager) event.getRightClicked();
         
+        // Rolle aus dem Villager-Register (ohne NBT-Zugriff nach der ersten Klassifizierung)
+        VillagerRole role = villagerRegistry.getRole(villager);
+        
         // Prüfen ob es sich um einen Shop-Villager handelt
-        if (shopVillagerManager.isShopVillager(villager)) {
+        if (role == VillagerRole.SHOP) {
             // Überprüfen ob Spieler sneakt (geduckt ist) - dann normales Trading erlauben
             if (player.isSneaking()) {
                 return; // Normales Villager-Trading erlauben (auch bei Shop-Villagern)
@@ -78,7 +91,7 @@ public class VillagerInteractListener implements Listener {
         }
         
         // Prüfen ob es sich um einen ATM-Villager handelt
-        if (atmVillagerManager.isAtmVillager(villager)) {
+        if (role == VillagerRole.ATM) {
             // Überprüfen ob Spieler sneakt (geduckt ist) - dann normales Trading erlauben
             if (player.isSneaking()) {
                 return; // Normales Villager-Trading erlauben (auch bei ATM-Villagern)
@@ -118,15 +131,8 @@ public class VillagerInteractListener implements Listener {
             ItemStack clickedItem = event.getCurrentItem();
             int slot = event.getSlot();
             
-            // Klick an VillagerTrader weiterleiten
+            // Klick an VillagerTrader weiterleiten (Scoreboard-Update erfolgt über die Handels-Warteschlange)
             villagerTrader.handleMenuClick(player, clickedItem, event.getClick(), slot);
-            
-            // Scoreboard nach möglicher Transaktion aktualisieren (verzögert)
-            org.bukkit.Bukkit.getScheduler().runTaskLater(
-                scoreboardManager.getPlugin(), 
-                () -> scoreboardManager.updatePlayerScoreboard(player), 
-                5L
-            );
             return;
         }
         
@@ -139,19 +145,36 @@ public class VillagerInteractListener implements Listener {
             ItemStack clickedItem = event.getCurrentItem();
             int slot = event.getSlot();
             
-            // Klick an AtmTrader weiterleiten
+            // Klick an AtmTrader weiterleiten (Scoreboard-Update erfolgt über den BankManager)
             atmTrader.handleInventoryClick(player, slot, event.getClick(), clickedItem);
-            
-            // Scoreboard nach möglicher Transaktion aktualisieren (verzögert)
-            org.bukkit.Bukkit.getScheduler().runTaskLater(
-                scoreboardManager.getPlugin(), 
-                () -> scoreboardManager.updatePlayerScoreboard(player), 
-                5L
-            );
             return;
         }
     }
     
+    /**
+     * Fängt Suchbegriffe für das Trading-Menü aus dem Chat ab
+     * 
+     * @param event Das AsyncChatEvent
+     */
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onPlayerChat(AsyncChatEvent event) {
+        String message = PlainTextComponentSerializer.plainText().serialize(event.message());
+        if (villagerTrader.handleSearchInput(event.getPlayer(), message)) {
+            // Suchbegriff nicht im Chat anzeigen
+            event.setCancelled(true);
+        }
+    }
+    
+    /**
+     * Verwirft angefangene Suche und wartende Handelsaufträge beim Verlassen des Servers
+     * 
+     * @param event Das PlayerQuitEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        villagerTrader.handlePlayerQuit(event.getPlayer().getUniqueId());
+    }
+    
     /**
      * Behandelt das Schließen des Trading-Inventars und ATM-Inventars
      * 
@@ -176,7 +199,7 @@ public class VillagerInteractListener implements Listener {
         // Prüfen ob es sich um ein ATM-Menü handelt
         if (inventoryTitle.contains("Bank-Automat") || inventoryTitle.contains("Geld einzahlen") || inventoryTitle.contains("Geld abheben")) {
             // Verzögerte Session-Entfernung - nur wenn kein neues ATM-Menü innerhalb von 1 Tick geöffnet wird
-            org.bukkit.Bukkit.getScheduler().runTaskLater(scoreboardManager.getPlugin(), () -> {
+            scoreboardManager.getPlugin().getPluginScheduler().runForEntityLater(player, () -> {
                 // Prüfen ob der Spieler noch ein ATM-Menü offen hat
                 String currentTitle = player.getOpenInventory().getTitle();
                 if (!currentTitle.contains("Bank-Automat") && 
@@ -201,10 +224,7 @@ public class VillagerInteractListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onEntityDeath(EntityDeathEvent event) {
         if (event.getEntity().getType() == EntityType.VILLAGER) {
-            Villager villager = (Villager) event.getEntity();
-            if (shopVillagerManager.isShopVillager(villager)) {
-                shopVillagerManager.removeShopVillager(villager.getUniqueId());
-            }
+            villagerRegistry.forget(event.getEntity());
         }
     }
     
@@ -216,25 +236,37 @@ public class VillagerInteractListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onEntityRemove(EntityRemoveEvent event) {
         if (event.getEntity().getType() == EntityType.VILLAGER) {
-            Villager villager = (Villager) event.getEntity();
-            if (shopVillagerManager.isShopVillager(villager)) {
-                shopVillagerManager.removeShopVillager(villager.getUniqueId());
+            if (event.getCause() == EntityRemoveEvent.Cause.UNLOAD) {
+                // Nur entladen - Datenbankeintrag bleibt für das nächste Laden erhalten
+                villagerRegistry.unregister(event.getEntity());
+            } else {
+                villagerRegistry.forget(event.getEntity());
             }
         }
     }
     
     /**
-     * Behandelt das Laden von Chunks (Shop-Villager Registrierung)
+     * Behandelt das Laden von Entities eines Chunks (Villager-Registrierung)
+     * 
+     * @param event Das EntitiesLoadEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        // Erwartete Villager über die Datenbank, unbekannte über ihre Markierungen erfassen
+        villagerRegistry.handleEntitiesLoad(event.getChunk(), event.getEntities());
+    }
+    
+    /**
+     * Behandelt das Entladen von Entities eines Chunks (Villager-Register aufräumen)
      * 
-     * @param event Das ChunkLoadEvent
+     * @param event Das EntitiesUnloadEvent
      */
     @EventHandler(priority = EventPriority.MONITOR)
-    public void onChunkLoad(ChunkLoadEvent event) {
-        // Nach dem Laden eines Chunks alle Villager prüfen und Shop-Villager registrieren
-        for (org.bukkit.entity.Entity entity : event.getChunk().getEntities()) {
-            if (entity instanceof Villager villager) {
-                shopVillagerManager.registerExistingShopVillager(villager);
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (org.bukkit.entity.Entity entity : event.getEntities()) {
+            if (entity.getType() == EntityType.VILLAGER) {
+                villagerRegistry.unregister(entity);
             }
         }
     }
-} 
\ No newline at end of file
+}
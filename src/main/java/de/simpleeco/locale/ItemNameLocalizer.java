@@ -0,0 +1,204 @@
+package de.simpleeco.locale;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.utils.EconomyUtils;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lokalisierte Item-Namen aus Sprachdateien
+ *
+ * Beim Start wird jede konfigurierte Sprachdatei (plugins/SimpleEco/lang/&lt;locale&gt;.yml)
+ * in ein Array geladen, das über {@code Material.ordinal()} indiziert ist. Für alle
+ * Materialien ohne Übersetzung wird der formatierte Enum-Name einmalig vorberechnet.
+ * Eine Namensabfrage ist damit ein einfacher Array-Zugriff.
+ */
+public class ItemNameLocalizer {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    // Vorberechnete Fallback-Namen ("COOKED_BEEF" -> "Cooked Beef")
+    private static final String[] FALLBACK_NAMES = new String[MATERIALS.length];
+
+    static {
+        for (Material material : MATERIALS) {
+            FALLBACK_NAMES[material.ordinal()] = EconomyUtils.formatEnumName(material.name());
+        }
+    }
+
+    private final SimpleEcoPlugin plugin;
+
+    // Sprach-Tabellen, Schlüssel in Kleinbuchstaben ("de_de", "en_us")
+    private volatile Map<String, String[]> tables = new HashMap<>();
+
+    // Sprach-Tabellen nach Sprache ohne Land ("de", "en") für unscharfe Treffer
+    private volatile Map<String, String[]> tablesByLanguage = new HashMap<>();
+
+    private volatile String[] defaultTable = FALLBACK_NAMES;
+    private volatile boolean perPlayer;
+
+    public ItemNameLocalizer(SimpleEcoPlugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Lädt alle konfigurierten Sprachdateien neu
+     */
+    public void reload() {
+        String defaultLocale = plugin.getConfigManager().getConfig().getString("language.default", "de_DE");
+        List<String> available = plugin.getConfigManager().getConfig().getStringList("language.available");
+        if (available.isEmpty()) {
+            available = List.of("de_DE", "en_US");
+        }
+
+        Map<String, String[]> loaded = new HashMap<>();
+        Map<String, String[]> loadedByLanguage = new HashMap<>();
+
+        List<String> locales = new ArrayList<>(available);
+        if (!locales.contains(defaultLocale)) {
+            locales.add(defaultLocale);
+        }
+
+        for (String locale : locales) {
+            String[] table = loadTable(locale);
+            if (table == null) {
+                continue;
+            }
+            String key = normalize(locale);
+            loaded.put(key, table);
+            loadedByLanguage.putIfAbsent(languageOf(key), table);
+        }
+
+        this.tables = loaded;
+        this.tablesByLanguage = loadedByLanguage;
+        this.defaultTable = loaded.getOrDefault(normalize(defaultLocale), FALLBACK_NAMES);
+        this.perPlayer = plugin.getConfigManager().getConfig().getBoolean("language.perPlayer", true);
+
+        plugin.getLogger().info("Sprachdateien geladen: " + loaded.keySet() + " (Standard: " + defaultLocale + ")");
+    }
+
+    /**
+     * Lädt eine Sprachdatei in ein über Material.ordinal() indiziertes Array
+     *
+     * @param locale Die Sprache (z.B. "de_DE")
+     * @return Die Namens-Tabelle oder null wenn die Datei nicht existiert
+     */
+    private String[] loadTable(String locale) {
+        String resourcePath = "lang/" + locale + ".yml";
+        File file = new File(plugin.getDataFolder(), resourcePath);
+
+        // Mitgelieferte Sprachdatei beim ersten Start in den Plugin-Ordner kopieren
+        if (!file.exists() && plugin.getResource(resourcePath) != null) {
+            plugin.saveResource(resourcePath, false);
+        }
+
+        if (!file.exists()) {
+            plugin.getLogger().warning("Sprachdatei nicht gefunden: " + resourcePath);
+            return null;
+        }
+
+        String[] table = FALLBACK_NAMES.clone();
+        ConfigurationSection items = YamlConfiguration.loadConfiguration(file).getConfigurationSection("items");
+        if (items == null) {
+            return table;
+        }
+
+        for (String materialName : items.getKeys(false)) {
+            Material material = Material.matchMaterial(materialName);
+            if (material == null) {
+                plugin.getLogger().warning("Unbekanntes Material in " + resourcePath + ": " + materialName);
+                continue;
+            }
+            String name = items.getString(materialName);
+            if (name != null && !name.isEmpty()) {
+                table[material.ordinal()] = name;
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Gibt den Namen eines Materials in der Standardsprache zurück
+     *
+     * @param material Das Material
+     * @return Der lokalisierte Name
+     */
+    public String getName(Material material) {
+        return defaultTable[material.ordinal()];
+    }
+
+    /**
+     * Gibt den Namen eines Materials in der Sprache des Spielers zurück
+     *
+     * @param material Das Material
+     * @param player Der Spieler (null = Standardsprache)
+     * @return Der lokalisierte Name
+     */
+    public String getName(Material material, Player player) {
+        return getTable(player)[material.ordinal()];
+    }
+
+    /**
+     * Gibt alle unterschiedlichen Namen eines Materials über alle geladenen Sprachen zurück
+     *
+     * @param material Das Material
+     * @return Liste der Namen (Standardsprache zuerst)
+     */
+    public List<String> getAllNames(Material material) {
+        List<String> names = new ArrayList<>();
+        names.add(getName(material));
+        for (String[] table : tables.values()) {
+            String name = table[material.ordinal()];
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Ermittelt die Namens-Tabelle für einen Spieler
+     */
+    private String[] getTable(Player player) {
+        if (player == null || !perPlayer) {
+            return defaultTable;
+        }
+
+        String locale = normalize(player.getLocale());
+        String[] table = tables.get(locale);
+        if (table == null) {
+            table = tablesByLanguage.getOrDefault(languageOf(locale), defaultTable);
+        }
+        return table;
+    }
+
+    /**
+     * Gibt den vorberechneten Fallback-Namen eines Materials zurück
+     *
+     * @param material Das Material
+     * @return Formatierter Enum-Name
+     */
+    public static String getFallbackName(Material material) {
+        return FALLBACK_NAMES[material.ordinal()];
+    }
+
+    private static String normalize(String locale) {
+        return locale == null ? "" : locale.toLowerCase(Locale.ROOT).replace('-', '_');
+    }
+
+    private static String languageOf(String normalizedLocale) {
+        int separator = normalizedLocale.indexOf('_');
+        return separator < 0 ? normalizedLocale : normalizedLocale.substring(0, separator);
+    }
+}
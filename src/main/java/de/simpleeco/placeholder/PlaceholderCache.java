@@ -0,0 +1,289 @@
+package de.simpleeco.placeholder;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.bank.BalanceLeaderboard;
+import de.simpleeco.bank.BankManager;
+import de.simpleeco.currency.BalanceChangeBus;
+import de.simpleeco.currency.BalanceChangeEvent;
+import de.simpleeco.currency.BalanceChangeSubscriber;
+import de.simpleeco.currency.MoneyFormatter;
+import de.simpleeco.pricing.PriceListener;
+import de.simpleeco.pricing.PriceManager;
+import de.simpleeco.scheduler.TaskHandle;
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vorformatierte Platzhalter-Werte für PlaceholderAPI
+ *
+ * Hologramm-, Tab- und Chat-Plugins fragen Platzhalter mehrmals pro Sekunde ab.
+ * Die Werte werden daher einmal formatiert und als fertige Strings gehalten:
+ * Kontostände werden bei jeder gemeldeten Änderung neu formatiert, der Platz in
+ * der Bestenliste nur wenn sich seit der letzten Abfrage irgendein Kontostand
+ * geändert hat, Preise nach gemeldeten Käufen und Verkäufen.
+ *
+ * Zusätzlich verfallen Werte nach einer einstellbaren Zeit, damit auch nicht
+ * gemeldete Änderungen (Zinsen, Preis-Regression) sichtbar werden. Abfragen
+ * blockieren nie; Preise werden bei Bedarf im Hintergrund neu berechnet und bis
+ * dahin mit dem letzten Wert beantwortet.
+ *
+ * Gehalten werden nur handelbare Materialien und Spieler, deren Werte innerhalb
+ * der Verfallszeit abgefragt wurden; länger nicht abgefragte Spieler (z.B.
+ * offline Spieler aus Hologrammen) werden regelmäßig entfernt.
+ */
+public class PlaceholderCache implements BalanceChangeSubscriber, PriceListener, Listener {
+
+    private final SimpleEcoPlugin plugin;
+    private final BankManager bankManager;
+    private final BalanceChangeBus balanceBus;
+    private final BalanceLeaderboard leaderboard;
+    private final PriceManager priceManager;
+
+    private final Map<UUID, PlayerValues> players = new ConcurrentHashMap<>();
+    private final Map<Material, PriceValues> prices = new ConcurrentHashMap<>();
+
+    // Wird bei jeder Kontostandsänderung erhöht und macht alle gemerkten Plätze ungültig
+    private final AtomicLong balanceVersion = new AtomicLong();
+
+    private volatile long maxAgeMillis;
+
+    private TaskHandle evictionTask;
+
+    public PlaceholderCache(SimpleEcoPlugin plugin, BankManager bankManager, BalanceChangeBus balanceBus,
+                            BalanceLeaderboard leaderboard, PriceManager priceManager) {
+        this.plugin = plugin;
+        this.bankManager = bankManager;
+        this.balanceBus = balanceBus;
+        this.leaderboard = leaderboard;
+        this.priceManager = priceManager;
+        reload();
+
+        balanceBus.subscribe(this, BalanceChangeBus.Delivery.ASYNC);
+        priceManager.addPriceListener(this);
+    }
+
+    /**
+     * Übernimmt die Einstellungen aus der Konfiguration und verwirft alle
+     * formatierten Werte (z.B. nach geänderter Geldformatierung)
+     */
+    public synchronized void reload() {
+        long refreshSeconds = Math.max(1, plugin.getConfigManager().getConfig()
+            .getLong("placeholders.refreshSeconds", 30));
+        this.maxAgeMillis = refreshSeconds * 1000;
+        players.clear();
+        prices.clear();
+
+        if (evictionTask != null) {
+            evictionTask.cancel();
+        }
+        long periodTicks = refreshSeconds * 20L;
+        evictionTask = plugin.getPluginScheduler().runAsyncTimer(this::evictIdlePlayers, periodTicks, periodTicks);
+    }
+
+    /**
+     * Meldet den Cache von Balance-Bus und PriceManager ab
+     */
+    public synchronized void shutdown() {
+        if (evictionTask != null) {
+            evictionTask.cancel();
+        }
+        balanceBus.unsubscribe(this);
+        priceManager.removePriceListener(this);
+    }
+
+    // ====== ABFRAGEN ======
+
+    /**
+     * @return Formatiertes Bargeld des Spielers
+     */
+    public String getCash(UUID playerId) {
+        return values(playerId).cash;
+    }
+
+    /**
+     * @return Formatiertes Bank-Guthaben des Spielers
+     */
+    public String getBank(UUID playerId) {
+        return values(playerId).bank;
+    }
+
+    /**
+     * @return Formatiertes Gesamt-Guthaben des Spielers
+     */
+    public String getTotal(UUID playerId) {
+        return values(playerId).total;
+    }
+
+    /**
+     * @return Platz in der Bestenliste oder "-" wenn der Spieler nicht geführt wird
+     */
+    public String getRank(UUID playerId) {
+        PlayerValues values = values(playerId);
+        long version = balanceVersion.get();
+        if (values.rankVersion != version) {
+            BalanceLeaderboard.Entry entry = leaderboard.getEntry(playerId);
+            values.rank = entry != null ? String.valueOf(entry.rank()) : "-";
+            values.rankVersion = version;
+        }
+        return values.rank;
+    }
+
+    /**
+     * Gibt den formatierten Preis eines Items zurück
+     *
+     * @param itemName Name des Materials (z.B. "diamond")
+     * @param sell true für den Verkaufspreis, false für den Kaufpreis
+     * @return Formatierter Preis, "" solange er noch berechnet wird, oder null
+     *         wenn das Item unbekannt oder nicht handelbar ist
+     */
+    public String getPrice(String itemName, boolean sell) {
+        // Unbekannte Namen werden nicht gemerkt, damit beliebige Abfragen den Cache nicht füllen
+        Material material = Material.matchMaterial(itemName);
+        if (material == null || !priceManager.isTradeable(material)) {
+            return null;
+        }
+        PriceValues values = prices.computeIfAbsent(material, PriceValues::new);
+
+        if (System.currentTimeMillis() - values.refreshedAt >= maxAgeMillis) {
+            refreshPrice(values);
+        }
+        return sell ? values.sell : values.buy;
+    }
+
+    // ====== BENACHRICHTIGUNGEN ======
+
+    @Override
+    public void onBalanceChange(BalanceChangeEvent event) {
+        balanceVersion.incrementAndGet();
+        PlayerValues values = players.get(event.playerId());
+        if (values == null) {
+            return;
+        }
+        if (event.account() == BalanceChangeEvent.Account.CASH) {
+            values.update(event.newBalance(), values.bankValue);
+        } else {
+            values.update(values.cashValue, event.newBalance());
+        }
+    }
+
+    @Override
+    public void onPricesChanged(Collection<Material> materials) {
+        for (Material material : materials) {
+            PriceValues values = prices.get(material);
+            if (values != null) {
+                values.refreshedAt = 0; // bei der nächsten Abfrage neu berechnen
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        players.remove(event.getPlayer().getUniqueId());
+    }
+
+    // ====== INTERN ======
+
+    /**
+     * Holt die Werte eines Spielers und lädt sie bei Bedarf aus den Caches nach
+     */
+    private PlayerValues values(UUID playerId) {
+        PlayerValues values = players.computeIfAbsent(playerId, id -> new PlayerValues(plugin.getMoneyFormatter()));
+        long now = System.currentTimeMillis();
+        values.lastAccess = now;
+        if (now - values.refreshedAt >= maxAgeMillis) {
+            Double cash = bankManager.getCachedCashBalance(playerId);
+            Double bank = bankManager.getCachedBankBalance(playerId);
+            values.update(cash != null ? cash : 0.0, bank != null ? bank : 0.0);
+        }
+        return values;
+    }
+
+    /**
+     * Entfernt Spieler, deren Werte seit der Verfallszeit nicht mehr abgefragt wurden
+     */
+    private void evictIdlePlayers() {
+        long cutoff = System.currentTimeMillis() - maxAgeMillis;
+        players.values().removeIf(values -> values.lastAccess < cutoff);
+    }
+
+    private void refreshPrice(PriceValues values) {
+        if (!values.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        MoneyFormatter formatter = plugin.getMoneyFormatter();
+        priceManager.getBuyPrice(values.material)
+            .thenCombine(priceManager.getSellPrice(values.material), (buy, sell) -> {
+                values.buy = formatter.format(buy);
+                values.sell = formatter.format(sell);
+                values.refreshedAt = System.currentTimeMillis();
+                return null;
+            })
+            .whenComplete((result, throwable) -> values.refreshing.set(false));
+    }
+
+    /**
+     * Formatierte Kontostände eines Spielers
+     */
+    private static final class PlayerValues {
+        private final MoneyFormatter formatter;
+
+        volatile double cashValue;
+        volatile double bankValue;
+        volatile String cash = "";
+        volatile String bank = "";
+        volatile String total = "";
+        volatile long refreshedAt;
+        volatile long lastAccess;
+
+        volatile String rank = "-";
+        volatile long rankVersion = -1;
+
+        PlayerValues(MoneyFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        synchronized void update(double cashValue, double bankValue) {
+            // Nur tatsächlich geänderte Werte neu formatieren
+            boolean cashChanged = cashValue != this.cashValue || cash.isEmpty();
+            boolean bankChanged = bankValue != this.bankValue || bank.isEmpty();
+            if (cashChanged) {
+                this.cash = formatter.format(cashValue);
+            }
+            if (bankChanged) {
+                this.bank = formatter.format(bankValue);
+            }
+            if (cashChanged || bankChanged) {
+                this.total = formatter.format(cashValue + bankValue);
+            }
+            this.cashValue = cashValue;
+            this.bankValue = bankValue;
+            this.refreshedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Formatierte Preise eines Items
+     */
+    private static final class PriceValues {
+        final Material material;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        volatile String buy = "";
+        volatile String sell = "";
+        volatile long refreshedAt;
+
+        PriceValues(Material material) {
+            this.material = material;
+        }
+    }
+}
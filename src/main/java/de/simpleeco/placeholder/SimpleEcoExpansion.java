@@ -0,0 +1,82 @@
+package de.simpleeco.placeholder;
+
+import de.simpleeco.SimpleEcoPlugin;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+
+/**
+ * PlaceholderAPI-Erweiterung von SimpleEco
+ *
+ * Platzhalter:
+ * - %simpleeco_cash% - Bargeld
+ * - %simpleeco_bank% - Bank-Guthaben
+ * - %simpleeco_total% - Bargeld + Bank-Guthaben
+ * - %simpleeco_rank% - Platz in der Bestenliste
+ * - %simpleeco_price_<item>% - Aktueller Kaufpreis eines Items
+ * - %simpleeco_sellprice_<item>% - Aktueller Verkaufspreis eines Items
+ *
+ * Alle Werte kommen vorformatiert aus dem {@link PlaceholderCache}.
+ */
+public class SimpleEcoExpansion extends PlaceholderExpansion {
+
+    private static final String PRICE_PREFIX = "price_";
+    private static final String SELL_PRICE_PREFIX = "sellprice_";
+
+    private final SimpleEcoPlugin plugin;
+    private final PlaceholderCache cache;
+
+    public SimpleEcoExpansion(SimpleEcoPlugin plugin, PlaceholderCache cache) {
+        this.plugin = plugin;
+        this.cache = cache;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "simpleeco";
+    }
+
+    @Override
+    public String getAuthor() {
+        return String.join(", ", plugin.getDescription().getAuthors());
+    }
+
+    @Override
+    public String getVersion() {
+        return plugin.getDescription().getVersion();
+    }
+
+    @Override
+    public boolean persist() {
+        // Wird von SimpleEco selbst registriert und beim Neuladen von PlaceholderAPI behalten
+        return true;
+    }
+
+    @Override
+    public String onRequest(OfflinePlayer player, String params) {
+        if (params.startsWith(PRICE_PREFIX)) {
+            return cache.getPrice(params.substring(PRICE_PREFIX.length()), false);
+        }
+        if (params.startsWith(SELL_PRICE_PREFIX)) {
+            return cache.getPrice(params.substring(SELL_PRICE_PREFIX.length()), true);
+        }
+        if (player == null) {
+            return "";
+        }
+
+        return switch (params) {
+            case "cash" -> cache.getCash(player.getUniqueId());
+            case "bank" -> cache.getBank(player.getUniqueId());
+            case "total" -> cache.getTotal(player.getUniqueId());
+            case "rank" -> cache.getRank(player.getUniqueId());
+            default -> null;
+        };
+    }
+
+    /**
+     * Meldet die Erweiterung bei PlaceholderAPI und den Cache bei den Managern ab
+     */
+    public void shutdown() {
+        unregister();
+        cache.shutdown();
+    }
+}
@@ -0,0 +1,22 @@
+package de.simpleeco.pricing;
+
+import org.bukkit.Material;
+
+import java.util.Collection;
+
+/**
+ * Empfänger für Preisänderungen aus dem {@link PriceManager}
+ *
+ * Wird nach dem Speichern neuer Handelsstatistiken aufgerufen, in der Regel im
+ * Datenbank-Thread. Implementierungen müssen daher schnell zurückkehren.
+ * Die zeitabhängige Preis-Regression wird nicht gemeldet.
+ */
+public interface PriceListener {
+
+    /**
+     * Die Preise der angegebenen Materialien haben sich geändert
+     *
+     * @param materials Betroffene Materialien
+     */
+    void onPricesChanged(Collection<Material> materials);
+}
@@ -5,7 +5,12 @@ import de.simpleeco.config.ConfigManager;
 import de.simpleeco.database.DatabaseManager;
 import org.bukkit.Material;
 
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 
 /**
@@ -18,16 +23,50 @@ import java.util.logging.Level;
  */
 public class PriceManager {
     
+    // Verkaufspreis ist 80% des Kaufpreises
+    private static final double SELL_PRICE_RATIO = 0.8;
+    
     private final SimpleEcoPlugin plugin;
     private final DatabaseManager databaseManager;
     private final ConfigManager configManager;
     
+    // Empfänger für Preisänderungen
+    private final List<PriceListener> priceListeners = new CopyOnWriteArrayList<>();
+    
     public PriceManager(SimpleEcoPlugin plugin, DatabaseManager databaseManager, ConfigManager configManager) {
         this.plugin = plugin;
         this.databaseManager = databaseManager;
         this.configManager = configManager;
     }
     
+    /**
+     * Registriert einen Empfänger für Preisänderungen
+     * 
+     * @param listener Der Empfänger
+     */
+    public void addPriceListener(PriceListener listener) {
+        priceListeners.add(listener);
+    }
+    
+    /**
+     * Entfernt einen Empfänger für Preisänderungen
+     * 
+     * @param listener Der Empfänger
+     */
+    public void removePriceListener(PriceListener listener) {
+        priceListeners.remove(listener);
+    }
+    
+    private void firePricesChanged(Collection<Material> materials) {
+        for (PriceListener listener : priceListeners) {
+            try {
+                listener.onPricesChanged(materials);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Fehler in einem Preis-Listener:", e);
+            }
+        }
+    }
+    
     /**
      * Berechnet den aktuellen Kaufpreis für ein Item
      * 
@@ -62,7 +101,34 @@ public class PriceManager {
     public CompletableFuture<Double> getSellPrice(Material material) {
         return getBuyPrice(material).thenApply(buyPrice -> {
             // Verkaufspreis ist 80% des Kaufpreises
-            return buyPrice * 0.8;
+            return buyPrice * SELL_PRICE_RATIO;
+        });
+    }
+    
+    /**
+     * Berechnet die Verkaufspreise mehrerer Items in einem Durchgang
+     * 
+     * Materialien ohne Preiskonfiguration werden übersprungen.
+     * 
+     * @param materials Die Materialien
+     * @return CompletableFuture mit dem Verkaufspreis pro Material
+     */
+    public CompletableFuture<Map<Material, Double>> getSellPrices(Collection<Material> materials) {
+        return databaseManager.getItemStatsBatch(materials).thenApply(statsMap -> {
+            Map<Material, Double> prices = new EnumMap<>(Material.class);
+            
+            for (Map.Entry<Material, DatabaseManager.ItemStats> entry : statsMap.entrySet()) {
+                ConfigManager.ItemPriceConfig priceConfig = configManager.getItemPriceConfig(entry.getKey());
+                if (priceConfig == null) {
+                    continue;
+                }
+                
+                DatabaseManager.ItemStats stats = entry.getValue();
+                double buyPrice = calculatePrice(priceConfig, stats.sold(), stats.bought(), stats.lastTradeTime());
+                prices.put(entry.getKey(), buyPrice * SELL_PRICE_RATIO);
+            }
+            
+            return prices;
         });
     }
     
@@ -131,7 +197,8 @@ public class PriceManager {
      * @return CompletableFuture das abgeschlossen wird wenn die Statistiken aktualisiert wurden
      */
     public CompletableFuture<Void> processPurchase(Material material, long quantity) {
-        return databaseManager.updateItemStats(material, 0, quantity);
+        return databaseManager.updateItemStats(material, 0, quantity)
+            .thenRun(() -> firePricesChanged(List.of(material)));
     }
     
     /**
@@ -142,7 +209,19 @@ public class PriceManager {
      * @return CompletableFuture das abgeschlossen wird wenn die Statistiken aktualisiert wurden
      */
     public CompletableFuture<Void> processSale(Material material, long quantity) {
-        return databaseManager.updateItemStats(material, quantity, 0);
+        return databaseManager.updateItemStats(material, quantity, 0)
+            .thenRun(() -> firePricesChanged(List.of(material)));
+    }
+    
+    /**
+     * Verarbeitet einen Sammelverkauf und aktualisiert alle Statistiken in einem Schreibvorgang
+     * 
+     * @param quantities Verkaufte Menge pro Material
+     * @return CompletableFuture das abgeschlossen wird wenn die Statistiken aktualisiert wurden
+     */
+    public CompletableFuture<Void> processSales(Map<Material, Long> quantities) {
+        return databaseManager.updateItemStatsBatch(quantities)
+            .thenRun(() -> firePricesChanged(quantities.keySet()));
     }
     
     /**
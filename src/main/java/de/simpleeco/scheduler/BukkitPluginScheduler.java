@@ -0,0 +1,100 @@
+package de.simpleeco.scheduler;
+
+import de.simpleeco.SimpleEcoPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Scheduler für Bukkit/Paper mit einem einzigen Haupt-Thread
+ *
+ * Einmalige Aufgaben laufen gebündelt über den {@link MainThreadDispatcher},
+ * wiederholte Aufgaben über den Bukkit-Scheduler.
+ */
+public class BukkitPluginScheduler implements PluginScheduler {
+
+    private final SimpleEcoPlugin plugin;
+    private final MainThreadDispatcher dispatcher;
+
+    public BukkitPluginScheduler(SimpleEcoPlugin plugin, MainThreadDispatcher dispatcher) {
+        this.plugin = plugin;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        dispatcher.execute(task);
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        dispatcher.runLater(task, delayTicks);
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return new BukkitTaskHandle(Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks));
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return new BukkitTaskHandle(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks));
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        dispatcher.execute(task);
+    }
+
+    @Override
+    public void runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        dispatcher.runLater(task, delayTicks);
+    }
+
+    @Override
+    public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        dispatcher.execute(task);
+    }
+
+    @Override
+    public Executor entityExecutor(Entity entity) {
+        return dispatcher.directExecutor();
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public boolean isFolia() {
+        return false;
+    }
+
+    @Override
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    public MainThreadDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Handle für einen Bukkit-Task
+     */
+    private record BukkitTaskHandle(BukkitTask task) implements TaskHandle {
+        @Override
+        public void cancel() {
+            task.cancel();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+    }
+}
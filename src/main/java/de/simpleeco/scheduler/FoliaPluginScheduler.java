@@ -0,0 +1,135 @@
+package de.simpleeco.scheduler;
+
+import de.simpleeco.SimpleEcoPlugin;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler für Folia (Regionen mit eigenen Tick-Threads)
+ *
+ * Entity- und Spieler-Aufgaben laufen auf dem Scheduler des Entities und damit
+ * im Thread der Region, in der es sich gerade befindet. Globale Aufgaben laufen
+ * auf dem Scheduler der globalen Region.
+ */
+public class FoliaPluginScheduler implements PluginScheduler {
+
+    private static final boolean SUPPORTED = detectFolia();
+
+    private final SimpleEcoPlugin plugin;
+
+    public FoliaPluginScheduler(SimpleEcoPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Prüft ob die Server-Software Folia ist
+     *
+     * @return true unter Folia
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        if (delayTicks <= 0) {
+            runGlobal(task);
+            return;
+        }
+        Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), delayTicks);
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return new FoliaTaskHandle(Bukkit.getGlobalRegionScheduler()
+                .runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delayTicks), periodTicks));
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        // Der asynchrone Scheduler arbeitet mit Zeiteinheiten statt Ticks (1 Tick = 50 ms)
+        return new FoliaTaskHandle(Bukkit.getAsyncScheduler()
+                .runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delayTicks) * 50L,
+                                periodTicks * 50L, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        entity.getScheduler().run(plugin, scheduled -> task.run(), null);
+    }
+
+    @Override
+    public void runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        if (delayTicks <= 0) {
+            runForEntity(entity, task);
+            return;
+        }
+        entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, delayTicks);
+    }
+
+    @Override
+    public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+    }
+
+    @Override
+    public Executor entityExecutor(Entity entity) {
+        return task -> {
+            if (Bukkit.isOwnedByCurrentRegion(entity)) {
+                task.run();
+            } else {
+                runForEntity(entity, task);
+            }
+        };
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    @Override
+    public boolean isFolia() {
+        return true;
+    }
+
+    @Override
+    public void shutdown() {
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(plugin);
+    }
+
+    /**
+     * Handle für einen Folia-Task
+     */
+    private record FoliaTaskHandle(ScheduledTask task) implements TaskHandle {
+        @Override
+        public void cancel() {
+            task.cancel();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package de.simpleeco.scheduler;
+
+import de.simpleeco.SimpleEcoPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Zentraler Dispatcher für Arbeit, die im Haupt-Thread laufen muss
+ *
+ * Statt pro Ereignis einen eigenen Bukkit-Task anzulegen, werden alle Aufgaben
+ * (z.B. Abschlüsse asynchroner Datenbank-Futures) in einer Warteschlange gesammelt
+ * und einmal pro Tick von einem einzigen Timer-Task abgearbeitet. Die Abarbeitung
+ * hält ein konfigurierbares Zeitbudget ein; was nicht mehr passt, läuft im
+ * nächsten Tick weiter.
+ *
+ * Der Dispatcher ist selbst ein {@link Executor}, sodass Futures direkt mit
+ * {@code thenAcceptAsync(..., dispatcher)} in den Haupt-Thread wechseln können.
+ */
+public class MainThreadDispatcher implements Executor {
+
+    private final SimpleEcoPlugin plugin;
+    private final long tickBudgetNanos;
+
+    // Sofort auszuführende Aufgaben (von beliebigen Threads befüllt)
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueLength = new AtomicInteger();
+
+    // Verzögerte Aufgaben: Eingang von beliebigen Threads, Verwaltung nur im Haupt-Thread
+    private final ConcurrentLinkedQueue<DelayedTask> incomingDelayed = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<DelayedTask> delayed = new PriorityQueue<>();
+
+    // Führt Aufgaben im Haupt-Thread direkt aus, sonst über die Warteschlange
+    private final Executor directExecutor = this::runOrDispatch;
+
+    private BukkitTask tickTask;
+    private long currentTick;
+
+    // Metriken
+    private final AtomicLong executedTasks = new AtomicLong();
+    private final AtomicLong budgetExceededTicks = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private volatile long lastDrainNanos;
+    private volatile long maxDrainNanos;
+    private volatile double averageDrainNanos;
+
+    public MainThreadDispatcher(SimpleEcoPlugin plugin) {
+        this.plugin = plugin;
+        long budgetMicros = plugin.getConfigManager().getConfig().getLong("scheduler.tickBudgetMicros", 2000L);
+        this.tickBudgetNanos = Math.max(100L, budgetMicros) * 1000L;
+    }
+
+    /**
+     * Startet den Tick-Task des Dispatchers
+     */
+    public void start() {
+        if (tickTask == null) {
+            tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stoppt den Dispatcher und führt alle noch sofort fälligen Aufgaben aus
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            queueLength.decrementAndGet();
+            runSafely(task);
+        }
+        incomingDelayed.clear();
+        delayed.clear();
+    }
+
+    /**
+     * Reiht eine Aufgabe für den nächsten Tick ein
+     *
+     * @param task Die Aufgabe
+     */
+    @Override
+    public void execute(Runnable task) {
+        queue.offer(task);
+        queueLength.incrementAndGet();
+    }
+
+    /**
+     * Führt eine Aufgabe nach der angegebenen Anzahl Ticks im Haupt-Thread aus
+     *
+     * @param task Die Aufgabe
+     * @param delayTicks Verzögerung in Ticks
+     */
+    public void runLater(Runnable task, long delayTicks) {
+        if (delayTicks <= 0) {
+            execute(task);
+            return;
+        }
+        incomingDelayed.offer(new DelayedTask(task, delayTicks));
+    }
+
+    /**
+     * Führt eine Aufgabe sofort aus, wenn bereits der Haupt-Thread aktiv ist,
+     * ansonsten im nächsten Tick
+     *
+     * @param task Die Aufgabe
+     */
+    public void runOrDispatch(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            execute(task);
+        }
+    }
+
+    /**
+     * Gibt einen Executor zurück, der im Haupt-Thread direkt ausführt und
+     * sonst über die Warteschlange geht
+     *
+     * @return Der Executor
+     */
+    public Executor directExecutor() {
+        return directExecutor;
+    }
+
+    /**
+     * Arbeitet die Warteschlangen innerhalb des Zeitbudgets ab (einmal pro Tick)
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        long deadline = start + tickBudgetNanos;
+        currentTick++;
+
+        // Neue verzögerte Aufgaben übernehmen und fällige in die Warteschlange verschieben
+        DelayedTask incoming;
+        while ((incoming = incomingDelayed.poll()) != null) {
+            incoming.dueTick = currentTick + incoming.delayTicks - 1;
+            delayed.add(incoming);
+        }
+        while (!delayed.isEmpty() && delayed.peek().dueTick <= currentTick) {
+            execute(delayed.poll().task);
+        }
+
+        // Sofortige Aufgaben bis zum Budget abarbeiten
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            queueLength.decrementAndGet();
+            runSafely(task);
+
+            if (System.nanoTime() >= deadline) {
+                if (!queue.isEmpty()) {
+                    budgetExceededTicks.incrementAndGet();
+                }
+                break;
+            }
+        }
+
+        long duration = System.nanoTime() - start;
+        lastDrainNanos = duration;
+        if (duration > maxDrainNanos) {
+            maxDrainNanos = duration;
+        }
+        // Gleitender Mittelwert über ca. 100 Ticks
+        averageDrainNanos = averageDrainNanos * 0.99 + duration * 0.01;
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+            executedTasks.incrementAndGet();
+        } catch (Throwable throwable) {
+            failedTasks.incrementAndGet();
+            plugin.getLogger().log(Level.SEVERE, "Fehler in einer Haupt-Thread-Aufgabe:", throwable);
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der wartenden Aufgaben zurück
+     *
+     * @return Länge der Warteschlange
+     */
+    public int getQueueLength() {
+        return queueLength.get();
+    }
+
+    /**
+     * Gibt die Anzahl der wartenden verzögerten Aufgaben zurück
+     *
+     * @return Anzahl verzögerter Aufgaben
+     */
+    public int getDelayedCount() {
+        return incomingDelayed.size() + delayed.size();
+    }
+
+    public long getExecutedTasks() {
+        return executedTasks.get();
+    }
+
+    public long getFailedTasks() {
+        return failedTasks.get();
+    }
+
+    public long getBudgetExceededTicks() {
+        return budgetExceededTicks.get();
+    }
+
+    public long getLastDrainNanos() {
+        return lastDrainNanos;
+    }
+
+    public long getMaxDrainNanos() {
+        return maxDrainNanos;
+    }
+
+    public double getAverageDrainNanos() {
+        return averageDrainNanos;
+    }
+
+    public long getTickBudgetNanos() {
+        return tickBudgetNanos;
+    }
+
+    /**
+     * Verzögerte Aufgabe mit Fälligkeits-Tick
+     */
+    private static class DelayedTask implements Comparable<DelayedTask> {
+        private final Runnable task;
+        private final long delayTicks;
+        private long dueTick;
+
+        private DelayedTask(Runnable task, long delayTicks) {
+            this.task = task;
+            this.delayTicks = delayTicks;
+        }
+
+        @Override
+        public int compareTo(DelayedTask other) {
+            return Long.compare(dueTick, other.dueTick);
+        }
+    }
+}
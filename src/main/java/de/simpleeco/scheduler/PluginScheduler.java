@@ -0,0 +1,131 @@
+package de.simpleeco.scheduler;
+
+import de.simpleeco.SimpleEcoPlugin;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Scheduler-Abstraktion für Bukkit/Paper und Folia
+ *
+ * Arbeit wird nach ihrem Ziel eingeplant: Aufgaben, die ein Entity oder einen
+ * Spieler betreffen, laufen auf dem Scheduler dieses Entities (unter Folia im
+ * Thread seiner Region), alles andere auf dem globalen Scheduler. Unter
+ * Bukkit/Paper landen beide Arten im {@link MainThreadDispatcher}.
+ */
+public interface PluginScheduler {
+
+    /**
+     * Führt eine globale Aufgabe im nächsten Tick aus (Haupt-Thread bzw. globale Region)
+     *
+     * @param task Die Aufgabe
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * Führt eine globale Aufgabe nach der angegebenen Anzahl Ticks aus
+     *
+     * @param task Die Aufgabe
+     * @param delayTicks Verzögerung in Ticks
+     */
+    void runGlobalLater(Runnable task, long delayTicks);
+
+    /**
+     * Startet eine wiederholte globale Aufgabe
+     *
+     * @param task Die Aufgabe
+     * @param delayTicks Startverzögerung in Ticks
+     * @param periodTicks Intervall in Ticks
+     * @return Handle zum Abbrechen
+     */
+    TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Startet eine wiederholte Aufgabe außerhalb der Tick-Threads
+     *
+     * @param task Die Aufgabe
+     * @param delayTicks Startverzögerung in Ticks
+     * @param periodTicks Intervall in Ticks
+     * @return Handle zum Abbrechen
+     */
+    TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Führt eine Aufgabe für ein Entity (oder einen Spieler) im nächsten Tick aus
+     *
+     * Ist das Entity inzwischen entfernt (z.B. Spieler hat den Server verlassen),
+     * wird die Aufgabe unter Folia verworfen.
+     *
+     * @param entity Das Entity
+     * @param task Die Aufgabe
+     */
+    void runForEntity(Entity entity, Runnable task);
+
+    /**
+     * Führt eine Aufgabe für ein Entity nach der angegebenen Anzahl Ticks aus
+     *
+     * @param entity Das Entity
+     * @param task Die Aufgabe
+     * @param delayTicks Verzögerung in Ticks
+     */
+    void runForEntityLater(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Führt eine Aufgabe im Thread der Region aus, die den Chunk besitzt
+     * (unter Bukkit/Paper im Haupt-Thread)
+     *
+     * @param world Die Welt
+     * @param chunkX Chunk-X-Koordinate
+     * @param chunkZ Chunk-Z-Koordinate
+     * @param task Die Aufgabe
+     */
+    void runAtChunk(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * Gibt einen Executor zurück, der Aufgaben im Thread des Entities ausführt
+     * (direkt, wenn dieser bereits aktiv ist)
+     *
+     * Geeignet für {@code thenAcceptAsync(..., executor)} bei Futures, deren
+     * Abschluss einen Spieler betrifft.
+     *
+     * @param entity Das Entity
+     * @return Der Executor
+     */
+    Executor entityExecutor(Entity entity);
+
+    /**
+     * Prüft ob der aktuelle Thread auf das Entity zugreifen darf
+     *
+     * @param entity Das Entity
+     * @return true wenn der Zugriff erlaubt ist
+     */
+    boolean isOwnedByCurrentThread(Entity entity);
+
+    /**
+     * Prüft ob das Plugin unter Folia läuft
+     *
+     * @return true unter Folia
+     */
+    boolean isFolia();
+
+    /**
+     * Stoppt den Scheduler und führt ggf. noch wartende Aufgaben aus
+     */
+    void shutdown();
+
+    /**
+     * Erstellt den passenden Scheduler für die laufende Server-Software
+     *
+     * @param plugin Das Plugin
+     * @return Folia-Scheduler unter Folia, sonst der Bukkit-Scheduler mit Dispatcher
+     */
+    static PluginScheduler create(SimpleEcoPlugin plugin) {
+        if (FoliaPluginScheduler.isSupported()) {
+            return new FoliaPluginScheduler(plugin);
+        }
+        MainThreadDispatcher dispatcher = new MainThreadDispatcher(plugin);
+        dispatcher.start();
+        return new BukkitPluginScheduler(plugin, dispatcher);
+    }
+}
@@ -0,0 +1,19 @@
+package de.simpleeco.scheduler;
+
+/**
+ * Handle einer wiederholten Aufgabe, unabhängig vom verwendeten Scheduler
+ */
+public interface TaskHandle {
+
+    /**
+     * Bricht die Aufgabe ab
+     */
+    void cancel();
+
+    /**
+     * Prüft ob die Aufgabe abgebrochen wurde
+     *
+     * @return true wenn abgebrochen
+     */
+    boolean isCancelled();
+}
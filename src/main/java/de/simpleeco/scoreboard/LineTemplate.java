@@ -0,0 +1,131 @@
+package de.simpleeco.scoreboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vorkompilierte Scoreboard-Zeile
+ *
+ * Eine Zeile wird beim Laden der Konfiguration einmalig in Text-Segmente und
+ * Platzhalter-Slots zerlegt. Konstante Platzhalter (z.B. {currency}) werden dabei
+ * direkt als Text eingesetzt. Beim Rendern werden die Segmente nur noch in einen
+ * wiederverwendeten StringBuilder geschrieben - ohne replace-Ketten und ohne
+ * Zwischen-Strings.
+ */
+final class LineTemplate {
+
+    /**
+     * Dynamische Platzhalter, die bei jedem Rendern neu belegt werden
+     */
+    enum Placeholder {
+        CASH("cash"),
+        BANK("bank"),
+        TOTAL("total"),
+        BALANCE("balance"), // Für Rückwärtskompatibilität, entspricht {cash}
+        PLAYER("player");
+
+        private static final Placeholder[] VALUES = values();
+
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+
+        private static Placeholder byToken(String token) {
+            for (Placeholder placeholder : VALUES) {
+                if (placeholder.token.equals(token)) {
+                    return placeholder;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Text-Segmente; an Index i steht slots[i] (oder -1 für reinen Text)
+    private final String[] literals;
+    private final int[] slots;
+
+    private LineTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * Zerlegt eine Zeile in Segmente und Platzhalter-Slots
+     *
+     * Unbekannte Platzhalter bleiben als Text erhalten.
+     *
+     * @param line Die Zeile aus der Konfiguration
+     * @param constants Konstante Platzhalter (Name ohne Klammern -> Wert)
+     * @return Die kompilierte Zeile
+     */
+    static LineTemplate compile(String line, Map<String, String> constants) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int index = 0;
+        while (index < line.length()) {
+            int open = line.indexOf('{', index);
+            int close = open < 0 ? -1 : line.indexOf('}', open + 1);
+            if (close < 0) {
+                literal.append(line, index, line.length());
+                break;
+            }
+
+            literal.append(line, index, open);
+            String token = line.substring(open + 1, close);
+            Placeholder placeholder = Placeholder.byToken(token);
+            String constant = constants.get(token);
+
+            if (placeholder != null) {
+                literals.add(literal.toString());
+                slots.add(placeholder.ordinal());
+                literal.setLength(0);
+            } else if (constant != null) {
+                literal.append(constant);
+            } else {
+                literal.append(line, open, close + 1);
+            }
+            index = close + 1;
+        }
+
+        // Rest-Text ohne folgenden Platzhalter
+        if (literal.length() > 0 || literals.isEmpty()) {
+            literals.add(literal.toString());
+            slots.add(-1);
+        }
+
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        return new LineTemplate(literals.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * Schreibt die Zeile mit den aktuellen Werten in den Builder
+     *
+     * @param out Ziel (wird nicht geleert)
+     * @param values Werte der dynamischen Platzhalter, indiziert über {@code Placeholder.ordinal()}
+     */
+    void render(StringBuilder out, String[] values) {
+        for (int i = 0; i < literals.length; i++) {
+            out.append(literals[i]);
+            if (slots[i] >= 0) {
+                out.append(values[slots[i]]);
+            }
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der dynamischen Platzhalter-Typen zurück
+     *
+     * @return Größe des Werte-Arrays für {@link #render}
+     */
+    static int placeholderCount() {
+        return Placeholder.VALUES.length;
+    }
+}
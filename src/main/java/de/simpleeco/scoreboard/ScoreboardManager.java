@@ -2,16 +2,17 @@ package de.simpleeco.scoreboard;
 
 import de.simpleeco.SimpleEcoPlugin;
 import de.simpleeco.config.ConfigManager;
+import de.simpleeco.currency.BalanceChangeBus;
+import de.simpleeco.currency.BalanceChangeEvent;
+import de.simpleeco.currency.BalanceChangeSubscriber;
 import de.simpleeco.currency.BasicCurrency;
 import de.simpleeco.bank.BankManager;
+import de.simpleeco.scheduler.TaskHandle;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.*;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,35 +23,58 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Manager für Scoreboards zur Anzeige der Spieler-Balance
  * 
- * Verwaltet individuelle Scoreboards für jeden Spieler und aktualisiert
- * die Balance-Anzeige (Bargeld und Bank-Guthaben) in regelmäßigen Intervallen.
+ * Verwaltet individuelle Scoreboards für jeden Spieler und zeigt Bargeld und
+ * Bank-Guthaben an. Aktualisiert wird ereignisgesteuert: der Balance-Bus meldet
+ * jede Änderung (synchron, einmal pro Tick zusammengefasst), die neuen Werte landen im Anzeige-Cache des Spielers und pro
+ * Spieler wird höchstens ein Neuzeichnen gleichzeitig eingeplant. Mehrere
+ * Änderungen bis dahin werden so zu einem Update zusammengefasst. Ein langsamer
+ * Timer gleicht die Anzeige zusätzlich mit der Datenbank ab.
+ * 
+ * Die Darstellung übernimmt pro Spieler ein {@link SidebarRenderer}, der nur
+ * geänderte Zeilen an den Client sendet.
  */
-public class ScoreboardManager {
+public class ScoreboardManager implements BalanceChangeSubscriber {
     
     private final SimpleEcoPlugin plugin;
     private final ConfigManager configManager;
     private final BasicCurrency currency;
     private final BankManager bankManager;
     
-    // Map zum Tracking der Player-Scoreboards (Thread-safe)
-    private final ConcurrentHashMap<UUID, Scoreboard> playerScoreboards;
-    private final ConcurrentHashMap<UUID, Objective> playerObjectives;
+    // Sidebar-Renderer pro Spieler (Thread-safe)
+    private final ConcurrentHashMap<UUID, SidebarRenderer> playerRenderers;
+    
+    // Zuletzt bekannte Kontostände pro Spieler (Anzeige-Cache)
+    private final ConcurrentHashMap<UUID, DisplayedBalance> displayedBalances;
+    
+    // Spieler mit bereits eingeplantem Neuzeichnen (Zusammenfassung von Änderungen)
+    private final Set<UUID> pendingRenders;
     
     // Rate-Limiting für Scoreboard Updates (Thread-safe)
     private final ConcurrentHashMap<UUID, Long> lastScoreboardUpdate;
     
+    // Beim Laden kompilierte Scoreboard-Zeilen
+    private volatile List<LineTemplate> lineTemplates;
+    
+    // Wiederverwendeter Puffer pro Thread (unter Folia rendert jede Region selbst)
+    private final ThreadLocal<RenderScratch> renderScratch = ThreadLocal.withInitial(RenderScratch::new);
+    
     // Update-Task
-    private BukkitTask updateTask;
+    private TaskHandle updateTask;
     
     public ScoreboardManager(SimpleEcoPlugin plugin, ConfigManager configManager, BasicCurrency currency, BankManager bankManager) {
         this.plugin = plugin;
         this.configManager = configManager;
         this.currency = currency;
         this.bankManager = bankManager;
-        this.playerScoreboards = new ConcurrentHashMap<>();
-        this.playerObjectives = new ConcurrentHashMap<>();
+        this.playerRenderers = new ConcurrentHashMap<>();
+        this.displayedBalances = new ConcurrentHashMap<>();
+        this.pendingRenders = ConcurrentHashMap.newKeySet();
         this.lastScoreboardUpdate = new ConcurrentHashMap<>();
         
+        // Zeilen einmalig kompilieren und Kontostands-Änderungen abonnieren
+        compileLines();
+        plugin.getBalanceChangeBus().subscribe(this, BalanceChangeBus.Delivery.SYNC);
+        
         // Update-Task starten wenn Scoreboard aktiviert ist
         if (isScoreboardEnabled()) {
             startUpdateTask();
@@ -89,14 +113,9 @@ public class ScoreboardManager {
             
             Scoreboard scoreboard = bukkitScoreboardManager.getNewScoreboard();
             
-            // Objective erstellen
+            // Sidebar mit festen Zeilen-Einträgen erstellen
             String title = configManager.getConfig().getString("scoreboard.title", "§6§lSimpleEco");
-            Objective objective = scoreboard.registerNewObjective("balance", "dummy", title);
-            objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-            
-            // Spieler-Daten speichern
-            playerScoreboards.put(player.getUniqueId(), scoreboard);
-            playerObjectives.put(player.getUniqueId(), objective);
+            playerRenderers.put(player.getUniqueId(), new SidebarRenderer(scoreboard, title));
             
             // Scoreboard dem Spieler zuweisen
             player.setScoreboard(scoreboard);
@@ -117,21 +136,16 @@ public class ScoreboardManager {
     public void removeScoreboard(Player player) {
         UUID playerUUID = player.getUniqueId();
         
-        // Objective entfernen
-        Objective objective = playerObjectives.remove(playerUUID);
-        if (objective != null) {
-            try {
-                objective.unregister();
-            } catch (IllegalStateException ignored) {
-                // Objective bereits entfernt
-            }
+        // Objective und Zeilen-Teams entfernen
+        SidebarRenderer renderer = playerRenderers.remove(playerUUID);
+        if (renderer != null) {
+            renderer.unregister();
         }
         
-        // Scoreboard entfernen
-        playerScoreboards.remove(playerUUID);
-        
-        // Update-Tracking entfernen
+        // Update-Tracking und Anzeige-Cache entfernen
         lastScoreboardUpdate.remove(playerUUID);
+        displayedBalances.remove(playerUUID);
+        pendingRenders.remove(playerUUID);
         
         // Standard-Scoreboard zuweisen
         try {
@@ -154,7 +168,7 @@ public class ScoreboardManager {
     }
     
     /**
-     * Aktualisiert das Scoreboard eines einzelnen Spielers
+     * Lädt die Kontostände eines Spielers aus der Datenbank und aktualisiert sein Scoreboard
      * 
      * @param player Der Spieler
      * @param forceUpdate Wenn true, wird das Update erzwungen auch bei Rate-Limiting
@@ -165,9 +179,7 @@ public class ScoreboardManager {
         }
         
         UUID playerUUID = player.getUniqueId();
-        Objective objective = playerObjectives.get(playerUUID);
-        
-        if (objective == null) {
+        if (!playerRenderers.containsKey(playerUUID)) {
             // Scoreboard existiert nicht - erstellen
             createScoreboard(player);
             return;
@@ -197,20 +209,14 @@ public class ScoreboardManager {
                 try {
                     double cashBalance = cashFuture.get();
                     double bankBalance = bankFuture.get();
-                    double totalBalance = cashBalance + bankBalance;
                     
-                    // Hauptthread für Scoreboard-Updates verwenden
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        try {
-                            // Prüfen ob Objective noch gültig ist (Player könnte disconnect gewesen sein)
-                            Objective currentObjective = playerObjectives.get(playerUUID);
-                            if (currentObjective != null && currentObjective.getScoreboard() != null) {
-                                updateScoreboardDisplay(player, currentObjective, cashBalance, bankBalance, totalBalance);
-                            }
-                        } catch (Exception e) {
-                            plugin.getLogger().warning("Fehler beim Aktualisieren der Scoreboard-Anzeige für " + player.getName() + ": " + e.getMessage());
-                        }
-                    });
+                    // Anzeige-Cache setzen und Neuzeichnen im Thread des Spielers einplanen
+                    if (playerRenderers.containsKey(playerUUID)) {
+                        DisplayedBalance displayed = displayedBalances.computeIfAbsent(playerUUID, id -> new DisplayedBalance());
+                        displayed.cash = cashBalance;
+                        displayed.bank = bankBalance;
+                        scheduleRender(playerUUID);
+                    }
                     
                 } catch (Exception e) {
                     plugin.getLogger().warning("Fehler beim Abrufen der Kontostände für " + player.getName() + ": " + e.getMessage());
@@ -225,71 +231,133 @@ public class ScoreboardManager {
         }
     }
     
+    /**
+     * Übernimmt eine Kontostandsänderung in den Anzeige-Cache
+     * 
+     * @param event Die zusammengefasste Änderung
+     */
+    @Override
+    public void onBalanceChange(BalanceChangeEvent event) {
+        DisplayedBalance displayed = displayedBalances.get(event.playerId());
+        if (displayed == null) {
+            return;
+        }
+        
+        double newBalance = event.newBalance();
+        if (event.account() == BalanceChangeEvent.Account.CASH) {
+            if (displayed.cash == newBalance) {
+                return;
+            }
+            displayed.cash = newBalance;
+        } else {
+            if (displayed.bank == newBalance) {
+                return;
+            }
+            displayed.bank = newBalance;
+        }
+        scheduleRender(event.playerId());
+    }
+    
+    /**
+     * Plant das Neuzeichnen eines Scoreboards im Thread des Spielers ein
+     * 
+     * Ist bereits ein Neuzeichnen eingeplant, passiert nichts - es verwendet
+     * beim Ausführen ohnehin die dann aktuellen Werte aus dem Cache.
+     * 
+     * @param playerId UUID des Spielers
+     */
+    private void scheduleRender(UUID playerId) {
+        if (!pendingRenders.add(playerId)) {
+            return;
+        }
+        
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null) {
+            pendingRenders.remove(playerId);
+            return;
+        }
+        
+        plugin.getPluginScheduler().runForEntity(player, () -> {
+            pendingRenders.remove(playerId);
+            
+            // Prüfen ob die Sidebar noch existiert (Player könnte disconnect gewesen sein)
+            SidebarRenderer renderer = playerRenderers.get(playerId);
+            DisplayedBalance displayed = displayedBalances.get(playerId);
+            if (renderer != null && displayed != null && player.isOnline()) {
+                double cashBalance = displayed.cash;
+                double bankBalance = displayed.bank;
+                updateScoreboardDisplay(player, renderer, cashBalance, bankBalance, cashBalance + bankBalance);
+            }
+        });
+    }
+    
     /**
      * Aktualisiert die Scoreboard-Anzeige mit den Kontodaten
      * 
+     * Die Zeilen werden komplett aufbereitet, gesendet werden aber nur
+     * die Zeilen, deren Text sich seit dem letzten Update geändert hat.
+     * 
      * @param player Der Spieler
-     * @param objective Das Scoreboard-Objective
+     * @param renderer Die Sidebar des Spielers
      * @param cashBalance Bargeld-Betrag
      * @param bankBalance Bank-Guthaben
      * @param totalBalance Gesamt-Guthaben
      */
-    private void updateScoreboardDisplay(Player player, Objective objective, double cashBalance, double bankBalance, double totalBalance) {
+    private void updateScoreboardDisplay(Player player, SidebarRenderer renderer, double cashBalance, double bankBalance, double totalBalance) {
         try {
-            // Alle bestehenden Scores löschen (sichere Methode)
-            Set<String> entries = new HashSet<>(objective.getScoreboard().getEntries());
-            for (String entry : entries) {
-                try {
-                    objective.getScoreboard().resetScores(entry);
-                } catch (Exception e) {
-                    // Ignoriere Fehler beim Entfernen einzelner Einträge
-                }
-            }
+            List<LineTemplate> templates = lineTemplates;
+            RenderScratch scratch = renderScratch.get();
             
-            // Scoreboard-Zeilen aus Config laden oder Standard verwenden
-            List<String> lines = configManager.getConfig().getStringList("scoreboard.lines");
-            
-            // Falls keine Zeilen konfiguriert sind, Standard-Design verwenden
-            if (lines.isEmpty()) {
-                lines = getDefaultScoreboardLines();
-            }
+            // Dynamische Platzhalter einmal pro Update formatieren, nicht pro Zeile
+            String[] values = scratch.values;
+            values[LineTemplate.Placeholder.CASH.ordinal()] = formatAmountForScoreboard(cashBalance);
+            values[LineTemplate.Placeholder.BANK.ordinal()] = formatAmountForScoreboard(bankBalance);
+            values[LineTemplate.Placeholder.TOTAL.ordinal()] = formatAmountForScoreboard(totalBalance);
+            values[LineTemplate.Placeholder.BALANCE.ordinal()] = values[LineTemplate.Placeholder.CASH.ordinal()];
+            values[LineTemplate.Placeholder.PLAYER.ordinal()] = player.getName();
             
-            // Zeilen durchgehen und anzeigen (von unten nach oben)
-            int score = lines.size();
-            int emptyLineCounter = 0; // Zähler für leere Zeilen um Duplikate zu vermeiden
-            
-            for (String line : lines) {
-                // Platzhalter ersetzen
-                String processedLine = line
-                    .replace("{cash}", formatAmountForScoreboard(cashBalance))
-                    .replace("{bank}", formatAmountForScoreboard(bankBalance))
-                    .replace("{total}", formatAmountForScoreboard(totalBalance))
-                    .replace("{balance}", formatAmountForScoreboard(cashBalance)) // Für Rückwärtskompatibilität
-                    .replace("{currency}", configManager.getCurrencyName())
-                    .replace("{symbol}", configManager.getCurrencySymbol())
-                    .replace("{player}", player.getName());
-                
-                // Leere Zeilen behandeln (für bessere Formatierung)
-                if (processedLine.trim().isEmpty()) {
-                    // Jede leere Zeile muss einzigartig sein, sonst wird sie nicht angezeigt
-                    processedLine = " ".repeat(++emptyLineCounter);
-                }
+            // Leere Zeilen brauchen keine Sonderbehandlung, da jede Zeile
+            // einen eigenen unsichtbaren Eintrag hat
+            renderer.setLineCount(templates.size());
+            StringBuilder line = scratch.line;
+            for (int index = 0; index < templates.size(); index++) {
+                line.setLength(0);
+                templates.get(index).render(line, values);
                 
                 // Zeile kürzen falls zu lang (Scoreboard max 40 Zeichen)
-                processedLine = truncateScoreboardLine(processedLine);
-                
-                // Sicherstellen dass die Zeile einzigartig ist (Minecraft Scoreboard Requirement)
-                processedLine = ensureUniqueScoreboardEntry(processedLine, objective, score);
-                
-                // Score setzen
-                Score scoreEntry = objective.getScore(processedLine);
-                scoreEntry.setScore(score--);
+                truncateScoreboardLine(line);
+                renderer.renderLine(index, line);
             }
         } catch (Exception e) {
             plugin.getLogger().warning("Fehler beim Anzeigen des Scoreboards für " + player.getName() + ": " + e.getMessage());
         }
     }
     
+    /**
+     * Kompiliert die Scoreboard-Zeilen aus der Config (oder das Standard-Design)
+     * 
+     * Währungsname und -symbol ändern sich nur beim Reload und werden daher
+     * direkt als Text in die Zeilen eingesetzt.
+     */
+    private void compileLines() {
+        List<String> lines = configManager.getConfig().getStringList("scoreboard.lines");
+        
+        // Falls keine Zeilen konfiguriert sind, Standard-Design verwenden
+        if (lines.isEmpty()) {
+            lines = getDefaultScoreboardLines();
+        }
+        
+        Map<String, String> constants = Map.of(
+            "currency", configManager.getCurrencyName(),
+            "symbol", configManager.getCurrencySymbol());
+        
+        List<LineTemplate> templates = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            templates.add(LineTemplate.compile(line, constants));
+        }
+        this.lineTemplates = List.copyOf(templates);
+    }
+    
     /**
      * Formatiert einen Betrag speziell für Scoreboard-Anzeige (kürzere Darstellung)
      * 
@@ -297,68 +365,27 @@ public class ScoreboardManager {
      * @return Formatierter String
      */
     private String formatAmountForScoreboard(double amount) {
-        if (amount >= 1000000) {
-            return String.format("%.1fM", amount / 1000000);
-        } else if (amount >= 1000) {
-            return String.format("%.1fK", amount / 1000);
-        } else {
-            return String.format("%.0f", amount);
-        }
+        return plugin.getMoneyFormatter().formatCompact(amount);
     }
     
     /**
      * Kürzt eine Scoreboard-Zeile auf die maximale Länge
      * 
-     * @param line Die ursprüngliche Zeile
-     * @return Gekürzte Zeile
+     * @param line Die Zeile (wird direkt gekürzt)
      */
-    private String truncateScoreboardLine(String line) {
+    private void truncateScoreboardLine(StringBuilder line) {
         if (line.length() <= 40) {
-            return line;
+            return;
         }
         
         // Intelligentes Kürzen: Versuche an Leerzeichen zu trennen
-        if (line.length() > 37) {
-            String truncated = line.substring(0, 37);
-            int lastSpace = truncated.lastIndexOf(' ');
-            if (lastSpace > 20) { // Nur wenn genug Text übrig bleibt
-                return truncated.substring(0, lastSpace) + "...";
-            } else {
-                return truncated + "...";
-            }
-        }
-        
-        return line.substring(0, 40);
-    }
-    
-    /**
-     * Stellt sicher, dass ein Scoreboard-Eintrag einzigartig ist
-     * (Minecraft zeigt doppelte Einträge nicht an)
-     * 
-     * @param line Die ursprüngliche Zeile
-     * @param objective Das Scoreboard-Objective
-     * @param score Der Score-Wert
-     * @return Einzigartige Zeile
-     */
-    private String ensureUniqueScoreboardEntry(String line, Objective objective, int score) {
-        String originalLine = line;
-        int attempts = 0;
-        
-        // Prüfen ob die Zeile bereits existiert
-        while (objective.getScoreboard().getEntries().contains(line) && attempts < 10) {
-            attempts++;
-            // Füge unsichtbare Zeichen hinzu um Einzigartigkeit zu gewährleisten
-            if (line.trim().isEmpty()) {
-                // Für leere Zeilen: zusätzliche Leerzeichen
-                line = " ".repeat(attempts + line.length());
-            } else {
-                // Für normale Zeilen: unsichtbare Farbcodes am Ende
-                String[] colors = {"§0", "§1", "§2", "§3", "§4", "§5", "§6", "§7", "§8", "§9"};
-                line = originalLine + colors[attempts % colors.length] + "§r";
-            }
+        int lastSpace = line.lastIndexOf(" ", 36);
+        if (lastSpace > 20) { // Nur wenn genug Text übrig bleibt
+            line.setLength(lastSpace);
+        } else {
+            line.setLength(37);
         }
-        
-        return line;
+        line.append("...");
     }
     
     /**
@@ -385,32 +412,32 @@ public class ScoreboardManager {
     }
     
     /**
-     * Aktualisiert alle Scoreboards
+     * Gleicht alle Scoreboards mit der Datenbank ab (Sicherheitsnetz)
      */
     public void updateAllScoreboards() {
         if (!isScoreboardEnabled()) {
             return;
         }
         
+        // Jeder Spieler im eigenen Thread (unter Bukkit direkt im Haupt-Thread)
         for (Player player : Bukkit.getOnlinePlayers()) {
-            updatePlayerScoreboard(player);
+            plugin.getPluginScheduler().entityExecutor(player).execute(() -> updatePlayerScoreboard(player));
         }
     }
     
     /**
-     * Startet den periodischen Update-Task
+     * Startet den periodischen Abgleich mit der Datenbank
+     * 
+     * Änderungen über den BankManager werden sofort angezeigt; der Timer fängt
+     * nur Änderungen an der Datenbank vorbei ab und kann entsprechend selten laufen.
      */
     private void startUpdateTask() {
-        long updateInterval = configManager.getConfig().getLong("scoreboard.updateInterval", 20);
+        long refreshInterval = Math.max(20L, configManager.getConfig().getLong("scoreboard.refreshInterval", 600));
         
-        updateTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                updateAllScoreboards();
-            }
-        }.runTaskTimer(plugin, 20L, updateInterval); // Startverzögerung von 1 Sekunde
+        updateTask = plugin.getPluginScheduler().runGlobalTimer(
+            this::updateAllScoreboards, refreshInterval, refreshInterval);
         
-        plugin.getLogger().info("Scoreboard Update-Task gestartet (Intervall: " + updateInterval + " Ticks)");
+        plugin.getLogger().info("Scoreboard Abgleich-Task gestartet (Intervall: " + refreshInterval + " Ticks)");
     }
     
     /**
@@ -427,8 +454,9 @@ public class ScoreboardManager {
      * Entfernt alle Scoreboards und stoppt Tasks
      */
     public void shutdown() {
-        // Update-Task stoppen
+        // Update-Task stoppen und Abonnement beenden
         stopUpdateTask();
+        plugin.getBalanceChangeBus().unsubscribe(this);
         
         // Alle Scoreboards entfernen
         for (Player player : Bukkit.getOnlinePlayers()) {
@@ -436,8 +464,9 @@ public class ScoreboardManager {
         }
         
         // Maps leeren
-        playerScoreboards.clear();
-        playerObjectives.clear();
+        playerRenderers.clear();
+        displayedBalances.clear();
+        pendingRenders.clear();
         lastScoreboardUpdate.clear();
         
         plugin.getLogger().info("ScoreboardManager heruntergefahren");
@@ -447,6 +476,8 @@ public class ScoreboardManager {
      * Lädt die Scoreboard-Konfiguration neu
      */
     public void reload() {
+        compileLines();
+        
         // Alle bestehenden Scoreboards entfernen
         for (Player player : Bukkit.getOnlinePlayers()) {
             removeScoreboard(player);
@@ -457,12 +488,12 @@ public class ScoreboardManager {
         
         // Neu starten wenn aktiviert (mit kleiner Verzögerung)
         if (isScoreboardEnabled()) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            plugin.getPluginScheduler().runGlobalLater(() -> {
                 startUpdateTask();
                 
-                // Scoreboards für alle Online-Spieler erstellen
+                // Scoreboards für alle Online-Spieler erstellen (im Thread des jeweiligen Spielers)
                 for (Player player : Bukkit.getOnlinePlayers()) {
-                    createScoreboard(player);
+                    plugin.getPluginScheduler().runForEntity(player, () -> createScoreboard(player));
                 }
             }, 5L); // 0.25 Sekunden Verzögerung
         }
@@ -476,43 +507,23 @@ public class ScoreboardManager {
      * @return Anzahl aktiver Scoreboards
      */
     public int getActiveScoreboardCount() {
-        return playerScoreboards.size();
+        return playerRenderers.size();
     }
     
     /**
-     * Wird aufgerufen wenn sich die Balance eines Spielers ändert
-     * Aktualisiert das Scoreboard sofort
-     * 
-     * @param player Der Spieler dessen Balance sich geändert hat
+     * Wiederverwendete Puffer für das Rendern der Zeilen
      */
-    public void onBalanceChanged(Player player) {
-        if (player != null && player.isOnline()) {
-            updatePlayerScoreboard(player, true); // Force Update
-        }
+    private static final class RenderScratch {
+        private final StringBuilder line = new StringBuilder(64);
+        private final String[] values = new String[LineTemplate.placeholderCount()];
     }
     
     /**
-     * Wird aufgerufen wenn sich die Bank-Balance eines Spielers ändert
-     * Aktualisiert das Scoreboard sofort
-     * 
-     * @param player Der Spieler dessen Bank-Balance sich geändert hat
+     * Zuletzt angezeigte Kontostände eines Spielers
      */
-    public void onBankBalanceChanged(Player player) {
-        if (player != null && player.isOnline()) {
-            updatePlayerScoreboard(player, true); // Force Update
-        }
-    }
-    
-    /**
-     * Aktualisiert das Scoreboard für einen Spieler basierend auf seiner UUID
-     * 
-     * @param playerUuid Die UUID des Spielers
-     */
-    public void onBalanceChanged(UUID playerUuid) {
-        Player player = Bukkit.getPlayer(playerUuid);
-        if (player != null && player.isOnline()) {
-            updatePlayerScoreboard(player, true); // Force Update
-        }
+    private static final class DisplayedBalance {
+        private volatile double cash;
+        private volatile double bank;
     }
     
     /**
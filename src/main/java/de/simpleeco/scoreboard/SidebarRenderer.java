@@ -0,0 +1,137 @@
+package de.simpleeco.scoreboard;
+
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flackerfreie Sidebar eines einzelnen Spielers
+ *
+ * Jede Zeile ist an einen festen, unsichtbaren Eintrag (nur Farbcodes) gebunden,
+ * dessen Score einmalig beim Anlegen gesetzt wird. Der sichtbare Text steht im
+ * Präfix eines eigenen Teams pro Zeile. Der Renderer merkt sich den zuletzt
+ * gesendeten Text jeder Zeile und ändert nur die Teams, deren Text sich geändert
+ * hat - ein Balance-Update erzeugt damit ein bis zwei Team-Pakete statt das
+ * komplette Board zu löschen und neu aufzubauen.
+ *
+ * Nicht thread-sicher: alle Aufrufe müssen im Thread des Spielers erfolgen.
+ */
+class SidebarRenderer {
+
+    private static final String TEAM_PREFIX = "se_line_";
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+
+    // Pro Zeile: fester Eintrag, Team und zuletzt gesendeter Text
+    private final List<String> entries = new ArrayList<>();
+    private final List<Team> teams = new ArrayList<>();
+    private final List<String> renderedLines = new ArrayList<>();
+
+    SidebarRenderer(Scoreboard scoreboard, String title) {
+        this.scoreboard = scoreboard;
+        this.objective = scoreboard.registerNewObjective("balance", "dummy", title);
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+    }
+
+    /**
+     * Legt die Anzahl der Zeilen fest
+     *
+     * Nur bei einer geänderten Zeilenanzahl (z.B. nach einem Reload) werden
+     * Einträge angelegt oder entfernt und die Scores neu gesetzt.
+     *
+     * @param lineCount Anzahl der Zeilen
+     */
+    void setLineCount(int lineCount) {
+        if (entries.size() == lineCount) {
+            return;
+        }
+
+        while (entries.size() > lineCount) {
+            int last = entries.size() - 1;
+            scoreboard.resetScores(entries.remove(last));
+            teams.remove(last).unregister();
+            renderedLines.remove(last);
+        }
+
+        while (entries.size() < lineCount) {
+            int index = entries.size();
+            String entry = entryFor(index);
+
+            Team team = scoreboard.getTeam(TEAM_PREFIX + index);
+            if (team == null) {
+                team = scoreboard.registerNewTeam(TEAM_PREFIX + index);
+            }
+            team.addEntry(entry);
+
+            entries.add(entry);
+            teams.add(team);
+            renderedLines.add(null);
+        }
+
+        // Scores absteigend, damit die erste Zeile oben steht
+        for (int index = 0; index < entries.size(); index++) {
+            objective.getScore(entries.get(index)).setScore(lineCount - index);
+        }
+    }
+
+    /**
+     * Zeigt den Text einer Zeile an, falls er sich seit dem letzten Mal geändert hat
+     *
+     * Der Vergleich läuft direkt auf der CharSequence; ein String wird nur
+     * für tatsächlich geänderte Zeilen erzeugt.
+     *
+     * @param index Zeilen-Index von oben (0 bis Zeilenanzahl - 1)
+     * @param text Der Text der Zeile
+     * @return true wenn die Zeile gesendet wurde
+     */
+    boolean renderLine(int index, CharSequence text) {
+        String rendered = renderedLines.get(index);
+        if (rendered != null && rendered.contentEquals(text)) {
+            return false;
+        }
+
+        String line = text.toString();
+        teams.get(index).setPrefix(line);
+        renderedLines.set(index, line);
+        return true;
+    }
+
+    /**
+     * Entfernt Objective und Teams vom Scoreboard
+     */
+    void unregister() {
+        for (Team team : teams) {
+            try {
+                team.unregister();
+            } catch (IllegalStateException ignored) {
+                // Team bereits entfernt
+            }
+        }
+        teams.clear();
+        entries.clear();
+        renderedLines.clear();
+
+        try {
+            objective.unregister();
+        } catch (IllegalStateException ignored) {
+            // Objective bereits entfernt
+        }
+    }
+
+    /**
+     * Baut einen unsichtbaren, eindeutigen Eintrag aus Farbcodes
+     * (Zeile 0 -> "§0§r", Zeile 17 -> "§1§1§r")
+     */
+    private static String entryFor(int index) {
+        StringBuilder entry = new StringBuilder();
+        for (char digit : Integer.toHexString(index).toCharArray()) {
+            entry.append('§').append(digit);
+        }
+        return entry.append("§r").toString();
+    }
+}
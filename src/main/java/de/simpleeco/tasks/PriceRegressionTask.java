@@ -4,8 +4,8 @@ import de.simpleeco.SimpleEcoPlugin;
 import de.simpleeco.config.ConfigManager;
 import de.simpleeco.database.DatabaseManager;
 import de.simpleeco.pricing.PriceManager;
+import de.simpleeco.scheduler.TaskHandle;
 import org.bukkit.Material;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.logging.Level;
 
@@ -15,13 +15,15 @@ import java.util.logging.Level;
  * Dieser Task läuft regelmäßig und sorgt dafür, dass sich die Preise
  * über Zeit wieder zu ihren Basiswerten zurückbewegen.
  */
-public class PriceRegressionTask extends BukkitRunnable {
+public class PriceRegressionTask implements Runnable {
     
     private final SimpleEcoPlugin plugin;
     private final ConfigManager configManager;
     private final PriceManager priceManager;
     private final DatabaseManager databaseManager;
     
+    private TaskHandle handle;
+    
     public PriceRegressionTask(SimpleEcoPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
@@ -147,6 +149,24 @@ public class PriceRegressionTask extends BukkitRunnable {
         }
     }
     
+    /**
+     * Stoppt den Task
+     */
+    public void cancel() {
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+    
+    /**
+     * Prüft ob der Task gestoppt wurde
+     * 
+     * @return true wenn gestoppt
+     */
+    public boolean isCancelled() {
+        return handle == null || handle.isCancelled();
+    }
+    
     /**
      * Startet den Preis-Regression-Task
      * 
@@ -160,7 +180,7 @@ public class PriceRegressionTask extends BukkitRunnable {
         long intervalTicks = intervalMinutes * 60 * 20; // Minuten zu Ticks (20 Ticks = 1 Sekunde)
         
         // Task alle X Minuten ausführen
-        task.runTaskTimerAsynchronously(plugin, intervalTicks, intervalTicks);
+        task.handle = plugin.getPluginScheduler().runAsyncTimer(task, intervalTicks, intervalTicks);
         
         plugin.getLogger().info("Preis-Regression-Task gestartet (Intervall: " + intervalMinutes + " Minuten)");
         
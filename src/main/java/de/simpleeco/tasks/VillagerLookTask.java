@@ -1,117 +1,238 @@
 package de.simpleeco.tasks;
 
 import de.simpleeco.SimpleEcoPlugin;
-import de.simpleeco.villager.ShopVillagerManager;
-import de.simpleeco.bank.AtmVillagerManager;
+import de.simpleeco.scheduler.PluginScheduler;
+import de.simpleeco.scheduler.TaskHandle;
+import de.simpleeco.villager.SpecialVillagerRegistry;
+import de.simpleeco.villager.VillagerInterestMap;
 import org.bukkit.Location;
-import org.bukkit.entity.Entity;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Villager;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.util.Vector;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Task für Villager-Blickrichtung
  * 
  * Diese Task sorgt dafür, dass Shop- und ATM-Villager zum nächsten Spieler
- * in der Nähe schauen und sich entsprechend drehen.
+ * in der Nähe schauen und sich entsprechend drehen. Die Villager laufen im
+ * statischen NPC-Modus (ohne KI und Schwerkraft), es wird also nur die
+ * Blickrichtung gesetzt und keine Position korrigiert.
+ * 
+ * Es werden nur die im {@link SpecialVillagerRegistry} geführten Villager
+ * verarbeitet, die Kosten hängen also von der Anzahl der NPCs ab und nicht
+ * von der Anzahl aller Entities in den Welten. Villager in Chunks ohne Spieler
+ * in Blickweite (siehe {@link VillagerInterestMap}) werden sofort übersprungen.
+ * 
+ * Die Arbeit wird über mehrere Ticks verteilt: Die Task läuft jeden Tick und
+ * arbeitet die Villager reihum ab, bis das konfigurierte Zeitbudget verbraucht
+ * ist. Nicht erreichte Villager werden im nächsten Tick fortgesetzt. Ein neuer
+ * Durchlauf über alle Villager beginnt frühestens nach dem Update-Intervall.
+ * 
+ * Unter Folia läuft die Verteilung auf der globalen Region. Die in einem Tick
+ * ausgewählten Villager werden nach Chunk gruppiert und pro Chunk als ein
+ * Stapel an den Scheduler der besitzenden Region übergeben. Ein Chunk gehört
+ * immer genau einer Region; die Folia-API legt die Regionsgrenzen selbst nicht
+ * offen, daher ist der Chunk die feinste sichere Gruppierung.
  */
-public class VillagerLookTask extends BukkitRunnable {
+public class VillagerLookTask implements Runnable {
     
     private final SimpleEcoPlugin plugin;
-    private final ShopVillagerManager shopVillagerManager;
-    private final AtmVillagerManager atmVillagerManager;
-    private final double maxLookDistance;
+    private final PluginScheduler scheduler;
+    private final SpecialVillagerRegistry villagerRegistry;
+    private final VillagerInterestMap interestMap;
+    private final double maxLookDistanceSquared;
+    private final long updateInterval;
+    private final long tickBudgetNanos;
+    
+    // Aktueller Durchlauf: Momentaufnahme der Einträge und Position darin
+    private List<SpecialVillagerRegistry.Entry> cycle = new ArrayList<>();
+    private int cursor;
+    private long ticksSinceCycleStart;
+    
+    // Metriken
+    private long lastTickNanos;
+    private long maxTickNanos;
+    private double averageTickNanos;
+    private long completedCycles;
+    private long overrunCycles;
+    
+    private TaskHandle handle;
     
-    // Cache für Original-Positionen der Villager
-    private final ConcurrentHashMap<UUID, Location> villagerPositions = new ConcurrentHashMap<>();
+    // Unter Folia: im laufenden Tick gesammelte Villager pro Chunk
+    private final Map<ChunkRef, List<SpecialVillagerRegistry.Entry>> regionBatches = new HashMap<>();
     
-    public VillagerLookTask(SimpleEcoPlugin plugin, ShopVillagerManager shopVillagerManager, 
-                           AtmVillagerManager atmVillagerManager, double maxLookDistance) {
+    // Wiederverwendete Objekte pro Thread, um pro Villager keine Locations/Listen anzulegen
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    
+    public VillagerLookTask(SimpleEcoPlugin plugin, SpecialVillagerRegistry villagerRegistry,
+                            VillagerInterestMap interestMap, double maxLookDistance, long updateInterval) {
         this.plugin = plugin;
-        this.shopVillagerManager = shopVillagerManager;
-        this.atmVillagerManager = atmVillagerManager;
-        this.maxLookDistance = maxLookDistance;
+        this.scheduler = plugin.getPluginScheduler();
+        this.villagerRegistry = villagerRegistry;
+        this.interestMap = interestMap;
+        this.maxLookDistanceSquared = maxLookDistance * maxLookDistance;
+        this.updateInterval = Math.max(1L, updateInterval);
+        long budgetMicros = plugin.getConfigManager().getConfig().getLong("villagerBehavior.tickBudgetMicros", 500L);
+        this.tickBudgetNanos = Math.max(50L, budgetMicros) * 1000L;
     }
     
     @Override
     public void run() {
-        // Alle geladenen Welten durchgehen
-        plugin.getServer().getWorlds().forEach(world -> {
-            // Alle Villager in der Welt finden
-            List<Entity> entities = world.getEntities();
+        long start = System.nanoTime();
+        long deadline = start + tickBudgetNanos;
+        ticksSinceCycleStart++;
+        
+        // Neuen Durchlauf beginnen, wenn der alte fertig und das Intervall abgelaufen ist
+        if (cursor >= cycle.size()) {
+            if (ticksSinceCycleStart >= updateInterval) {
+                cycle = villagerRegistry.getEntries();
+                cursor = 0;
+                ticksSinceCycleStart = 0;
+            }
+        } else if (ticksSinceCycleStart == updateInterval) {
+            // Der Durchlauf hat das Intervall überschritten, Rest wird weiter abgearbeitet
+            overrunCycles++;
+        }
+        
+        // Nur registrierte Shop- und ATM-Villager reihum bis zum Budget abarbeiten
+        while (cursor < cycle.size()) {
+            dispatchEntry(cycle.get(cursor++));
             
-            for (Entity entity : entities) {
-                if (!(entity instanceof Villager villager)) {
-                    continue;
-                }
-                
-                // Prüfen ob es sich um einen speziellen Villager handelt
-                if (!shopVillagerManager.isShopVillager(villager) && 
-                    !atmVillagerManager.isAtmVillager(villager)) {
-                    continue;
-                }
-                
-                // Original-Position des Villagers speichern/überprüfen
-                UUID villagerId = villager.getUniqueId();
-                Location currentLocation = villager.getLocation();
-                Location originalPosition = villagerPositions.get(villagerId);
-                
-                if (originalPosition == null) {
-                    // Erste Begegnung mit diesem Villager - Position speichern
-                    villagerPositions.put(villagerId, currentLocation.clone());
-                    originalPosition = currentLocation;
-                } else {
-                    // Prüfen ob Villager sich bewegt hat (mehr als 0.5 Blöcke)
-                    double distance = originalPosition.distance(currentLocation);
-                    if (distance > 0.5) {
-                        // Villager zurück zur Original-Position teleportieren
-                        Location resetLoc = originalPosition.clone();
-                        resetLoc.setYaw(currentLocation.getYaw()); // Blickrichtung beibehalten
-                        resetLoc.setPitch(currentLocation.getPitch());
-                        villager.teleport(resetLoc);
-                        currentLocation = resetLoc;
+            if (cursor >= cycle.size()) {
+                completedCycles++;
+                break;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        
+        if (!regionBatches.isEmpty()) {
+            dispatchRegionBatches();
+        }
+        
+        long duration = System.nanoTime() - start;
+        lastTickNanos = duration;
+        if (duration > maxTickNanos) {
+            maxTickNanos = duration;
+        }
+        // Gleitender Mittelwert über ca. 100 Ticks
+        averageTickNanos = averageTickNanos * 0.99 + duration * 0.01;
+    }
+    
+    /**
+     * Verarbeitet einen Villager direkt oder übergibt ihn an den Thread seiner Region
+     * 
+     * @param entry Der Registereintrag des Villagers
+     */
+    private void dispatchEntry(SpecialVillagerRegistry.Entry entry) {
+        // Kein Spieler in Blickweite des Chunks - nichts zu tun
+        if (!interestMap.isInterested(entry.getWorldId(), entry.getChunkKey())) {
+            return;
+        }
+        
+        if (scheduler.isFolia()) {
+            regionBatches.computeIfAbsent(new ChunkRef(entry.getWorldId(), entry.getChunkKey()),
+                                          ref -> new ArrayList<>()).add(entry);
+        } else {
+            processEntry(entry);
+        }
+    }
+    
+    /**
+     * Übergibt die gesammelten Villager jedes Chunks als einen Stapel an die besitzende Region
+     */
+    private void dispatchRegionBatches() {
+        for (Map.Entry<ChunkRef, List<SpecialVillagerRegistry.Entry>> batch : regionBatches.entrySet()) {
+            World world = plugin.getServer().getWorld(batch.getKey().worldId());
+            if (world == null) {
+                continue;
+            }
+            long chunkKey = batch.getKey().chunkKey();
+            List<SpecialVillagerRegistry.Entry> entries = batch.getValue();
+            scheduler.runAtChunk(world, (int) chunkKey, (int) (chunkKey >>> 32), () -> {
+                for (SpecialVillagerRegistry.Entry entry : entries) {
+                    if (scheduler.isOwnedByCurrentThread(entry.getVillager())) {
+                        processEntry(entry);
+                    } else {
+                        // Villager hat inzwischen die Region gewechselt
+                        scheduler.runForEntity(entry.getVillager(), () -> processEntry(entry));
                     }
                 }
-                
-                // Nächsten Spieler in der Nähe finden
-                Player nearestPlayer = findNearestPlayer(villager);
-                
-                if (nearestPlayer != null) {
-                    // Villager zum Spieler drehen lassen (ohne Position zu ändern)
-                    lookAtPlayer(villager, nearestPlayer, originalPosition);
-                }
-            }
-        });
+            });
+        }
+        regionBatches.clear();
+    }
+    
+    /**
+     * Verarbeitet einen einzelnen Villager (im Thread des Villagers)
+     * 
+     * @param entry Der Registereintrag des Villagers
+     */
+    private void processEntry(SpecialVillagerRegistry.Entry entry) {
+        Villager villager = entry.getVillager();
+        if (!villager.isValid()) {
+            // Entity wurde entfernt ohne dass ein Event ankam
+            villagerRegistry.unregister(villager);
+            return;
+        }
+        
+        Scratch local = scratch.get();
+        Location position = villager.getLocation(local.villagerLocation);
+        
+        // Nächsten Spieler in der Nähe finden
+        Player nearestPlayer = findNearestPlayer(entry, position, local);
+        
+        if (nearestPlayer != null) {
+            // Villager zum Spieler drehen lassen (ohne Position zu ändern)
+            lookAtPlayer(villager, nearestPlayer, position, local);
+        }
     }
     
     /**
      * Findet den nächsten Spieler in der Nähe des Villagers
      * 
-     * @param villager Der Villager
+     * Es werden nur die Spieler aus den umliegenden Chunks geprüft, verglichen
+     * wird über die quadrierte Entfernung (keine Wurzel pro Spieler).
+     * 
+     * @param entry Der Registereintrag des Villagers
+     * @param position Die Position des Villagers
+     * @param local Wiederverwendete Objekte des aktuellen Threads
      * @return Der nächste Spieler oder null wenn keiner in der Nähe ist
      */
-    private Player findNearestPlayer(Villager villager) {
-        Location villagerLocation = villager.getLocation();
+    private Player findNearestPlayer(SpecialVillagerRegistry.Entry entry, Location position, Scratch local) {
+        List<Player> nearbyPlayers = local.nearbyPlayers;
+        interestMap.collectNearbyPlayers(entry.getWorldId(), entry.getChunkX(), entry.getChunkZ(), nearbyPlayers);
+        
         Player nearestPlayer = null;
-        double nearestDistance = maxLookDistance;
+        double nearestDistanceSquared = maxLookDistanceSquared;
         
-        // Alle Spieler in der Welt durchgehen
-        for (Player player : villager.getWorld().getPlayers()) {
-            // Entfernung berechnen
-            double distance = player.getLocation().distance(villagerLocation);
+        for (Player player : nearbyPlayers) {
+            // Unter Folia nur Spieler aus der eigenen Region betrachten
+            if (!scheduler.isOwnedByCurrentThread(player)) {
+                continue;
+            }
+            
+            Location location = player.getLocation(local.playerLocation);
+            double dx = location.getX() - position.getX();
+            double dy = location.getY() - position.getY();
+            double dz = location.getZ() - position.getZ();
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
             
             // Prüfen ob Spieler näher ist als der bisherige nächste
-            if (distance < nearestDistance) {
+            if (distanceSquared < nearestDistanceSquared) {
                 nearestPlayer = player;
-                nearestDistance = distance;
+                nearestDistanceSquared = distanceSquared;
             }
         }
         
+        nearbyPlayers.clear();
         return nearestPlayer;
     }
     
@@ -120,53 +241,118 @@ public class VillagerLookTask extends BukkitRunnable {
      * 
      * @param villager Der Villager
      * @param player Der Spieler
-     * @param fixedPosition Die feste Position des Villagers (darf nicht verändert werden)
+     * @param fixedPosition Die aktuelle Position des Villagers
+     * @param local Wiederverwendete Objekte des aktuellen Threads
      */
-    private void lookAtPlayer(Villager villager, Player player, Location fixedPosition) {
-        Location playerLoc = player.getLocation();
-        
-        // Vektor vom Villager zum Spieler berechnen
-        Vector direction = playerLoc.toVector().subtract(fixedPosition.toVector());
+    private void lookAtPlayer(Villager villager, Player player, Location fixedPosition, Scratch local) {
+        Location playerLoc = player.getLocation(local.playerLocation);
         
-        // Y-Komponente ignorieren (nur horizontale Drehung)
-        direction.setY(0);
-        direction.normalize();
+        // Horizontale Richtung vom Villager zum Spieler (Y wird ignoriert)
+        double dx = playerLoc.getX() - fixedPosition.getX();
+        double dz = playerLoc.getZ() - fixedPosition.getZ();
         
         // Yaw berechnen (horizontale Drehung)
-        double yaw = Math.toDegrees(Math.atan2(-direction.getX(), direction.getZ()));
+        double yaw = Math.toDegrees(Math.atan2(-dx, dz));
         
         // Pitch berechnen (vertikale Drehung) - leicht nach unten schauen da Spieler meist höher sind
         double heightDiff = playerLoc.getY() - fixedPosition.getY();
-        double horizontalDistance = Math.sqrt(direction.getX() * direction.getX() + direction.getZ() * direction.getZ());
+        double horizontalDistance = Math.sqrt(dx * dx + dz * dz);
         double pitch = Math.toDegrees(Math.atan2(-heightDiff, horizontalDistance));
         
         // Pitch begrenzen für realistisches Aussehen
         pitch = Math.max(-30, Math.min(30, pitch));
         
-        // Neue Location mit angepasster Blickrichtung erstellen (Position bleibt gleich)
-        Location newLoc = fixedPosition.clone();
-        newLoc.setYaw((float) yaw);
-        newLoc.setPitch((float) pitch);
+        // Nur drehen wenn sich die Blickrichtung merklich ändert (spart Rotations-Pakete)
+        float currentYaw = fixedPosition.getYaw();
+        float yawDelta = Math.abs(((float) yaw - currentYaw) % 360.0f);
+        if (Math.min(yawDelta, 360.0f - yawDelta) < 1.0f && Math.abs((float) pitch - fixedPosition.getPitch()) < 1.0f) {
+            return;
+        }
         
-        // Villager teleportieren (mit neuer Blickrichtung, aber fester Position)
-        villager.teleport(newLoc);
+        villager.setRotation((float) yaw, (float) pitch);
+    }
+    
+    /**
+     * Stoppt die Task
+     */
+    public void cancel() {
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+    
+    /**
+     * Prüft ob die Task gestoppt wurde
+     * 
+     * @return true wenn gestoppt
+     */
+    public boolean isCancelled() {
+        return handle == null || handle.isCancelled();
+    }
+    
+    /**
+     * Gibt die Anzahl der im aktuellen Durchlauf noch offenen Villager zurück
+     * 
+     * @return Rückstand des aktuellen Durchlaufs
+     */
+    public int getBacklog() {
+        return Math.max(0, cycle.size() - cursor);
+    }
+    
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+    
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+    
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+    
+    public long getTickBudgetNanos() {
+        return tickBudgetNanos;
+    }
+    
+    public long getCompletedCycles() {
+        return completedCycles;
+    }
+    
+    public long getOverrunCycles() {
+        return overrunCycles;
     }
     
     /**
      * Startet die VillagerLookTask
      * 
      * @param plugin Das Plugin
-     * @param shopVillagerManager Der Shop-Villager-Manager
-     * @param atmVillagerManager Der ATM-Villager-Manager
+     * @param villagerRegistry Das Register der Shop- und ATM-Villager
+     * @param interestMap Die Chunks mit Spielern in Blickweite
      * @param maxLookDistance Maximale Entfernung zum Spieler schauen
-     * @param updateInterval Update-Intervall in Ticks
+     * @param updateInterval Minimaler Abstand zwischen zwei Durchläufen in Ticks
      * @return Die gestartete Task
      */
-    public static VillagerLookTask start(SimpleEcoPlugin plugin, ShopVillagerManager shopVillagerManager,
-                                        AtmVillagerManager atmVillagerManager, double maxLookDistance, 
-                                        long updateInterval) {
-        VillagerLookTask task = new VillagerLookTask(plugin, shopVillagerManager, atmVillagerManager, maxLookDistance);
-        task.runTaskTimer(plugin, 20L, updateInterval); // Start nach 1 Sekunde, dann alle updateInterval Ticks
+    public static VillagerLookTask start(SimpleEcoPlugin plugin, SpecialVillagerRegistry villagerRegistry,
+                                        VillagerInterestMap interestMap, double maxLookDistance, long updateInterval) {
+        VillagerLookTask task = new VillagerLookTask(plugin, villagerRegistry, interestMap, maxLookDistance, updateInterval);
+        // Start nach 1 Sekunde, dann jeden Tick (zeitlich aufgeteilt)
+        task.handle = plugin.getPluginScheduler().runGlobalTimer(task, 20L, 1L);
         return task;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Chunk einer Welt als Schlüssel für die Stapel pro Region
+     */
+    private record ChunkRef(UUID worldId, long chunkKey) {
+    }
+    
+    /**
+     * Wiederverwendete Objekte eines Threads
+     */
+    private static class Scratch {
+        private final List<Player> nearbyPlayers = new ArrayList<>();
+        private final Location villagerLocation = new Location(null, 0, 0, 0);
+        private final Location playerLocation = new Location(null, 0, 0, 0);
+    }
+}
\ No newline at end of file
@@ -2,8 +2,11 @@ package de.simpleeco.trading;
 
 import de.simpleeco.SimpleEcoPlugin;
 import de.simpleeco.config.ConfigManager;
+import de.simpleeco.currency.BalanceChangeCause;
 import de.simpleeco.currency.BasicCurrency;
+import de.simpleeco.database.TransactionType;
 import de.simpleeco.pricing.PriceManager;
+import de.simpleeco.scheduler.PluginScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -13,10 +16,15 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Verwaltet das Villager-Trading-Interface
@@ -34,12 +42,34 @@ public class CustomVillagerTrader {
     // Cache für geöffnete Trading-Menüs
     private final ConcurrentHashMap<Player, TradingSession> activeSessions = new ConcurrentHashMap<>();
     
+    // Serialisierte Abarbeitung der Handelsaufträge pro Spieler
+    private final TradeQueue tradeQueue;
+    
+    // Führt Inventar-Zugriffe im Thread des Spielers aus (Haupt-Thread bzw. Folia-Region)
+    private final PluginScheduler scheduler;
+    
+    // Katalog mit Kategorien und Such-Index (wird beim Laden der Konfiguration neu aufgebaut)
+    private volatile TradeCatalog catalog;
+    
+    // Spieler, deren nächste Chat-Nachricht als Suchbegriff gilt (Kategorie bleibt erhalten)
+    private final ConcurrentHashMap<UUID, PendingSearch> pendingSearches = new ConcurrentHashMap<>();
+    
     public CustomVillagerTrader(SimpleEcoPlugin plugin, BasicCurrency currency, 
                                PriceManager priceManager, ConfigManager configManager) {
         this.plugin = plugin;
         this.currency = currency;
         this.priceManager = priceManager;
         this.configManager = configManager;
+        this.tradeQueue = new TradeQueue(plugin, this, configManager.getTradeCoalesceWindowTicks());
+        this.scheduler = plugin.getPluginScheduler();
+        rebuildCatalog();
+    }
+    
+    /**
+     * Baut den Handelskatalog aus der aktuellen Konfiguration neu auf
+     */
+    public void rebuildCatalog() {
+        this.catalog = new TradeCatalog(configManager.getItemPrices(), plugin.getItemNameLocalizer()::getAllNames);
     }
     
     /**
@@ -48,15 +78,29 @@ public class CustomVillagerTrader {
      * @param player Der Spieler
      */
     public void openTradingMenu(Player player) {
+        openTradingMenu(player, TradeCatalog.ALL_CATEGORIES, null);
+    }
+    
+    /**
+     * Öffnet das Trading-Menü mit vorgegebener Kategorie und Suche
+     * 
+     * @param player Der Spieler
+     * @param category Die ausgewählte Kategorie
+     * @param search Der Suchbegriff (null = keine Suche)
+     */
+    private void openTradingMenu(Player player, String category, String search) {
         Inventory inventory = Bukkit.createInventory(null, 54, configManager.getMenuTitle());
         
         TradingSession session = new TradingSession(player, inventory);
+        session.setCategory(category);
+        session.setSearch(search);
+        applyFilter(session);
         activeSessions.put(player, session);
         
         // Menü asynchron füllen
         populateMenu(session).thenRun(() -> {
-            // Menü öffnen (muss im Haupt-Thread passieren)
-            Bukkit.getScheduler().runTask(plugin, () -> {
+            // Menü öffnen (muss im Thread des Spielers passieren)
+            plugin.getPluginScheduler().runForEntity(player, () -> {
                 if (player.isOnline()) {
                     player.openInventory(inventory);
                 }
@@ -76,16 +120,8 @@ public class CustomVillagerTrader {
         // Inventar leeren
         inventory.clear();
         
-        // Liste aller handelbaren Items (nur Items die kaufbar oder verkaufbar sind)
-        List<Material> allTradeableItems = configManager.getItemPrices().entrySet()
-            .stream()
-            .filter(entry -> entry.getValue().isBuyable() || entry.getValue().isSellable())
-            .map(Map.Entry::getKey)
-            .sorted((a, b) -> a.name().compareTo(b.name()))
-            .toList();
-        
-        // Items in Session speichern und Seitenzahl berechnen
-        session.setAllTradeableItems(allTradeableItems);
+        // Gefilterte Item-Liste der Session (wird nur bei Filter-Änderung neu berechnet)
+        List<Material> allTradeableItems = session.getAllTradeableItems();
         
         // Aktuelle Seite validieren
         if (session.getCurrentPage() >= session.getTotalPages()) {
@@ -99,16 +135,18 @@ public class CustomVillagerTrader {
         
         List<Material> pageItems = allTradeableItems.subList(startIndex, endIndex);
         List<CompletableFuture<Void>> itemFutures = new ArrayList<>();
+        Executor playerExecutor = scheduler.entityExecutor(session.getPlayer());
         
         int slot = 0;
         for (Material material : pageItems) {
             final int itemSlot = slot;
-            CompletableFuture<Void> itemFuture = createTradeItem(material)
-                .thenAccept(itemStack -> {
+            CompletableFuture<Void> itemFuture = createTradeItem(material, session.getPlayer())
+                .thenAcceptAsync(itemStack -> {
+                    // Inventar nur im Thread des Spielers verändern
                     if (itemStack != null) {
                         inventory.setItem(itemSlot, itemStack);
                     }
-                });
+                }, playerExecutor);
             
             itemFutures.add(itemFuture);
             slot++;
@@ -120,13 +158,24 @@ public class CustomVillagerTrader {
         return CompletableFuture.allOf(itemFutures.toArray(new CompletableFuture[0]));
     }
     
+    /**
+     * Ermittelt die Items der Session anhand von Kategorie und Suchbegriff
+     * 
+     * @param session Die Trading-Session
+     */
+    private void applyFilter(TradingSession session) {
+        session.setAllTradeableItems(catalog.query(session.getCategory(), session.getSearch()));
+        session.setCurrentPage(0);
+    }
+    
     /**
      * Erstellt ein ItemStack für ein handelbares Item mit Preisinformationen
      * 
      * @param material Das Material
+     * @param player Der Spieler (bestimmt die Sprache des Item-Namens)
      * @return CompletableFuture mit dem ItemStack
      */
-    private CompletableFuture<ItemStack> createTradeItem(Material material) {
+    private CompletableFuture<ItemStack> createTradeItem(Material material, Player player) {
         return priceManager.getPriceInfo(material).thenApply(priceInfo -> {
             if (priceInfo == null) {
                 return null;
@@ -142,7 +191,7 @@ public class CustomVillagerTrader {
             
             if (meta != null) {
                 // Name setzen
-                meta.setDisplayName("§f§l" + getGermanItemName(material));
+                meta.setDisplayName("§f§l" + getItemName(material, player));
                 
                 // Lore mit Preisinformationen
                 List<String> lore = new ArrayList<>();
@@ -238,6 +287,12 @@ public class CustomVillagerTrader {
             List<String> pageInfoLore = new ArrayList<>();
             pageInfoLore.add("§7");
             pageInfoLore.add("§7Zeigt " + session.getAllTradeableItems().size() + " handelbare Items");
+            if (!TradeCatalog.ALL_CATEGORIES.equals(session.getCategory())) {
+                pageInfoLore.add("§7Kategorie: §b" + session.getCategory());
+            }
+            if (session.getSearch() != null) {
+                pageInfoLore.add("§7Suche: §d" + session.getSearch());
+            }
             pageInfoLore.add("§7auf " + session.getTotalPages() + " Seiten");
             pageInfoMeta.setLore(pageInfoLore);
             pageInfo.setItemMeta(pageInfoMeta);
@@ -265,6 +320,56 @@ public class CustomVillagerTrader {
         }
         inventory.setItem(47, infoItem);
         
+        // Alles-verkaufen-Button
+        ItemStack sellAllItem = new ItemStack(Material.HOPPER);
+        ItemMeta sellAllMeta = sellAllItem.getItemMeta();
+        if (sellAllMeta != null) {
+            sellAllMeta.setDisplayName("§6§lAlles verkaufen");
+            List<String> sellAllLore = new ArrayList<>();
+            sellAllLore.add("§7");
+            sellAllLore.add("§7Verkauft alle verkaufbaren Items");
+            sellAllLore.add("§7aus deinem Inventar auf einmal");
+            sellAllLore.add("§7");
+            sellAllLore.add("§c§l» Klick: §fAlles verkaufen");
+            sellAllMeta.setLore(sellAllLore);
+            sellAllItem.setItemMeta(sellAllMeta);
+        }
+        inventory.setItem(46, sellAllItem);
+        
+        // Kategorie-Button
+        ItemStack categoryItem = new ItemStack(Material.COMPASS);
+        ItemMeta categoryMeta = categoryItem.getItemMeta();
+        if (categoryMeta != null) {
+            categoryMeta.setDisplayName("§b§lKategorie: §f" + session.getCategory());
+            List<String> categoryLore = new ArrayList<>();
+            categoryLore.add("§7");
+            for (String category : catalog.getCategories()) {
+                categoryLore.add(category.equals(session.getCategory()) ? "§b» " + category : "§7  " + category);
+            }
+            categoryLore.add("§7");
+            categoryLore.add("§a§l» Linksklick: §fNächste Kategorie");
+            categoryLore.add("§c§l» Rechtsklick: §fVorherige Kategorie");
+            categoryMeta.setLore(categoryLore);
+            categoryItem.setItemMeta(categoryMeta);
+        }
+        inventory.setItem(48, categoryItem);
+        
+        // Such-Button
+        ItemStack searchItem = new ItemStack(Material.OAK_SIGN);
+        ItemMeta searchMeta = searchItem.getItemMeta();
+        if (searchMeta != null) {
+            searchMeta.setDisplayName("§d§lSuche");
+            List<String> searchLore = new ArrayList<>();
+            searchLore.add("§7");
+            searchLore.add(session.getSearch() != null ? "§7Aktuell: §d" + session.getSearch() : "§7Keine Suche aktiv");
+            searchLore.add("§7");
+            searchLore.add("§a§l» Linksklick: §fSuchbegriff im Chat eingeben");
+            searchLore.add("§c§l» Rechtsklick: §fSuche zurücksetzen");
+            searchMeta.setLore(searchLore);
+            searchItem.setItemMeta(searchMeta);
+        }
+        inventory.setItem(50, searchItem);
+        
         // Schließen-Button (nur wenn keine nächste Seite verfügbar ist, sonst wird der Slot verwendet)
         if (!session.hasNextPage()) {
             ItemStack closeItem = new ItemStack(Material.BARRIER);
@@ -332,6 +437,43 @@ public class CustomVillagerTrader {
             return; // Nur anzeigen, keine Aktion
         }
         
+        if (slot == 46) { // Alles-verkaufen-Button
+            sellAll(player);
+            return;
+        }
+        
+        if (slot == 48) { // Kategorie-Button
+            int step = clickType.isRightClick() ? -1 : 1;
+            session.setCategory(catalog.cycleCategory(session.getCategory(), step));
+            applyFilter(session);
+            populateMenu(session);
+            return;
+        }
+        
+        if (slot == 50) { // Such-Button
+            if (clickType.isRightClick()) {
+                session.setSearch(null);
+                applyFilter(session);
+                populateMenu(session);
+            } else {
+                long timeoutSeconds = Math.max(1, configManager.getConfig().getLong("trading.searchTimeoutSeconds", 60));
+                PendingSearch pending = new PendingSearch(session.getCategory(),
+                                                          System.currentTimeMillis() + timeoutSeconds * 1000);
+                pendingSearches.put(player.getUniqueId(), pending);
+                player.closeInventory();
+                player.sendMessage(configManager.getMessage("prefix") + 
+                                 "§7Gib einen Suchbegriff in den Chat ein §8(§cabbrechen §8zum Abbrechen)");
+                
+                // Nicht beantwortete Suche verfallen lassen (nur diese, nicht eine neuere)
+                scheduler.runForEntityLater(player, () -> {
+                    if (pendingSearches.remove(player.getUniqueId(), pending) && player.isOnline()) {
+                        player.sendMessage(configManager.getMessage("prefix") + "§7Suche abgelaufen.");
+                    }
+                }, timeoutSeconds * 20L);
+            }
+            return;
+        }
+        
         if (clickedItem == null || clickedItem.getType() == Material.AIR) {
             return;
         }
@@ -357,8 +499,8 @@ public class CustomVillagerTrader {
         int quantity;
         if (isMultiple) {
             if (isSelling) {
-                // Bei Shift-Rechtsklick: Alle verfügbaren Items verkaufen
-                quantity = countItems(player, material);
+                // Bei Shift-Rechtsklick: Alle verfügbaren Items verkaufen (Menge wird bei Ausführung ermittelt)
+                quantity = TradeQueue.TradeOrder.ALL;
             } else {
                 // Bei Shift-Linksklick: 64 Stück kaufen
                 quantity = 64;
@@ -368,9 +510,9 @@ public class CustomVillagerTrader {
         }
         
         if (isBuying && config.isBuyable()) {
-            processBuyTransaction(player, material, quantity);
+            tradeQueue.submit(player, material, TradeQueue.TradeDirection.BUY, quantity);
         } else if (isSelling && config.isSellable()) {
-            processSellTransaction(player, material, quantity);
+            tradeQueue.submit(player, material, TradeQueue.TradeDirection.SELL, quantity);
         } else {
             // Ungültige Aktion
             if (isBuying && !config.isBuyable()) {
@@ -381,55 +523,72 @@ public class CustomVillagerTrader {
         }
     }
     
+    /**
+     * Führt einen (ggf. zusammengefassten) Auftrag aus der Handels-Warteschlange aus
+     * 
+     * Es werden keine Nachrichten gesendet; die Warteschlange meldet das Ergebnis
+     * aller Aufträge eines Stapels gesammelt über {@link #sendTradeSummary}.
+     * 
+     * @param player Der Spieler
+     * @param order Der Auftrag
+     * @return CompletableFuture mit dem Ergebnis des Auftrags
+     */
+    CompletableFuture<TradeQueue.TradeResult> executeOrder(Player player, TradeQueue.TradeOrder order) {
+        if (!player.isOnline()) {
+            return CompletableFuture.completedFuture(TradeQueue.TradeResult.failed(null));
+        }
+        
+        if (order.getDirection() == TradeQueue.TradeDirection.BUY) {
+            return processBuyTransaction(player, order.getMaterial(), order.getQuantity());
+        }
+        
+        if (order.getDirection() == TradeQueue.TradeDirection.SELL_ALL) {
+            return processSellAllTransaction(player);
+        }
+        
+        int quantity = order.isAll() ? countItems(player, order.getMaterial()) : order.getQuantity();
+        return processSellTransaction(player, order.getMaterial(), quantity);
+    }
+    
     /**
      * Verarbeitet eine Kauftransaktion
      * 
      * @param player Der Spieler
      * @param material Das zu kaufende Material
      * @param quantity Die Anzahl
+     * @return CompletableFuture mit dem Ergebnis des Kaufs
      */
-    private void processBuyTransaction(Player player, Material material, int quantity) {
-        priceManager.getBuyPrice(material).thenCompose(price -> {
+    private CompletableFuture<TradeQueue.TradeResult> processBuyTransaction(Player player, Material material, int quantity) {
+        return priceManager.getBuyPrice(material).thenComposeAsync(price -> {
             double totalCost = price * quantity;
             
-            return currency.hasBalance(player, totalCost).thenCompose(hasBalance -> {
-                if (!hasBalance) {
-                    player.sendMessage(configManager.getMessage("prefix") + 
-                                     configManager.getMessage("insufficientFunds"));
-                    return CompletableFuture.completedFuture(false);
+            // Inventar-Platz prüfen
+            if (!hasInventorySpace(player, material, quantity)) {
+                return CompletableFuture.completedFuture(
+                    TradeQueue.TradeResult.failed(configManager.getMessage("inventoryFull")));
+            }
+            
+            // Guthaben-Prüfung und Abbuchung in einem atomaren Schritt (auch gegen Vault, ATM, /eco pay)
+            return currency.withdrawBalance(player, totalCost, BalanceChangeCause.TRADE).thenComposeAsync(newBalance -> {
+                if (Double.isNaN(newBalance)) {
+                    return CompletableFuture.completedFuture(
+                        TradeQueue.TradeResult.failed(configManager.getMessage("insufficientFunds")));
                 }
                 
-                // Inventar-Platz prüfen
-                if (!hasInventorySpace(player, material, quantity)) {
-                    player.sendMessage(configManager.getMessage("prefix") + 
-                                     configManager.getMessage("inventoryFull"));
-                    return CompletableFuture.completedFuture(false);
-                }
+                // Items ins Inventar geben
+                String itemName = getItemName(material, player);
+                player.getInventory().addItem(new ItemStack(material, quantity));
+                plugin.getTransactionLedger().record(player.getUniqueId(), null, TransactionType.BUY,
+                    -totalCost, quantity + "x " + itemName);
                 
-                // Transaktion durchführen
-                return currency.removeBalance(player, totalCost).thenCompose(newBalance -> {
-                    // Items ins Inventar geben
-                    player.getInventory().addItem(new ItemStack(material, quantity));
-                    
-                    // Statistiken aktualisieren
-                    return priceManager.processPurchase(material, quantity).thenApply(v -> {
-                        // Erfolgsnachricht
-                        String message = configManager.getMessage("tradeSuccess") + 
-                                       " §7Gekauft: §e" + quantity + "x " + getGermanItemName(material) + 
-                                       " §7für §e" + currency.formatAmountWithSymbol(totalCost);
-                        player.sendMessage(configManager.getMessage("prefix") + message);
-                        
-                        // Menü aktualisieren
-                        refreshMenu(player);
-                        return true;
-                    });
-                });
-            });
-        }).exceptionally(throwable -> {
-            player.sendMessage(configManager.getMessage("prefix") + 
-                             configManager.getMessage("tradeFailed"));
+                // Statistiken aktualisieren
+                return priceManager.processPurchase(material, quantity).thenApply(v ->
+                    TradeQueue.TradeResult.succeeded(TradeQueue.TradeDirection.BUY, quantity, totalCost,
+                                                     quantity + "x " + itemName));
+            }, scheduler.entityExecutor(player));
+        }, scheduler.entityExecutor(player)).exceptionally(throwable -> {
             plugin.getLogger().severe("Fehler bei Kauftransaktion: " + throwable.getMessage());
-            return false;
+            return TradeQueue.TradeResult.failed(configManager.getMessage("tradeFailed"));
         });
     }
     
@@ -439,55 +598,218 @@ public class CustomVillagerTrader {
      * @param player Der Spieler
      * @param material Das zu verkaufende Material
      * @param quantity Die Anzahl
+     * @return CompletableFuture mit dem Ergebnis des Verkaufs
      */
-    private void processSellTransaction(Player player, Material material, int quantity) {
+    private CompletableFuture<TradeQueue.TradeResult> processSellTransaction(Player player, Material material, int quantity) {
         // Prüfen ob Spieler genügend Items hat und quantity > 0 ist
-        if (quantity <= 0 || !hasItems(player, material, quantity)) {
-            if (quantity <= 0) {
-                player.sendMessage(configManager.getMessage("prefix") + 
-                                 "§cSie haben keine " + getGermanItemName(material) + " zum Verkaufen!");
-            } else {
-                player.sendMessage(configManager.getMessage("prefix") + 
-                                 configManager.getMessage("insufficientItems"));
-            }
-            return;
+        if (quantity <= 0) {
+            return CompletableFuture.completedFuture(TradeQueue.TradeResult.failed(
+                "§cSie haben keine " + getItemName(material, player) + " zum Verkaufen!"));
+        }
+        if (!hasItems(player, material, quantity)) {
+            return CompletableFuture.completedFuture(
+                TradeQueue.TradeResult.failed(configManager.getMessage("insufficientItems")));
         }
         
-        priceManager.getSellPrice(material).thenCompose(price -> {
+        return priceManager.getSellPrice(material).thenComposeAsync(price -> {
+            // Bestand erneut prüfen - das Inventar kann sich seit dem Klick verändert haben
+            if (!hasItems(player, material, quantity)) {
+                return CompletableFuture.completedFuture(
+                    TradeQueue.TradeResult.failed(configManager.getMessage("insufficientItems")));
+            }
+            
             double totalEarnings = price * quantity;
+            String itemName = getItemName(material, player);
             
             // Items aus Inventar entfernen
             removeItems(player, material, quantity);
             
             // Geld hinzufügen
-            return currency.addBalance(player, totalEarnings).thenCompose(newBalance -> {
+            return currency.addBalance(player, totalEarnings, BalanceChangeCause.TRADE).thenCompose(newBalance -> {
+                plugin.getTransactionLedger().record(player.getUniqueId(), null, TransactionType.SELL,
+                    totalEarnings, quantity + "x " + itemName);
+                
                 // Statistiken aktualisieren
-                return priceManager.processSale(material, quantity).thenApply(v -> {
-                    // Erfolgsnachricht
-                    String message = configManager.getMessage("tradeSuccess") + 
-                                   " §7Verkauft: §e" + quantity + "x " + getGermanItemName(material) + 
-                                   " §7für §e" + currency.formatAmountWithSymbol(totalEarnings);
-                    player.sendMessage(configManager.getMessage("prefix") + message);
-                    
-                    // Menü aktualisieren
-                    refreshMenu(player);
-                    return true;
-                });
+                return priceManager.processSale(material, quantity).thenApply(v ->
+                    TradeQueue.TradeResult.succeeded(TradeQueue.TradeDirection.SELL, quantity, totalEarnings,
+                                                     quantity + "x " + itemName));
             });
-        }).exceptionally(throwable -> {
-            player.sendMessage(configManager.getMessage("prefix") + 
-                             configManager.getMessage("tradeFailed"));
+        }, scheduler.entityExecutor(player)).exceptionally(throwable -> {
             plugin.getLogger().severe("Fehler bei Verkaufstransaktion: " + throwable.getMessage());
-            return false;
+            return TradeQueue.TradeResult.failed(configManager.getMessage("tradeFailed"));
+        });
+    }
+    
+    /**
+     * Verkauft alle verkaufbaren Items aus dem Inventar eines Spielers
+     * 
+     * Der Auftrag läuft über die Handels-Warteschlange und damit nie
+     * parallel zu anderen Käufen oder Verkäufen desselben Spielers.
+     * 
+     * @param player Der Spieler
+     */
+    public void sellAll(Player player) {
+        tradeQueue.submit(player, null, TradeQueue.TradeDirection.SELL_ALL, TradeQueue.TradeOrder.ALL);
+    }
+    
+    /**
+     * Verarbeitet einen Sammelverkauf aller verkaufbaren Items
+     * 
+     * Das Inventar wird einmal gescannt, alle Preise werden gemeinsam ermittelt,
+     * der Erlös wird mit einer einzigen Guthabenänderung gutgeschrieben und die
+     * Statistiken aller Materialien werden in einem Schreibvorgang verbucht.
+     * 
+     * @param player Der Spieler
+     * @return CompletableFuture mit dem Ergebnis (erfolgreich wenn mindestens ein Item verkauft wurde)
+     */
+    private CompletableFuture<TradeQueue.TradeResult> processSellAllTransaction(Player player) {
+        String nothingToSell = "§cSie haben keine verkaufbaren Items im Inventar!";
+        
+        // Inventar einmal scannen und verkaufbare Materialien sammeln
+        Map<Material, Integer> sellable = new EnumMap<>(Material.class);
+        for (ItemStack item : player.getInventory().getStorageContents()) {
+            if (item == null || item.getType() == Material.AIR) {
+                continue;
+            }
+            Material material = item.getType();
+            if (sellable.containsKey(material)) {
+                sellable.merge(material, item.getAmount(), Integer::sum);
+                continue;
+            }
+            ConfigManager.ItemPriceConfig config = configManager.getItemPriceConfig(material);
+            if (config != null && config.isSellable()) {
+                sellable.put(material, item.getAmount());
+            }
+        }
+        
+        if (sellable.isEmpty()) {
+            return CompletableFuture.completedFuture(TradeQueue.TradeResult.failed(nothingToSell));
+        }
+        
+        return priceManager.getSellPrices(sellable.keySet()).thenComposeAsync(prices -> {
+            // Items in einem Durchgang entfernen - dabei den aktuellen Inventarstand verwenden
+            Map<Material, Long> sold = new EnumMap<>(Material.class);
+            ItemStack[] contents = player.getInventory().getStorageContents();
+            double totalEarnings = 0.0;
+            int totalItems = 0;
+            
+            for (int i = 0; i < contents.length; i++) {
+                ItemStack item = contents[i];
+                if (item == null) {
+                    continue;
+                }
+                Double price = prices.get(item.getType());
+                if (price == null) {
+                    continue;
+                }
+                
+                int amount = item.getAmount();
+                sold.merge(item.getType(), (long) amount, Long::sum);
+                totalEarnings += price * amount;
+                totalItems += amount;
+                contents[i] = null;
+            }
+            
+            if (sold.isEmpty()) {
+                return CompletableFuture.completedFuture(TradeQueue.TradeResult.failed(nothingToSell));
+            }
+            
+            player.getInventory().setStorageContents(contents);
+            
+            final double earnings = totalEarnings;
+            final int itemCount = totalItems;
+            final String description = itemCount + " Items (" + sold.size() + " Sorten)";
+            
+            // Eine einzige Guthabenänderung und ein Statistik-Schreibvorgang
+            return currency.addBalance(player, earnings, BalanceChangeCause.TRADE)
+                .thenCompose(newBalance -> {
+                    plugin.getTransactionLedger().record(player.getUniqueId(), null, TransactionType.SELL,
+                        earnings, description);
+                    // Geld und Items sind bereits verbucht - ein Statistik-Fehler macht den Verkauf nicht rückgängig
+                    return priceManager.processSales(sold).exceptionally(throwable -> {
+                        plugin.getLogger().warning("Statistiken des Sammelverkaufs nicht gespeichert: " +
+                                                 throwable.getMessage());
+                        return null;
+                    });
+                })
+                .thenApply(v -> TradeQueue.TradeResult.succeeded(TradeQueue.TradeDirection.SELL_ALL,
+                                                                 itemCount, earnings, description));
+        }, scheduler.entityExecutor(player)).exceptionally(throwable -> {
+            plugin.getLogger().severe("Fehler beim Sammelverkauf: " + throwable.getMessage());
+            return TradeQueue.TradeResult.failed(configManager.getMessage("tradeFailed"));
         });
     }
     
+    /**
+     * Sendet eine zusammengefasste Rückmeldung für einen abgearbeiteten Stapel
+     * 
+     * Käufe und Verkäufe werden jeweils zu einer Zeile zusammengefasst, jede
+     * Fehlermeldung erscheint nur einmal, auch wenn mehrere Aufträge scheiterten.
+     * 
+     * @param player Der Spieler
+     * @param results Die Ergebnisse aller Aufträge des Stapels
+     */
+    void sendTradeSummary(Player player, List<TradeQueue.TradeResult> results) {
+        String prefix = configManager.getMessage("prefix");
+        List<TradeQueue.TradeResult> bought = new ArrayList<>();
+        List<TradeQueue.TradeResult> sold = new ArrayList<>();
+        Set<String> errors = new LinkedHashSet<>();
+        
+        for (TradeQueue.TradeResult result : results) {
+            if (!result.success()) {
+                if (result.error() != null) {
+                    errors.add(result.error());
+                }
+            } else if (result.direction() == TradeQueue.TradeDirection.BUY) {
+                bought.add(result);
+            } else {
+                sold.add(result);
+            }
+        }
+        
+        if (!bought.isEmpty()) {
+            player.sendMessage(prefix + configManager.getMessage("tradeSuccess") + 
+                             " §7Gekauft: §e" + describe(bought) + 
+                             " §7für §e" + currency.formatAmountWithSymbol(totalAmount(bought)));
+        }
+        if (!sold.isEmpty()) {
+            player.sendMessage(prefix + configManager.getMessage("tradeSuccess") + 
+                             " §7Verkauft: §e" + describe(sold) + 
+                             " §7für §e" + currency.formatAmountWithSymbol(totalAmount(sold)));
+        }
+        for (String error : errors) {
+            player.sendMessage(prefix + error);
+        }
+    }
+    
+    /**
+     * Beschreibt die gehandelten Items: bei einem Auftrag genau, sonst als Summe
+     */
+    private static String describe(List<TradeQueue.TradeResult> results) {
+        if (results.size() == 1) {
+            return results.get(0).description();
+        }
+        int items = 0;
+        for (TradeQueue.TradeResult result : results) {
+            items += result.items();
+        }
+        return items + " Items (" + results.size() + " Aufträge)";
+    }
+    
+    private static double totalAmount(List<TradeQueue.TradeResult> results) {
+        double total = 0.0;
+        for (TradeQueue.TradeResult result : results) {
+            total += result.amount();
+        }
+        return total;
+    }
+    
     /**
      * Aktualisiert das Trading-Menü eines Spielers
      * 
      * @param player Der Spieler
      */
-    private void refreshMenu(Player player) {
+    void refreshMenu(Player player) {
         TradingSession session = activeSessions.get(player);
         if (session != null) {
             populateMenu(session);
@@ -621,245 +943,68 @@ public class CustomVillagerTrader {
     }
     
     /**
-     * Gibt den deutschen Namen eines Materials zurück
+     * Verarbeitet eine Chat-Eingabe als Suchbegriff, falls der Spieler eine Suche gestartet hat
+     * 
+     * Kann aus dem asynchronen Chat-Thread aufgerufen werden; das Menü wird
+     * anschließend im Thread des Spielers mit den Suchergebnissen neu geöffnet.
+     * 
+     * @param player Der Spieler
+     * @param message Die Chat-Nachricht
+     * @return true wenn die Nachricht als Suchbegriff verwendet wurde
+     */
+    public boolean handleSearchInput(Player player, String message) {
+        PendingSearch pending = pendingSearches.remove(player.getUniqueId());
+        if (pending == null || System.currentTimeMillis() > pending.deadline()) {
+            // Keine oder abgelaufene Suche - Nachricht ist normaler Chat
+            return false;
+        }
+        String category = pending.category();
+        
+        String input = message.trim();
+        String search = input.isEmpty() || input.equalsIgnoreCase("abbrechen") ? null : input;
+        
+        plugin.getPluginScheduler().runForEntity(player, () -> {
+            if (player.isOnline()) {
+                openTradingMenu(player, category, search);
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * Verwirft eine angefangene Suche (z.B. beim Verlassen des Servers)
+     * 
+     * @param playerId UUID des Spielers
+     */
+    public void cancelSearch(UUID playerId) {
+        pendingSearches.remove(playerId);
+    }
+    
+    /**
+     * Verwirft Suche und wartende Handelsaufträge eines Spielers, der den Server verlässt
+     * 
+     * @param playerId UUID des Spielers
+     */
+    public void handlePlayerQuit(UUID playerId) {
+        cancelSearch(playerId);
+        tradeQueue.discard(playerId);
+    }
+    
+    /**
+     * Gibt den lokalisierten Namen eines Materials in der Sprache des Spielers zurück
      * 
      * @param material Das Material
-     * @return Der deutsche Name
+     * @param player Der Spieler
+     * @return Der lokalisierte Name
      */
-    private String getGermanItemName(Material material) {
-        // Deutsche Übersetzungen für alle handelbaren Items
-        return switch (material) {
-            // Traditionelle Lebensmittel
-            case WHEAT -> "Weizen";
-            case CARROT -> "Karotte";
-            case POTATO -> "Kartoffel";
-            case BEETROOT -> "Rote Bete";
-            case APPLE -> "Apfel";
-            case BREAD -> "Brot";
-            case COOKED_BEEF -> "Gebratenes Rindfleisch";
-            case COOKED_PORKCHOP -> "Gebratenes Schweinefleisch";
-            case COOKED_CHICKEN -> "Gebratenes Hühnchen";
-            
-            // Holz und Holzprodukte
-            case OAK_LOG -> "Eichenstamm";
-            case OAK_LEAVES -> "Eichenlaub";
-            case OAK_SAPLING -> "Eichensetzling";
-            case SPRUCE_LOG -> "Fichtenstamm";
-            case SPRUCE_LEAVES -> "Fichtenlaub";
-            case SPRUCE_SAPLING -> "Fichtensetzling";
-            case BIRCH_LOG -> "Birkenstamm";
-            case BIRCH_LEAVES -> "Birkenlaub";
-            case BIRCH_SAPLING -> "Birkensetzling";
-            case JUNGLE_LOG -> "Tropenstamm";
-            case JUNGLE_LEAVES -> "Tropenlaub";
-            case JUNGLE_SAPLING -> "Tropensetzling";
-            case ACACIA_LOG -> "Akazienstamm";
-            case ACACIA_LEAVES -> "Akazienlaub";
-            case ACACIA_SAPLING -> "Akaziensetzling";
-            case DARK_OAK_LOG -> "Schwarzeichenstamm";
-            case DARK_OAK_LEAVES -> "Schwarzeichenlaub";
-            case DARK_OAK_SAPLING -> "Schwarzeichensetzling";
-            case MANGROVE_LOG -> "Mangrovenstamm";
-            case MANGROVE_LEAVES -> "Mangrovenlaub";
-            case MANGROVE_PROPAGULE -> "Mangrovenkeim";
-            case CHERRY_LOG -> "Kirschstamm";
-            case CHERRY_LEAVES -> "Kirschlaub";
-            case CHERRY_SAPLING -> "Kirschsetzling";
-            case BAMBOO_BLOCK -> "Bambusblock";
-            case BAMBOO -> "Bambus";
-            case CRIMSON_STEM -> "Karmesinroter Stamm";
-            case CRIMSON_FUNGUS -> "Karmesinroter Pilz";
-            case CRIMSON_ROOTS -> "Karmesinrote Wurzeln";
-            case WARPED_STEM -> "Wirriger Stamm";
-            case WARPED_FUNGUS -> "Wirriger Pilz";
-            case WARPED_ROOTS -> "Wirrige Wurzeln";
-            
-            // Mob-Drops
-            case BEEHIVE -> "Bienenstock";
-            case BEE_NEST -> "Bienennest";
-            case HONEY_BLOCK -> "Honigblock";
-            case HONEYCOMB_BLOCK -> "Wabenblock";
-            case HONEY_BOTTLE -> "Honigflasche";
-            case EGG -> "Ei";
-            case FEATHER -> "Feder";
-            case LEATHER -> "Leder";
-            case RABBIT_HIDE -> "Kaninchenfell";
-            case TURTLE_EGG -> "Schildkrötenei";
-            case SCUTE -> "Schildkrötenpanzer";
-            case PUFFERFISH -> "Kugelfisch";
-            case INK_SAC -> "Tintenbeutel";
-            case GLOW_INK_SAC -> "Leucht-Tintenbeutel";
-            case BONE -> "Knochen";
-            case ARROW -> "Pfeil";
-            case BONE_MEAL -> "Knochenmehl";
-            case BONE_BLOCK -> "Knochenblock";
-            case STRING -> "Faden";
-            case SPIDER_EYE -> "Spinnenauge";
-            case SLIME_BALL -> "Schleimball";
-            case SLIME_BLOCK -> "Schleimblock";
-            case GUNPOWDER -> "Schwarzpulver";
-            case PHANTOM_MEMBRANE -> "Phantomhaut";
-            case ROTTEN_FLESH -> "Verrottetes Fleisch";
-            case BLAZE_ROD -> "Lohenrute";
-            case BLAZE_POWDER -> "Lohenpulver";
-            case MAGMA_CREAM -> "Magmacreme";
-            case GHAST_TEAR -> "Ghastträne";
-            case ENDER_PEARL -> "Enderperle";
-            case ENDER_EYE -> "Enderauge";
-            case SHULKER_SHELL -> "Shulkerschale";
-            case DRAGON_BREATH -> "Drachenatem";
-            
-            // Blumen und Pflanzen
-            case ALLIUM -> "Zierlauch";
-            case AZURE_BLUET -> "Porzellansternchen";
-            case BLUE_ORCHID -> "Blaue Orchidee";
-            case CORNFLOWER -> "Kornblume";
-            case DANDELION -> "Löwenzahn";
-            case LILAC -> "Flieder";
-            case LILY_OF_THE_VALLEY -> "Maiglöckchen";
-            case PEONY -> "Pfingstrose";
-            case POPPY -> "Mohn";
-            case ROSE_BUSH -> "Rosenstrauch";
-            case SUNFLOWER -> "Sonnenblume";
-            case RED_TULIP -> "Rote Tulpe";
-            case ORANGE_TULIP -> "Orange Tulpe";
-            case WHITE_TULIP -> "Weiße Tulpe";
-            case PINK_TULIP -> "Rosa Tulpe";
-            case OXEYE_DAISY -> "Margerite";
-            case DEAD_BUSH -> "Toter Busch";
-            case CACTUS -> "Kaktus";
-            case FERN -> "Farn";
-            case LARGE_FERN -> "Großer Farn";
-            case SHORT_GRASS -> "Gras";
-            case TALL_GRASS -> "Hohes Gras";
-            case LILY_PAD -> "Seerosenblatt";
-            
-            // Spezielle Pflanzen
-            case AZALEA -> "Azalee";
-            case FLOWERING_AZALEA -> "Blühende Azalee";
-            case HANGING_ROOTS -> "Hängewurzeln";
-            case MOSS_BLOCK -> "Moosblock";
-            case MOSS_CARPET -> "Moosteppich";
-            case CHORUS_FLOWER -> "Chorusblüte";
-            case CHORUS_PLANT -> "Choruspflanze";
-            case BIG_DRIPLEAF -> "Großes Tropfblatt";
-            case SMALL_DRIPLEAF -> "Kleines Tropfblatt";
-            case BROWN_MUSHROOM -> "Brauner Pilz";
-            case BROWN_MUSHROOM_BLOCK -> "Brauner Pilzblock";
-            case RED_MUSHROOM -> "Roter Pilz";
-            case RED_MUSHROOM_BLOCK -> "Roter Pilzblock";
-            case MUSHROOM_STEM -> "Pilzstiel";
-            case NETHER_SPROUTS -> "Nether-Sprossen";
-            case TWISTING_VINES -> "Gedrehte Ranken";
-            case WEEPING_VINES -> "Weinende Ranken";
-            case VINE -> "Ranken";
-            case SHROOMLIGHT -> "Pilzlicht";
-            case GLOW_BERRIES -> "Leuchtbeeren";
-            case GLOW_LICHEN -> "Leuchtflechte";
-            case SPORE_BLOSSOM -> "Sporenblüte";
-            case SWEET_BERRY_BUSH -> "Süßbeerenstrauch";
-            
-            // Blöcke und Baumaterialien
-            case ANDESITE -> "Andesit";
-            case DIORITE -> "Diorit";
-            case GRANITE -> "Granit";
-            case TUFF -> "Tuffstein";
-            case CALCITE -> "Kalzit";
-            case BLACKSTONE -> "Schwarzstein";
-            case POLISHED_BLACKSTONE -> "Polierter Schwarzstein";
-            case POLISHED_BLACKSTONE_BRICKS -> "Polierte Schwarzstein-Ziegel";
-            case DRIPSTONE_BLOCK -> "Tropfstein";
-            case POINTED_DRIPSTONE -> "Spitzer Tropfstein";
-            case MAGMA_BLOCK -> "Magmablock";
-            case SAND -> "Sand";
-            case RED_SAND -> "Roter Sand";
-            case SANDSTONE -> "Sandstein";
-            case RED_SANDSTONE -> "Roter Sandstein";
-            case TERRACOTTA -> "Terrakotta";
-            case CLAY -> "Ton";
-            case BRICK -> "Ziegel";
-            case GRAVEL -> "Kies";
-            case DIRT -> "Erde";
-            case COARSE_DIRT -> "Grobe Erde";
-            case GRASS_BLOCK -> "Grasblock";
-            case SOUL_SAND -> "Seelensand";
-            case SOUL_SOIL -> "Seelenerde";
-            case BLUE_ICE -> "Blaues Eis";
-            case ICE -> "Eis";
-            case PACKED_ICE -> "Packeis";
-            case SNOW_BLOCK -> "Schneeblock";
-            
-            // Seltene Blöcke
-            case NETHER_BRICKS -> "Netherziegel";
-            case QUARTZ_BLOCK -> "Quarzblock";
-            case GLOWSTONE -> "Glowstone";
-            case OBSIDIAN -> "Obsidian";
-            case CRYING_OBSIDIAN -> "Weinender Obsidian";
-            case REDSTONE_BLOCK -> "Redstone-Block";
-            case CHAIN -> "Kette";
-            case IRON_BARS -> "Eisengitter";
-            case LANTERN -> "Laterne";
-            case SOUL_LANTERN -> "Seelenlaterne";
-            case TORCH -> "Fackel";
-            case SOUL_TORCH -> "Seelenfackel";
-            case TNT -> "TNT";
-            case SCAFFOLDING -> "Gerüst";
-            case LEAD -> "Leine";
-            case NAME_TAG -> "Namensschild";
-            
-            // Funktionale Blöcke
-            case ENDER_CHEST -> "Endertruhe";
-            case BARREL -> "Fass";
-            case TRAPPED_CHEST -> "Redstone-Truhe";
-            case BLAST_FURNACE -> "Schmelzofen";
-            case SMOKER -> "Räucherofen";
-            case CAMPFIRE -> "Lagerfeuer";
-            case COMPOSTER -> "Komposter";
-            case GRINDSTONE -> "Schleifstein";
-            case CARTOGRAPHY_TABLE -> "Kartentisch";
-            case SMITHING_TABLE -> "Schmiedetisch";
-            case FLETCHING_TABLE -> "Bognerisch";
-            case LOOM -> "Webstuhl";
-            case LECTERN -> "Lesepult";
-            case ANVIL -> "Amboss";
-            
-            // Erze
-            case COAL_ORE -> "Kohleerz";
-            case IRON_ORE -> "Eisenerz";
-            case COPPER_ORE -> "Kupfererz";
-            case GOLD_ORE -> "Golderz";
-            case DIAMOND_ORE -> "Diamanterz";
-            case EMERALD_ORE -> "Smaragderz";
-            case NETHER_QUARTZ_ORE -> "Netherquarzerz";
-            case NETHER_GOLD_ORE -> "Nethergolderz";
-            case LAPIS_ORE -> "Lapislazulierz";
-            case ANCIENT_DEBRIS -> "Antike Trümmer";
-            case REDSTONE_ORE -> "Redstone-Erz";
-            
-            // Ingots und raffinierte Materialien
-            case COAL -> "Kohle";
-            case IRON_INGOT -> "Eisenbarren";
-            case COPPER_INGOT -> "Kupferbarren";
-            case GOLD_INGOT -> "Goldbarren";
-            case DIAMOND -> "Diamant";
-            case EMERALD -> "Smaragd";
-            case QUARTZ -> "Netherquarz";
-            case LAPIS_LAZULI -> "Lapislazuli";
-            case REDSTONE -> "Redstone-Staub";
-            
-            // Spawn Eggs
-            case ALLAY_SPAWN_EGG -> "Allay-Spawn-Ei";
-            // case ARMADILLO_SPAWN_EGG -> "Gürteltier-Spawn-Ei"; // Not available in this version
-            case ENDERMITE_SPAWN_EGG -> "Endermilbe-Spawn-Ei";
-            case FROG_SPAWN_EGG -> "Frosch-Spawn-Ei";
-            case GOAT_SPAWN_EGG -> "Ziegen-Spawn-Ei";
-            case ZOMBIE_SPAWN_EGG -> "Zombie-Spawn-Ei";
-            case SHULKER_SPAWN_EGG -> "Shulker-Spawn-Ei";
-            case STRIDER_SPAWN_EGG -> "Schreiter-Spawn-Ei";
-            case VILLAGER_SPAWN_EGG -> "Dorfbewohner-Spawn-Ei";
-            
-            default -> material.name().replace("_", " ").toLowerCase();
-        };
+    private String getItemName(Material material, Player player) {
+        return plugin.getItemNameLocalizer().getName(material, player);
+    }
+    
+    /**
+     * Angefangene Suche: Kategorie des Menüs und Ablaufzeitpunkt (Millisekunden)
+     */
+    private record PendingSearch(String category, long deadline) {
     }
     
     /**
@@ -871,6 +1016,8 @@ public class CustomVillagerTrader {
         private int currentPage;
         private int totalPages;
         private List<Material> allTradeableItems;
+        private String category;
+        private String search;
         
         public TradingSession(Player player, Inventory inventory) {
             this.player = player;
@@ -878,6 +1025,7 @@ public class CustomVillagerTrader {
             this.currentPage = 0;
             this.totalPages = 1;
             this.allTradeableItems = new ArrayList<>();
+            this.category = TradeCatalog.ALL_CATEGORIES;
         }
         
         public Player getPlayer() {
@@ -914,6 +1062,22 @@ public class CustomVillagerTrader {
             this.totalPages = Math.max(1, (int) Math.ceil((double) this.allTradeableItems.size() / 45.0));
         }
         
+        public String getCategory() {
+            return category;
+        }
+        
+        public void setCategory(String category) {
+            this.category = category != null ? category : TradeCatalog.ALL_CATEGORIES;
+        }
+        
+        public String getSearch() {
+            return search;
+        }
+        
+        public void setSearch(String search) {
+            this.search = search;
+        }
+        
         public boolean hasNextPage() {
             return currentPage < totalPages - 1;
         }
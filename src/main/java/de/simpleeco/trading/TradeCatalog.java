@@ -0,0 +1,219 @@
+package de.simpleeco.trading;
+
+import de.simpleeco.config.ConfigManager;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Unveränderlicher Katalog aller handelbaren Items
+ *
+ * Wird einmal beim Laden der Konfiguration aufgebaut. Kategorien werden als
+ * BitSets über die Katalog-Indizes gehalten, die Textsuche läuft über einen
+ * Präfix-Baum (Trie) über die Wörter der Anzeigenamen (alle geladenen Sprachen)
+ * und der Material-Namen. Suchanfragen werden dadurch komplett aus dem Speicher
+ * beantwortet, ohne den Katalog zu durchlaufen.
+ */
+public class TradeCatalog {
+
+    /** Pseudo-Kategorie für alle Items */
+    public static final String ALL_CATEGORIES = "Alle";
+
+    // Alle handelbaren Items, nach Material-Name sortiert
+    private final List<Material> items;
+
+    // Kategorie -> Katalog-Indizes (Reihenfolge wie in der Konfiguration)
+    private final Map<String, BitSet> categoryIndex;
+
+    // Kategorie-Namen inkl. "Alle" an erster Stelle
+    private final List<String> categories;
+
+    // Präfix-Baum über alle Suchwörter
+    private final TrieNode searchRoot = new TrieNode();
+
+    // Alle Katalog-Indizes gesetzt
+    private final BitSet allItems;
+
+    /**
+     * Baut den Katalog aus der aktuellen Preiskonfiguration auf
+     *
+     * @param itemPrices Die Preiskonfiguration aller Items
+     * @param displayNames Liefert die Anzeigenamen eines Materials (alle Sprachen)
+     */
+    public TradeCatalog(Map<Material, ConfigManager.ItemPriceConfig> itemPrices, Function<Material, List<String>> displayNames) {
+        // Nur Items die kaufbar oder verkaufbar sind
+        List<Material> tradeable = new ArrayList<>();
+        for (Map.Entry<Material, ConfigManager.ItemPriceConfig> entry : itemPrices.entrySet()) {
+            if (entry.getValue().isBuyable() || entry.getValue().isSellable()) {
+                tradeable.add(entry.getKey());
+            }
+        }
+        tradeable.sort((a, b) -> a.name().compareTo(b.name()));
+        this.items = Collections.unmodifiableList(tradeable);
+
+        this.allItems = new BitSet(items.size());
+        this.allItems.set(0, items.size());
+
+        Map<String, BitSet> byCategory = new LinkedHashMap<>();
+        for (int index = 0; index < items.size(); index++) {
+            Material material = items.get(index);
+
+            // Kategorie-Index
+            String category = itemPrices.get(material).getCategory();
+            byCategory.computeIfAbsent(category, key -> new BitSet(items.size())).set(index);
+
+            // Such-Index: Wörter der Anzeigenamen und des Material-Namens
+            for (String displayName : displayNames.apply(material)) {
+                for (String token : tokenize(displayName)) {
+                    insert(token, index);
+                }
+            }
+            for (String token : tokenize(material.name())) {
+                insert(token, index);
+            }
+        }
+        this.categoryIndex = byCategory;
+
+        List<String> categoryNames = new ArrayList<>();
+        categoryNames.add(ALL_CATEGORIES);
+        categoryNames.addAll(byCategory.keySet());
+        this.categories = Collections.unmodifiableList(categoryNames);
+    }
+
+    /**
+     * Sucht alle Items einer Kategorie, deren Namen zu allen Suchwörtern passen
+     *
+     * Jedes Suchwort muss Präfix eines Wortes in einem Anzeigenamen oder im
+     * Material-Namen sein ("eisen" findet z.B. "Eisenbarren", "iron ing" findet IRON_INGOT).
+     *
+     * @param category Die Kategorie (null oder "Alle" = alle Kategorien)
+     * @param search Der Suchtext (null oder leer = keine Einschränkung)
+     * @return Die passenden Items in Katalog-Reihenfolge
+     */
+    public List<Material> query(String category, String search) {
+        BitSet result = (BitSet) allItems.clone();
+
+        if (category != null && !ALL_CATEGORIES.equals(category)) {
+            BitSet categoryItems = categoryIndex.get(category);
+            if (categoryItems == null) {
+                return Collections.emptyList();
+            }
+            result.and(categoryItems);
+        }
+
+        if (search != null) {
+            for (String token : tokenize(search)) {
+                TrieNode node = find(token);
+                if (node == null) {
+                    return Collections.emptyList();
+                }
+                result.and(node.matches);
+            }
+        }
+
+        List<Material> materials = new ArrayList<>(result.cardinality());
+        for (int index = result.nextSetBit(0); index >= 0; index = result.nextSetBit(index + 1)) {
+            materials.add(items.get(index));
+        }
+        return materials;
+    }
+
+    /**
+     * Gibt alle Kategorien zurück ("Alle" an erster Stelle)
+     *
+     * @return Liste der Kategorie-Namen
+     */
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Gibt die Kategorie nach (oder vor) der angegebenen zurück
+     *
+     * @param current Die aktuelle Kategorie
+     * @param step +1 für die nächste, -1 für die vorherige Kategorie
+     * @return Die benachbarte Kategorie (zyklisch)
+     */
+    public String cycleCategory(String current, int step) {
+        int index = categories.indexOf(current);
+        if (index < 0) {
+            index = 0;
+        }
+        int size = categories.size();
+        return categories.get(((index + step) % size + size) % size);
+    }
+
+    /**
+     * Gibt die Anzahl aller handelbaren Items zurück
+     *
+     * @return Anzahl der Items im Katalog
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Fügt ein Suchwort in den Präfix-Baum ein
+     *
+     * Jeder Knoten auf dem Pfad merkt sich den Katalog-Index, damit eine
+     * Präfix-Anfrage direkt am Zielknoten beantwortet werden kann.
+     */
+    private void insert(String token, int index) {
+        TrieNode node = searchRoot;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.children.computeIfAbsent(token.charAt(i), key -> new TrieNode());
+            node.matches.set(index);
+        }
+    }
+
+    /**
+     * Sucht den Knoten zu einem Präfix
+     */
+    private TrieNode find(String prefix) {
+        TrieNode node = searchRoot;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Zerlegt einen Text in kleingeschriebene Wörter (Trennung an allen
+     * Zeichen außer Buchstaben und Ziffern, z.B. Leerzeichen und Unterstriche)
+     */
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Knoten im Präfix-Baum
+     */
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final BitSet matches = new BitSet();
+    }
+}
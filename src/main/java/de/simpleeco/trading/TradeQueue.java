@@ -0,0 +1,276 @@
+package de.simpleeco.trading;
+
+import de.simpleeco.SimpleEcoPlugin;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Serialisierte Handels-Warteschlange pro Spieler
+ *
+ * Klicks im Trading-Menü starten keine eigenen Future-Ketten mehr, sondern werden
+ * pro Spieler eingereiht und streng nacheinander ausgeführt. Dadurch können sich
+ * Guthaben-Prüfung und Abbuchung zweier Klicks nicht mehr überholen.
+ *
+ * Aufeinanderfolgende Klicks auf dasselbe Item in dieselbe Richtung, die innerhalb
+ * des Zusammenfassungs-Fensters eintreffen, werden zu einem Sammelauftrag
+ * zusammengeführt. Pro abgearbeitetem Stapel gibt es genau eine Menü-Aktualisierung
+ * und eine zusammengefasste Rückmeldung im Chat; die einzelnen Aufträge melden
+ * dafür nur ihr {@link TradeResult}.
+ */
+public class TradeQueue {
+
+    private final SimpleEcoPlugin plugin;
+    private final CustomVillagerTrader trader;
+    private final long coalesceWindowTicks;
+    private final long coalesceWindowMillis;
+
+    // Warteschlangen pro Spieler
+    private final ConcurrentHashMap<UUID, PlayerQueue> queues = new ConcurrentHashMap<>();
+
+    public TradeQueue(SimpleEcoPlugin plugin, CustomVillagerTrader trader, long coalesceWindowTicks) {
+        this.plugin = plugin;
+        this.trader = trader;
+        this.coalesceWindowTicks = Math.max(0, coalesceWindowTicks);
+        this.coalesceWindowMillis = this.coalesceWindowTicks * 50L;
+    }
+
+    /**
+     * Stellt einen Handelsauftrag in die Warteschlange des Spielers
+     *
+     * @param player Der Spieler
+     * @param material Das gehandelte Material (null bei {@link TradeDirection#SELL_ALL})
+     * @param direction Kauf, Verkauf oder Sammelverkauf
+     * @param quantity Die Anzahl ({@link TradeOrder#ALL} = alle vorhandenen Items verkaufen)
+     */
+    public void submit(Player player, Material material, TradeDirection direction, int quantity) {
+        PlayerQueue queue = queues.computeIfAbsent(player.getUniqueId(), id -> new PlayerQueue());
+
+        long now = System.currentTimeMillis();
+
+        synchronized (queue) {
+            TradeOrder last = queue.pending.peekLast();
+            if (last != null && last.canMerge(material, direction)
+                && now - last.getCreatedAt() <= coalesceWindowMillis) {
+                // Schneller Folgeklick - in den bestehenden Sammelauftrag übernehmen
+                last.merge(quantity);
+            } else {
+                queue.pending.addLast(new TradeOrder(material, direction, quantity, now));
+            }
+
+            if (!queue.running && !queue.flushScheduled) {
+                scheduleDrain(player, queue);
+            }
+        }
+    }
+
+    /**
+     * Plant die Abarbeitung der Warteschlange nach Ablauf des Zusammenfassungs-Fensters
+     */
+    private void scheduleDrain(Player player, PlayerQueue queue) {
+        queue.flushScheduled = true;
+        plugin.getPluginScheduler().runForEntityLater(player, () -> drain(player, queue), coalesceWindowTicks);
+    }
+
+    /**
+     * Arbeitet alle wartenden Aufträge eines Spielers der Reihe nach ab
+     *
+     * @param player Der Spieler
+     * @param queue Die Warteschlange des Spielers
+     */
+    private void drain(Player player, PlayerQueue queue) {
+        List<TradeOrder> batch;
+        synchronized (queue) {
+            queue.flushScheduled = false;
+            if (queue.running || queue.pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(queue.pending);
+            queue.pending.clear();
+            queue.running = true;
+        }
+
+        // Die Kette führt die Aufträge nacheinander aus, die Liste wird also nie gleichzeitig beschrieben
+        List<TradeResult> results = new ArrayList<>(batch.size());
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        // Aufträge lesen das Inventar - daher immer im Thread des Spielers starten
+        Executor playerExecutor = plugin.getPluginScheduler().entityExecutor(player);
+
+        // Aufträge streng nacheinander ausführen
+        for (TradeOrder order : batch) {
+            chain = chain.thenComposeAsync(v -> trader.executeOrder(player, order)
+                .thenAccept(results::add), playerExecutor);
+        }
+
+        chain.whenComplete((v, throwable) -> plugin.getPluginScheduler().runForEntity(player, () -> {
+            if (throwable != null) {
+                plugin.getLogger().severe("Fehler in der Handels-Warteschlange von " +
+                                        player.getName() + ": " + throwable.getMessage());
+            }
+
+            // Genau eine Rückmeldung und eine UI-Aktualisierung pro Stapel
+            if (player.isOnline()) {
+                trader.sendTradeSummary(player, results);
+                if (results.stream().anyMatch(TradeResult::success)) {
+                    trader.refreshMenu(player);
+                }
+            }
+
+            synchronized (queue) {
+                queue.running = false;
+                if (!queue.pending.isEmpty()) {
+                    scheduleDrain(player, queue);
+                } else {
+                    queues.remove(player.getUniqueId(), queue);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Verwirft die Warteschlange eines Spielers, der den Server verlässt
+     *
+     * Unter Folia verwirft der Entity-Scheduler bereits geplante Aufgaben eines
+     * entfernten Spielers kommentarlos - ohne diesen Aufruf blieben die Flags
+     * gesetzt und der Eintrag in {@link #queues} bestünde für immer.
+     *
+     * @param playerId UUID des Spielers
+     */
+    public void discard(UUID playerId) {
+        PlayerQueue queue = queues.remove(playerId);
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            queue.pending.clear();
+            queue.flushScheduled = false;
+            queue.running = false;
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der wartenden Aufträge eines Spielers zurück
+     *
+     * @param playerId UUID des Spielers
+     * @return Anzahl wartender Aufträge
+     */
+    public int getPendingCount(UUID playerId) {
+        PlayerQueue queue = queues.get(playerId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.pending.size();
+        }
+    }
+
+    /**
+     * Handelsrichtung eines Auftrags
+     */
+    public enum TradeDirection {
+        BUY, SELL,
+        /** Alle verkaufbaren Items des Inventars in einer Transaktion verkaufen */
+        SELL_ALL
+    }
+
+    /**
+     * Ergebnis eines ausgeführten Auftrags
+     *
+     * @param success true wenn der Handel durchgeführt wurde
+     * @param direction Handelsrichtung (null bei fehlgeschlagenen Aufträgen)
+     * @param items Anzahl gehandelter Items
+     * @param amount Gezahlter bzw. erhaltener Betrag
+     * @param description Beschreibung der Items (z.B. "5x Diamant")
+     * @param error Fehlermeldung für den Spieler oder null, wenn keine gesendet werden soll
+     */
+    public record TradeResult(boolean success, TradeDirection direction, int items, double amount,
+                              String description, String error) {
+
+        static TradeResult succeeded(TradeDirection direction, int items, double amount, String description) {
+            return new TradeResult(true, direction, items, amount, description, null);
+        }
+
+        static TradeResult failed(String error) {
+            return new TradeResult(false, null, 0, 0.0, null, error);
+        }
+    }
+
+    /**
+     * Ein (ggf. zusammengefasster) Handelsauftrag
+     */
+    public static class TradeOrder {
+        /** Platzhalter-Menge: alle vorhandenen Items verkaufen */
+        public static final int ALL = -1;
+
+        private final Material material;
+        private final TradeDirection direction;
+        private int quantity;
+        private final long createdAt;
+
+        public TradeOrder(Material material, TradeDirection direction, int quantity, long createdAt) {
+            this.material = material;
+            this.direction = direction;
+            this.quantity = quantity;
+            this.createdAt = createdAt;
+        }
+
+        /**
+         * Prüft ob ein weiterer Klick in diesen Auftrag übernommen werden kann
+         */
+        boolean canMerge(Material material, TradeDirection direction) {
+            return this.material == material && this.direction == direction;
+        }
+
+        /**
+         * Übernimmt die Menge eines weiteren Klicks
+         */
+        void merge(int additionalQuantity) {
+            if (quantity == ALL || additionalQuantity == ALL) {
+                // "Alle verkaufen" schließt jede Einzelmenge ein
+                quantity = ALL;
+            } else {
+                quantity += additionalQuantity;
+            }
+        }
+
+        public Material getMaterial() {
+            return material;
+        }
+
+        public TradeDirection getDirection() {
+            return direction;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * @return Zeitpunkt des ersten Klicks dieses Auftrags (Millisekunden)
+         */
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public boolean isAll() {
+            return quantity == ALL;
+        }
+    }
+
+    /**
+     * Zustand der Warteschlange eines Spielers
+     */
+    private static class PlayerQueue {
+        private final Deque<TradeOrder> pending = new ArrayDeque<>();
+        private boolean running;
+        private boolean flushScheduled;
+    }
+}
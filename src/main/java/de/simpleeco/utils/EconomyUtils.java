@@ -1,5 +1,8 @@
 package de.simpleeco.utils;
 
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.currency.MoneyFormatter;
+import de.simpleeco.locale.ItemNameLocalizer;
 import org.bukkit.Material;
 
 import java.text.DecimalFormat;
@@ -14,7 +17,6 @@ import java.util.Locale;
  */
 public class EconomyUtils {
     
-    private static final DecimalFormat CURRENCY_FORMAT = new DecimalFormat("#,##0.00");
     private static final DecimalFormat PERCENTAGE_FORMAT = new DecimalFormat("#0.00");
     
     /**
@@ -24,7 +26,7 @@ public class EconomyUtils {
      * @return Formatierter String (z.B. "1,234.56")
      */
     public static String formatCurrency(double amount) {
-        return CURRENCY_FORMAT.format(amount);
+        return MoneyFormatter.appendAmount(new StringBuilder(16), amount, true).toString();
     }
     
     /**
@@ -97,66 +99,17 @@ public class EconomyUtils {
     }
     
     /**
-     * Konvertiert einen Material-Namen zu einem lesbaren deutschen Namen
+     * Konvertiert einen Material-Namen zu einem lesbaren Namen in der Standardsprache
      * 
      * @param material Das Material
      * @return Deutscher Name oder formatierter Enum-Name
      */
     public static String getGermanMaterialName(Material material) {
-        // Basis-Übersetzungen für häufige Materialien
-        return switch (material) {
-            // Nahrung
-            case WHEAT -> "Weizen";
-            case CARROT -> "Karotte";
-            case POTATO -> "Kartoffel";
-            case BEETROOT -> "Rote Bete";
-            case APPLE -> "Apfel";
-            case BREAD -> "Brot";
-            case COOKED_BEEF -> "Gebratenes Rindfleisch";
-            case COOKED_PORKCHOP -> "Gebratenes Schweinefleisch";
-            case COOKED_CHICKEN -> "Gebratenes Hühnchen";
-            case COOKED_MUTTON -> "Gebratenes Hammelfleisch";
-            case COOKED_RABBIT -> "Gebratenes Kaninchen";
-            case COOKED_COD -> "Gebratener Kabeljau";
-            case COOKED_SALMON -> "Gebratener Lachs";
-            
-            // Erze und Barren
-            case DIAMOND -> "Diamant";
-            case IRON_INGOT -> "Eisenbarren";
-            case GOLD_INGOT -> "Goldbarren";
-            case COPPER_INGOT -> "Kupferbarren";
-            case NETHERITE_INGOT -> "Netheritbarren";
-            case EMERALD -> "Smaragd";
-            case COAL -> "Kohle";
-            case REDSTONE -> "Redstone";
-            case LAPIS_LAZULI -> "Lapislazuli";
-            case QUARTZ -> "Nether-Quarz";
-            
-            // Holz
-            case OAK_LOG -> "Eichenholz";
-            case BIRCH_LOG -> "Birkenholz";
-            case SPRUCE_LOG -> "Fichtenholz";
-            case JUNGLE_LOG -> "Dschungelholz";
-            case ACACIA_LOG -> "Akazienholz";
-            case DARK_OAK_LOG -> "Schwarzeichenholz";
-            
-            // Stein
-            case STONE -> "Stein";
-            case COBBLESTONE -> "Kopfsteinpflaster";
-            case GRANITE -> "Granit";
-            case DIORITE -> "Diorit";
-            case ANDESITE -> "Andesit";
-            case DEEPSLATE -> "Tiefenschiefer";
-            
-            // Werkzeuge und Waffen
-            case DIAMOND_SWORD -> "Diamantschwert";
-            case IRON_SWORD -> "Eisenschwert";
-            case DIAMOND_PICKAXE -> "Diamantspitzhacke";
-            case IRON_PICKAXE -> "Eisenspitzhacke";
-            
-            // Standard-Formatierung für nicht übersetzte Items
-            default -> formatEnumName(material.name());
-        };
+        SimpleEcoPlugin plugin = SimpleEcoPlugin.getInstance();
+        if (plugin == null || plugin.getItemNameLocalizer() == null) {
+            return ItemNameLocalizer.getFallbackName(material);
+        }
+        return plugin.getItemNameLocalizer().getName(material);
     }
     
     /**
@@ -0,0 +1,331 @@
+package de.simpleeco.vault;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.bank.BankManager;
+import de.simpleeco.currency.BalanceChangeCause;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.ServicePriority;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Vault-Schnittstelle für andere Plugins (Shops, Jobs, Auktionen)
+ *
+ * Vault erwartet synchrone Antworten im Haupt-Thread. Kontostände werden daher
+ * direkt aus dem Cache gelesen; Ein- und Auszahlungen wirken sofort im Cache und
+ * werden asynchron gespeichert, sodass kein Tick auf SQLite wartet.
+ *
+ * Vault-Konten entsprechen dem Bargeld. Die gemeinsamen Vault-Banken werden nicht
+ * unterstützt - das Bank-Guthaben von SimpleEco ist an einen Spieler gebunden.
+ * Weltspezifische Aufrufe verwenden dasselbe Konto.
+ */
+public class VaultEconomy implements Economy {
+
+    private final SimpleEcoPlugin plugin;
+    private final BankManager bankManager;
+
+    public VaultEconomy(SimpleEcoPlugin plugin, BankManager bankManager) {
+        this.plugin = plugin;
+        this.bankManager = bankManager;
+    }
+
+    /**
+     * Registriert die Schnittstelle beim Vault-Service (nur aufrufen wenn Vault geladen ist)
+     *
+     * @param plugin Die Plugin-Instanz
+     * @param bankManager Der BankManager
+     */
+    public static void register(SimpleEcoPlugin plugin, BankManager bankManager) {
+        plugin.getServer().getServicesManager().register(
+            Economy.class, new VaultEconomy(plugin, bankManager), plugin, ServicePriority.Normal);
+        plugin.getLogger().info("Vault-Schnittstelle registriert");
+    }
+
+    // ====== ALLGEMEIN ======
+
+    @Override
+    public boolean isEnabled() {
+        return plugin.isEnabled();
+    }
+
+    @Override
+    public String getName() {
+        return plugin.getName();
+    }
+
+    @Override
+    public boolean hasBankSupport() {
+        return false;
+    }
+
+    @Override
+    public int fractionalDigits() {
+        return 2;
+    }
+
+    @Override
+    public String format(double amount) {
+        return plugin.getMoneyFormatter().formatWithName(amount);
+    }
+
+    @Override
+    public String currencyNamePlural() {
+        return plugin.getMoneyFormatter().getCurrencyName();
+    }
+
+    @Override
+    public String currencyNameSingular() {
+        return plugin.getMoneyFormatter().getCurrencyName();
+    }
+
+    // ====== KONTEN ======
+
+    @Override
+    public boolean hasAccount(OfflinePlayer player) {
+        return bankManager.getCachedCashBalance(player.getUniqueId()) != null;
+    }
+
+    @Override
+    public boolean hasAccount(OfflinePlayer player, String worldName) {
+        return hasAccount(player);
+    }
+
+    @Override
+    public boolean hasAccount(String playerName) {
+        UUID playerId = resolvePlayer(playerName);
+        return playerId != null && bankManager.getCachedCashBalance(playerId) != null;
+    }
+
+    @Override
+    public boolean hasAccount(String playerName, String worldName) {
+        return hasAccount(playerName);
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player) {
+        return createAccount(player.getUniqueId());
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player, String worldName) {
+        return createPlayerAccount(player);
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName) {
+        UUID playerId = resolvePlayer(playerName);
+        return playerId != null && createAccount(playerId);
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName, String worldName) {
+        return createPlayerAccount(playerName);
+    }
+
+    // ====== KONTOSTAND ======
+
+    @Override
+    public double getBalance(OfflinePlayer player) {
+        return getBalance(player.getUniqueId());
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player, String world) {
+        return getBalance(player);
+    }
+
+    @Override
+    public double getBalance(String playerName) {
+        UUID playerId = resolvePlayer(playerName);
+        return playerId != null ? getBalance(playerId) : 0.0;
+    }
+
+    @Override
+    public double getBalance(String playerName, String world) {
+        return getBalance(playerName);
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, double amount) {
+        return getBalance(player) >= amount;
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, String worldName, double amount) {
+        return has(player, amount);
+    }
+
+    @Override
+    public boolean has(String playerName, double amount) {
+        return getBalance(playerName) >= amount;
+    }
+
+    @Override
+    public boolean has(String playerName, String worldName, double amount) {
+        return has(playerName, amount);
+    }
+
+    // ====== EIN- UND AUSZAHLUNGEN ======
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
+        return withdraw(player.getUniqueId(), amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount) {
+        return withdrawPlayer(player, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        UUID playerId = resolvePlayer(playerName);
+        return playerId != null ? withdraw(playerId, amount) : unknownPlayer();
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
+        return withdrawPlayer(playerName, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
+        return deposit(player.getUniqueId(), amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount) {
+        return depositPlayer(player, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, double amount) {
+        UUID playerId = resolvePlayer(playerName);
+        return playerId != null ? deposit(playerId, amount) : unknownPlayer();
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
+        return depositPlayer(playerName, amount);
+    }
+
+    // ====== VAULT-BANKEN (nicht unterstützt) ======
+
+    @Override
+    public EconomyResponse createBank(String name, String player) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse createBank(String name, OfflinePlayer player) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse deleteBank(String name) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse bankBalance(String name) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse bankHas(String name, double amount) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse bankWithdraw(String name, double amount) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse bankDeposit(String name, double amount) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse isBankOwner(String name, String playerName) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse isBankOwner(String name, OfflinePlayer player) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse isBankMember(String name, String playerName) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public EconomyResponse isBankMember(String name, OfflinePlayer player) {
+        return banksNotSupported();
+    }
+
+    @Override
+    public List<String> getBanks() {
+        return List.of();
+    }
+
+    // ====== INTERN ======
+
+    private double getBalance(UUID playerId) {
+        Double balance = bankManager.getCachedCashBalance(playerId);
+        return balance != null ? balance : 0.0;
+    }
+
+    private boolean createAccount(UUID playerId) {
+        if (bankManager.getCachedCashBalance(playerId) != null) {
+            return false;
+        }
+        // Legt das Konto mit dem Startguthaben an
+        return !Double.isNaN(bankManager.adjustCashBalanceNow(playerId, 0.0, BalanceChangeCause.ACCOUNT_CREATED));
+    }
+
+    private EconomyResponse withdraw(UUID playerId, double amount) {
+        if (amount < 0) {
+            return new EconomyResponse(0, getBalance(playerId), EconomyResponse.ResponseType.FAILURE,
+                                       "Negative Beträge können nicht abgebucht werden");
+        }
+        double newBalance = bankManager.adjustCashBalanceNow(playerId, -amount, BalanceChangeCause.EXTERNAL);
+        if (Double.isNaN(newBalance)) {
+            return new EconomyResponse(0, getBalance(playerId), EconomyResponse.ResponseType.FAILURE,
+                                       "Nicht genügend Guthaben");
+        }
+        return new EconomyResponse(amount, newBalance, EconomyResponse.ResponseType.SUCCESS, null);
+    }
+
+    private EconomyResponse deposit(UUID playerId, double amount) {
+        if (amount < 0) {
+            return new EconomyResponse(0, getBalance(playerId), EconomyResponse.ResponseType.FAILURE,
+                                       "Negative Beträge können nicht eingezahlt werden");
+        }
+        double newBalance = bankManager.adjustCashBalanceNow(playerId, amount, BalanceChangeCause.EXTERNAL);
+        return new EconomyResponse(amount, newBalance, EconomyResponse.ResponseType.SUCCESS, null);
+    }
+
+    /**
+     * Löst einen Spielernamen ohne Netzwerk-Abfrage auf (nur bereits bekannte Spieler)
+     */
+    private UUID resolvePlayer(String playerName) {
+        OfflinePlayer player = Bukkit.getOfflinePlayerIfCached(playerName);
+        return player != null ? player.getUniqueId() : null;
+    }
+
+    private EconomyResponse unknownPlayer() {
+        return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Unbekannter Spieler");
+    }
+
+    private EconomyResponse banksNotSupported() {
+        return new EconomyResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
+                                   "SimpleEco unterstützt keine Vault-Banken");
+    }
+}
@@ -12,6 +12,7 @@ import org.bukkit.NamespacedKey;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manager für Shop-Villager
@@ -32,7 +33,7 @@ public class ShopVillagerManager {
         this.plugin = plugin;
         this.configManager = configManager;
         this.shopVillagerKey = new NamespacedKey(plugin, "shop_villager");
-        this.shopVillagers = new HashSet<>();
+        this.shopVillagers = ConcurrentHashMap.newKeySet();
     }
     
     /**
@@ -55,6 +56,9 @@ public class ShopVillagerManager {
             
             // Zur Tracking-Liste hinzufügen
             shopVillagers.add(villager.getUniqueId());
+            if (plugin.getVillagerRegistry() != null) {
+                plugin.getVillagerRegistry().register(villager, VillagerRole.SHOP);
+            }
             
             plugin.getLogger().info("Shop-Villager " + villager.getUniqueId() + 
                                   " gespawnt von " + spawner.getName() + 
@@ -80,16 +84,11 @@ public class ShopVillagerManager {
         villager.setCustomName("§e§l" + villagerName);
         villager.setCustomNameVisible(true);
         
-        // Bewegung konfigurieren - AI nur teilweise deaktivieren für Look-Funktionalität
-        boolean lookAtPlayers = configManager.getConfig().getBoolean("villagerBehavior.lookAtPlayers", true);
-        if (lookAtPlayers) {
-            // AI aktiviert lassen, aber Bewegung einschränken
-            villager.setAI(true);
-            villager.setCollidable(false); // Keine Kollision mit anderen Entities
-        } else {
-            // Vollständig deaktivieren
-            villager.setAI(false);
-        }
+        // Statischer NPC: keine KI, keine Schwerkraft, keine Kollision
+        // (die Blickrichtung steuert die VillagerLookTask)
+        villager.setAI(false);
+        villager.setGravity(false);
+        villager.setCollidable(false);
         
         villager.setSilent(true);
         villager.setInvulnerable(true);
@@ -137,16 +136,36 @@ public class ShopVillagerManager {
     /**
      * Prüft ob ein Villager ein Shop-Villager ist
      * 
+     * Die Rolle kommt aus dem Villager-Register (einmalige Klassifizierung pro Entity).
+     * 
      * @param villager Der zu prüfende Villager
      * @return true wenn es ein Shop-Villager ist, false sonst
      */
     public boolean isShopVillager(Villager villager) {
+        if (plugin.getVillagerRegistry() != null) {
+            return plugin.getVillagerRegistry().getRole(villager) == VillagerRole.SHOP;
+        }
+        return hasShopMarker(villager);
+    }
+    
+    /**
+     * Prüft die Shop-Markierungen eines Villagers direkt (UUID-Set, Persistent Data, Metadata)
+     * 
+     * Wird vom Villager-Register zur einmaligen Klassifizierung verwendet.
+     * 
+     * @param villager Der zu prüfende Villager
+     * @return true wenn der Villager als Shop-Villager markiert ist
+     */
+    public boolean hasShopMarker(Villager villager) {
+        // Prüfe UUID in Set (günstigste Quelle)
+        if (shopVillagers.contains(villager.getUniqueId())) {
+            return true;
+        }
+        
         // Prüfe Persistent Data
-        if (villager.getPersistentDataContainer().has(shopVillagerKey, PersistentDataType.BOOLEAN)) {
-            Boolean isShop = villager.getPersistentDataContainer().get(shopVillagerKey, PersistentDataType.BOOLEAN);
-            if (isShop != null && isShop) {
-                return true;
-            }
+        Boolean isShop = villager.getPersistentDataContainer().get(shopVillagerKey, PersistentDataType.BOOLEAN);
+        if (isShop != null && isShop) {
+            return true;
         }
         
         // Fallback: Prüfe Metadata
@@ -154,8 +173,7 @@ public class ShopVillagerManager {
             return villager.getMetadata("shop_villager").get(0).asBoolean();
         }
         
-        // Fallback: Prüfe UUID in Set
-        return shopVillagers.contains(villager.getUniqueId());
+        return false;
     }
     
     /**
@@ -167,7 +185,6 @@ public class ShopVillagerManager {
     public void registerExistingShopVillager(Villager villager) {
         if (isShopVillager(villager)) {
             shopVillagers.add(villager.getUniqueId());
-            plugin.getLogger().info("Existierender Shop-Villager registriert: " + villager.getUniqueId());
         }
     }
     
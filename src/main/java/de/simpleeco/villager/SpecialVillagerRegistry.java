@@ -0,0 +1,537 @@
+package de.simpleeco.villager;
+
+import de.simpleeco.SimpleEcoPlugin;
+import de.simpleeco.bank.AtmVillagerManager;
+import de.simpleeco.database.DatabaseManager.VillagerLocation;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Villager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Register aller geladenen Shop- und ATM-Villager, indiziert nach Chunk
+ *
+ * Das Register wird aus Spawn-, Entity-Lade/Entlade-, Tod- und Entfernungs-Events
+ * aktuell gehalten. Wiederkehrende Aufgaben (z.B. die VillagerLookTask) iterieren
+ * damit nur über die tatsächlich vorhandenen Plugin-Villager statt über alle
+ * Entities aller Welten. Neu übernommene Villager werden dabei in den
+ * statischen NPC-Modus versetzt (siehe {@link StaticNpcMode}).
+ *
+ * Zusätzlich ist das Register die maßgebliche Quelle für die Rolle eines
+ * Villagers: Jeder geladene Villager wird einmalig klassifiziert (SHOP/ATM/NONE),
+ * danach beantworten Rollen-Abfragen eine primitive Map über die Entity-ID,
+ * ohne den Persistent Data Container zu lesen.
+ *
+ * Die Positionen aller Shop- und ATM-Villager werden in der Datenbank
+ * (special_villagers) geführt. Beim Start und beim Laden eines Chunks werden
+ * die dort erwarteten Villager direkt zugeordnet; nur für unbekannte Villager
+ * werden die Markierungen gelesen.
+ *
+ * Alle öffentlichen Methoden sind synchronisiert, da Events unter Folia auf
+ * mehreren Region-Threads gleichzeitig eintreffen.
+ */
+public class SpecialVillagerRegistry {
+
+    private final SimpleEcoPlugin plugin;
+    private final ShopVillagerManager shopVillagerManager;
+    private final AtmVillagerManager atmVillagerManager;
+    private final StaticNpcMode staticNpcMode;
+
+    // Alle registrierten Villager nach Entity-UUID
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    // Welt-UUID -> Chunk-Key -> Villager in diesem Chunk
+    private final Map<UUID, Map<Long, List<Entry>>> chunkIndex = new HashMap<>();
+
+    // Entity-ID -> Rolle aller bereits klassifizierten Villager (auch normale)
+    private final VillagerRoleMap roles = new VillagerRoleMap();
+
+    // Bekannte Villager aus der Datenbank (auch in nicht geladenen Chunks)
+    private final Map<UUID, VillagerLocation> knownVillagers = new HashMap<>();
+
+    // Welt-UUID -> Chunk-Key -> in diesem Chunk erwartete Villager
+    private final Map<UUID, Map<Long, List<VillagerLocation>>> expectedByChunk = new HashMap<>();
+
+    public SpecialVillagerRegistry(SimpleEcoPlugin plugin, ShopVillagerManager shopVillagerManager,
+                                   AtmVillagerManager atmVillagerManager) {
+        this.plugin = plugin;
+        this.shopVillagerManager = shopVillagerManager;
+        this.atmVillagerManager = atmVillagerManager;
+        this.staticNpcMode = new StaticNpcMode(plugin);
+    }
+
+    /**
+     * Baut das Register beim Start auf, ohne auf die Datenbank zu warten
+     *
+     * Die bekannten Villager werden im Hintergrund aus der Datenbank geladen und
+     * danach im Thread der Region ihres gespeicherten Chunks zugeordnet. Chunks,
+     * die vorher laden, werden über die Markierungen ihrer Villager erfasst.
+     */
+    public void initialize() {
+        plugin.getDatabaseManager().loadSpecialVillagers()
+            .thenAccept(stored -> plugin.getPluginScheduler().runGlobal(() -> seed(stored)))
+            .exceptionally(throwable -> {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Shop-/ATM-Villager:", throwable);
+                return null;
+            });
+    }
+
+    /**
+     * Übernimmt die gespeicherten Villager ins Register
+     *
+     * Die Entities selbst werden pro gespeichertem Chunk über
+     * {@link de.simpleeco.scheduler.PluginScheduler#runAtChunk} angefasst, da unter
+     * Folia nur die besitzende Region auf sie zugreifen darf. Nur wenn die Tabelle
+     * noch leer ist (z.B. erster Start mit bestehenden Villagern), werden unter
+     * Bukkit/Paper einmalig alle geladenen Welten durchsucht - unter Folia ist das
+     * nicht möglich, dort werden die Villager beim Laden ihres Chunks erkannt.
+     *
+     * @param stored Die Einträge aus der Datenbank
+     */
+    private synchronized void seed(List<VillagerLocation> stored) {
+        for (VillagerLocation location : stored) {
+            // Inzwischen bereits über ein Chunk-Laden erfasste Villager nicht doppelt eintragen
+            if (!knownVillagers.containsKey(location.villagerId()) && parseRole(location) != null) {
+                addKnown(location);
+            }
+        }
+
+        if (knownVillagers.isEmpty()) {
+            if (plugin.getPluginScheduler().isFolia()) {
+                plugin.getLogger().info("Villager-Register aufgebaut: keine bekannten Shop-/ATM-Villager, " +
+                                        "vorhandene werden beim Laden ihres Chunks erfasst");
+                return;
+            }
+            for (World world : plugin.getServer().getWorlds()) {
+                for (Villager villager : world.getEntitiesByClass(Villager.class)) {
+                    registerIfSpecial(villager);
+                }
+            }
+            plugin.getLogger().info("Villager-Register aufgebaut: " + entries.size() +
+                                    " geladene Shop-/ATM-Villager gefunden");
+            return;
+        }
+
+        for (Map.Entry<UUID, Map<Long, List<VillagerLocation>>> worldExpected : expectedByChunk.entrySet()) {
+            World world = plugin.getServer().getWorld(worldExpected.getKey());
+            if (world == null) {
+                continue;
+            }
+            for (long key : worldExpected.getValue().keySet()) {
+                int chunkX = (int) key;
+                int chunkZ = (int) (key >>> 32);
+                plugin.getPluginScheduler().runAtChunk(world, chunkX, chunkZ,
+                                                       () -> registerStoredInChunk(world, chunkX, chunkZ));
+            }
+        }
+
+        plugin.getLogger().info("Villager-Register aufgebaut: " + knownVillagers.size() +
+                                " bekannte Shop-/ATM-Villager");
+    }
+
+    /**
+     * Registriert die in einem bereits geladenen Chunk erwarteten Villager
+     *
+     * Läuft im Thread der Region, die den Chunk besitzt. Nicht geladene Chunks
+     * werden nicht angefasst - deren Villager erfasst {@link #handleEntitiesLoad}.
+     *
+     * @param world Die Welt
+     * @param chunkX Chunk-X-Koordinate
+     * @param chunkZ Chunk-Z-Koordinate
+     */
+    private synchronized void registerStoredInChunk(World world, int chunkX, int chunkZ) {
+        if (!world.isChunkLoaded(chunkX, chunkZ)) {
+            return;
+        }
+        for (Entity entity : world.getChunkAt(chunkX, chunkZ).getEntities()) {
+            if (!(entity instanceof Villager villager) || !villager.isValid()) {
+                continue;
+            }
+            VillagerLocation known = knownVillagers.get(villager.getUniqueId());
+            if (known != null) {
+                register(villager, parseRole(known));
+            }
+        }
+    }
+
+    /**
+     * Registriert die Shop- und ATM-Villager eines frisch geladenen Chunks
+     *
+     * Erwartete Villager werden über ihren Datenbankeintrag zugeordnet, alle
+     * anderen Villager über ihre Markierungen klassifiziert (z.B. in einen neuen
+     * Chunk gelaufene oder vor dem ersten Speichern gespawnte Villager) und dabei
+     * gespeichert. Erwartete Villager, die im Chunk nicht mehr vorhanden sind,
+     * werden aus der Datenbank gelöscht.
+     *
+     * @param chunk Der geladene Chunk
+     * @param entities Die geladenen Entities des Chunks
+     */
+    public synchronized void handleEntitiesLoad(Chunk chunk, List<Entity> entities) {
+        Set<UUID> found = new HashSet<>();
+        for (Entity entity : entities) {
+            if (!(entity instanceof Villager villager)) {
+                continue;
+            }
+            VillagerLocation known = knownVillagers.get(villager.getUniqueId());
+            if (known != null) {
+                found.add(villager.getUniqueId());
+                register(villager, parseRole(known));
+            } else if (registerIfSpecial(villager) != VillagerRole.NONE) {
+                // Kein Datenbankeintrag - über die Markierungen erkannt, register() hat ihn gespeichert
+                found.add(villager.getUniqueId());
+            }
+        }
+
+        Map<Long, List<VillagerLocation>> worldExpected = expectedByChunk.get(chunk.getWorld().getUID());
+        if (worldExpected == null) {
+            return;
+        }
+        List<VillagerLocation> expected = worldExpected.get(chunkKey(chunk.getX(), chunk.getZ()));
+        if (expected == null || expected.isEmpty()) {
+            return;
+        }
+
+        // Veraltete Einträge entfernen (Villager existiert nicht mehr)
+        for (VillagerLocation stale : new ArrayList<>(expected)) {
+            if (!found.contains(stale.villagerId())) {
+                removeKnown(stale);
+                plugin.getDatabaseManager().deleteSpecialVillager(stale.villagerId());
+            }
+        }
+    }
+
+    /**
+     * Prüft ein geladenes Entity und registriert es, falls es ein Shop- oder ATM-Villager ist
+     *
+     * @param entity Das Entity
+     * @return Die Rolle ({@link VillagerRole#NONE} wenn es kein spezieller Villager ist)
+     */
+    public synchronized VillagerRole registerIfSpecial(Entity entity) {
+        if (!(entity instanceof Villager villager)) {
+            return VillagerRole.NONE;
+        }
+
+        VillagerRole role = getRole(villager);
+        if (role != VillagerRole.NONE) {
+            register(villager, role);
+        }
+        return role;
+    }
+
+    /**
+     * Gibt die Rolle eines Villagers zurück
+     *
+     * Beim ersten Aufruf für ein Entity werden die Markierungen der
+     * Villager-Manager geprüft, danach kommt die Rolle aus dem Speicher.
+     *
+     * @param villager Der Villager
+     * @return Die Rolle (nie null)
+     */
+    public synchronized VillagerRole getRole(Villager villager) {
+        byte cached = roles.get(villager.getEntityId());
+        if (cached != VillagerRoleMap.ABSENT) {
+            return VillagerRole.byOrdinal(cached);
+        }
+
+        VillagerRole role = classify(villager);
+        if (role != VillagerRole.NONE) {
+            // Bisher unbekannter Shop-/ATM-Villager (z.B. aus einem Chunk ohne Datenbankeintrag)
+            register(villager, role);
+        } else {
+            roles.put(villager.getEntityId(), (byte) role.ordinal());
+        }
+        return role;
+    }
+
+    /**
+     * Registriert einen Villager mit bekannter Rolle (z.B. direkt nach dem Spawnen)
+     *
+     * @param villager Der Villager
+     * @param role Die Rolle
+     */
+    public synchronized void register(Villager villager, VillagerRole role) {
+        roles.put(villager.getEntityId(), (byte) role.ordinal());
+
+        Entry existing = entries.get(villager.getUniqueId());
+        if (existing != null) {
+            // Entity-Referenz kann sich nach erneutem Laden geändert haben
+            existing.villager = villager;
+            updateChunk(existing);
+            return;
+        }
+
+        staticNpcMode.apply(villager);
+        Location location = villager.getLocation();
+        Entry entry = new Entry(villager, role, villager.getWorld().getUID(),
+                                chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+        entries.put(villager.getUniqueId(), entry);
+        bucket(entry.worldId, entry.chunkKey, true).add(entry);
+        remember(entry, location);
+
+        if (role == VillagerRole.SHOP) {
+            shopVillagerManager.registerExistingShopVillager(villager);
+        } else if (role == VillagerRole.ATM) {
+            atmVillagerManager.registerExistingAtmVillager(villager);
+        }
+    }
+
+    /**
+     * Entfernt ein Entity aus dem Register (Tod, Entfernung, Entladen)
+     *
+     * @param entity Das Entity
+     */
+    public synchronized void unregister(Entity entity) {
+        roles.remove(entity.getEntityId());
+
+        Entry entry = entries.remove(entity.getUniqueId());
+        if (entry == null) {
+            return;
+        }
+
+        List<Entry> bucket = bucket(entry.worldId, entry.chunkKey, false);
+        if (bucket != null) {
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                chunkIndex.get(entry.worldId).remove(entry.chunkKey);
+            }
+        }
+    }
+
+    /**
+     * Entfernt einen Villager endgültig (Tod oder Entfernung aus der Welt)
+     *
+     * Im Gegensatz zu {@link #unregister(Entity)} wird auch der Datenbankeintrag gelöscht.
+     *
+     * @param entity Das Entity
+     */
+    public synchronized void forget(Entity entity) {
+        unregister(entity);
+        shopVillagerManager.removeShopVillager(entity.getUniqueId());
+        atmVillagerManager.removeAtmVillager(entity.getUniqueId());
+
+        VillagerLocation known = knownVillagers.get(entity.getUniqueId());
+        if (known != null) {
+            removeKnown(known);
+            plugin.getDatabaseManager().deleteSpecialVillager(known.villagerId());
+        }
+    }
+
+    /**
+     * Prüft ob der Villager eines Eintrags den Chunk gewechselt hat und verschiebt ihn ggf. im Index
+     *
+     * @param entry Der Eintrag
+     */
+    public synchronized void updateChunk(Entry entry) {
+        Location location = entry.villager.getLocation();
+        UUID worldId = entry.villager.getWorld().getUID();
+        long key = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        if (key == entry.chunkKey && worldId.equals(entry.worldId)) {
+            return;
+        }
+
+        List<Entry> oldBucket = bucket(entry.worldId, entry.chunkKey, false);
+        if (oldBucket != null) {
+            oldBucket.remove(entry);
+            if (oldBucket.isEmpty()) {
+                chunkIndex.get(entry.worldId).remove(entry.chunkKey);
+            }
+        }
+
+        entry.worldId = worldId;
+        entry.chunkKey = key;
+        bucket(worldId, key, true).add(entry);
+        remember(entry, location);
+    }
+
+    /**
+     * Gibt eine Momentaufnahme aller registrierten Villager zurück
+     *
+     * @return Liste aller Einträge
+     */
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Gibt die registrierten Villager eines Chunks zurück
+     *
+     * @param world Die Welt
+     * @param chunkX Chunk-X-Koordinate
+     * @param chunkZ Chunk-Z-Koordinate
+     * @return Die Einträge im Chunk (leer wenn keine vorhanden)
+     */
+    public synchronized Collection<Entry> getEntriesInChunk(World world, int chunkX, int chunkZ) {
+        List<Entry> bucket = bucket(world.getUID(), chunkKey(chunkX, chunkZ), false);
+        return bucket != null ? new ArrayList<>(bucket) : Collections.emptyList();
+    }
+
+    /**
+     * Gibt die Rolle eines registrierten Villagers zurück
+     *
+     * @param entityId UUID des Entities
+     * @return Die Rolle oder null wenn nicht als Shop- oder ATM-Villager registriert
+     */
+    public synchronized VillagerRole getRole(UUID entityId) {
+        Entry entry = entries.get(entityId);
+        return entry != null ? entry.role : null;
+    }
+
+    /**
+     * Gibt die Anzahl der registrierten Villager zurück
+     *
+     * @return Anzahl der Einträge
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ermittelt die Rolle eines Villagers über die Markierungen der Villager-Manager
+     */
+    private VillagerRole classify(Villager villager) {
+        if (shopVillagerManager.hasShopMarker(villager)) {
+            return VillagerRole.SHOP;
+        }
+        if (atmVillagerManager.hasAtmMarker(villager)) {
+            return VillagerRole.ATM;
+        }
+        return VillagerRole.NONE;
+    }
+
+    /**
+     * Speichert die Position eines Villagers in der Datenbank, falls sie neu ist
+     * oder sich der Chunk geändert hat
+     */
+    private void remember(Entry entry, Location location) {
+        UUID villagerId = entry.villager.getUniqueId();
+        VillagerLocation known = knownVillagers.get(villagerId);
+        if (known != null && known.worldId().equals(entry.worldId)
+                && chunkKey(known.chunkX(), known.chunkZ()) == entry.chunkKey
+                && known.role().equals(entry.role.name())) {
+            return;
+        }
+
+        if (known != null) {
+            removeKnown(known);
+        }
+        VillagerLocation updated = new VillagerLocation(villagerId, entry.worldId, entry.getChunkX(), entry.getChunkZ(),
+                                                        location.getX(), location.getY(), location.getZ(),
+                                                        entry.role.name());
+        addKnown(updated);
+        plugin.getDatabaseManager().saveSpecialVillager(updated);
+    }
+
+    private void addKnown(VillagerLocation location) {
+        knownVillagers.put(location.villagerId(), location);
+        expectedByChunk.computeIfAbsent(location.worldId(), id -> new HashMap<>())
+                       .computeIfAbsent(chunkKey(location.chunkX(), location.chunkZ()), key -> new ArrayList<>(2))
+                       .add(location);
+    }
+
+    private void removeKnown(VillagerLocation location) {
+        knownVillagers.remove(location.villagerId());
+        Map<Long, List<VillagerLocation>> worldExpected = expectedByChunk.get(location.worldId());
+        if (worldExpected == null) {
+            return;
+        }
+        long key = chunkKey(location.chunkX(), location.chunkZ());
+        List<VillagerLocation> expected = worldExpected.get(key);
+        if (expected != null) {
+            expected.remove(location);
+            if (expected.isEmpty()) {
+                worldExpected.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Liest die gespeicherte Rolle eines Datenbankeintrags
+     *
+     * @return Die Rolle oder null bei ungültigem Eintrag
+     */
+    private VillagerRole parseRole(VillagerLocation location) {
+        try {
+            VillagerRole role = VillagerRole.valueOf(location.role());
+            return role != VillagerRole.NONE ? role : null;
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Ungültige Villager-Rolle in der Datenbank: " + location.role());
+            return null;
+        }
+    }
+
+    private List<Entry> bucket(UUID worldId, long chunkKey, boolean create) {
+        Map<Long, List<Entry>> worldIndex = chunkIndex.get(worldId);
+        if (worldIndex == null) {
+            if (!create) {
+                return null;
+            }
+            worldIndex = new HashMap<>();
+            chunkIndex.put(worldId, worldIndex);
+        }
+        return create ? worldIndex.computeIfAbsent(chunkKey, key -> new ArrayList<>(2)) : worldIndex.get(chunkKey);
+    }
+
+    /**
+     * Berechnet den Chunk-Key aus Chunk-Koordinaten (wie Paper's Chunk#getChunkKey)
+     *
+     * @param chunkX Chunk-X-Koordinate
+     * @param chunkZ Chunk-Z-Koordinate
+     * @return Der Chunk-Key
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX & 0xffffffffL) | (((long) chunkZ & 0xffffffffL) << 32);
+    }
+
+    /**
+     * Registereintrag eines speziellen Villagers
+     */
+    public static class Entry {
+        private volatile Villager villager;
+        private final VillagerRole role;
+        private volatile UUID worldId;
+        private volatile long chunkKey;
+
+        private Entry(Villager villager, VillagerRole role, UUID worldId, long chunkKey) {
+            this.villager = villager;
+            this.role = role;
+            this.worldId = worldId;
+            this.chunkKey = chunkKey;
+        }
+
+        public Villager getVillager() {
+            return villager;
+        }
+
+        public VillagerRole getRole() {
+            return role;
+        }
+
+        public UUID getWorldId() {
+            return worldId;
+        }
+
+        public long getChunkKey() {
+            return chunkKey;
+        }
+
+        public int getChunkX() {
+            return (int) chunkKey;
+        }
+
+        public int getChunkZ() {
+            return (int) (chunkKey >>> 32);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package de.simpleeco.villager;
+
+import de.simpleeco.SimpleEcoPlugin;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Villager;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Statischer NPC-Modus für Shop- und ATM-Villager
+ *
+ * Die Villager laufen ohne KI und ohne Schwerkraft, können sich also nicht von
+ * selbst bewegen. Die Heimat-Position wird im Persistent Data Container
+ * gespeichert und nur einmalig beim Übernehmen eines Villagers geprüft
+ * (z.B. für Villager, die noch mit aktiver KI gespawnt wurden).
+ */
+public class StaticNpcMode {
+
+    // Maximale Abweichung von der Heimat-Position (quadriert), bevor einmalig zurückgesetzt wird
+    private static final double MAX_DRIFT_SQUARED = 0.25;
+
+    private final NamespacedKey homeXKey;
+    private final NamespacedKey homeYKey;
+    private final NamespacedKey homeZKey;
+
+    public StaticNpcMode(SimpleEcoPlugin plugin) {
+        this.homeXKey = new NamespacedKey(plugin, "home_x");
+        this.homeYKey = new NamespacedKey(plugin, "home_y");
+        this.homeZKey = new NamespacedKey(plugin, "home_z");
+    }
+
+    /**
+     * Versetzt einen Villager in den statischen Modus
+     *
+     * Beim ersten Aufruf wird die aktuelle Position als Heimat gespeichert,
+     * danach wird ein verschobener Villager einmalig dorthin zurückgesetzt.
+     *
+     * @param villager Der Villager
+     */
+    public void apply(Villager villager) {
+        villager.setAI(false);
+        villager.setGravity(false);
+        villager.setCollidable(false);
+
+        PersistentDataContainer data = villager.getPersistentDataContainer();
+        Location location = villager.getLocation();
+        Double homeX = data.get(homeXKey, PersistentDataType.DOUBLE);
+        Double homeY = data.get(homeYKey, PersistentDataType.DOUBLE);
+        Double homeZ = data.get(homeZKey, PersistentDataType.DOUBLE);
+
+        if (homeX == null || homeY == null || homeZ == null) {
+            data.set(homeXKey, PersistentDataType.DOUBLE, location.getX());
+            data.set(homeYKey, PersistentDataType.DOUBLE, location.getY());
+            data.set(homeZKey, PersistentDataType.DOUBLE, location.getZ());
+            return;
+        }
+
+        double dx = location.getX() - homeX;
+        double dy = location.getY() - homeY;
+        double dz = location.getZ() - homeZ;
+        if (dx * dx + dy * dy + dz * dz > MAX_DRIFT_SQUARED) {
+            Location home = new Location(location.getWorld(), homeX, homeY, homeZ,
+                                         location.getYaw(), location.getPitch());
+            // Folia erlaubt nur asynchrone Teleports - Paper unterstützt dieselbe API
+            villager.teleportAsync(home);
+        }
+    }
+}
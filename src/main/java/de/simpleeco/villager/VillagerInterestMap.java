@@ -0,0 +1,179 @@
+package de.simpleeco.villager;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Räumliche Interessen-Karte: welche Chunks haben Spieler in Blickweite
+ *
+ * Spieler werden auf Chunk-Ebene in Buckets geführt und nur bei einem
+ * Chunk-Wechsel aktualisiert. Jeder Spieler "interessiert" sich für alle Chunks
+ * im Umkreis der Blickweite; pro Chunk wird gezählt, wie viele Spieler das tun.
+ * Villager in Chunks ohne Interesse kosten in der VillagerLookTask damit nur
+ * einen einzigen Map-Zugriff.
+ *
+ * Alle öffentlichen Methoden sind synchronisiert, da Bewegungs-Events unter
+ * Folia auf mehreren Region-Threads gleichzeitig eintreffen.
+ */
+public class VillagerInterestMap {
+
+    // Radius in Chunks, der die Blickweite vollständig abdeckt
+    private final int chunkRadius;
+
+    // Aktuelle Chunk-Position pro Spieler
+    private final Map<UUID, PlayerPosition> playerPositions = new HashMap<>();
+
+    // Welt-UUID -> Chunk-Key -> Spieler in diesem Chunk
+    private final Map<UUID, Map<Long, List<Player>>> playersByChunk = new HashMap<>();
+
+    // Welt-UUID -> Chunk-Key -> Anzahl interessierter Spieler
+    private final Map<UUID, Map<Long, int[]>> interest = new HashMap<>();
+
+    public VillagerInterestMap(double maxLookDistance) {
+        this.chunkRadius = Math.max(0, (int) Math.ceil(maxLookDistance / 16.0));
+    }
+
+    /**
+     * Aktualisiert die Position eines Spielers (nur wirksam bei Chunk- oder Weltwechsel)
+     *
+     * @param player Der Spieler
+     * @param location Die neue Position
+     */
+    public synchronized void updatePlayer(Player player, Location location) {
+        UUID worldId = location.getWorld().getUID();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        PlayerPosition previous = playerPositions.get(player.getUniqueId());
+        if (previous != null && previous.chunkX == chunkX && previous.chunkZ == chunkZ
+                && previous.worldId.equals(worldId)) {
+            return;
+        }
+
+        if (previous != null) {
+            removeFromBucket(player, previous);
+            changeInterest(previous.worldId, previous.chunkX, previous.chunkZ, -1);
+        }
+
+        PlayerPosition current = new PlayerPosition(worldId, chunkX, chunkZ);
+        playerPositions.put(player.getUniqueId(), current);
+        playersByChunk.computeIfAbsent(worldId, id -> new HashMap<>())
+                      .computeIfAbsent(SpecialVillagerRegistry.chunkKey(chunkX, chunkZ), key -> new ArrayList<>(2))
+                      .add(player);
+        changeInterest(worldId, chunkX, chunkZ, 1);
+    }
+
+    /**
+     * Entfernt einen Spieler (z.B. beim Verlassen des Servers)
+     *
+     * @param player Der Spieler
+     */
+    public synchronized void removePlayer(Player player) {
+        PlayerPosition previous = playerPositions.remove(player.getUniqueId());
+        if (previous != null) {
+            removeFromBucket(player, previous);
+            changeInterest(previous.worldId, previous.chunkX, previous.chunkZ, -1);
+        }
+    }
+
+    /**
+     * Prüft ob sich mindestens ein Spieler in Blickweite-Reichweite des Chunks befindet
+     *
+     * @param worldId UUID der Welt
+     * @param chunkKey Der Chunk-Key
+     * @return true wenn der Chunk aktives Interesse hat
+     */
+    public synchronized boolean isInterested(UUID worldId, long chunkKey) {
+        Map<Long, int[]> worldInterest = interest.get(worldId);
+        return worldInterest != null && worldInterest.containsKey(chunkKey);
+    }
+
+    /**
+     * Sammelt alle Spieler in den Chunks um einen Chunk (Radius der Blickweite)
+     *
+     * @param worldId UUID der Welt
+     * @param chunkX Chunk-X-Koordinate
+     * @param chunkZ Chunk-Z-Koordinate
+     * @param result Liste, in die die Spieler geschrieben werden (wird vorher geleert)
+     */
+    public synchronized void collectNearbyPlayers(UUID worldId, int chunkX, int chunkZ, List<Player> result) {
+        result.clear();
+        Map<Long, List<Player>> worldPlayers = playersByChunk.get(worldId);
+        if (worldPlayers == null) {
+            return;
+        }
+
+        for (int x = chunkX - chunkRadius; x <= chunkX + chunkRadius; x++) {
+            for (int z = chunkZ - chunkRadius; z <= chunkZ + chunkRadius; z++) {
+                List<Player> bucket = worldPlayers.get(SpecialVillagerRegistry.chunkKey(x, z));
+                if (bucket != null) {
+                    result.addAll(bucket);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Chunks mit aktivem Interesse zurück
+     *
+     * @return Anzahl interessierter Chunks über alle Welten
+     */
+    public synchronized int getInterestedChunkCount() {
+        int count = 0;
+        for (Map<Long, int[]> worldInterest : interest.values()) {
+            count += worldInterest.size();
+        }
+        return count;
+    }
+
+    private void removeFromBucket(Player player, PlayerPosition position) {
+        Map<Long, List<Player>> worldPlayers = playersByChunk.get(position.worldId);
+        if (worldPlayers == null) {
+            return;
+        }
+        long key = SpecialVillagerRegistry.chunkKey(position.chunkX, position.chunkZ);
+        List<Player> bucket = worldPlayers.get(key);
+        if (bucket != null) {
+            bucket.removeIf(other -> other.getUniqueId().equals(player.getUniqueId()));
+            if (bucket.isEmpty()) {
+                worldPlayers.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Erhöht oder verringert den Interessen-Zähler aller Chunks im Umkreis
+     */
+    private void changeInterest(UUID worldId, int centerX, int centerZ, int delta) {
+        Map<Long, int[]> worldInterest = interest.computeIfAbsent(worldId, id -> new HashMap<>());
+
+        for (int x = centerX - chunkRadius; x <= centerX + chunkRadius; x++) {
+            for (int z = centerZ - chunkRadius; z <= centerZ + chunkRadius; z++) {
+                long key = SpecialVillagerRegistry.chunkKey(x, z);
+                int[] counter = worldInterest.get(key);
+                if (counter == null) {
+                    if (delta > 0) {
+                        worldInterest.put(key, new int[] {delta});
+                    }
+                    continue;
+                }
+                counter[0] += delta;
+                if (counter[0] <= 0) {
+                    worldInterest.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Chunk-Position eines Spielers
+     */
+    private record PlayerPosition(UUID worldId, int chunkX, int chunkZ) {
+    }
+}
@@ -0,0 +1,25 @@
+package de.simpleeco.villager;
+
+/**
+ * Rolle eines Villagers aus Sicht des Plugins
+ */
+public enum VillagerRole {
+    /** Shop-Villager (öffnet das Trading-Menü) */
+    SHOP,
+    /** ATM-Villager (öffnet das Bank-Menü) */
+    ATM,
+    /** Normaler Villager ohne Plugin-Funktion */
+    NONE;
+
+    private static final VillagerRole[] VALUES = values();
+
+    /**
+     * Gibt die Rolle zu einem Ordinal zurück (ohne Array-Kopie wie bei values())
+     *
+     * @param ordinal Das Ordinal
+     * @return Die Rolle
+     */
+    public static VillagerRole byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
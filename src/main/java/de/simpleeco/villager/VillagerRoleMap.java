@@ -0,0 +1,146 @@
+package de.simpleeco.villager;
+
+import java.util.Arrays;
+
+/**
+ * Hash-Map von Entity-ID (int) auf Villager-Rolle (byte)
+ *
+ * Offene Adressierung mit linearer Sondierung über zwei primitive Arrays,
+ * dadurch kein Boxing und keine Eintrags-Objekte pro Villager. Gelöschte
+ * Einträge werden per Rückwärts-Verschiebung entfernt, es entstehen also
+ * keine Grabsteine.
+ *
+ * Nicht thread-sicher, Zugriffe erfolgen nur über das synchronisierte
+ * {@link SpecialVillagerRegistry}.
+ */
+class VillagerRoleMap {
+
+    /** Rückgabewert von {@link #get(int)} für unbekannte Entity-IDs */
+    static final byte ABSENT = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private byte[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    VillagerRoleMap() {
+        allocate(64);
+    }
+
+    /**
+     * Gibt die Rolle einer Entity-ID zurück
+     *
+     * @param entityId Die Entity-ID
+     * @return Das Ordinal der Rolle oder {@link #ABSENT}
+     */
+    byte get(int entityId) {
+        int slot = mix(entityId) & mask;
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == entityId) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Setzt die Rolle einer Entity-ID
+     *
+     * @param entityId Die Entity-ID
+     * @param role Das Ordinal der Rolle
+     */
+    void put(int entityId, byte role) {
+        int slot = mix(entityId) & mask;
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == entityId) {
+                values[slot] = role;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = entityId;
+        values[slot] = role;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Entfernt eine Entity-ID
+     *
+     * @param entityId Die Entity-ID
+     */
+    void remove(int entityId) {
+        int slot = mix(entityId) & mask;
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == entityId) {
+                shiftBack(slot);
+                size--;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schließt die Lücke an einem gelöschten Platz, indem nachfolgende Einträge
+     * derselben Sondierungskette nach vorne rücken
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == ABSENT) {
+                break;
+            }
+
+            int home = mix(keys[slot]) & mask;
+            // Eintrag darf nur verschoben werden, wenn sein Heimat-Platz nicht zwischen Lücke und Platz liegt
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if (movable) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = ABSENT;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        byte[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new byte[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Verteilt fortlaufende Entity-IDs über die ganze Tabelle
+     */
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}